@@ -109,6 +109,86 @@ public interface Dataset extends AutoCloseable, GraphLike<Quad> {
     @Override
     boolean contains(Quad quad);
 
+    /**
+     * Counts the quads matching a pattern.
+     * <p>
+     * Unlike {@link #estimateCount(Optional, BlankNodeOrIRI, IRI, RDFTerm)}
+     * the count is exact, but implementations should count without streaming
+     * the matching quads where they can, e.g. from the sizes of their indexes
+     * or with a native count of the underlying store.
+     * <p>
+     * The default implementation checks
+     * {@link #contains(Optional, BlankNodeOrIRI, IRI, RDFTerm)} for a pattern
+     * without wildcards, returns {@link #size()} for a pattern of wildcards
+     * and otherwise counts
+     * {@link #stream(Optional, BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param graphName
+     *            The graph the quad belongs to, wrapped as an {@link Optional}
+     *            ({@code null} is a wildcard, {@link Optional#empty()} is
+     *            the default graph)
+     * @param subject
+     *            The quad subject ({@code null} is a wildcard)
+     * @param predicate
+     *            The quad predicate ({@code null} is a wildcard)
+     * @param object
+     *            The quad object ({@code null} is a wildcard)
+     * @return The number of matching quads
+     * @since 0.6.0
+     */
+    default long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (graphName != null && subject != null && predicate != null && object != null) {
+            return contains(graphName, subject, predicate, object) ? 1 : 0;
+        }
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        try (Stream<? extends Quad> stream = stream(graphName, subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    /**
+     * Estimates the number of quads matching a pattern, without matching them.
+     * <p>
+     * This is intended for choosing the order of lookups, e.g. in a join, and
+     * so should be much cheaper than counting
+     * {@link #stream(Optional, BlankNodeOrIRI, IRI, RDFTerm)}. The estimate may
+     * be approximate, but implementations should not return {@code 0} if any
+     * quad matches, and should return {@link #size()} for a pattern of
+     * wildcards.
+     * <p>
+     * The default implementation checks
+     * {@link #contains(Optional, BlankNodeOrIRI, IRI, RDFTerm)} for a pattern
+     * without wildcards, returns {@link #size()} for a pattern of wildcards
+     * and otherwise counts the matching quads, which gives an exact but not a
+     * cheap estimate.
+     *
+     * @param graphName
+     *            The graph the quad belongs to, wrapped as an {@link Optional}
+     *            ({@code null} is a wildcard, {@link Optional#empty()} is
+     *            the default graph)
+     * @param subject
+     *            The quad subject ({@code null} is a wildcard)
+     * @param predicate
+     *            The quad predicate ({@code null} is a wildcard)
+     * @param object
+     *            The quad object ({@code null} is a wildcard)
+     * @return An estimate of the number of matching quads
+     * @since 0.6.0
+     */
+    default long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (graphName != null && subject != null && predicate != null && object != null) {
+            return contains(graphName, subject, predicate, object) ? 1 : 0;
+        }
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        return stream(graphName, subject, predicate, object).count();
+    }
+
     /**
      * Gets the default graph of this dataset.
      * <p>
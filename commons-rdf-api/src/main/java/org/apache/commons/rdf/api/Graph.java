@@ -103,6 +103,75 @@ public interface Graph extends AutoCloseable, GraphLike<Triple> {
     @Override
     boolean contains(Triple triple);
 
+    /**
+     * Counts the triples matching a pattern.
+     * <p>
+     * Unlike {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)} the count
+     * is exact, but implementations should count without streaming the
+     * matching triples where they can, e.g. from the sizes of their indexes
+     * or with a native count of the underlying store.
+     * <p>
+     * The default implementation checks {@link #contains(BlankNodeOrIRI, IRI, RDFTerm)}
+     * for a pattern without wildcards, returns {@link #size()} for a pattern
+     * of wildcards and otherwise counts
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return The number of matching triples
+     * @since 0.6.0
+     */
+    default long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
+        }
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        try (Stream<? extends Triple> stream = stream(subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    /**
+     * Estimates the number of triples matching a pattern, without matching
+     * them.
+     * <p>
+     * This is intended for choosing the order of lookups, e.g. in a join, and
+     * so should be much cheaper than counting
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)}. The estimate may be
+     * approximate, but implementations should not return {@code 0} if any
+     * triple matches, and should return {@link #size()} for a pattern of
+     * wildcards.
+     * <p>
+     * The default implementation checks {@link #contains(BlankNodeOrIRI, IRI, RDFTerm)}
+     * for a pattern without wildcards, returns {@link #size()} for a pattern
+     * of wildcards and otherwise counts the matching triples, which gives an
+     * exact but not a cheap estimate.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return An estimate of the number of matching triples
+     * @since 0.6.0
+     */
+    default long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
+        }
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        return stream(subject, predicate, object).count();
+    }
+
     /**
      * This method is deprecated, use the equivalent method {@link #stream()}
      * instead.
@@ -18,6 +18,7 @@
 package org.apache.commons.rdf.api;
 
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.stream.Stream;
 
 /**
@@ -55,6 +56,43 @@ public interface GraphLike<T extends TripleLike> {
      */
     void add(T statement);
 
+    /**
+     * Add statements.
+     * <p>
+     * The default implementation calls {@link #add(TripleLike)} for each
+     * statement. Implementations may override this method to add the
+     * statements in bulk, e.g. in a single transaction.
+     * <p>
+     * The behavior is undefined if the statements are iterated from this
+     * {@link GraphLike}.
+     *
+     * @param statements
+     *            The TripleLike statements to add
+     * @since 0.6.0
+     */
+    default void addAll(final Iterable<? extends T> statements) {
+        for (final T statement : statements) {
+            add(statement);
+        }
+    }
+
+    /**
+     * Add a stream of statements.
+     * <p>
+     * The default implementation calls {@link #addAll(Iterable)} with the
+     * {@link Stream#iterator()} of the stream, so implementations only need
+     * to override {@link #addAll(Iterable)}. The stream is not closed.
+     *
+     * @param statements
+     *            The TripleLike statements to add
+     * @since 0.6.0
+     */
+    @SuppressWarnings("unchecked")
+    default void addAll(final Stream<? extends T> statements) {
+        final Iterator<? extends T> iterator = statements.iterator();
+        addAll(() -> (Iterator<T>) iterator);
+    }
+
     /**
      * Remove all statements.
      */
@@ -81,6 +119,27 @@ public interface GraphLike<T extends TripleLike> {
      */
     Iterable<T> iterate() throws ConcurrentModificationException, IllegalStateException;
 
+    /**
+     * Return a possibly parallel Stream of contained statements.
+     * <p>
+     * Use this instead of {@link #stream()} to let a full scan of a large
+     * graph use several threads, as with
+     * {@link java.util.Collection#parallelStream()}. Statements are then
+     * passed to the stream operations from several threads, so they must be
+     * thread-safe.
+     * <p>
+     * The default implementation returns {@link #stream()} made
+     * {@link Stream#parallel()}, which only runs in parallel as far as the
+     * {@link java.util.Spliterator} of the stream can be split.
+     *
+     * @return A {@link Stream} of {@link TripleLike} statements, which may be
+     *         parallel
+     * @since 0.6.0
+     */
+    default Stream<? extends T> parallelStream() {
+        return stream().parallel();
+    }
+
     /**
      * Add a statement.
      *
@@ -89,6 +148,43 @@ public interface GraphLike<T extends TripleLike> {
      */
     void remove(T statement);
 
+    /**
+     * Remove statements.
+     * <p>
+     * The default implementation calls {@link #remove(TripleLike)} for each
+     * statement. Implementations may override this method to remove the
+     * statements in bulk, e.g. in a single transaction.
+     * <p>
+     * The behavior is undefined if the statements are iterated from this
+     * {@link GraphLike}.
+     *
+     * @param statements
+     *            The TripleLike statements to remove
+     * @since 0.6.0
+     */
+    default void removeAll(final Iterable<? extends T> statements) {
+        for (final T statement : statements) {
+            remove(statement);
+        }
+    }
+
+    /**
+     * Remove a stream of statements.
+     * <p>
+     * The default implementation calls {@link #removeAll(Iterable)} with the
+     * {@link Stream#iterator()} of the stream, so implementations only need
+     * to override {@link #removeAll(Iterable)}. The stream is not closed.
+     *
+     * @param statements
+     *            The TripleLike statements to remove
+     * @since 0.6.0
+     */
+    @SuppressWarnings("unchecked")
+    default void removeAll(final Stream<? extends T> statements) {
+        final Iterator<? extends T> iterator = statements.iterator();
+        removeAll(() -> (Iterator<T>) iterator);
+    }
+
     /**
      * Number of statements.
      *
@@ -98,6 +194,9 @@ public interface GraphLike<T extends TripleLike> {
 
     /**
      * Return a Stream of contained statements.
+     * <p>
+     * The stream is sequential, see {@link #parallelStream()} for a parallel
+     * stream.
      *
      * @return A {@link Stream} of {@link TripleLike} statements.
      */
@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.experimental;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * A {@link QuadPublisher} of the quads parsed by an {@link RDFParser}, as
+ * returned by {@link RDFParser#publisher()} and
+ * {@link QuadPublisher#ofParse(Function)}.
+ * <p>
+ * Each subscription starts its own parse, with a target that delivers each
+ * quad to the subscriber on the parsing thread, and waits while the
+ * subscriber has no outstanding demand, which stops the parser from reading
+ * further from the source. The subscriber is signalled when the parse
+ * completes.
+ */
+final class ParsePublisher implements QuadPublisher {
+
+    private final class ParseSubscription implements Subscription {
+
+        private final Subscriber subscriber;
+
+        private long demand;
+        private boolean started;
+        private boolean cancelled;
+
+        /**
+         * Error to signal instead of completing, from an invalid request.
+         */
+        private Throwable failure;
+
+        ParseSubscription(final Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        private void deliver(final Quad quad) {
+            synchronized (this) {
+                try {
+                    while (demand == 0 && !cancelled) {
+                        wait();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                }
+                if (cancelled) {
+                    throw new CancellationException("Subscription was cancelled");
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            subscriber.onNext(quad);
+        }
+
+        private void finish(final Throwable thrown) {
+            Throwable error = thrown instanceof CompletionException && thrown.getCause() != null ? thrown.getCause()
+                    : thrown;
+            final boolean wasCancelled;
+            synchronized (this) {
+                wasCancelled = cancelled;
+                cancelled = true;
+                if (failure != null) {
+                    error = failure;
+                } else if (wasCancelled) {
+                    // Cancelled by the subscriber, no more signals
+                    error = null;
+                }
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else if (!wasCancelled) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            final boolean start;
+            final Throwable invalid;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                start = !started;
+                started = true;
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Non-positive request: " + n);
+                    cancelled = true;
+                    notifyAll();
+                    // Once started, the end of the parse signals the failure
+                    invalid = start ? failure : null;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    notifyAll();
+                    invalid = null;
+                }
+            }
+            if (invalid != null) {
+                subscriber.onError(invalid);
+            } else if (start && n > 0) {
+                start();
+            }
+        }
+
+        private void start() {
+            final CompletionStage<?> parsed;
+            try {
+                parsed = parse.apply(this::deliver);
+            } catch (final RuntimeException e) {
+                finish(e);
+                return;
+            }
+            parsed.whenComplete((result, error) -> finish(error));
+        }
+    }
+
+    /**
+     * Parse from a new thread, which waits for the parse to finish.
+     * <p>
+     * The parse may run synchronously, and would then wait for demand on the
+     * thread that should request it.
+     *
+     * @param parser
+     *            Parser to parse with
+     * @param target
+     *            Target of the parse
+     * @return A stage that completes when the parse is finished
+     */
+    private static CompletionStage<Object> parseOnNewThread(final RDFParser parser, final Consumer<Quad> target) {
+        final CompletableFuture<Object> parsed = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                parsed.complete(parser.target(target).parse().get());
+            } catch (final ExecutionException e) {
+                parsed.completeExceptionally(e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                parsed.completeExceptionally(e);
+            } catch (final Exception e) {
+                parsed.completeExceptionally(e);
+            }
+        }, "RDFParser publisher");
+        thread.setDaemon(true);
+        thread.start();
+        return parsed;
+    }
+
+    private final Function<Consumer<Quad>, ? extends CompletionStage<?>> parse;
+
+    ParsePublisher(final Function<Consumer<Quad>, ? extends CompletionStage<?>> parse) {
+        this.parse = Objects.requireNonNull(parse, "parse");
+    }
+
+    ParsePublisher(final RDFParser parser) {
+        this(target -> parseOnNewThread(parser, target));
+    }
+
+    @Override
+    public void subscribe(final Subscriber subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new ParseSubscription(subscriber));
+    }
+
+}
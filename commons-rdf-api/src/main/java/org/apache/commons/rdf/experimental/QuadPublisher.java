@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.experimental;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * A publisher of quads with backpressure, as returned by
+ * {@link RDFParser#publisher()}.
+ * <p>
+ * The interfaces follow the
+ * <a href="https://www.reactive-streams.org/">Reactive Streams</a>
+ * specification, also adopted by {@code java.util.concurrent.Flow}, so that
+ * a subscriber of those APIs can be adapted with a few lines of code.
+ * <h2>Experimental</h2> This interface should be considered
+ * <strong>at risk</strong>; it might change or be removed in the next minor
+ * update of Commons RDF.
+ *
+ * @since 0.6.0
+ */
+public interface QuadPublisher {
+
+    /**
+     * Receives the quads of a {@link QuadPublisher}, once it has requested
+     * them with {@link Subscription#request(long)}.
+     */
+    interface Subscriber {
+
+        /**
+         * Called when there are no more quads. No further signals follow.
+         */
+        void onComplete();
+
+        /**
+         * Called when the publisher failed. No further signals follow.
+         *
+         * @param throwable
+         *            The failure, e.g. an {@link java.io.IOException}
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called with the next quad, at most as often as requested.
+         *
+         * @param quad
+         *            The next quad
+         */
+        void onNext(Quad quad);
+
+        /**
+         * Called first, with the subscription to request quads from.
+         *
+         * @param subscription
+         *            The new subscription
+         */
+        void onSubscribe(Subscription subscription);
+    }
+
+    /**
+     * Link between a {@link QuadPublisher} and one of its {@link Subscriber}s.
+     */
+    interface Subscription {
+
+        /**
+         * Stop sending quads to the subscriber, eventually.
+         */
+        void cancel();
+
+        /**
+         * Request more quads.
+         *
+         * @param n
+         *            Number of quads to add to the outstanding demand, which
+         *            must be positive
+         */
+        void request(long n);
+    }
+
+    /**
+     * Create a publisher that starts a parse for each subscription.
+     * <p>
+     * This is meant for implementations of {@link RDFParser#publisher()}
+     * that can tell when a parse is finished without waiting for it. At the
+     * first request of a subscription, the publisher calls the function with
+     * a target that delivers each quad to the subscriber, and waits on the
+     * parsing thread while the subscriber has no outstanding demand. The
+     * parse must therefore not run synchronously on the calling thread,
+     * unless the subscriber requests more quads from
+     * {@link Subscriber#onNext(Quad)}. When the returned stage completes, the
+     * subscriber is completed, or receives the exception of the stage with
+     * {@link Subscriber#onError(Throwable)}.
+     *
+     * @param parse
+     *            Function that starts a parse into the given target, and
+     *            returns a stage that completes when the parse is finished
+     * @return A publisher that parses for each subscriber
+     */
+    static QuadPublisher ofParse(final Function<Consumer<Quad>, ? extends CompletionStage<?>> parse) {
+        return new ParsePublisher(parse);
+    }
+
+    /**
+     * Subscribe to the quads of this publisher.
+     *
+     * @param subscriber
+     *            Subscriber, which is called back with
+     *            {@link Subscriber#onSubscribe(Subscription)}
+     */
+    void subscribe(Subscriber subscriber);
+
+}
@@ -21,7 +21,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
@@ -86,10 +89,68 @@ public interface RDFParser {
     /**
      * The result of {@link RDFParser#parse()} indicating parsing completed.
      * <p>
-     * This is a marker interface that may be subclassed to include parser
-     * details, e.g. warning messages or triple counts.
+     * Implementations may provide statistics of the parse, e.g. to monitor
+     * throughput or to find out if the parser or the target is the
+     * bottleneck. Statistics that are not known are {@link Optional#empty()}
+     * (the default). This interface may be subclassed to include other parser
+     * details, e.g. warning messages.
      */
     interface ParseResult {
+
+        /**
+         * Gets the number of blank node terms in the parsed statements.
+         * <p>
+         * A blank node is counted for each position it occurs in, not once
+         * per distinct blank node.
+         *
+         * @return The number of blank node terms, if known
+         * @since 0.6.0
+         */
+        default OptionalLong getBlankNodeCount() {
+            return OptionalLong.empty();
+        }
+
+        /**
+         * Gets the number of bytes read from the source.
+         *
+         * @return The number of bytes, if known
+         * @since 0.6.0
+         */
+        default OptionalLong getByteCount() {
+            return OptionalLong.empty();
+        }
+
+        /**
+         * Gets the elapsed time of the parse, including
+         * {@link #getTargetTime()}.
+         *
+         * @return The elapsed time, if known
+         * @since 0.6.0
+         */
+        default Optional<Duration> getParseTime() {
+            return Optional.empty();
+        }
+
+        /**
+         * Gets the number of statements delivered to the target.
+         *
+         * @return The number of triples or quads, if known
+         * @since 0.6.0
+         */
+        default OptionalLong getStatementCount() {
+            return OptionalLong.empty();
+        }
+
+        /**
+         * Gets the time spent in the target, e.g. adding the parsed
+         * statements to a {@link Graph}.
+         *
+         * @return The time spent in the target, if known
+         * @since 0.6.0
+         */
+        default Optional<Duration> getTargetTime() {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -238,6 +299,38 @@ public interface RDFParser {
      */
     Future<? extends ParseResult> parse() throws IOException, IllegalStateException;
 
+    /**
+     * Parse the source as a {@link QuadPublisher} of quads.
+     * <p>
+     * Unlike {@link #parse()}, which pushes the parsed quads into the target
+     * as fast as the source is read, the publisher only reads the source as
+     * fast as its subscriber requests quads with
+     * {@link QuadPublisher.Subscription#request(long)}. When there is no outstanding
+     * demand the parsing thread waits, so memory stays bounded when the
+     * subscriber is slower than the parser.
+     * <p>
+     * Each subscription parses the source once, starting at its first
+     * request. Any target set on this parser is ignored. The subscriber is
+     * completed at the end of the source, or receives the exception (e.g.
+     * {@link IOException}) that stopped the parse with
+     * {@link QuadPublisher.Subscriber#onError(Throwable)}. Cancelling the
+     * subscription stops the parse at the next quad.
+     * <p>
+     * An {@link InputStream} source can only be read by one subscription.
+     * <p>
+     * The default implementation calls {@link #parse()} with a target that
+     * delivers to the subscriber, from a new thread per subscription that
+     * waits for the parse to finish. Implementations that can signal the end
+     * of a parse themselves should override this with
+     * {@link QuadPublisher#ofParse(java.util.function.Function)}.
+     *
+     * @return A publisher that parses the source for each subscriber
+     * @since 0.6.0
+     */
+    default QuadPublisher publisher() {
+        return new ParsePublisher(this);
+    }
+
     /**
      * Specify which {@link RDF} to use for generating {@link RDFTerm}s.
      * <p>
@@ -420,6 +513,69 @@ public interface RDFParser {
      */
     RDFParser target(Consumer<Quad> consumer);
 
+    /**
+     * Specify a consumer for batches of parsed quads.
+     * <p>
+     * This is equivalent to {@link #targetBatch(int, Duration, Consumer)}
+     * without a maximum delay, so batches are only delivered when they are
+     * full, and at the end of the parse.
+     * <p>
+     * The default implementation of this method calls
+     * {@link #targetBatch(int, Duration, Consumer)} with a {@code null} delay.
+     *
+     * @param batchSize
+     *            Maximum number of quads in each batch
+     * @param consumer
+     *            A {@link Consumer} of batches of {@link Quad}s
+     * @return An {@link RDFParser} that will deliver batches of quads to the
+     *         consumer.
+     * @throws IllegalArgumentException
+     *             If the batch size is less than {@code 1}
+     * @since 0.6.0
+     */
+    default RDFParser targetBatch(final int batchSize, final Consumer<List<Quad>> consumer)
+            throws IllegalArgumentException {
+        return targetBatch(batchSize, null, consumer);
+    }
+
+    /**
+     * Specify a consumer for batches of parsed quads.
+     * <p>
+     * This target is intended for consumers with a per-call overhead, e.g. a
+     * batch insert into a database or a message queue. The quads are the same
+     * as for {@link #target(Consumer)}, but are delivered as lists of at most
+     * {@code batchSize} quads. A partial batch is delivered at the end of a
+     * successful parse, and, if {@code maxDelay} is not {@code null}, once the
+     * oldest quad in the batch has waited for {@code maxDelay}, so that a slow
+     * source does not hold back the quads already parsed.
+     * <p>
+     * Each list is a new list that is owned by the consumer, which may keep or
+     * modify it. As for {@link #target(Consumer)}, only one
+     * {@link Consumer#accept(Object)} is delivered at a time for a given
+     * {@link RDFParser#parse()} call, but calls for a delayed batch may be made
+     * from a different thread.
+     * <p>
+     * Calling this method will override any earlier targets set with
+     * {@link #target(Graph)}, {@link #target(Consumer)} or
+     * {@link #target(Dataset)}.
+     *
+     * @param batchSize
+     *            Maximum number of quads in each batch
+     * @param maxDelay
+     *            Maximum time a parsed quad waits for its batch to fill up, or
+     *            {@code null} to only deliver full batches
+     * @param consumer
+     *            A {@link Consumer} of batches of {@link Quad}s
+     * @return An {@link RDFParser} that will deliver batches of quads to the
+     *         consumer.
+     * @throws IllegalArgumentException
+     *             If the batch size is less than {@code 1}, or the delay is
+     *             not positive
+     * @since 0.6.0
+     */
+    RDFParser targetBatch(int batchSize, Duration maxDelay, Consumer<List<Quad>> consumer)
+            throws IllegalArgumentException;
+
     /**
      * Specify a {@link Dataset} to add parsed quads to.
      * <p>
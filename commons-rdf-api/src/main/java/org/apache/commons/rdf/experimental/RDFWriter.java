@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.experimental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.api.TripleLike;
+
+/**
+ * Write triples or quads from a source (e.g. a Graph/Dataset) to a target in
+ * an RDF syntax.
+ * <h2>Experimental</h2> This interface (and its implementations) should be
+ * considered <strong>at risk</strong>; they might change or be removed in the
+ * next minor update of Commons RDF. It may move to the
+ * {@link org.apache.commons.rdf.api} package when it has stabilized.
+ * <h2>Description</h2>
+ * <p>
+ * This interface follows the
+ * <a href="https://en.wikipedia.org/wiki/Builder_pattern">Builder pattern</a>,
+ * in the same way as {@link RDFParser}. A caller MUST call one of the
+ * {@code source} methods (e.g. {@link #source(Graph)},
+ * {@link #source(Stream)}) and one of the {@code target} methods (e.g.
+ * {@link #target(Path)}, {@link #target(OutputStream)}) before calling
+ * {@link #write()} on the returned RDFWriter - however methods can be called
+ * in any order.
+ * <p>
+ * The call to {@link #write()} returns a {@link Future}, allowing
+ * asynchronous write operations. Callers are recommended to check
+ * {@link Future#get()} to ensure writing completed successfully.
+ * <p>
+ * Setting a method that has already been set will override any existing value
+ * in the returned builder - regardless of the parameter type (e.g.
+ * {@link #target(Path)} will override a previous
+ * {@link #target(OutputStream)}).
+ * <p>
+ * It is undefined if a RDFWriter is mutable or thread-safe, so callers should
+ * always use the returned modified RDFWriter from the builder methods.
+ * <p>
+ * Example usage:
+ * </p>
+ *
+ * <pre>
+ * new ExampleRDFWriter().source(graph).contentType(RDFSyntax.NTRIPLES).target(Paths.get("/tmp/graph.nt")).write()
+ *         .get(30, TimeUnit.SECONDS);
+ * </pre>
+ */
+public interface RDFWriter {
+
+    /**
+     * The result of {@link RDFWriter#write()} indicating writing completed.
+     * <p>
+     * This is a marker interface that may be subclassed to include writer
+     * details, e.g. triple counts.
+     */
+    interface WriteResult {
+    }
+
+    /**
+     * Specify the content type of the RDF syntax to write.
+     * <p>
+     * Implementations choose a default syntax if no content type is set,
+     * which SHOULD be documented.
+     *
+     * @see #contentType(String)
+     * @param rdfSyntax
+     *            An {@link RDFSyntax} to write
+     * @return An {@link RDFWriter} that will use the specified content type.
+     * @throws IllegalArgumentException
+     *             If this RDFWriter does not support the specified RDFSyntax.
+     */
+    RDFWriter contentType(RDFSyntax rdfSyntax) throws IllegalArgumentException;
+
+    /**
+     * Specify the content type of the RDF syntax to write.
+     * <p>
+     * The content type MUST be a media type like {@code text/turtle}, see
+     * {@link RDFSyntax#mediaType()}.
+     *
+     * @see #contentType(RDFSyntax)
+     * @param contentType
+     *            A content type string, e.g. {@code application/n-quads}
+     * @return An {@link RDFWriter} that will use the specified content type.
+     * @throws IllegalArgumentException
+     *             If the contentType has an invalid syntax, or this RDFWriter
+     *             does not support the specified contentType.
+     */
+    RDFWriter contentType(String contentType) throws IllegalArgumentException;
+
+    /**
+     * Specify a {@link Dataset} to write all quads of.
+     * <p>
+     * The default implementation of this method calls {@link #source(Stream)}
+     * with {@link Dataset#stream()}.
+     *
+     * @param dataset
+     *            The {@link Dataset} to write
+     * @return An {@link RDFWriter} that will write the quads of the dataset.
+     */
+    default RDFWriter source(final Dataset dataset) {
+        return source(dataset.stream());
+    }
+
+    /**
+     * Specify a {@link Graph} to write all triples of.
+     * <p>
+     * The default implementation of this method calls {@link #source(Stream)}
+     * with {@link Graph#stream()}.
+     *
+     * @param graph
+     *            The {@link Graph} to write
+     * @return An {@link RDFWriter} that will write the triples of the graph.
+     */
+    default RDFWriter source(final Graph graph) {
+        return source(graph.stream());
+    }
+
+    /**
+     * Specify a stream of {@link Triple}s or {@link Quad}s to write.
+     * <p>
+     * If the content type does not support datasets (e.g.
+     * {@link RDFSyntax#NTRIPLES}), only statements in the <em>default
+     * graph</em> are written.
+     * <p>
+     * The stream is consumed by {@link #write()} and closed once writing has
+     * finished, so an RDFWriter with a stream source can only be written once.
+     *
+     * @param statements
+     *            Stream of {@link Triple}s or {@link Quad}s
+     * @return An {@link RDFWriter} that will write the statements.
+     */
+    RDFWriter source(Stream<? extends TripleLike> statements);
+
+    /**
+     * Specify an {@link OutputStream} to write to.
+     * <p>
+     * The OutputStream will not be closed after writing, but it is flushed.
+     *
+     * @param outputStream
+     *            OutputStream to write to
+     * @return An {@link RDFWriter} that will write to the output stream.
+     */
+    RDFWriter target(OutputStream outputStream);
+
+    /**
+     * Specify a {@link WritableByteChannel} to write to.
+     * <p>
+     * The channel will not be closed after writing.
+     *
+     * @param channel
+     *            Channel to write to
+     * @return An {@link RDFWriter} that will write to the channel.
+     */
+    RDFWriter target(WritableByteChannel channel);
+
+    /**
+     * Specify a file to write to.
+     * <p>
+     * The file is created, or replaced if it already exists.
+     * <p>
+     * If no content type is set, implementations MAY guess the syntax from the
+     * file extension.
+     *
+     * @param file
+     *            Path of the file to write
+     * @return An {@link RDFWriter} that will write to the file.
+     */
+    RDFWriter target(Path file);
+
+    /**
+     * Write the source to the target, using the settings of this RDFWriter.
+     * <p>
+     * The returned {@link Future} indicates completion, in which case
+     * {@link Future#get()} returns a {@link WriteResult}, or an
+     * {@link java.util.concurrent.ExecutionException} wrapping the cause of a
+     * failure, e.g. an {@link IOException}.
+     *
+     * @return A Future that will return the write result when writing has
+     *         finished.
+     * @throws IOException
+     *             If an error occurred before starting to write, e.g. the
+     *             target file could not be created.
+     * @throws IllegalStateException
+     *             If the builder is in an invalid state, e.g. a
+     *             {@code source} or {@code target} has not been set.
+     */
+    Future<? extends WriteResult> write() throws IOException, IllegalStateException;
+
+}
@@ -29,6 +29,9 @@
  * <li>{@link org.apache.commons.rdf.experimental.RDFParser} - a builder-like interface for parsing RDF to a
  * {@link org.apache.commons.rdf.api.Graph} or
  * {@link org.apache.commons.rdf.api.Dataset}.</li>
+ * <li>{@link org.apache.commons.rdf.experimental.RDFWriter} - a builder-like interface for writing a
+ * {@link org.apache.commons.rdf.api.Graph} or
+ * {@link org.apache.commons.rdf.api.Dataset} as RDF.</li>
  * </ul>
  */
 package org.apache.commons.rdf.experimental;
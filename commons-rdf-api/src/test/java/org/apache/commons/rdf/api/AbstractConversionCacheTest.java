@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the cache of terms converted from other {@link RDF} implementations.
+ * <p>
+ * To add to your implementation's tests, create a subclass with a name ending
+ * in {@code Test} and provide {@link #createFactory(int)} and the hooks that
+ * convert terms and read the statistics of the cache. Checks of how the
+ * implementation's graphs use the cache belong in the subclass.
+ */
+public abstract class AbstractConversionCacheTest {
+
+    /**
+     * Convert a term to a term of the underlying implementation, e.g. a Jena
+     * {@code Node}, with the cache of the factory.
+     *
+     * @param factory
+     *            Factory from {@link #createFactory(int)}
+     * @param term
+     *            Term to convert
+     * @return The converted term
+     */
+    protected abstract Object convert(RDF factory, RDFTerm term);
+
+    /**
+     * Create a factory that caches converted terms.
+     *
+     * @param capacity
+     *            Maximum number of cached conversions, or {@code 0} to not
+     *            cache conversions
+     * @return {@link RDF} instance to be tested
+     * @throws IllegalArgumentException
+     *             If the capacity is negative
+     */
+    protected abstract RDF createFactory(int capacity);
+
+    /**
+     * Gets the capacity of the conversion cache of a factory.
+     *
+     * @param factory
+     *            Factory from {@link #createFactory(int)}
+     * @return The capacity, or {@link OptionalInt#empty()} if the factory
+     *         does not cache conversions
+     */
+    protected abstract OptionalInt getCacheCapacity(RDF factory);
+
+    /**
+     * Gets the number of conversions found in the cache of a factory.
+     *
+     * @param factory
+     *            Factory from {@link #createFactory(int)}, with a cache
+     * @return Number of cache hits
+     */
+    protected abstract long getCacheHits(RDF factory);
+
+    /**
+     * Gets the number of conversions not found in the cache of a factory.
+     *
+     * @param factory
+     *            Factory from {@link #createFactory(int)}, with a cache
+     * @return Number of cache misses
+     */
+    protected abstract long getCacheMisses(RDF factory);
+
+    @Test
+    void testCacheDisabled() {
+        final RDF factory = createFactory(0);
+        assertFalse(getCacheCapacity(factory).isPresent());
+        final IRI predicate = new DummyIRI(1);
+        final Object converted = convert(factory, predicate);
+        assertEquals(convert(createFactory(0), predicate), converted);
+        assertEquals(converted, convert(factory, predicate));
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        final RDF factory = createFactory(16);
+        assertEquals(16, getCacheCapacity(factory).getAsInt());
+
+        final Object converted = convert(factory, new DummyIRI(1));
+        assertSame(converted, convert(factory, new DummyIRI(1)));
+        assertNotSame(converted, convert(factory, new DummyIRI(2)));
+        assertEquals(1, getCacheHits(factory));
+        assertEquals(2, getCacheMisses(factory));
+
+        // Terms of the implementation itself are not looked up
+        convert(factory, factory.createIRI(DummyIRI.EXAMPLE_COM + 1));
+        assertEquals(3, getCacheHits(factory) + getCacheMisses(factory));
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> createFactory(-1));
+    }
+
+}
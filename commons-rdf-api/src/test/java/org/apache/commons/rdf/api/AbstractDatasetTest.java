@@ -247,6 +247,13 @@ public abstract class AbstractDatasetTest {
         assertNotEquals(node1.ntriplesString(), node2.ntriplesString());
     }
 
+    private long streamCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        try (Stream<? extends Quad> stream = dataset.stream(graphName, subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
     @Test
     void testAddBlankNodesFromMultipleDatasets() throws Exception {
         // Create two separate Dataset instances
@@ -314,6 +321,39 @@ public abstract class AbstractDatasetTest {
         }
     }
 
+    @Test
+    void testAddAllRemoveAll() throws Exception {
+        final IRI carol = factory.createIRI("http://example.com/carol");
+        final List<Quad> quads = new ArrayList<>();
+        quads.add(factory.createQuad(graph1, alice, knows, carol));
+        quads.add(factory.createQuad(graph2, bob, knows, carol));
+        quads.add(factory.createQuad(null, carol, knows, alice));
+        quads.add(factory.createQuad(graph1, carol, knows, bob));
+
+        final long size = dataset.size();
+        dataset.addAll(quads);
+        assertEquals(size + 4, dataset.size());
+        for (final Quad q : quads) {
+            assertTrue(dataset.contains(q));
+        }
+        // Each quad went into its own graph
+        assertTrue(dataset.contains(Optional.of(graph2), bob, knows, carol));
+        assertTrue(dataset.contains(Optional.empty(), carol, knows, alice));
+        assertFalse(dataset.contains(Optional.empty(), alice, knows, carol));
+        // Adding again is a no-op
+        dataset.addAll(quads.stream());
+        assertEquals(size + 4, dataset.size());
+
+        dataset.removeAll(quads.subList(0, 3));
+        assertEquals(size + 1, dataset.size());
+        assertFalse(dataset.contains(null, alice, knows, carol));
+        assertTrue(dataset.contains(Optional.of(graph1), carol, knows, bob));
+        dataset.removeAll(Stream.of(quads.get(3)));
+        assertEquals(size, dataset.size());
+        // Existing quads are untouched
+        assertTrue(dataset.contains(Optional.of(graph1), alice, knows, bob));
+    }
+
     @Test
     void testClear() throws Exception {
         dataset.clear();
@@ -428,6 +468,46 @@ public abstract class AbstractDatasetTest {
         }
     }
 
+    @Test
+    void testCount() throws Exception {
+        assertEquals(dataset.size(), dataset.count(null, null, null, null));
+        assertEquals(1, dataset.count(Optional.of(graph1), alice, knows, bob));
+        assertEquals(0, dataset.count(Optional.of(graph2), alice, knows, bob));
+        assertEquals(0, dataset.count(Optional.empty(), alice, knows, bob));
+        assertEquals(streamCount(Optional.of(graph1), null, null, null),
+                dataset.count(Optional.of(graph1), null, null, null));
+        assertEquals(streamCount(Optional.empty(), null, isPrimaryTopicOf, null),
+                dataset.count(Optional.empty(), null, isPrimaryTopicOf, null));
+        assertEquals(streamCount(null, bob, null, null), dataset.count(null, bob, null, null));
+        assertEquals(streamCount(null, null, name, secretClubName), dataset.count(null, null, name, secretClubName));
+        assertEquals(streamCount(Optional.of(graph2), bob, member, null),
+                dataset.count(Optional.of(graph2), bob, member, null));
+
+        final long graph1Count = dataset.count(Optional.of(graph1), null, null, null);
+        dataset.remove(Optional.of(graph1), alice, knows, bob);
+        assertEquals(dataset.size(), dataset.count(null, null, null, null));
+        assertEquals(0, dataset.count(Optional.of(graph1), alice, knows, bob));
+        assertEquals(graph1Count - 1, dataset.count(Optional.of(graph1), null, null, null));
+    }
+
+    @Test
+    void testEstimateCount() throws Exception {
+        assertEquals(dataset.size(), dataset.estimateCount(null, null, null, null));
+        assertEquals(1, dataset.estimateCount(Optional.of(graph1), alice, knows, bob));
+        assertEquals(0, dataset.estimateCount(Optional.of(graph2), alice, knows, bob));
+        assertEquals(0, dataset.estimateCount(Optional.empty(), alice, knows, bob));
+        // Estimates may be approximate, but must not miss any match
+        assertTrue(dataset.estimateCount(Optional.of(graph1), null, null, null) > 0);
+        assertTrue(dataset.estimateCount(Optional.empty(), null, isPrimaryTopicOf, null) > 0);
+        assertTrue(dataset.estimateCount(null, bob, null, null) > 0);
+        assertTrue(dataset.estimateCount(null, null, name, secretClubName) > 0);
+        assertTrue(dataset.estimateCount(Optional.of(graph2), bob, member, null) > 0);
+
+        dataset.remove(Optional.of(graph1), alice, knows, bob);
+        assertEquals(dataset.size(), dataset.estimateCount(null, null, null, null));
+        assertEquals(0, dataset.estimateCount(Optional.of(graph1), alice, knows, bob));
+    }
+
     @Test
     void testGetGraph() throws Exception {
         try (final Graph defaultGraph = dataset.getGraph()) {
@@ -631,6 +711,20 @@ public abstract class AbstractDatasetTest {
         // closeIterable(iterate);
     }
 
+    @Test
+    void testParallelStream() throws Exception {
+        final Set<Quad> expected;
+        try (Stream<? extends Quad> stream = dataset.stream()) {
+            expected = stream.collect(Collectors.toSet());
+        }
+        try (Stream<? extends Quad> stream = dataset.parallelStream()) {
+            assertEquals(expected, stream.collect(Collectors.toSet()));
+        }
+        try (Stream<? extends Quad> stream = dataset.parallelStream()) {
+            assertEquals(dataset.size(), stream.count());
+        }
+    }
+
     @Test
     void testRemove() throws Exception {
         final long fullSize = dataset.size();
@@ -796,4 +890,10 @@ public abstract class AbstractDatasetTest {
                             }).findFirst().get());
         }
     }
+
+    @Test
+    void testSequentialStream() {
+        assertFalse(dataset.stream().isParallel());
+        assertFalse(dataset.stream(null, null, null, null).isParallel());
+    }
 }
@@ -33,7 +33,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -254,6 +256,12 @@ public abstract class AbstractGraphTest {
         assertNotEquals(node1.ntriplesString(), node2.ntriplesString());
     }
 
+    private long streamCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        try (Stream<? extends Triple> stream = graph.stream(subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
     @Test
     void testAddBlankNodesFromMultipleGraphs() throws Exception {
 
@@ -321,6 +329,34 @@ public abstract class AbstractGraphTest {
         }
     }
 
+    @Test
+    void testAddAllRemoveAll() throws Exception {
+        final IRI carol = factory.createIRI("http://example.com/carol");
+        final List<Triple> triples = new ArrayList<>();
+        triples.add(factory.createTriple(alice, knows, carol));
+        triples.add(factory.createTriple(bob, knows, carol));
+        triples.add(factory.createTriple(carol, knows, alice));
+
+        final long size = graph.size();
+        graph.addAll(triples);
+        assertEquals(size + 3, graph.size());
+        for (final Triple t : triples) {
+            assertTrue(graph.contains(t));
+        }
+        // Adding again is a no-op
+        graph.addAll(triples.stream());
+        assertEquals(size + 3, graph.size());
+
+        graph.removeAll(triples.subList(0, 2));
+        assertEquals(size + 1, graph.size());
+        assertFalse(graph.contains(alice, knows, carol));
+        assertTrue(graph.contains(carol, knows, alice));
+        graph.removeAll(Stream.of(triples.get(2)));
+        assertEquals(size, graph.size());
+        // Existing triples are untouched
+        assertTrue(graph.contains(alice, knows, bob));
+    }
+
     @Test
     void testClear() throws Exception {
         graph.clear();
@@ -441,6 +477,43 @@ public abstract class AbstractGraphTest {
         }
     }
 
+    @Test
+    void testCount() throws Exception {
+        assertEquals(graph.size(), graph.count(null, null, null));
+        assertEquals(1, graph.count(alice, knows, bob));
+        assertEquals(0, graph.count(bob, knows, alice));
+        assertEquals(streamCount(alice, null, null), graph.count(alice, null, null));
+        assertEquals(streamCount(null, knows, null), graph.count(null, knows, null));
+        assertEquals(streamCount(null, null, bob), graph.count(null, null, bob));
+        assertEquals(streamCount(alice, knows, null), graph.count(alice, knows, null));
+        assertEquals(streamCount(null, knows, bob), graph.count(null, knows, bob));
+        assertEquals(streamCount(alice, null, bob), graph.count(alice, null, bob));
+
+        final long knowsCount = graph.count(null, knows, null);
+        graph.remove(alice, knows, bob);
+        assertEquals(graph.size(), graph.count(null, null, null));
+        assertEquals(0, graph.count(alice, knows, bob));
+        assertEquals(knowsCount - 1, graph.count(null, knows, null));
+    }
+
+    @Test
+    void testEstimateCount() throws Exception {
+        assertEquals(graph.size(), graph.estimateCount(null, null, null));
+        assertEquals(1, graph.estimateCount(alice, knows, bob));
+        assertEquals(0, graph.estimateCount(bob, knows, alice));
+        // Estimates may be approximate, but must not miss any match
+        assertTrue(graph.estimateCount(alice, null, null) > 0);
+        assertTrue(graph.estimateCount(null, knows, null) > 0);
+        assertTrue(graph.estimateCount(null, null, bob) > 0);
+        assertTrue(graph.estimateCount(alice, knows, null) > 0);
+        assertTrue(graph.estimateCount(null, knows, bob) > 0);
+        assertTrue(graph.estimateCount(alice, null, bob) > 0);
+
+        graph.remove(alice, knows, bob);
+        assertEquals(graph.size(), graph.estimateCount(null, null, null));
+        assertEquals(0, graph.estimateCount(alice, knows, bob));
+    }
+
     @Test
     void testGetTriples() throws Exception {
         long tripleCount;
@@ -530,6 +603,20 @@ public abstract class AbstractGraphTest {
         // closeIterable(iterate);
     }
 
+    @Test
+    void testParallelStream() throws Exception {
+        final Set<Triple> expected;
+        try (Stream<? extends Triple> stream = graph.stream()) {
+            expected = stream.collect(Collectors.toSet());
+        }
+        try (Stream<? extends Triple> stream = graph.parallelStream()) {
+            assertEquals(expected, stream.collect(Collectors.toSet()));
+        }
+        try (Stream<? extends Triple> stream = graph.parallelStream()) {
+            assertEquals(graph.size(), stream.count());
+        }
+    }
+
     @Test
     void testRemove() throws Exception {
         final long fullSize = graph.size();
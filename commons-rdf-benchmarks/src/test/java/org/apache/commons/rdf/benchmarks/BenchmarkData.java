@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ * <p>
+ * Each subject has ten triples, spread over {@link #PREDICATES} predicates.
+ * Objects cycle through IRIs, plain literals, language-tagged literals and
+ * typed literals, so that every kind of term is exercised.
+ */
+final class BenchmarkData {
+
+    static final String NS = "http://example.com/";
+
+    static final int PREDICATES = 20;
+
+    private static final String XSD_INT = "http://www.w3.org/2001/XMLSchema#int";
+
+    private static final long SEED = 42;
+
+    private static String escape(final String string) {
+        return string.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Serialize triples as expanded JSON-LD.
+     *
+     * @param triples Triples with IRI subjects
+     * @return UTF-8 encoded JSON-LD
+     */
+    static byte[] toJsonLd(final List<Triple> triples) {
+        // JSON objects can't repeat a key, so group the objects by predicate
+        final Map<BlankNodeOrIRI, Map<IRI, List<RDFTerm>>> bySubject = new LinkedHashMap<>();
+        for (final Triple t : triples) {
+            bySubject.computeIfAbsent(t.getSubject(), s -> new LinkedHashMap<>())
+                    .computeIfAbsent(t.getPredicate(), p -> new ArrayList<>()).add(t.getObject());
+        }
+        final StringBuilder json = new StringBuilder("[");
+        String separator = "";
+        for (final Map.Entry<BlankNodeOrIRI, Map<IRI, List<RDFTerm>>> subject : bySubject.entrySet()) {
+            json.append(separator).append("{\"@id\":\"").append(((IRI) subject.getKey()).getIRIString()).append('"');
+            for (final Map.Entry<IRI, List<RDFTerm>> predicate : subject.getValue().entrySet()) {
+                json.append(",\"").append(predicate.getKey().getIRIString()).append("\":[");
+                String valueSeparator = "";
+                for (final RDFTerm object : predicate.getValue()) {
+                    json.append(valueSeparator).append(toJsonLd(object));
+                    valueSeparator = ",";
+                }
+                json.append(']');
+            }
+            json.append('}');
+            separator = ",\n";
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toJsonLd(final RDFTerm object) {
+        if (object instanceof IRI) {
+            return "{\"@id\":\"" + ((IRI) object).getIRIString() + "\"}";
+        }
+        final Literal literal = (Literal) object;
+        final String value = "{\"@value\":\"" + escape(literal.getLexicalForm()) + "\"";
+        if (literal.getLanguageTag().isPresent()) {
+            return value + ",\"@language\":\"" + literal.getLanguageTag().get() + "\"}";
+        }
+        if (literal.getDatatype().getIRIString().equals(XSD_INT)) {
+            return value + ",\"@type\":\"" + XSD_INT + "\"}";
+        }
+        return value + "}";
+    }
+
+    /**
+     * Serialize triples as N-Triples.
+     *
+     * @param triples Triples to serialize
+     * @return UTF-8 encoded N-Triples
+     */
+    static byte[] toNTriples(final List<Triple> triples) {
+        final StringBuilder ntriples = new StringBuilder();
+        for (final Triple t : triples) {
+            ntriples.append(t.getSubject().ntriplesString()).append(' ').append(t.getPredicate().ntriplesString())
+                    .append(' ').append(t.getObject().ntriplesString()).append(" .\n");
+        }
+        return ntriples.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create the test triples.
+     *
+     * @param rdf Factory to create the terms and triples with
+     * @param size Number of triples
+     * @return The triples, always the same for the same size
+     */
+    static List<Triple> triples(final RDF rdf, final int size) {
+        final Random random = new Random(SEED);
+        final IRI[] predicates = new IRI[PREDICATES];
+        for (int i = 0; i < PREDICATES; i++) {
+            predicates[i] = rdf.createIRI(NS + "p" + i);
+        }
+        final IRI xsdInt = rdf.createIRI(XSD_INT);
+        final List<Triple> triples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final IRI subject = rdf.createIRI(NS + "s" + i / 10);
+            final IRI predicate = predicates[random.nextInt(PREDICATES)];
+            final RDFTerm object;
+            switch (i % 4) {
+            case 0:
+                object = rdf.createIRI(NS + "o" + i);
+                break;
+            case 1:
+                object = rdf.createLiteral("Literal " + i);
+                break;
+            case 2:
+                object = rdf.createLiteral("Label " + i, "en");
+                break;
+            default:
+                object = rdf.createLiteral(Integer.toString(i), xsdInt);
+                break;
+            }
+            triples.add(rdf.createTriple(subject, predicate, object));
+        }
+        return triples;
+    }
+
+    private BenchmarkData() {
+        // Utility class
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of a {@link SimpleRDF.Option#concurrent} graph shared by all
+ * available processors.
+ * <p>
+ * Each thread adds triples of its own subject and checks that they are
+ * contained, or streams the triples of its subject. The graph is emptied
+ * before each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentGraphBenchmark {
+
+    /**
+     * The subject and next object of a thread.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        IRI subject;
+        int next;
+
+        @Setup
+        public void setup(final ConcurrentGraphBenchmark benchmark) {
+            subject = benchmark.rdf.createIRI(BenchmarkData.NS + "s" + THREADS.getAndIncrement());
+        }
+
+    }
+
+    private final SimpleRDF rdf = new SimpleRDF(SimpleRDF.Option.concurrent);
+    private final IRI predicate = rdf.createIRI(BenchmarkData.NS + "p");
+    private Graph graph;
+
+    @Benchmark
+    public boolean addAndContains(final Writer writer) {
+        final RDFTerm object = rdf.createLiteral("Example " + writer.next++);
+        graph.add(writer.subject, predicate, object);
+        return graph.contains(writer.subject, predicate, object);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        graph = rdf.createGraph();
+    }
+
+    @Benchmark
+    public long streamSubject(final Writer writer) {
+        graph.add(writer.subject, predicate, rdf.createLiteral("Example " + writer.next++ % 1000));
+        try (Stream<? extends Triple> s = graph.stream(writer.subject, null, null)) {
+            return s.count();
+        }
+    }
+
+}
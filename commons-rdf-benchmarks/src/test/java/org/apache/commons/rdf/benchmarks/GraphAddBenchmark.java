@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a new {@link Graph} with {@link Graph#add(Triple)}, with the
+ * separate terms, and in bulk with {@link Graph#addAll(Iterable)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphAddBenchmark {
+
+    @Param
+    public Implementation implementation;
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private RDF rdf;
+    private List<Triple> triples;
+
+    @Benchmark
+    public Graph add() {
+        final Graph graph = rdf.createGraph();
+        for (final Triple triple : triples) {
+            graph.add(triple);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph addAll() {
+        final Graph graph = rdf.createGraph();
+        graph.addAll(triples);
+        return graph;
+    }
+
+    @Benchmark
+    public Graph addTerms() {
+        final Graph graph = rdf.createGraph();
+        for (final Triple triple : triples) {
+            graph.add(triple.getSubject(), triple.getPredicate(), triple.getObject());
+        }
+        return graph;
+    }
+
+    @Setup
+    public void setup() {
+        rdf = implementation.create();
+        triples = BenchmarkData.triples(rdf, size);
+    }
+
+}
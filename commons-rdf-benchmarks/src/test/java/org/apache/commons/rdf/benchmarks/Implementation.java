@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.jsonldjava.JsonLdRDF;
+import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.apache.commons.rdf.simple.SimpleRDF;
+
+/**
+ * The {@link RDF} implementations compared by the benchmarks, used as a JMH
+ * {@code @Param}.
+ */
+public enum Implementation {
+
+    simple {
+        @Override
+        RDF create() {
+            return new SimpleRDF();
+        }
+    },
+
+    jena {
+        @Override
+        RDF create() {
+            return new JenaRDF();
+        }
+    },
+
+    rdf4j {
+        @Override
+        RDF create() {
+            return new RDF4J();
+        }
+    },
+
+    jsonld {
+        @Override
+        RDF create() {
+            return new JsonLdRDF();
+        }
+    };
+
+    /**
+     * Create a new instance of the implementation.
+     *
+     * @return A new {@link RDF} factory
+     */
+    abstract RDF create();
+
+}
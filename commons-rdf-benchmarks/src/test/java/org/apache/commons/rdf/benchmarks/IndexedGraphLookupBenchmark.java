@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pattern lookups in the default and the {@link SimpleRDF.Option#indexed}
+ * graphs of {@link SimpleRDF}, for every combination of bound positions.
+ * <p>
+ * Each invocation uses the next of a fixed set of probe triples, so that the
+ * lookups are not always for the same terms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexedGraphLookupBenchmark {
+
+    private static final int PROBES = 1024;
+
+    private static long count(final Stream<? extends Triple> stream) {
+        try (Stream<? extends Triple> s = stream) {
+            return s.count();
+        }
+    }
+
+    @Param({ "default", "indexed" })
+    public String storage;
+
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    private Graph graph;
+    private Triple[] probes;
+    private int next;
+
+    @Benchmark
+    public boolean containsTriple() {
+        final Triple probe = nextProbe();
+        return graph.contains(probe.getSubject(), probe.getPredicate(), probe.getObject());
+    }
+
+    private Triple nextProbe() {
+        return probes[next++ & PROBES - 1];
+    }
+
+    @Setup
+    public void setup() {
+        final SimpleRDF rdf = "indexed".equals(storage) ? new SimpleRDF(SimpleRDF.Option.indexed) : new SimpleRDF();
+        final List<Triple> triples = BenchmarkData.triples(rdf, size);
+        graph = rdf.createGraph();
+        graph.addAll(triples);
+
+        final List<Triple> shuffled = new ArrayList<>(triples);
+        Collections.shuffle(shuffled, new Random(size));
+        probes = shuffled.subList(0, PROBES).toArray(new Triple[PROBES]);
+    }
+
+    @Benchmark
+    public long streamObject() {
+        return count(graph.stream(null, null, nextProbe().getObject()));
+    }
+
+    @Benchmark
+    public long streamPredicate() {
+        return count(graph.stream(null, nextProbe().getPredicate(), null));
+    }
+
+    @Benchmark
+    public long streamPredicateObject() {
+        final Triple probe = nextProbe();
+        return count(graph.stream(null, probe.getPredicate(), probe.getObject()));
+    }
+
+    @Benchmark
+    public long streamSubject() {
+        return count(graph.stream(nextProbe().getSubject(), null, null));
+    }
+
+    @Benchmark
+    public long streamSubjectObject() {
+        final Triple probe = nextProbe();
+        return count(graph.stream(probe.getSubject(), null, probe.getObject()));
+    }
+
+    @Benchmark
+    public long streamSubjectPredicate() {
+        final Triple probe = nextProbe();
+        return count(graph.stream(probe.getSubject(), probe.getPredicate(), null));
+    }
+
+}
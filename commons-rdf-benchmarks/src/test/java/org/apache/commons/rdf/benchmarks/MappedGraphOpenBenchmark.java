@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.experimental.NQuadsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Opening a memory-mapped {@link SimpleRDF#createGraph(Path)} file and
+ * looking up a subject, compared with parsing the same triples from an
+ * N-Triples file into a new in-memory graph.
+ * <p>
+ * Each invocation opens or parses the graph once, so the times include the
+ * first lookup after opening.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class MappedGraphOpenBenchmark {
+
+    private static long count(final Stream<? extends Triple> stream) {
+        try (Stream<? extends Triple> s = stream) {
+            return s.count();
+        }
+    }
+
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    private final SimpleRDF rdf = new SimpleRDF();
+    private final IRI subject = rdf.createIRI(BenchmarkData.NS + "s42");
+    private Path mappedFile;
+    private Path ntriplesFile;
+
+    @Benchmark
+    public long openMapped() throws Exception {
+        try (Graph graph = rdf.createGraph(mappedFile)) {
+            return count(graph.stream(subject, null, null));
+        }
+    }
+
+    @Benchmark
+    public long parseNTriples() throws Exception {
+        final Graph graph = rdf.createGraph();
+        new NQuadsParser().contentType(RDFSyntax.NTRIPLES).source(ntriplesFile).target(graph).parse().get();
+        return count(graph.stream(subject, null, null));
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        mappedFile = Files.createTempFile("commons-rdf-benchmark", ".crdf");
+        ntriplesFile = Files.createTempFile("commons-rdf-benchmark", ".nt");
+        try (Graph graph = rdf.createGraph(mappedFile)) {
+            graph.addAll(BenchmarkData.triples(rdf, size));
+        }
+        Files.write(ntriplesFile, BenchmarkData.toNTriples(BenchmarkData.triples(rdf, size)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mappedFile);
+        Files.deleteIfExists(ntriplesFile);
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.experimental.NQuadsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing an N-Triples file with {@link NQuadsParser#parallelism(int)}
+ * threads.
+ * <p>
+ * The target is a concurrent {@link SimpleRDF} graph, either called from all
+ * worker threads or receiving batches one at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelParseBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    @Param({ "false", "true" })
+    public boolean concurrentTarget;
+
+    @Param({ "1000000" })
+    public int size;
+
+    private Path file;
+    private SimpleRDF rdf;
+
+    @Benchmark
+    public Graph parseFile() throws Exception {
+        final Graph graph = rdf.createGraph();
+        new NQuadsParser().rdfTermFactory(rdf).parallelism(parallelism).concurrentTarget(concurrentTarget)
+                .source(file).target(graph).parse().get();
+        return graph;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        rdf = new SimpleRDF(SimpleRDF.Option.concurrent);
+        file = Files.createTempFile("commons-rdf-benchmark", ".nt");
+        Files.write(file, BenchmarkData.toNTriples(BenchmarkData.triples(new SimpleRDF(), size)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+}
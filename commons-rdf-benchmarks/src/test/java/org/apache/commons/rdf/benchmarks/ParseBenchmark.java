@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.experimental.RDFParser;
+import org.apache.commons.rdf.jena.experimental.JenaRDFParser;
+import org.apache.commons.rdf.jsonldjava.experimental.JsonLdParser;
+import org.apache.commons.rdf.rdf4j.experimental.RDF4JParser;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.experimental.NQuadsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a document into a new {@link Graph}, from memory or from a file.
+ * <p>
+ * The simple, Jena and RDF4J parsers read N-Triples, the JSON-LD parser
+ * reads the same triples as expanded JSON-LD. The parser creates its terms with the
+ * target implementation, so no conversion is needed when adding to the
+ * graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    @Param({ "simple", "jena", "rdf4j", "jsonld" })
+    public String parser;
+
+    @Param
+    public Implementation target;
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private byte[] document;
+    private Path file;
+    private RDFSyntax syntax;
+    private RDF targetRdf;
+
+    private RDFParser createParser() {
+        switch (parser) {
+        case "simple":
+            return new NQuadsParser();
+        case "jena":
+            return new JenaRDFParser();
+        case "rdf4j":
+            return new RDF4JParser();
+        case "jsonld":
+            return new JsonLdParser();
+        default:
+            throw new IllegalStateException("Unknown parser: " + parser);
+        }
+    }
+
+    @Benchmark
+    public Graph parse() throws Exception {
+        final Graph graph = targetRdf.createGraph();
+        createParser().rdfTermFactory(targetRdf).contentType(syntax).base(BenchmarkData.NS)
+                .source(new ByteArrayInputStream(document)).target(graph).parse().get();
+        return graph;
+    }
+
+    @Benchmark
+    public Graph parseFile() throws Exception {
+        final Graph graph = targetRdf.createGraph();
+        createParser().rdfTermFactory(targetRdf).contentType(syntax).source(file).target(graph).parse().get();
+        return graph;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final boolean jsonld = "jsonld".equals(parser);
+        syntax = jsonld ? RDFSyntax.JSONLD : RDFSyntax.NTRIPLES;
+        document = jsonld ? BenchmarkData.toJsonLd(BenchmarkData.triples(new SimpleRDF(), size))
+                : BenchmarkData.toNTriples(BenchmarkData.triples(new SimpleRDF(), size));
+        targetRdf = target.create();
+        file = Files.createTempFile("commons-rdf-benchmark", jsonld ? ".jsonld" : ".nt");
+        Files.write(file, document);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+}
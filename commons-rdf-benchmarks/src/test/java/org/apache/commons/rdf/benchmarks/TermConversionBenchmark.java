@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.jsonldjava.JsonLdRDF;
+import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Converting terms and triples created by one {@link RDF} implementation to
+ * another.
+ * <p>
+ * {@link #convertTerms(Blackhole)} uses the native adapter of the target, e.g.
+ * {@link JenaRDF#asJenaNode(RDFTerm)}. SimpleRDF has no native term model, so
+ * terms are recreated with its factory methods instead.
+ * {@link #addForeignTriples()} adds the triples to a graph of the target,
+ * leaving the conversion to the graph. When source and target are the same,
+ * these measure the cost of not having to convert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TermConversionBenchmark {
+
+    private static final int TRIPLES = 1024;
+
+    private static Function<RDFTerm, Object> converter(final Implementation implementation, final RDF rdf) {
+        switch (implementation) {
+        case jena:
+            return ((JenaRDF) rdf)::asJenaNode;
+        case rdf4j:
+            return ((RDF4J) rdf)::asValue;
+        case jsonld:
+            return ((JsonLdRDF) rdf)::asJsonLdNode;
+        default:
+            return term -> recreate(rdf, term);
+        }
+    }
+
+    private static RDFTerm recreate(final RDF rdf, final RDFTerm term) {
+        if (term instanceof IRI) {
+            return rdf.createIRI(((IRI) term).getIRIString());
+        }
+        if (term instanceof BlankNode) {
+            return rdf.createBlankNode(((BlankNode) term).uniqueReference());
+        }
+        final Literal literal = (Literal) term;
+        if (literal.getLanguageTag().isPresent()) {
+            return rdf.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
+        }
+        return rdf.createLiteral(literal.getLexicalForm(), rdf.createIRI(literal.getDatatype().getIRIString()));
+    }
+
+    @Param
+    public Implementation source;
+
+    @Param
+    public Implementation target;
+
+    private RDF targetRdf;
+    private List<Triple> triples;
+    private RDFTerm[] terms;
+    private Function<RDFTerm, Object> converter;
+
+    @Benchmark
+    @OperationsPerInvocation(TRIPLES)
+    public Graph addForeignTriples() {
+        final Graph graph = targetRdf.createGraph();
+        for (final Triple triple : triples) {
+            graph.add(triple);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRIPLES * 3)
+    public void convertTerms(final Blackhole blackhole) {
+        for (final RDFTerm term : terms) {
+            blackhole.consume(converter.apply(term));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        triples = BenchmarkData.triples(source.create(), TRIPLES);
+        terms = new RDFTerm[TRIPLES * 3];
+        int i = 0;
+        for (final Triple triple : triples) {
+            terms[i++] = triple.getSubject();
+            terms[i++] = triple.getPredicate();
+            terms[i++] = triple.getObject();
+        }
+        targetRdf = target.create();
+        converter = converter(target, targetRdf);
+    }
+
+}
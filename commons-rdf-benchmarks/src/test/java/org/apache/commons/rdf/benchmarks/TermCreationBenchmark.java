@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Creating terms and triples with each {@link RDF} implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TermCreationBenchmark {
+
+    private static final int TERMS = 1024;
+
+    @Param
+    public Implementation implementation;
+
+    private RDF rdf;
+    private String[] iris;
+    private String[] lexicalForms;
+    private IRI datatype;
+    private IRI[] subjects;
+    private IRI predicate;
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createBlankNode(final Blackhole blackhole) {
+        for (final String lexicalForm : lexicalForms) {
+            blackhole.consume(rdf.createBlankNode(lexicalForm));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createIRI(final Blackhole blackhole) {
+        for (final String iri : iris) {
+            blackhole.consume(rdf.createIRI(iri));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createLanguageLiteral(final Blackhole blackhole) {
+        for (final String lexicalForm : lexicalForms) {
+            blackhole.consume(rdf.createLiteral(lexicalForm, "en"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createLiteral(final Blackhole blackhole) {
+        for (final String lexicalForm : lexicalForms) {
+            blackhole.consume(rdf.createLiteral(lexicalForm));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createTriple(final Blackhole blackhole) {
+        for (final IRI subject : subjects) {
+            blackhole.consume(rdf.createTriple(subject, predicate, subject));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TERMS)
+    public void createTypedLiteral(final Blackhole blackhole) {
+        for (final String lexicalForm : lexicalForms) {
+            blackhole.consume(rdf.createLiteral(lexicalForm, datatype));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        rdf = implementation.create();
+        iris = new String[TERMS];
+        lexicalForms = new String[TERMS];
+        subjects = new IRI[TERMS];
+        for (int i = 0; i < TERMS; i++) {
+            iris[i] = BenchmarkData.NS + "resource" + i;
+            lexicalForms[i] = Integer.toString(i);
+            subjects[i] = rdf.createIRI(iris[i]);
+        }
+        datatype = rdf.createIRI("http://www.w3.org/2001/XMLSchema#int");
+        predicate = rdf.createIRI(BenchmarkData.NS + "p");
+    }
+
+}
@@ -35,6 +35,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.jena.impl.InternalJenaFactory;
+import org.apache.commons.rdf.simple.ConversionCache;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
@@ -234,6 +235,11 @@ public final class JenaRDF implements RDF {
 
     private final UUID salt;
 
+    /**
+     * Converted foreign terms, or {@code null} if not caching.
+     */
+    private final ConversionCache<Node> conversions;
+
     /**
      * Create a JenaRDF.
      * <p>
@@ -241,7 +247,7 @@ public final class JenaRDF implements RDF {
      * the purposes of {@link BlankNode} identity, see {@link #salt()}.
      */
     public JenaRDF() {
-        this.salt = UUID.randomUUID();
+        this(UUID.randomUUID());
     }
 
     /**
@@ -257,6 +263,32 @@ public final class JenaRDF implements RDF {
      */
     public JenaRDF(final UUID salt) {
         this.salt = salt;
+        this.conversions = null;
+    }
+
+    /**
+     * Create a JenaRDF that caches converted terms.
+     * <p>
+     * {@link #asJenaNode(RDFTerm)} keeps up to the given number of Jena
+     * {@link Node}s converted from {@link RDFTerm}s of other implementations,
+     * so that e.g. the predicates added to or looked up in a
+     * {@link JenaGraph} or {@link JenaDataset} of this factory are only
+     * converted once. The cache is shared by the graphs and datasets created
+     * by or adapted with this factory.
+     *
+     * @param salt
+     *            {@link UUID} to use as salt for {@link BlankNode} equality
+     * @param conversionCacheCapacity
+     *            Maximum number of cached conversions, or {@code 0} to not
+     *            cache conversions
+     * @throws IllegalArgumentException
+     *             If the capacity is negative
+     * @see #getConversionCache()
+     * @since 0.6.0
+     */
+    public JenaRDF(final UUID salt, final int conversionCacheCapacity) {
+        this.salt = salt;
+        this.conversions = conversionCacheCapacity == 0 ? null : new ConversionCache<>(conversionCacheCapacity);
     }
 
     /**
@@ -278,7 +310,7 @@ public final class JenaRDF implements RDF {
      * @return Adapted {@link JenaDataset}
      */
     public JenaDataset asDataset(final DatasetGraph datasetGraph) {
-        return INTERNAL_JENA_FACTORY.createDataset(datasetGraph, salt());
+        return INTERNAL_JENA_FACTORY.createDataset(datasetGraph, this);
     }
 
     /**
@@ -300,7 +332,7 @@ public final class JenaRDF implements RDF {
      * @return Adapted {@link JenaDataset}
      */
     public JenaDataset asDataset(final org.apache.jena.query.Dataset datasetGraph) {
-        return INTERNAL_JENA_FACTORY.createDataset(datasetGraph.asDatasetGraph(), salt());
+        return INTERNAL_JENA_FACTORY.createDataset(datasetGraph.asDatasetGraph(), this);
     }
 
     /**
@@ -380,7 +412,7 @@ public final class JenaRDF implements RDF {
      * @return Adapted {@link JenaGraph}
      */
     public JenaGraph asGraph(final org.apache.jena.graph.Graph graph) {
-        return INTERNAL_JENA_FACTORY.createGraph(graph, salt());
+        return INTERNAL_JENA_FACTORY.createGraph(graph, this);
     }
 
     /**
@@ -401,7 +433,7 @@ public final class JenaRDF implements RDF {
      * @return Adapted {@link JenaGraph}
      */
     public JenaGraph asGraph(final org.apache.jena.rdf.model.Model model) {
-        return INTERNAL_JENA_FACTORY.createGraph(model, salt());
+        return INTERNAL_JENA_FACTORY.createGraph(model, this);
     }
 
     /**
@@ -485,7 +517,13 @@ public final class JenaRDF implements RDF {
             // jena blanknode identifier?
             return ((JenaRDFTerm) term).asJenaNode();
         }
+        if (conversions != null) {
+            return conversions.get(term, JenaRDF::toJenaNode);
+        }
+        return toJenaNode(term);
+    }
 
+    private static Node toJenaNode(final RDFTerm term) {
         if (term instanceof IRI) {
             return NodeFactory.createURI(((IRI) term).getIRIString());
         }
@@ -634,7 +672,7 @@ public final class JenaRDF implements RDF {
 
     @Override
     public JenaDataset createDataset() {
-        return INTERNAL_JENA_FACTORY.createDataset(salt());
+        return INTERNAL_JENA_FACTORY.createDataset(this);
     }
 
     /**
@@ -696,7 +734,7 @@ public final class JenaRDF implements RDF {
 
     @Override
     public JenaGraph createGraph() {
-        return INTERNAL_JENA_FACTORY.createGraph(salt());
+        return INTERNAL_JENA_FACTORY.createGraph(this);
     }
 
     @Override
@@ -743,6 +781,20 @@ public final class JenaRDF implements RDF {
         return INTERNAL_JENA_FACTORY.createTriple(subject, predicate, object);
     }
 
+    /**
+     * Gets the cache of converted terms of {@link #asJenaNode(RDFTerm)}, e.g.
+     * to check its {@link ConversionCache#getHitRate()}.
+     *
+     * @return The conversion cache, or {@link Optional#empty()} if this
+     *         factory was not created with
+     *         {@link JenaRDF#JenaRDF(UUID, int)}
+     *         and a positive capacity
+     * @since 0.6.0
+     */
+    public Optional<ConversionCache<Node>> getConversionCache() {
+        return Optional.ofNullable(conversions);
+    }
+
     /**
      * Return the {@link UUID} salt used by this factory.
      * <p>
@@ -32,10 +32,14 @@ import org.apache.commons.rdf.jena.JenaGraph;
 import org.apache.commons.rdf.jena.JenaRDF;
 import org.apache.commons.rdf.simple.experimental.AbstractRDFParser;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFParser;
 import org.apache.jena.riot.system.StreamRDF;
 import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
 
 /**
  * Experimental.
@@ -57,6 +61,16 @@ public class JenaRDFParser extends AbstractRDFParser<JenaRDFParser> {
         return new JenaRDF();
     }
 
+    private static int blankNodes(final Node... nodes) {
+        int count = 0;
+        for (final Node node : nodes) {
+            if (node != null && node.isBlank()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private JenaRDF getJenaFactory() {
         return (JenaRDF) getRdfTermFactory().filter(JenaRDF.class::isInstance).orElseGet(this::createRDFTermFactory);
     }
@@ -67,12 +81,12 @@ public class JenaRDFParser extends AbstractRDFParser<JenaRDFParser> {
         final JenaRDF jenaRDF = getJenaFactory();
         if (getTargetGraph().isPresent() && getTargetGraph().get() instanceof JenaGraph) {
             final Graph jenaGraph = ((JenaGraph) getTargetGraph().get()).asJenaGraph();
-            dest = StreamRDFLib.graph(jenaGraph);
+            dest = recorded(StreamRDFLib.graph(jenaGraph));
         } else {
             if (generalizedConsumerQuad != null) {
-                dest = jenaRDF.streamJenaToGeneralizedQuad(generalizedConsumerQuad);
+                dest = jenaRDF.streamJenaToGeneralizedQuad(recorded(generalizedConsumerQuad));
             } else if (generalizedConsumerTriple != null) {
-                dest = jenaRDF.streamJenaToGeneralizedTriple(generalizedConsumerTriple);
+                dest = jenaRDF.streamJenaToGeneralizedTriple(recorded(generalizedConsumerTriple));
             } else {
                 dest = JenaRDF.streamJenaToQuad(getRdfTermFactory().get(), getTarget());
             }
@@ -84,7 +98,7 @@ public class JenaRDFParser extends AbstractRDFParser<JenaRDFParser> {
         if (getSourceIri().isPresent()) {
                 RDFParser.source(getSourceIri().get().toString()).base(baseStr).lang(lang).parse(dest);
             } else if (getSourceFile().isPresent()) {
-                try (InputStream s = Files.newInputStream(getSourceFile().get())) {
+                try (InputStream s = recordBytes(Files.newInputStream(getSourceFile().get()))) {
                     RDFParser.source(s).base(baseStr).lang(lang).parse(dest);
                 }
             } else {
@@ -92,6 +106,29 @@ public class JenaRDFParser extends AbstractRDFParser<JenaRDFParser> {
         }
     }
 
+    /**
+     * Count the triples and quads sent directly to a Jena graph in the
+     * ParseResult.
+     */
+    private StreamRDF recorded(final StreamRDF dest) {
+        return new StreamRDFWrapper(dest) {
+            @Override
+            public void quad(final Quad quad) {
+                final long start = System.nanoTime();
+                super.quad(quad);
+                recordStatements(1, blankNodes(quad.getSubject(), quad.getObject(), quad.getGraph()),
+                        System.nanoTime() - start);
+            }
+
+            @Override
+            public void triple(final Triple triple) {
+                final long start = System.nanoTime();
+                super.triple(triple);
+                recordStatements(1, blankNodes(triple.getSubject(), triple.getObject()), System.nanoTime() - start);
+            }
+        };
+    }
+
     @Override
     protected void resetTarget() {
         super.resetTarget();
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena.experimental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.Iterator;
+
+import org.apache.commons.rdf.api.QuadLike;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.TripleLike;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.simple.experimental.AbstractRDFWriter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+
+/**
+ * Jena-based writer.
+ * <p>
+ * Syntaxes that Jena can write as a stream (e.g. N-Triples, N-Quads) are
+ * written statement by statement, other syntaxes (e.g. RDF/XML) are first
+ * collected in an in-memory Jena dataset. If no content type is set, the
+ * syntax is guessed from the file extension of a file target, falling back to
+ * N-Quads.
+ * <p>
+ * Experimental.
+ */
+public class JenaRDFWriter extends AbstractRDFWriter<JenaRDFWriter> {
+
+    /**
+     * Constructs a new instance.
+     */
+    public JenaRDFWriter() {
+        // empty
+    }
+
+    @Override
+    protected void checkContentType() throws IllegalStateException {
+        if (getContentType().isPresent() && RDFLanguages.contentTypeToLang(getContentType().get()) == null) {
+            throw new IllegalStateException("Unsupported content type: " + getContentType().get());
+        }
+    }
+
+    private Lang getLang() {
+        if (getContentType().isPresent()) {
+            return RDFLanguages.contentTypeToLang(getContentType().get());
+        }
+        return getTargetFile().map(f -> RDFLanguages.filenameToLang(f.toString())).orElse(Lang.NQUADS);
+    }
+
+    private void send(final JenaRDF jenaRDF, final TripleLike statement, final StreamRDF stream,
+            final boolean quads) {
+        final Node s = jenaRDF.asJenaNode(statement.getSubject());
+        final Node p = jenaRDF.asJenaNode(statement.getPredicate());
+        final Node o = jenaRDF.asJenaNode(statement.getObject());
+        if (inDefaultGraph(statement)) {
+            stream.triple(Triple.create(s, p, o));
+        } else if (quads) {
+            final RDFTerm graphName = ((QuadLike<?>) statement).getGraphName().get();
+            stream.quad(Quad.create(jenaRDF.asJenaNode(graphName), s, p, o));
+        }
+    }
+
+    private void write(final OutputStream out) throws IOException {
+        final JenaRDF jenaRDF = new JenaRDF();
+        final Lang lang = getLang();
+        final boolean quads = RDFLanguages.isQuads(lang);
+        final Iterator<? extends TripleLike> statements = getSource().get().iterator();
+        if (StreamRDFWriter.registered(lang)) {
+            final StreamRDF stream = StreamRDFWriter.getWriterStream(out, lang);
+            stream.start();
+            while (statements.hasNext()) {
+                send(jenaRDF, statements.next(), stream, quads);
+            }
+            stream.finish();
+        } else {
+            // The writer needs all statements up front
+            final DatasetGraph dataset = DatasetGraphFactory.create();
+            final StreamRDF stream = StreamRDFLib.dataset(dataset);
+            while (statements.hasNext()) {
+                send(jenaRDF, statements.next(), stream, quads);
+            }
+            if (quads) {
+                RDFDataMgr.write(out, dataset, lang);
+            } else {
+                RDFDataMgr.write(out, dataset.getDefaultGraph(), lang);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    protected void writeSynchronously() throws IOException {
+        if (getTargetFile().isPresent()) {
+            try (OutputStream out = Files.newOutputStream(getTargetFile().get())) {
+                write(out);
+            }
+        } else if (getTargetChannel().isPresent()) {
+            // Not closing the stream, as that would close the channel
+            write(Channels.newOutputStream(getTargetChannel().get()));
+        } else {
+            write(getTargetOutputStream().get());
+        }
+    }
+
+}
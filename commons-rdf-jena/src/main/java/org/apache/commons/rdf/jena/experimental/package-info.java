@@ -27,6 +27,8 @@
  * <ul>
  * <li>{@link org.apache.commons.rdf.jena.experimental.JenaRDFParser} - a Jena-backed implementations of
  * {@link org.apache.commons.rdf.experimental.RDFParser}.</li>
+ * <li>{@link org.apache.commons.rdf.jena.experimental.JenaRDFWriter} - a Jena-backed implementation of
+ * {@link org.apache.commons.rdf.experimental.RDFWriter}.</li>
  * </ul>
  */
 package org.apache.commons.rdf.jena.experimental;
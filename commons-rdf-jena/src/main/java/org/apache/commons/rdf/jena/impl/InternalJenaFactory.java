@@ -101,6 +101,30 @@ public abstract class InternalJenaFactory {
         return new JenaDatasetImpl(datasetGraph, salt);
     }
 
+    /**
+     * Creates a dataset based on the given graph that converts terms with
+     * the given factory.
+     *
+     * @param datasetGraph dataset to wrap.
+     * @param factory      Factory providing the salt and term conversions.
+     * @return A dataset based on the given graph and factory.
+     * @since 0.6.0
+     */
+    public JenaDataset createDataset(final DatasetGraph datasetGraph, final JenaRDF factory) {
+        return new JenaDatasetImpl(datasetGraph, factory);
+    }
+
+    /**
+     * Creates a dataset that converts terms with the given factory.
+     *
+     * @param factory Factory providing the salt and term conversions.
+     * @return A new dataset.
+     * @since 0.6.0
+     */
+    public JenaDataset createDataset(final JenaRDF factory) {
+        return new JenaDatasetImpl(DatasetGraphFactory.createGeneral(), factory);
+    }
+
     /**
      * Creates a dataset based on the given graph and salt.
      *
@@ -192,6 +216,44 @@ public abstract class InternalJenaFactory {
         return new JenaGraphImpl(GraphFactory.createDefaultGraph(), salt);
     }
 
+    /**
+     * Creates a Jena-backed {@link org.apache.commons.rdf.api.Graph} that
+     * converts terms with the given factory.
+     *
+     * @param model A model.
+     * @param factory Factory providing the salt and term conversions.
+     * @return A Jena-backed {@link org.apache.commons.rdf.api.Graph}.
+     * @since 0.6.0
+     */
+    public JenaGraph createGraph(final Model model, final JenaRDF factory) {
+        return new JenaGraphImpl(model, factory);
+    }
+
+    /**
+     * Creates a Jena-backed {@link org.apache.commons.rdf.api.Graph} that
+     * converts terms with the given factory.
+     *
+     * @param graph A graph.
+     * @param factory Factory providing the salt and term conversions.
+     * @return A Jena-backed {@link org.apache.commons.rdf.api.Graph}.
+     * @since 0.6.0
+     */
+    public JenaGraph createGraph(final org.apache.jena.graph.Graph graph, final JenaRDF factory) {
+        return new JenaGraphImpl(graph, factory);
+    }
+
+    /**
+     * Creates a Jena-backed {@link org.apache.commons.rdf.api.Graph} that
+     * converts terms with the given factory.
+     *
+     * @param factory Factory providing the salt and term conversions.
+     * @return A Jena-backed {@link org.apache.commons.rdf.api.Graph}.
+     * @since 0.6.0
+     */
+    public JenaGraph createGraph(final JenaRDF factory) {
+        return new JenaGraphImpl(GraphFactory.createDefaultGraph(), factory);
+    }
+
     /**
      * Creates a Jena-backed {@link IRI}.
      *
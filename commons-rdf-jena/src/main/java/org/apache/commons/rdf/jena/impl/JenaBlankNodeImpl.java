@@ -22,12 +22,22 @@ import java.util.UUID;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.jena.JenaBlankNode;
+import org.apache.commons.rdf.simple.BlankNodeId;
 import org.apache.jena.graph.Node;
 
 final class JenaBlankNodeImpl extends AbstractJenaRDFTerm implements JenaBlankNode {
 
     private final UUID salt;
 
+    /**
+     * Identity of the salt and label, computed on first comparison.
+     */
+    private BlankNodeId id;
+
+    private String uniqueReference;
+
+    private int hashCode;
+
     JenaBlankNodeImpl(final Node node, final UUID salt) {
         super(node);
         if (!node.isBlank()) {
@@ -41,8 +51,9 @@ final class JenaBlankNodeImpl extends AbstractJenaRDFTerm implements JenaBlankNo
         if (other == this) {
             return true;
         }
-        if (other == null) {
-            return false;
+        if (other instanceof JenaBlankNodeImpl) {
+            // Same salt and label, without building the uniqueReference()
+            return id().equals(((JenaBlankNodeImpl) other).id());
         }
         if (!(other instanceof BlankNode)) {
             return false;
@@ -53,12 +64,34 @@ final class JenaBlankNodeImpl extends AbstractJenaRDFTerm implements JenaBlankNo
 
     @Override
     public int hashCode() {
-        return uniqueReference().hashCode();
+        int h = hashCode;
+        if (h == 0) {
+            // uniqueReference().hashCode(), without building the string
+            h = BlankNodeId.appendHashCode(
+                    BlankNodeId.uuidStringHashCode(salt.getMostSignificantBits(), salt.getLeastSignificantBits()),
+                    asJenaNode().getBlankNodeLabel());
+            hashCode = h;
+        }
+        return h;
+    }
+
+    private BlankNodeId id() {
+        BlankNodeId i = id;
+        if (i == null) {
+            i = BlankNodeId.of(salt, asJenaNode().getBlankNodeLabel());
+            id = i;
+        }
+        return i;
     }
 
     @Override
     public String uniqueReference() {
-        return salt + asJenaNode().getBlankNodeLabel();
+        String ref = uniqueReference;
+        if (ref == null) {
+            ref = salt + asJenaNode().getBlankNodeLabel();
+            uniqueReference = ref;
+        }
+        return ref;
     }
 
 }
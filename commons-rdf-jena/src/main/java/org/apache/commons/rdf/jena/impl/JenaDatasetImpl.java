@@ -21,6 +21,7 @@ package org.apache.commons.rdf.jena.impl;
 import static org.apache.jena.graph.Node.ANY;
 
 import java.io.StringWriter;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -40,6 +41,7 @@ import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.GraphView;
+import org.apache.jena.system.Txn;
 
 final class JenaDatasetImpl implements JenaDataset {
 
@@ -53,6 +55,12 @@ final class JenaDatasetImpl implements JenaDataset {
         this.factory = new JenaRDF(salt);
     }
 
+    JenaDatasetImpl(final DatasetGraph datasetGraph, final JenaRDF factory) {
+        this.datasetGraph = datasetGraph;
+        this.salt = factory.salt();
+        this.factory = factory;
+    }
+
     @Override
     public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         datasetGraph.add(org.apache.jena.sparql.core.Quad.create(factory.asJenaNode(graphName), factory.asJenaNode(subject),
@@ -64,6 +72,22 @@ final class JenaDatasetImpl implements JenaDataset {
         datasetGraph.add(factory.asJenaQuad(quad));
     }
 
+    @Override
+    public void addAll(final Iterable<? extends Quad> quads) {
+        if (datasetGraph.supportsTransactions() && !datasetGraph.isInTransaction()) {
+            // One write transaction rather than one per quad
+            Txn.executeWrite(datasetGraph, () -> addAllInternal(quads));
+        } else {
+            addAllInternal(quads);
+        }
+    }
+
+    private void addAllInternal(final Iterable<? extends Quad> quads) {
+        for (final Quad quad : quads) {
+            datasetGraph.add(factory.asJenaQuad(quad));
+        }
+    }
+
     @Override
     public DatasetGraph asJenaDatasetGraph() {
         return datasetGraph;
@@ -90,6 +114,24 @@ final class JenaDatasetImpl implements JenaDataset {
         return datasetGraph.contains(factory.asJenaQuad(quad));
     }
 
+    /**
+     * Count the matches without converting them to Commons RDF quads.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (subject != null && predicate != null && object != null && graphName != null) {
+            return contains(graphName, subject, predicate, object) ? 1 : 0;
+        }
+        final Iterator<org.apache.jena.sparql.core.Quad> quads = datasetGraph.find(toJenaPattern(graphName),
+                toJenaPattern(subject), toJenaPattern(predicate), toJenaPattern(object));
+        try {
+            return Iter.count(quads);
+        } finally {
+            Iter.close(quads);
+        }
+    }
+
     @Override
     public Graph getGraph() {
         final GraphView g = GraphView.createDefaultGraph(datasetGraph);
@@ -147,13 +189,13 @@ final class JenaDatasetImpl implements JenaDataset {
     @Override
     public Stream<? extends Quad> stream() {
         final JenaRDF factory = new JenaRDF(salt);
-        return Iter.asStream(datasetGraph.find(ANY, ANY, ANY, ANY), true).map(factory::asQuad);
+        return Iter.asStream(datasetGraph.find(ANY, ANY, ANY, ANY), false).map(factory::asQuad);
     }
 
     @Override
     public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> g, final BlankNodeOrIRI s, final IRI p, final RDFTerm o) {
         final JenaRDF factory = new JenaRDF(salt);
-        return Iter.asStream(datasetGraph.find(toJenaPattern(g), toJenaPattern(s), toJenaPattern(p), toJenaPattern(o)), true)
+        return Iter.asStream(datasetGraph.find(toJenaPattern(g), toJenaPattern(s), toJenaPattern(p), toJenaPattern(o)), false)
                 .map(factory::asQuad);
     }
 
@@ -165,8 +207,8 @@ final class JenaDatasetImpl implements JenaDataset {
         if (graphName == null) {
             return ANY;
         }
-        // null: default datasetGraph
-        return factory.asJenaNode(graphName.orElse(null));
+        // Optional.empty(): the default graph only, not any graph
+        return graphName.map(factory::asJenaNode).orElse(org.apache.jena.sparql.core.Quad.defaultGraphIRI);
     }
 
     private Node toJenaPattern(final RDFTerm term) {
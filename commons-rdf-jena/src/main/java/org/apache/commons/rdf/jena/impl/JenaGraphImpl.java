@@ -19,8 +19,11 @@
 package org.apache.commons.rdf.jena.impl;
 
 import java.io.StringWriter;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.IRI;
@@ -30,11 +33,14 @@ import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.jena.JenaGraph;
 import org.apache.commons.rdf.jena.JenaRDF;
 import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.GraphStatisticsHandler;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.util.iterator.ExtendedIterator;
 
 final class JenaGraphImpl implements JenaGraph {
 
@@ -43,6 +49,17 @@ final class JenaGraphImpl implements JenaGraph {
     private final transient JenaRDF factory;
     private Model model;
 
+    /**
+     * Stream the triples of a Jena iterator, which is closed with the stream.
+     * The stream is sequential, and split in batches when made parallel.
+     */
+    private static Stream<org.apache.jena.graph.Triple> asStream(
+            final ExtendedIterator<org.apache.jena.graph.Triple> triples) {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(triples, Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .onClose(triples::close);
+    }
+
     JenaGraphImpl(final Model model, final UUID salt) {
         this.model = model;
         this.graph = model.getGraph();
@@ -56,6 +73,19 @@ final class JenaGraphImpl implements JenaGraph {
         this.factory = new JenaRDF(salt);
     }
 
+    JenaGraphImpl(final Model model, final JenaRDF factory) {
+        this.model = model;
+        this.graph = model.getGraph();
+        this.salt = factory.salt();
+        this.factory = factory;
+    }
+
+    JenaGraphImpl(final org.apache.jena.graph.Graph graph, final JenaRDF factory) {
+        this.graph = graph;
+        this.salt = factory.salt();
+        this.factory = factory;
+    }
+
     @Override
     public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         graph.add(org.apache.jena.graph.Triple.create(factory.asJenaNode(subject), factory.asJenaNode(predicate),
@@ -67,6 +97,12 @@ final class JenaGraphImpl implements JenaGraph {
         graph.add(factory.asJenaTriple(triple));
     }
 
+    @Override
+    public void addAll(final Iterable<? extends Triple> triples) {
+        // Let Jena add the converted triples as one bulk update
+        GraphUtil.add(graph, Iter.map(triples.iterator(), factory::asJenaTriple));
+    }
+
     @Override
     public org.apache.jena.graph.Graph asJenaGraph() {
         return graph;
@@ -107,6 +143,65 @@ final class JenaGraphImpl implements JenaGraph {
         return graph.contains(factory.asJenaTriple(triple));
     }
 
+    /**
+     * Count the matches of a partially bound pattern without converting them
+     * to Commons RDF triples.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return graph.size();
+        }
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
+        }
+        final ExtendedIterator<org.apache.jena.graph.Triple> triples = graph.find(toJenaAny(subject),
+                toJenaAny(predicate), toJenaAny(object));
+        try {
+            long count = 0;
+            while (triples.hasNext()) {
+                triples.next();
+                count++;
+            }
+            return count;
+        } finally {
+            triples.close();
+        }
+    }
+
+    /**
+     * Estimate a partially bound pattern with the
+     * {@link GraphStatisticsHandler} of the Jena graph, if it has one that can
+     * estimate the pattern.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null
+                || subject != null && predicate != null && object != null) {
+            // size() and contains() are exact and cheap
+            return JenaGraph.super.estimateCount(subject, predicate, object);
+        }
+        final GraphStatisticsHandler statistics = graph.getStatisticsHandler();
+        if (statistics != null) {
+            final long estimate = statistics.getStatistic(toJenaAny(subject), toJenaAny(predicate), toJenaAny(object));
+            // -1 if the handler can't estimate the pattern
+            if (estimate >= 0) {
+                return estimate;
+            }
+        }
+        return count(subject, predicate, object);
+    }
+
+    /**
+     * Gets the factory that converts between Jena nodes and the terms of this
+     * graph.
+     *
+     * @return The factory, with the salt of this graph
+     */
+    JenaRDF getFactory() {
+        return factory;
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         graph.remove(toJenaPattern(subject), toJenaPattern(predicate),
@@ -137,13 +232,13 @@ final class JenaGraphImpl implements JenaGraph {
     @Override
     public Stream<? extends Triple> stream() {
         final JenaRDF factory = new JenaRDF(salt);
-        return Iter.asStream(graph.find(null, null, null), true).map(factory::asTriple).sequential();
+        return asStream(graph.find(null, null, null)).map(factory::asTriple);
     }
 
     @Override
     public Stream<? extends Triple> stream(final BlankNodeOrIRI s, final IRI p, final RDFTerm o) {
         final JenaRDF factory = new JenaRDF(salt);
-        return Iter.asStream(graph.find(toJenaAny(s), toJenaAny(p), toJenaAny(o)), true).map(factory::asTriple).sequential();
+        return asStream(graph.find(toJenaAny(s), toJenaAny(p), toJenaAny(o))).map(factory::asTriple);
     }
 
     private Node toJenaAny(final RDFTerm term) {
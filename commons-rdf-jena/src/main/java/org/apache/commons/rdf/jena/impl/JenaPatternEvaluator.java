@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.query.PatternEvaluator;
+import org.apache.commons.rdf.query.Solution;
+import org.apache.commons.rdf.query.TriplePattern;
+import org.apache.commons.rdf.query.Variable;
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.binding.Binding;
+
+/**
+ * Evaluates basic graph patterns over a Jena-backed graph with the ARQ query
+ * engine of Jena.
+ * <p>
+ * Registered with {@link java.util.ServiceLoader}, so that
+ * {@link org.apache.commons.rdf.query.QueryEngine} uses it for the graphs of
+ * {@link JenaRDF}.
+ */
+public final class JenaPatternEvaluator implements PatternEvaluator {
+
+    private static Node asJenaNode(final JenaRDF factory, final Object position) {
+        if (position instanceof Variable) {
+            return Var.alloc(((Variable) position).getName());
+        }
+        return factory.asJenaNode((RDFTerm) position);
+    }
+
+    @Override
+    public Optional<Stream<Solution>> evaluate(final Graph graph, final List<TriplePattern> patterns) {
+        if (!(graph instanceof JenaGraphImpl)) {
+            return Optional.empty();
+        }
+        final JenaGraphImpl jenaGraph = (JenaGraphImpl) graph;
+        final JenaRDF factory = jenaGraph.getFactory();
+        final BasicPattern bgp = new BasicPattern();
+        for (final TriplePattern pattern : patterns) {
+            bgp.add(org.apache.jena.graph.Triple.create(asJenaNode(factory, pattern.getSubject()),
+                    asJenaNode(factory, pattern.getPredicate()), asJenaNode(factory, pattern.getObject())));
+        }
+        final QueryIterator bindings = Algebra.exec(new OpBGP(bgp), jenaGraph.asJenaGraph());
+        return Optional.of(Iter.asStream(bindings).map(binding -> asSolution(factory, binding)).onClose(bindings::close));
+    }
+
+    private static Solution asSolution(final JenaRDF factory, final Binding binding) {
+        final Map<Variable, RDFTerm> terms = new LinkedHashMap<>();
+        binding.vars().forEachRemaining(var -> terms.put(new Variable(var.getVarName()), factory.asRDFTerm(binding.get(var))));
+        return new Solution(terms);
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.impl.JenaPatternEvaluator;
+import org.apache.commons.rdf.query.QueryEngine;
+import org.apache.commons.rdf.query.Solution;
+import org.apache.commons.rdf.query.TriplePattern;
+import org.apache.commons.rdf.query.Variable;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that {@link JenaPatternEvaluator} finds the same solutions as the
+ * generic {@link QueryEngine}.
+ */
+class JenaPatternEvaluatorTest {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    private final JenaRDF factory = new JenaRDF();
+    private final JenaPatternEvaluator evaluator = new JenaPatternEvaluator();
+    private final QueryEngine generic = new QueryEngine(Collections.emptyList());
+
+    private JenaGraph graph;
+    private IRI alice;
+    private IRI bob;
+    private IRI knows;
+    private IRI name;
+    private IRI type;
+    private IRI person;
+    private BlankNode charlie;
+
+    private void assertPushedDown(final TriplePattern... patterns) {
+        final List<TriplePattern> list = Arrays.asList(patterns);
+        final Set<Solution> expected = collect(generic.evaluate(graph, list));
+        final Optional<Stream<Solution>> pushedDown = evaluator.evaluate(graph, list);
+        assertTrue(pushedDown.isPresent());
+        assertEquals(expected, collect(pushedDown.get()));
+        // Found by ServiceLoader
+        assertEquals(expected, collect(new QueryEngine().evaluate(graph, list)));
+    }
+
+    private static Set<Solution> collect(final Stream<Solution> solutions) {
+        try (Stream<Solution> s = solutions) {
+            return s.collect(Collectors.toSet());
+        }
+    }
+
+    @BeforeEach
+    void createGraph() {
+        alice = factory.createIRI("http://example.com/alice");
+        bob = factory.createIRI("http://example.com/bob");
+        knows = factory.createIRI("http://xmlns.com/foaf/0.1/knows");
+        name = factory.createIRI("http://xmlns.com/foaf/0.1/name");
+        type = factory.createIRI("http://www.w3.org/1999/02/22-rdf-syntax-ns#type");
+        person = factory.createIRI("http://xmlns.com/foaf/0.1/Person");
+        charlie = factory.createBlankNode("charlie");
+        graph = factory.createGraph();
+        graph.add(alice, knows, bob);
+        graph.add(bob, knows, charlie);
+        graph.add(charlie, knows, charlie);
+        graph.add(alice, type, person);
+        graph.add(bob, type, person);
+        graph.add(alice, name, factory.createLiteral("Alice", "en"));
+        graph.add(bob, name, factory.createLiteral("Bob"));
+        graph.add(charlie, name, factory.createLiteral("Charlie"));
+    }
+
+    @Test
+    void testBlankNodeTerm() {
+        assertPushedDown(new TriplePattern(X, knows, charlie));
+        assertPushedDown(new TriplePattern(charlie, name, Y));
+    }
+
+    @Test
+    void testJoin() {
+        assertPushedDown(new TriplePattern(X, knows, Y), new TriplePattern(Y, knows, Z));
+        assertPushedDown(new TriplePattern(X, type, person), new TriplePattern(X, name, Y));
+        assertPushedDown(new TriplePattern(alice, knows, Y), new TriplePattern(Y, name, Z));
+    }
+
+    @Test
+    void testNoSolutions() {
+        assertPushedDown(new TriplePattern(bob, knows, alice));
+        assertPushedDown(new TriplePattern(X, knows, alice), new TriplePattern(X, name, Y));
+    }
+
+    @Test
+    void testOtherGraph() {
+        final Graph simple = new SimpleRDF().createGraph();
+        assertFalse(evaluator.evaluate(simple, Collections.singletonList(new TriplePattern(X, knows, Y)))
+                .isPresent());
+    }
+
+    @Test
+    void testRepeatedVariable() {
+        assertPushedDown(new TriplePattern(X, knows, X));
+    }
+
+    @Test
+    void testSinglePattern() {
+        assertPushedDown(new TriplePattern(X, knows, Y));
+        assertPushedDown(new TriplePattern(X, Y, Z));
+        assertEquals(8, collect(evaluator.evaluate(graph,
+                Collections.singletonList(new TriplePattern(X, Y, Z))).get()).size());
+    }
+
+}
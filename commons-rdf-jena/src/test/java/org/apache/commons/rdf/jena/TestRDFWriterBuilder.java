@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.jena.experimental.JenaRDFParser;
+import org.apache.commons.rdf.jena.experimental.JenaRDFWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestRDFWriterBuilder {
+
+    private Path file;
+
+    @AfterEach
+    public void deletePath() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Graph parseTurtle() throws Exception {
+        final Graph g = new JenaRDF().createGraph();
+        new JenaRDFParser().contentType(RDFSyntax.TURTLE).source(getClass().getResourceAsStream("/D.ttl"))
+                .base("http://example.com/").target(g).parse().get(5, TimeUnit.SECONDS);
+        return g;
+    }
+
+    @BeforeEach
+    public void preparePath() throws IOException {
+        file = Files.createTempFile("commonsrdf", "test.rdf");
+    }
+
+    @Test
+    void testWriteNTriples() throws Exception {
+        try (final Graph g = parseTurtle(); final Graph parsed = new JenaRDF().createGraph()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new JenaRDFWriter().contentType(RDFSyntax.NTRIPLES).source(g).target(out).write().get(5, TimeUnit.SECONDS);
+            new JenaRDFParser().contentType(RDFSyntax.NTRIPLES).source(new ByteArrayInputStream(out.toByteArray()))
+                    .target(parsed).parse().get(5, TimeUnit.SECONDS);
+            assertEquals(3, parsed.size());
+        }
+    }
+
+    @Test
+    void testWriteRDFXMLFile() throws Exception {
+        try (final Graph g = parseTurtle(); final Graph parsed = new JenaRDF().createGraph()) {
+            // Guessed from the file extension
+            new JenaRDFWriter().source(g).target(file).write().get(5, TimeUnit.SECONDS);
+            new JenaRDFParser().contentType(RDFSyntax.RDFXML).source(file).target(parsed).parse().get(5,
+                    TimeUnit.SECONDS);
+            assertEquals(3, parsed.size());
+        }
+    }
+}
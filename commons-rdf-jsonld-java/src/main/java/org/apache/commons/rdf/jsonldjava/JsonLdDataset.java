@@ -40,16 +40,16 @@ public interface JsonLdDataset extends JsonLdGraphLike<org.apache.commons.rdf.ap
 
 final class JsonLdDatasetImpl extends AbstractJsonLdGraphLike<org.apache.commons.rdf.api.Quad> implements JsonLdDataset {
 
-    JsonLdDatasetImpl(final RDFDataset rdfDataSet) {
-        super(rdfDataSet);
+    JsonLdDatasetImpl(final RDFDataset rdfDataSet, final JsonLdIndex index) {
+        super(rdfDataSet, index);
     }
 
-    JsonLdDatasetImpl(final RDFDataset rdfDataset, final String bnodePrefix) {
-        super(rdfDataset, bnodePrefix);
+    JsonLdDatasetImpl(final RDFDataset rdfDataset, final String bnodePrefix, final JsonLdIndex index) {
+        super(rdfDataset, bnodePrefix, index);
     }
 
-    JsonLdDatasetImpl(final String bnodePrefix) {
-        super(bnodePrefix);
+    JsonLdDatasetImpl(final String bnodePrefix, final JsonLdIndex index) {
+        super(bnodePrefix, index);
     }
 
     @Override
@@ -67,9 +67,14 @@ final class JsonLdDatasetImpl extends AbstractJsonLdGraphLike<org.apache.commons
         return super.contains(graphName, subject, predicate, object);
     }
 
+    @Override
+    public boolean contains(final Quad q) {
+        return contains(q.getGraphName(), q.getSubject(), q.getPredicate(), q.getObject());
+    }
+
     @Override
     public Graph getGraph() {
-        return new JsonLdGraphImpl(rdfDataSet, Optional.empty(), bnodePrefix);
+        return new JsonLdGraphImpl(rdfDataSet, Optional.empty(), bnodePrefix, index);
     }
 
     @Override
@@ -78,7 +83,7 @@ final class JsonLdDatasetImpl extends AbstractJsonLdGraphLike<org.apache.commons
             return Optional.of(getGraph());
         }
 
-        return Optional.of(new JsonLdGraphImpl(rdfDataSet, Optional.of(graphName), bnodePrefix));
+        return Optional.of(new JsonLdGraphImpl(rdfDataSet, Optional.of(graphName), bnodePrefix, index));
     }
 
     @Override
@@ -107,8 +112,7 @@ final class JsonLdDatasetImpl extends AbstractJsonLdGraphLike<org.apache.commons
     @Override
     public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
             final RDFTerm object) {
-        return filteredGraphs(graphName).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asQuad);
+        return matches(graphName, subject, predicate, object).map(factory::asQuad);
     }
 
 }
@@ -40,18 +40,19 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
 
     private final Optional<BlankNodeOrIRI> graphName;
 
-    JsonLdGraphImpl(final RDFDataset rdfDataSet) {
-        super(rdfDataSet);
+    JsonLdGraphImpl(final RDFDataset rdfDataSet, final JsonLdIndex index) {
+        super(rdfDataSet, index);
         this.graphName = Optional.empty();
     }
 
-    JsonLdGraphImpl(final RDFDataset rdfDataSet, final Optional<BlankNodeOrIRI> graphName, final String bnodePrefix) {
-        super(rdfDataSet, bnodePrefix);
+    JsonLdGraphImpl(final RDFDataset rdfDataSet, final Optional<BlankNodeOrIRI> graphName, final String bnodePrefix,
+            final JsonLdIndex index) {
+        super(rdfDataSet, bnodePrefix, index);
         this.graphName = Objects.requireNonNull(graphName, "graphName");
     }
 
-    JsonLdGraphImpl(final String bnodePrefix) {
-        super(bnodePrefix);
+    JsonLdGraphImpl(final String bnodePrefix, final JsonLdIndex index) {
+        super(bnodePrefix, index);
         this.graphName = Optional.empty();
     }
 
@@ -66,6 +67,12 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
         super.add(graphName.orElse(null), t.getSubject(), t.getPredicate(), t.getObject());
     }
 
+    @Override
+    BlankNodeOrIRI graphNameOf(final Triple t) {
+        // Ensure it's added in the correct graph
+        return graphName.orElse(null);
+    }
+
     @Override
     JsonLdTriple asTripleOrQuad(final com.github.jsonldjava.core.RDFDataset.Quad jsonldQuad) {
         return factory.asTriple(jsonldQuad);
@@ -74,6 +81,9 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
     @Override
     public void clear() {
         filteredGraphs(graphName).forEach(List::clear);
+        if (index != null) {
+            index.clear();
+        }
     }
 
     @Override
@@ -105,7 +115,6 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
 
     @Override
     public Stream<JsonLdTriple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
-        return filteredGraphs(graphName).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asTriple).sequential();
+        return matches(graphName, subject, predicate, object).map(factory::asTriple);
     }
 }
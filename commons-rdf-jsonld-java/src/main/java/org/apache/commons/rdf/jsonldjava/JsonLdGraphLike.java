@@ -17,11 +17,16 @@
  */
 package org.apache.commons.rdf.jsonldjava;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 //NOTE: To avod confusion, don't importing either of the Quad
@@ -58,21 +63,32 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
      */
     RDFDataset rdfDataSet;
 
-    AbstractJsonLdGraphLike(final RDFDataset rdfDataSet) {
-        this(rdfDataSet, "urn:uuid:" + SALT + "#g" + System.identityHashCode(rdfDataSet));
+    /**
+     * Side index of {@link #rdfDataSet}, which may be shared with other views
+     * of the same dataset, or {@code null} to scan the graph lists.
+     */
+    final JsonLdIndex index;
+
+    AbstractJsonLdGraphLike(final RDFDataset rdfDataSet, final JsonLdIndex index) {
+        this(rdfDataSet, "urn:uuid:" + SALT + "#g" + System.identityHashCode(rdfDataSet), index);
     }
 
-    AbstractJsonLdGraphLike(final RDFDataset rdfDataSet, final String bnodePrefix) {
+    AbstractJsonLdGraphLike(final RDFDataset rdfDataSet, final String bnodePrefix, final JsonLdIndex index) {
         this.rdfDataSet = Objects.requireNonNull(rdfDataSet, "rdfDataSet");
         this.bnodePrefix = Objects.requireNonNull(bnodePrefix, "bnodePrefix");
         this.factory = new JsonLdRDF(bnodePrefix);
+        this.index = index;
     }
 
-    AbstractJsonLdGraphLike(final String bnodePrefix) {
-        this(new RDFDataset(), bnodePrefix);
+    AbstractJsonLdGraphLike(final String bnodePrefix, final JsonLdIndex index) {
+        this(new RDFDataset(), bnodePrefix, index);
     }
 
     void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        // Graphs are sets, while the JsonLd lists allow duplicates
+        if (contains(Optional.ofNullable(graphName), subject, predicate, object)) {
+            return;
+        }
         final String g = factory.asJsonLdString(graphName);
         final String s = factory.asJsonLdString(subject);
         final String p = factory.asJsonLdString(predicate);
@@ -84,20 +100,52 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
             final String language = literal.getLanguageTag().orElse(null);
             final String datatype = literal.getDatatype().getIRIString();
             rdfDataSet.addQuad(s, p, literal.getLexicalForm(), datatype, language, g);
+        } else {
+            return;
+        }
+        // addQuad appends to the list of the graph
+        final String graph = g == null ? JsonLdIndex.DEFAULT_GRAPH : g;
+        if (index != null) {
+            final List<RDFDataset.Quad> quads = rdfDataSet.getQuads(graph);
+            index.added(graph, quads, quads.get(quads.size() - 1));
         }
     }
 
     @Override
     public void add(final T t) {
-        // add triples to default graph by default
-        BlankNodeOrIRI graphName = null;
-        if (t instanceof org.apache.commons.rdf.api.Quad) {
-            final org.apache.commons.rdf.api.Quad q = (org.apache.commons.rdf.api.Quad) t;
-            graphName = q.getGraphName().orElse(null);
-        }
         // FIXME: JSON-LD's rdfDataSet.addQuad method does not support
         // generalized RDF, so we have to do a naive cast here
-        add(graphName, (BlankNodeOrIRI) t.getSubject(), (IRI) t.getPredicate(), t.getObject());
+        add(graphNameOf(t), (BlankNodeOrIRI) t.getSubject(), (IRI) t.getPredicate(), t.getObject());
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends T> statements) {
+        // Append straight to the quad list of each graph, only looking it up
+        // again when the graph name changes
+        String currentGraph = null;
+        List<RDFDataset.Quad> quads = null;
+        for (final T t : statements) {
+            final BlankNodeOrIRI graphName = graphNameOf(t);
+            if (contains(Optional.ofNullable(graphName), (BlankNodeOrIRI) t.getSubject(), (IRI) t.getPredicate(),
+                    t.getObject())) {
+                continue;
+            }
+            final String g = graphName == null ? JsonLdIndex.DEFAULT_GRAPH : factory.asJsonLdString(graphName);
+            if (quads == null || !g.equals(currentGraph)) {
+                quads = rdfDataSet.getQuads(g);
+                if (quads == null) {
+                    quads = new ArrayList<>();
+                    rdfDataSet.put(g, quads);
+                }
+                currentGraph = g;
+            }
+            final RDFDataset.Quad quad = factory.createJsonLdQuad(graphName, (BlankNodeOrIRI) t.getSubject(),
+                    (IRI) t.getPredicate(), t.getObject());
+            quads.add(quad);
+            if (index != null) {
+                index.added(g, quads, quad);
+            }
+        }
     }
 
     /**
@@ -116,6 +164,9 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
     @Override
     public void clear() {
         filteredGraphs(null).forEach(List::clear);
+        if (index != null) {
+            index.clear();
+        }
         // In theory we could use
         // rdfDataSet.clear();
         // but then we would need to also do
@@ -127,12 +178,15 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
     public void close() {
         // Drop the memory reference, but don't clear it
         rdfDataSet = null;
+        if (index != null) {
+            index.clear();
+        }
     }
 
     // This will be made public in JsonLdDataset
     // and is used by the other methods.
     boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI s, final IRI p, final RDFTerm o) {
-        return filteredGraphs(graphName).flatMap(List::stream).anyMatch(quadFilter(s, p, o));
+        return matches(graphName, s, p, o).findAny().isPresent();
     }
 
     @Override
@@ -141,7 +195,7 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
     }
 
     Stream<List<RDFDataset.Quad>> filteredGraphs(final Optional<BlankNodeOrIRI> graphName) {
-        return rdfDataSet.graphNames().parallelStream()
+        return rdfDataSet.graphNames().stream()
                 // if graphName == null (wildcard), select all graphs,
                 // otherwise check its jsonld string
                 // (including @default for default graph)
@@ -156,12 +210,99 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
         return rdfDataSet;
     }
 
+    /**
+     * Names of the graphs to match.
+     *
+     * @param graphName
+     *            Graph name, {@link Optional#empty()} for the default graph or
+     *            {@code null} for all graphs
+     * @return JsonLd graph names, which may not be in the dataset
+     */
+    Stream<String> graphNames(final Optional<BlankNodeOrIRI> graphName) {
+        if (graphName == null) {
+            return rdfDataSet.graphNames().stream();
+        }
+        return Stream.of(graphName.map(factory::asJsonLdString).orElse(JsonLdIndex.DEFAULT_GRAPH));
+    }
+
+    /**
+     * Graph name to add a triple or quad to.
+     *
+     * @param tripleOrQuad
+     *            triple or quad to be added
+     * @return The graph name of a quad, or {@code null} for the default graph
+     */
+    BlankNodeOrIRI graphNameOf(final T tripleOrQuad) {
+        // add triples to default graph by default
+        if (tripleOrQuad instanceof org.apache.commons.rdf.api.Quad) {
+            final org.apache.commons.rdf.api.Quad q = (org.apache.commons.rdf.api.Quad) tripleOrQuad;
+            return q.getGraphName().orElse(null);
+        }
+        return null;
+    }
+
     String graphNameAsJsonLdString(final T tripleOrQuad) {
         if (tripleOrQuad instanceof org.apache.commons.rdf.api.Quad) {
             final org.apache.commons.rdf.api.Quad quad = (org.apache.commons.rdf.api.Quad) tripleOrQuad;
-            return quad.getGraphName().map(factory::asJsonLdString).orElse("@default");
+            return quad.getGraphName().map(factory::asJsonLdString).orElse(JsonLdIndex.DEFAULT_GRAPH);
+        }
+        return JsonLdIndex.DEFAULT_GRAPH;
+    }
+
+    /**
+     * JsonLd quads of a graph that may match a pattern.
+     *
+     * @param graphName
+     *            Graph name as a JsonLd string
+     * @param subject
+     *            Subject, or {@code null} as a wildcard
+     * @param predicate
+     *            Predicate, or {@code null} as a wildcard
+     * @param object
+     *            Object, or {@code null} as a wildcard
+     * @return The candidates from the {@link #index}, or all quads of the
+     *         graph without an index
+     */
+    private List<RDFDataset.Quad> candidates(final String graphName, final Node subject, final Node predicate,
+            final Node object) {
+        if (index != null) {
+            return index.candidates(rdfDataSet, graphName, subject, predicate, object);
+        }
+        final List<RDFDataset.Quad> quads = rdfDataSet.getQuads(graphName);
+        return quads == null ? Collections.emptyList() : quads;
+    }
+
+    /**
+     * JsonLd quads matching a pattern, looked up in the {@link #index} if
+     * there is one.
+     *
+     * @param graphName
+     *            Graph name, {@link Optional#empty()} for the default graph or
+     *            {@code null} for all graphs
+     * @param subject
+     *            Subject, or {@code null} as a wildcard
+     * @param predicate
+     *            Predicate, or {@code null} as a wildcard
+     * @param object
+     *            Object, or {@code null} as a wildcard
+     * @return The matching quads
+     */
+    Stream<RDFDataset.Quad> matches(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        return matches(graphNames(graphName), subject, predicate, object);
+    }
+
+    private Stream<RDFDataset.Quad> matches(final Stream<String> graphNames, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        final Node subjectNode = subject == null ? null : factory.asJsonLdNode(subject);
+        final Node predicateNode = predicate == null ? null : factory.asJsonLdNode(predicate);
+        final Node objectNode = object == null ? null : factory.asJsonLdNode(object);
+        final Stream<RDFDataset.Quad> candidates = graphNames
+                .flatMap(g -> candidates(g, subjectNode, predicateNode, objectNode).stream());
+        if (subject == null && predicate == null && object == null) {
+            return candidates;
         }
-        return "@default";
+        return candidates.filter(quadFilter(subject, predicate, object));
     }
 
     Predicate<RDFDataset.Quad> quadFilter(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
@@ -201,14 +342,29 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
     // remove methods.
     void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         // remove the quads which match our filter (which could have nulls as
-        // wildcards)
-        filteredGraphs(graphName).forEach(t -> t.removeIf(quadFilter(subject, predicate, object)));
+        // wildcards), found by identity as the lists may hold equal quads
+        for (final String g : graphNames(graphName).collect(Collectors.toList())) {
+            final Set<RDFDataset.Quad> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            matches(Stream.of(g), subject, predicate, object).forEach(removed::add);
+            if (!removed.isEmpty()) {
+                final List<RDFDataset.Quad> quads = rdfDataSet.getQuads(g);
+                quads.removeIf(removed::contains);
+                if (index != null) {
+                    index.removed(g, quads, removed);
+                }
+            }
+        }
     }
 
     @Override
     public Stream<? extends T> stream() {
-        return rdfDataSet.graphNames().parallelStream().map(rdfDataSet::getQuads)
-                .flatMap(List<RDFDataset.Quad>::parallelStream).map(this::asTripleOrQuad).sequential();
+        final List<List<RDFDataset.Quad>> graphs = new ArrayList<>();
+        rdfDataSet.graphNames().forEach(g -> graphs.add(rdfDataSet.getQuads(g)));
+        // A single graph streams its list directly, which knows its size and
+        // splits evenly for parallelStream()
+        final Stream<RDFDataset.Quad> quads = graphs.size() == 1 ? graphs.get(0).stream()
+                : graphs.stream().flatMap(List::stream);
+        return quads.map(this::asTripleOrQuad);
     }
 
 }
@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.github.jsonldjava.core.RDFDataset;
+import com.github.jsonldjava.core.RDFDataset.Node;
+
+/**
+ * A side index of the quads in the graph lists of a JsonLd
+ * {@link RDFDataset}, by subject, predicate and object.
+ * <p>
+ * A graph is indexed on its first pattern lookup, so graphs that are only
+ * streamed don't pay for the index. As adding a statement first checks that
+ * the graph does not contain it yet, adding to a graph indexes it too.
+ * Changes made through {@link AbstractJsonLdGraphLike} keep the index up to
+ * date, and the index can be turned off with
+ * {@link JsonLdRDF#JsonLdRDF(int, boolean)}. As the
+ * {@link RDFDataset} can also be changed directly, a graph whose list is
+ * replaced or changes size behind the index's back is indexed again on its
+ * next lookup.
+ * <p>
+ * Lookups return candidates, which the caller must still match against the
+ * pattern, as literal keys ignore the case of the language tag just like
+ * {@link org.apache.commons.rdf.api.Literal#equals(Object)}, and do not
+ * distinguish all possible lexical forms.
+ */
+final class JsonLdIndex {
+
+    /**
+     * Index of the quad list of a single graph.
+     */
+    private static final class GraphIndex {
+
+        /**
+         * The indexed list, compared by identity.
+         */
+        private final List<RDFDataset.Quad> quads;
+        private final Map<String, List<RDFDataset.Quad>> subjects = new HashMap<>();
+        private final Map<String, List<RDFDataset.Quad>> predicates = new HashMap<>();
+        private final Map<String, List<RDFDataset.Quad>> objects = new HashMap<>();
+
+        /**
+         * Size of {@link #quads} as indexed.
+         */
+        private int size;
+
+        GraphIndex(final List<RDFDataset.Quad> quads) {
+            this.quads = quads;
+            quads.forEach(this::add);
+        }
+
+        private void add(final RDFDataset.Quad quad) {
+            subjects.computeIfAbsent(key(quad.getSubject()), k -> new ArrayList<>(1)).add(quad);
+            predicates.computeIfAbsent(key(quad.getPredicate()), k -> new ArrayList<>(1)).add(quad);
+            objects.computeIfAbsent(key(quad.getObject()), k -> new ArrayList<>(1)).add(quad);
+            size++;
+        }
+
+        private List<RDFDataset.Quad> candidates(final String subject, final String predicate, final String object) {
+            List<RDFDataset.Quad> candidates = quads;
+            candidates = smaller(candidates, subjects, subject);
+            candidates = smaller(candidates, predicates, predicate);
+            return smaller(candidates, objects, object);
+        }
+
+        private boolean isCurrent(final List<RDFDataset.Quad> list) {
+            return quads == list && size == list.size();
+        }
+
+        private void removeAll(final Set<RDFDataset.Quad> removed) {
+            removeFrom(subjects, removed, RDFDataset.Quad::getSubject);
+            removeFrom(predicates, removed, RDFDataset.Quad::getPredicate);
+            removeFrom(objects, removed, RDFDataset.Quad::getObject);
+            size -= removed.size();
+        }
+
+    }
+
+    static final String DEFAULT_GRAPH = "@default";
+
+    /**
+     * Key of a node, equal for nodes that are equal as Commons RDF terms.
+     *
+     * @param node
+     *            JsonLd node, or {@code null}
+     * @return Key of the node, or {@code null} for a {@code null} node
+     */
+    static String key(final Node node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isLiteral()) {
+            final String language = node.getLanguage();
+            return '"' + node.getValue() + "\"^^" + node.getDatatype()
+                    + (language == null ? "" : "@" + language.toLowerCase(Locale.ROOT));
+        }
+        // Blank node values start with _:
+        return node.getValue();
+    }
+
+    private static void removeFrom(final Map<String, List<RDFDataset.Quad>> index,
+            final Set<RDFDataset.Quad> removed, final Function<RDFDataset.Quad, Node> position) {
+        final Set<String> keys = new HashSet<>();
+        removed.forEach(quad -> keys.add(key(position.apply(quad))));
+        // Filter each affected list once, rather than once per removed quad
+        for (final String key : keys) {
+            final List<RDFDataset.Quad> quads = index.get(key);
+            if (quads != null) {
+                quads.removeIf(removed::contains);
+                if (quads.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private static List<RDFDataset.Quad> smaller(final List<RDFDataset.Quad> candidates,
+            final Map<String, List<RDFDataset.Quad>> index, final String key) {
+        if (key == null) {
+            return candidates;
+        }
+        final List<RDFDataset.Quad> indexed = index.getOrDefault(key, Collections.emptyList());
+        return indexed.size() < candidates.size() ? indexed : candidates;
+    }
+
+    private final Map<String, GraphIndex> graphs = new HashMap<>();
+
+    /**
+     * Record a quad appended to the list of a graph.
+     *
+     * @param graphName
+     *            Graph name as a JsonLd string, {@value #DEFAULT_GRAPH} for the
+     *            default graph
+     * @param quads
+     *            The list of the graph, after appending the quad
+     * @param quad
+     *            The appended quad
+     */
+    void added(final String graphName, final List<RDFDataset.Quad> quads, final RDFDataset.Quad quad) {
+        final GraphIndex index = graphs.get(graphName);
+        if (index == null) {
+            return;
+        }
+        if (index.quads == quads && index.size == quads.size() - 1) {
+            index.add(quad);
+        } else {
+            // Out of step, index again on the next lookup
+            graphs.remove(graphName);
+        }
+    }
+
+    /**
+     * Candidate quads of a graph for a pattern.
+     *
+     * @param rdfDataSet
+     *            The dataset of the graph
+     * @param graphName
+     *            Graph name as a JsonLd string, {@value #DEFAULT_GRAPH} for the
+     *            default graph
+     * @param subject
+     *            Subject, or {@code null} as a wildcard
+     * @param predicate
+     *            Predicate, or {@code null} as a wildcard
+     * @param object
+     *            Object, or {@code null} as a wildcard
+     * @return The quads of the graph that may match the pattern, which must
+     *         not be modified
+     */
+    List<RDFDataset.Quad> candidates(final RDFDataset rdfDataSet, final String graphName, final Node subject,
+            final Node predicate, final Node object) {
+        final List<RDFDataset.Quad> quads = rdfDataSet.getQuads(graphName);
+        if (quads == null) {
+            graphs.remove(graphName);
+            return Collections.emptyList();
+        }
+        if (subject == null && predicate == null && object == null) {
+            return quads;
+        }
+        GraphIndex index = graphs.get(graphName);
+        if (index == null || !index.isCurrent(quads)) {
+            index = new GraphIndex(quads);
+            graphs.put(graphName, index);
+        }
+        return index.candidates(key(subject), key(predicate), key(object));
+    }
+
+    /**
+     * Forget all indexed graphs.
+     */
+    void clear() {
+        graphs.clear();
+    }
+
+    /**
+     * Record quads removed from the list of a graph.
+     *
+     * @param graphName
+     *            Graph name as a JsonLd string, {@value #DEFAULT_GRAPH} for the
+     *            default graph
+     * @param quads
+     *            The list of the graph, after removing the quads
+     * @param removed
+     *            The removed quads, as a set that compares by identity, as
+     *            the list may hold equal duplicates
+     */
+    void removed(final String graphName, final List<RDFDataset.Quad> quads, final Set<RDFDataset.Quad> removed) {
+        final GraphIndex index = graphs.get(graphName);
+        if (index == null) {
+            return;
+        }
+        if (index.quads == quads && index.size == quads.size() + removed.size()) {
+            index.removeAll(removed);
+        } else {
+            graphs.remove(graphName);
+        }
+    }
+
+}
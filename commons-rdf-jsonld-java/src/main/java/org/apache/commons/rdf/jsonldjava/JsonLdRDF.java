@@ -19,6 +19,7 @@ package org.apache.commons.rdf.jsonldjava;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.rdf.api.BlankNode;
@@ -30,6 +31,7 @@ import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.ConversionCache;
 import org.apache.commons.rdf.simple.Types;
 
 import com.github.jsonldjava.core.RDFDataset;
@@ -42,6 +44,17 @@ public final class JsonLdRDF implements RDF {
 
     final String bnodePrefix;
 
+    /**
+     * Converted foreign terms, or {@code null} if not caching.
+     */
+    private final ConversionCache<Node> conversions;
+
+    /**
+     * Whether the created and adapted graphs and datasets keep a
+     * {@link JsonLdIndex}.
+     */
+    private final boolean indexed;
+
     /**
      * Constructs a new instance.
      */
@@ -50,8 +63,63 @@ public final class JsonLdRDF implements RDF {
         this("urn:uuid:" + UUID.randomUUID() + "#b");
     }
 
+    /**
+     * Constructs a new instance that caches converted terms.
+     * <p>
+     * {@link #asJsonLdNode(RDFTerm)} keeps up to the given number of JsonLd
+     * {@link Node}s converted from {@link RDFTerm}s of other implementations,
+     * so that repeated conversions of the same term, e.g. with
+     * {@link #asJsonLdQuad(org.apache.commons.rdf.api.Quad)}, are only done
+     * once. The cached nodes are shared, and must not be modified.
+     *
+     * @param conversionCacheCapacity
+     *            Maximum number of cached conversions, or {@code 0} to not
+     *            cache conversions
+     * @throws IllegalArgumentException
+     *             If the capacity is negative
+     * @see #getConversionCache()
+     * @since 0.6.0
+     */
+    public JsonLdRDF(final int conversionCacheCapacity) {
+        this(conversionCacheCapacity, true);
+    }
+
+    /**
+     * Constructs a new instance that caches converted terms, and optionally
+     * indexes its graphs and datasets.
+     * <p>
+     * With an index, the created and adapted graphs and datasets look up the
+     * JsonLd quads by subject, predicate and object for
+     * {@code contains}, {@code stream} and {@code remove} with a pattern, as
+     * well as to skip duplicates on {@code add}. Each graph is indexed on its
+     * first lookup, which costs memory in proportion to its size. Without an
+     * index, these operations scan the quads of the graph, which suits
+     * graphs that are small or mostly streamed.
+     *
+     * @param conversionCacheCapacity
+     *            Maximum number of cached conversions, or {@code 0} to not
+     *            cache conversions
+     * @param indexed
+     *            {@code true} to index graphs and datasets, as
+     *            {@link #JsonLdRDF()} does
+     * @throws IllegalArgumentException
+     *             If the capacity is negative
+     * @see #JsonLdRDF(int)
+     * @since 0.6.0
+     */
+    public JsonLdRDF(final int conversionCacheCapacity, final boolean indexed) {
+        this("urn:uuid:" + UUID.randomUUID() + "#b",
+                conversionCacheCapacity == 0 ? null : new ConversionCache<>(conversionCacheCapacity), indexed);
+    }
+
     JsonLdRDF(final String bnodePrefix) {
+        this(bnodePrefix, null, true);
+    }
+
+    private JsonLdRDF(final String bnodePrefix, final ConversionCache<Node> conversions, final boolean indexed) {
         this.bnodePrefix = Objects.requireNonNull(bnodePrefix, "bnodePrefix");
+        this.conversions = conversions;
+        this.indexed = indexed;
     }
 
     /**
@@ -66,7 +134,7 @@ public final class JsonLdRDF implements RDF {
      * @return Adapted {@link Dataset}
      */
     public JsonLdDataset asDataset(final RDFDataset rdfDataSet) {
-        return new JsonLdDatasetImpl(rdfDataSet);
+        return new JsonLdDatasetImpl(rdfDataSet, newIndex());
     }
 
     /**
@@ -86,7 +154,7 @@ public final class JsonLdRDF implements RDF {
      * @return Adapted {@link Graph} covering the <em>default graph</em>
      */
     public JsonLdGraph asGraph(final RDFDataset rdfDataSet) {
-        return new JsonLdGraphImpl(rdfDataSet);
+        return new JsonLdGraphImpl(rdfDataSet, newIndex());
     }
 
     /**
@@ -106,6 +174,13 @@ public final class JsonLdRDF implements RDF {
             // non-Bnodes can always be return as-is
             return ((JsonLdTerm) term).asJsonLdNode();
         }
+        if (conversions != null && term != null) {
+            return conversions.get(term, this::toJsonLdNode);
+        }
+        return toJsonLdNode(term);
+    }
+
+    private Node toJsonLdNode(final RDFTerm term) {
         if (term instanceof IRI) {
             return new RDFDataset.IRI(((IRI) term).getIRIString());
         }
@@ -262,7 +337,7 @@ public final class JsonLdRDF implements RDF {
      * @return Adapted {@link Dataset}
      */
     public JsonLdUnionGraph asUnionGraph(final RDFDataset rdfDataSet) {
-        return new JsonLdUnionGraphImpl(rdfDataSet);
+        return new JsonLdUnionGraphImpl(rdfDataSet, newIndex());
     }
 
     @Override
@@ -280,12 +355,12 @@ public final class JsonLdRDF implements RDF {
 
     @Override
     public JsonLdDataset createDataset() {
-        return new JsonLdDatasetImpl(bnodePrefix);
+        return new JsonLdDatasetImpl(bnodePrefix, newIndex());
     }
 
     @Override
     public JsonLdGraph createGraph() {
-        return new JsonLdGraphImpl(bnodePrefix);
+        return new JsonLdGraphImpl(bnodePrefix, newIndex());
     }
 
     @Override
@@ -324,4 +399,32 @@ public final class JsonLdRDF implements RDF {
         return new JsonLdTripleImpl(createJsonLdQuad(null, subject, predicate, object), bnodePrefix);
     }
 
+    private JsonLdIndex newIndex() {
+        return indexed ? new JsonLdIndex() : null;
+    }
+
+    /**
+     * Gets the cache of converted terms of {@link #asJsonLdNode(RDFTerm)},
+     * e.g. to check its {@link ConversionCache#getHitRate()}.
+     *
+     * @return The conversion cache, or {@link Optional#empty()} if this
+     *         factory was not created with a positive conversion cache
+     *         capacity
+     * @since 0.6.0
+     */
+    public Optional<ConversionCache<Node>> getConversionCache() {
+        return Optional.ofNullable(conversions);
+    }
+
+    /**
+     * Whether the created and adapted graphs and datasets keep an index.
+     *
+     * @return {@code true} unless this factory was created with
+     *         {@link #JsonLdRDF(int, boolean)} and {@code false}
+     * @since 0.6.0
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
 }
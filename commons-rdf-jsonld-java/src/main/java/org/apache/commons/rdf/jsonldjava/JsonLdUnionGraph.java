@@ -17,7 +17,6 @@
  */
 package org.apache.commons.rdf.jsonldjava;
 
-import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
@@ -50,16 +49,16 @@ public interface JsonLdUnionGraph extends JsonLdGraphLike<org.apache.commons.rdf
 final class JsonLdUnionGraphImpl extends AbstractJsonLdGraphLike<org.apache.commons.rdf.api.Triple>
         implements JsonLdUnionGraph {
 
-    JsonLdUnionGraphImpl(final RDFDataset rdfDataSet) {
-        super(rdfDataSet);
+    JsonLdUnionGraphImpl(final RDFDataset rdfDataSet, final JsonLdIndex index) {
+        super(rdfDataSet, index);
     }
 
-    JsonLdUnionGraphImpl(final RDFDataset rdfDataSet, final String bnodePrefix) {
-        super(rdfDataSet, bnodePrefix);
+    JsonLdUnionGraphImpl(final RDFDataset rdfDataSet, final String bnodePrefix, final JsonLdIndex index) {
+        super(rdfDataSet, bnodePrefix, index);
     }
 
-    JsonLdUnionGraphImpl(final String bnodePrefix) {
-        super(bnodePrefix);
+    JsonLdUnionGraphImpl(final String bnodePrefix, final JsonLdIndex index) {
+        super(bnodePrefix, index);
     }
 
     @Override
@@ -77,6 +76,11 @@ final class JsonLdUnionGraphImpl extends AbstractJsonLdGraphLike<org.apache.comm
         return super.contains(null, subject, predicate, object);
     }
 
+    @Override
+    public boolean contains(final Triple t) {
+        return contains(t.getSubject(), t.getPredicate(), t.getObject());
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         super.remove(null, subject, predicate, object);
@@ -104,8 +108,7 @@ final class JsonLdUnionGraphImpl extends AbstractJsonLdGraphLike<org.apache.comm
 
     @Override
     public Stream<JsonLdTriple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
-        return filteredGraphs(null).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asTriple)
+        return matches(null, subject, predicate, object).map(factory::asTriple)
                 // Make sure we don't have duplicate triples
                 // NOTE: This can be quite inefficient
                 .distinct();
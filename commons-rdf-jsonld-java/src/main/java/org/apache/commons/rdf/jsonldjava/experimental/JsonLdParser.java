@@ -23,6 +23,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.file.Files;
 import java.util.function.Predicate;
 
@@ -43,6 +44,10 @@ import com.github.jsonldjava.utils.JsonUtils;
 
 /**
  * Experimental.
+ * <p>
+ * By default the whole JSON-LD document is read and converted before any
+ * quads are delivered to the target. With {@link #streaming(boolean)} the
+ * document is converted one node object at a time instead.
  */
 public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
 
@@ -54,6 +59,8 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         }
     }
 
+    private boolean streaming;
+
     /**
      * Constructs a new instance.
      */
@@ -97,11 +104,46 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         return createRDFTermFactory();
     }
 
+    /**
+     * Whether parsing is streamed, as set by {@link #streaming(boolean)}.
+     *
+     * @return {@code true} if the JSON-LD is converted one node object at a
+     *         time
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Open the source for streaming.
+     */
+    private InputStream openSource() throws IOException {
+        if (getSourceInputStream().isPresent()) {
+            return getSourceInputStream().get();
+        }
+        if (getSourceIri().isPresent()) {
+            final URLConnection connection = asURL(getSourceIri().get()).openConnection();
+            connection.setRequestProperty("Accept", "application/ld+json, application/json;q=0.9");
+            return recordBytes(connection.getInputStream());
+        }
+        if (getSourceFile().isPresent()) {
+            return recordBytes(Files.newInputStream(getSourceFile().get()));
+        }
+        throw new IllegalStateException("No known source found");
+    }
+
     @Override
     protected void parseSynchronusly() throws IOException {
-        final Object json = readSource();
         final JsonLdOptions options = new JsonLdOptions();
         getBase().map(IRI::getIRIString).ifPresent(options::setBase);
+        if (streaming) {
+            // Quads go to the target as they are converted, even for an
+            // empty JsonLdGraph or JsonLdDataset
+            new JsonLdRecordReader(options, getRdfTermFactory().orElseGet(this::createRDFTermFactory), getTarget())
+                    .read(openSource());
+            return;
+        }
+        final Object json = readSource();
         // TODO: base from readSource() (after redirection and Content-Location
         // header)
         // should be forwarded
@@ -118,20 +160,24 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
             if (intoGraph instanceof JsonLdGraph && !intoGraph.contains(null, null, null)) {
                 // Empty graph, we can just move over the map content directly:
                 final JsonLdGraph jsonLdGraph = (JsonLdGraph) intoGraph;
+                final long start = System.nanoTime();
                 jsonLdGraph.getRdfDataSet().putAll(rdfDataset);
+                recordDataset(rdfDataset, System.nanoTime() - start);
                 return;
                 // otherwise we have to merge as normal
             }
             // TODO: Modify JsonLdProcessor to have an actual triple callback
             final Graph parsedGraph = getJsonLdFactory().asGraph(rdfDataset);
             // sequential() as we don't know if destination is thread safe :-/
-            parsedGraph.stream().sequential().forEach(intoGraph::add);
+            parsedGraph.stream().sequential().forEach(recorded(intoGraph::add));
         } else if (getTargetDataset().isPresent()) {
             final Dataset intoDataset = getTargetDataset().get();
             if (intoDataset instanceof JsonLdDataset && !intoDataset.contains(null, null, null, null)) {
                 final JsonLdDataset jsonLdDataset = (JsonLdDataset) intoDataset;
                 // Empty - we can just do a brave replace!
+                final long start = System.nanoTime();
                 jsonLdDataset.getRdfDataSet().putAll(rdfDataset);
+                recordDataset(rdfDataset, System.nanoTime() - start);
                 return;
                 // otherwise we have to merge.. but also avoid duplicate
                 // triples,
@@ -140,7 +186,7 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
             }
             final Dataset fromDataset = getJsonLdFactory().asDataset(rdfDataset);
             // .sequential() as we don't know if destination is thread-safe :-/
-            fromDataset.stream().sequential().forEach(intoDataset::add);
+            fromDataset.stream().sequential().forEach(recorded(intoDataset::add));
         } else {
             final Dataset fromDataset = getJsonLdFactory().asDataset(rdfDataset);
             // No need for .sequential() here
@@ -148,6 +194,30 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         }
     }
 
+    /**
+     * Count the quads moved directly into a JsonLdGraph or JsonLdDataset in
+     * the ParseResult.
+     */
+    private void recordDataset(final RDFDataset rdfDataset, final long targetNanos) {
+        long statements = 0;
+        long blankNodes = 0;
+        for (final String graphName : rdfDataset.graphNames()) {
+            for (final RDFDataset.Quad quad : rdfDataset.getQuads(graphName)) {
+                statements++;
+                if (quad.getSubject().isBlankNode()) {
+                    blankNodes++;
+                }
+                if (quad.getObject().isBlankNode()) {
+                    blankNodes++;
+                }
+                if (quad.getGraph() != null && quad.getGraph().isBlankNode()) {
+                    blankNodes++;
+                }
+            }
+        }
+        recordStatements(statements, blankNodes, targetNanos);
+    }
+
     private Object readSource() throws IOException {
         // Due to checked IOException we can't easily
         // do this with .map and .orElseGet()
@@ -160,11 +230,37 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
             return JsonUtils.fromURL(asURL(getSourceIri().get()), JsonUtils.getDefaultHttpClient());
         }
         if (getSourceFile().isPresent()) {
-            try (InputStream inputStream = Files.newInputStream(getSourceFile().get())) {
+            try (InputStream inputStream = recordBytes(Files.newInputStream(getSourceFile().get()))) {
                 return JsonUtils.fromInputStream(inputStream);
             }
         }
         throw new IllegalStateException("No known source found");
     }
 
+    /**
+     * Convert the JSON-LD one node object at a time, delivering its quads to
+     * the target before reading the next one.
+     * <p>
+     * The entries of a top-level array, or of the {@code @graph} array of a
+     * top-level object that has no other keys than a {@code @context} before
+     * the {@code @graph}, are converted one at a time. Newline-delimited
+     * JSON-LD, with one document per line, is converted one line at a time.
+     * Memory use is therefore bounded by the largest node object rather than
+     * by the whole document. Other documents are converted as a whole.
+     * <p>
+     * Parsing fails if a top-level object has other keys after a streamed
+     * {@code @graph}, e.g. a {@code @context} or an {@code @id} making it a
+     * named graph, as its entries were already converted.
+     *
+     * @param streaming
+     *            {@code true} to convert one node object at a time,
+     *            {@code false} (the default) to convert the whole document
+     * @return A clone of this parser
+     */
+    public JsonLdParser streaming(final boolean streaming) {
+        final JsonLdParser c = clone();
+        c.streaming = streaming;
+        return c;
+    }
+
 }
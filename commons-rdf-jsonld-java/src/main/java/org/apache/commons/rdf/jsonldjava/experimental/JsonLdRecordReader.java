@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava.experimental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jsonldjava.core.JsonLdError;
+import com.github.jsonldjava.core.JsonLdOptions;
+import com.github.jsonldjava.core.JsonLdProcessor;
+import com.github.jsonldjava.core.RDFDataset;
+import com.github.jsonldjava.core.RDFDataset.Node;
+
+/**
+ * Reads JSON-LD one record at a time, without materializing the whole
+ * document.
+ * <p>
+ * A record is a top-level JSON value; newline-delimited JSON-LD is a sequence
+ * of records. The entries of a top-level array, and of the {@code @graph}
+ * array of a top-level object that has no other keys than a preceding
+ * {@code @context}, are converted one at a time. Any other record is
+ * converted as a whole.
+ * <p>
+ * Blank node identifiers are scoped to the whole input rather than to the
+ * record, so a blank node can be referenced across entries. As JSONLD-Java
+ * relabels blank nodes on each conversion, explicit identifiers are replaced
+ * by placeholder IRIs after expansion and turned back into blank nodes here.
+ */
+final class JsonLdRecordReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CONTEXT = "@context";
+    private static final String GRAPH = "@graph";
+    private static final String ID = "@id";
+    private static final String TYPE = "@type";
+
+    private final JsonLdOptions options;
+    private final RDF factory;
+    private final Consumer<Quad> target;
+
+    /**
+     * Prefix of the placeholder IRIs of explicit blank node identifiers.
+     */
+    private final String placeholder;
+
+    /**
+     * Prefix of the blank node names, unique to this reader.
+     */
+    private final String scope;
+
+    private long records;
+
+    JsonLdRecordReader(final JsonLdOptions options, final RDF factory, final Consumer<Quad> target) {
+        this.options = options;
+        this.factory = factory;
+        this.target = target;
+        final UUID uuid = UUID.randomUUID();
+        this.placeholder = "urn:uuid:" + uuid + "#";
+        this.scope = uuid + "-";
+    }
+
+    private RDFTerm asTerm(final Node node, final String blankNodeScope) {
+        if (node.isIRI()) {
+            final String iri = node.getValue();
+            if (iri.startsWith(placeholder)) {
+                return factory.createBlankNode(scope + "d-" + iri.substring(placeholder.length()));
+            }
+            return factory.createIRI(iri);
+        }
+        if (node.isBlankNode()) {
+            // Anonymous within the record, skip the _: prefix
+            return factory.createBlankNode(blankNodeScope + node.getValue().substring(2));
+        }
+        if (node.getLanguage() != null) {
+            return factory.createLiteral(node.getValue(), node.getLanguage());
+        }
+        return factory.createLiteral(node.getValue(), factory.createIRI(node.getDatatype()));
+    }
+
+    /**
+     * Convert a single record and deliver its quads to the target.
+     */
+    private void convert(final Object record) throws IOException {
+        final String blankNodeScope = scope + "r" + records++ + "-";
+        final RDFDataset dataset;
+        try {
+            final List<Object> expanded = JsonLdProcessor.expand(record, options);
+            replaceBlankNodeIds(expanded);
+            dataset = (RDFDataset) JsonLdProcessor.toRDF(expanded, options);
+        } catch (final JsonLdError e) {
+            throw new IOException("Could not parse Json-LD", e);
+        }
+        for (final String graphName : dataset.graphNames()) {
+            for (final RDFDataset.Quad quad : dataset.getQuads(graphName)) {
+                final BlankNodeOrIRI g = quad.getGraph() == null ? null
+                        : (BlankNodeOrIRI) asTerm(quad.getGraph(), blankNodeScope);
+                target.accept(factory.createQuad(g, (BlankNodeOrIRI) asTerm(quad.getSubject(), blankNodeScope),
+                        (IRI) asTerm(quad.getPredicate(), blankNodeScope), asTerm(quad.getObject(), blankNodeScope)));
+            }
+        }
+    }
+
+    /**
+     * Convert a record wrapped in a {@code @graph}, with the given context.
+     */
+    private void convertEntry(final Object context, final Object entry) throws IOException {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        if (context != null) {
+            record.put(CONTEXT, context);
+        }
+        record.put(GRAPH, Collections.singletonList(entry));
+        convert(record);
+    }
+
+    /**
+     * Read all records of a JSON-LD input.
+     *
+     * @param in
+     *            Input to read, which is closed when done
+     * @throws IOException
+     *             If the input can't be read or is not valid JSON-LD
+     */
+    void read(final InputStream in) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_ARRAY) {
+                    readEntries(parser, null);
+                } else if (token == JsonToken.START_OBJECT) {
+                    readObject(parser);
+                } else {
+                    throw new IOException("Expected a JSON-LD object or array at " + parser.getCurrentLocation());
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert the entries of an array one at a time, with the parser at the
+     * start of the array.
+     */
+    private void readEntries(final JsonParser parser, final Object context) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            convertEntry(context, MAPPER.readValue(parser, Object.class));
+        }
+    }
+
+    /**
+     * Convert a top-level object, with the parser at the start of the object.
+     */
+    private void readObject(final JsonParser parser) throws IOException {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        boolean streamed = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            if (!streamed && GRAPH.equals(key) && value == JsonToken.START_ARRAY
+                    && record.keySet().stream().allMatch(CONTEXT::equals)) {
+                readEntries(parser, record.get(CONTEXT));
+                streamed = true;
+            } else if (streamed) {
+                // The entries were already converted, but e.g. an @id would
+                // have made @graph a named graph
+                throw new IOException("Can't stream JSON-LD with \"" + key + "\" after \"@graph\" at "
+                        + parser.getCurrentLocation() + ", parse without streaming instead");
+            } else {
+                record.put(key, MAPPER.readValue(parser, Object.class));
+            }
+        }
+        if (!streamed) {
+            convert(record);
+        }
+    }
+
+    /**
+     * Replace a blank node identifier, or a list of identifiers as for
+     * {@code @type}, by placeholder IRIs.
+     */
+    @SuppressWarnings("unchecked")
+    private Object replaceBlankNodeId(final Object value) {
+        if (value instanceof String && ((String) value).startsWith("_:")) {
+            return placeholder + ((String) value).substring(2);
+        }
+        if (value instanceof List) {
+            ((List<Object>) value).replaceAll(this::replaceBlankNodeId);
+        }
+        return value;
+    }
+
+    /**
+     * Replace the blank node identifiers in expanded JSON-LD by placeholder
+     * IRIs.
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceBlankNodeIds(final Object expanded) {
+        if (expanded instanceof List) {
+            ((List<Object>) expanded).forEach(this::replaceBlankNodeIds);
+        } else if (expanded instanceof Map) {
+            for (final Map.Entry<String, Object> entry : ((Map<String, Object>) expanded).entrySet()) {
+                if (ID.equals(entry.getKey()) || TYPE.equals(entry.getKey())) {
+                    entry.setValue(replaceBlankNodeId(entry.getValue()));
+                } else {
+                    replaceBlankNodeIds(entry.getValue());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.OptionalInt;
+
+import org.apache.commons.rdf.api.AbstractConversionCacheTest;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.simple.ConversionCache;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.Test;
+
+import com.github.jsonldjava.core.RDFDataset;
+import com.github.jsonldjava.core.RDFDataset.Node;
+
+/**
+ * Test the conversion cache of {@link JsonLdRDF#JsonLdRDF(int)}.
+ */
+class JsonLdConversionCacheTest extends AbstractConversionCacheTest {
+
+    private static ConversionCache<Node> cache(final RDF factory) {
+        return ((JsonLdRDF) factory).getConversionCache().get();
+    }
+
+    private final SimpleRDF simple = new SimpleRDF();
+
+    @Override
+    protected Object convert(final RDF factory, final RDFTerm term) {
+        return ((JsonLdRDF) factory).asJsonLdNode(term);
+    }
+
+    @Override
+    protected RDF createFactory(final int capacity) {
+        return new JsonLdRDF(capacity);
+    }
+
+    @Override
+    protected OptionalInt getCacheCapacity(final RDF factory) {
+        return ((JsonLdRDF) factory).getConversionCache().map(c -> OptionalInt.of(c.getCapacity()))
+                .orElse(OptionalInt.empty());
+    }
+
+    @Override
+    protected long getCacheHits(final RDF factory) {
+        return cache(factory).getHits();
+    }
+
+    @Override
+    protected long getCacheMisses(final RDF factory) {
+        return cache(factory).getMisses();
+    }
+
+    @Test
+    void testQuadConversionUsesCache() {
+        // Large enough for the 21 terms not to evict each other
+        final JsonLdRDF factory = new JsonLdRDF(1024);
+        final ConversionCache<Node> cache = factory.getConversionCache().get();
+        final IRI predicate = simple.createIRI("http://example.com/p");
+        for (int i = 0; i < 10; i++) {
+            final Quad quad = simple.createQuad(null, simple.createIRI("http://example.com/s" + i), predicate,
+                    simple.createLiteral(Integer.toString(i)));
+            final RDFDataset.Quad jsonldQuad = factory.asJsonLdQuad(quad);
+            assertEquals("http://example.com/p", jsonldQuad.getPredicate().getValue());
+        }
+        // Each subject and object is converted once, the predicate only the
+        // first time
+        assertEquals(9, cache.getHits());
+        assertEquals(21, cache.getMisses());
+    }
+
+}
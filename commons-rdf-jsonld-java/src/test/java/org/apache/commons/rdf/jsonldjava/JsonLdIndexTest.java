@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.IRI;
+import org.junit.jupiter.api.Test;
+
+import com.github.jsonldjava.core.RDFDataset;
+
+/**
+ * Test that pattern lookups through the {@link JsonLdIndex} see every change
+ * to the graphs.
+ */
+class JsonLdIndexTest {
+
+    private static final String EX = "http://example.com/";
+
+    private final JsonLdRDF rdf = new JsonLdRDF();
+    private final IRI alice = rdf.createIRI(EX + "alice");
+    private final IRI bob = rdf.createIRI(EX + "bob");
+    private final IRI charlie = rdf.createIRI(EX + "charlie");
+    private final IRI knows = rdf.createIRI(EX + "knows");
+    private final IRI name = rdf.createIRI(EX + "name");
+    private final IRI graph1 = rdf.createIRI(EX + "graph1");
+    private final IRI graph2 = rdf.createIRI(EX + "graph2");
+
+    @Test
+    void testBulkRemove() throws Exception {
+        final RDFDataset rdfDataSet = new RDFDataset();
+        for (int i = 0; i < 100_000; i++) {
+            rdfDataSet.addQuad(EX + "s" + i, EX + "knows", EX + "s" + (i + 1), null);
+            rdfDataSet.addQuad(EX + "s" + i, EX + "name", "Name " + i, null, null, null);
+        }
+        try (final JsonLdGraph graph = rdf.asGraph(rdfDataSet)) {
+            // Index the graph
+            assertTrue(graph.contains(null, knows, null));
+
+            graph.remove(null, knows, null);
+            assertEquals(100_000, graph.size());
+            assertFalse(graph.contains(null, knows, null));
+            final IRI s42 = rdf.createIRI(EX + "s42");
+            assertEquals(1, graph.stream(s42, null, null).count());
+            assertTrue(graph.contains(s42, name, rdf.createLiteral("Name 42")));
+            assertFalse(graph.contains(rdf.createIRI(EX + "s41"), null, s42));
+        }
+    }
+
+    @Test
+    void testDatasetAddRemoveClear() throws Exception {
+        try (final JsonLdDataset dataset = rdf.createDataset()) {
+            dataset.add(null, alice, knows, bob);
+            dataset.add(graph1, alice, knows, charlie);
+            dataset.add(graph2, bob, knows, charlie);
+            // Index all graphs
+            assertEquals(2, dataset.stream(null, alice, knows, null).count());
+
+            dataset.add(graph1, bob, knows, alice);
+            assertTrue(dataset.contains(Optional.of(graph1), bob, knows, alice));
+            assertFalse(dataset.contains(Optional.empty(), bob, knows, alice));
+            assertEquals(2, dataset.stream(null, bob, knows, null).count());
+
+            dataset.remove(Optional.of(graph1), null, knows, null);
+            assertFalse(dataset.contains(Optional.of(graph1), null, knows, null));
+            assertTrue(dataset.contains(Optional.empty(), alice, knows, bob));
+            assertTrue(dataset.contains(Optional.of(graph2), bob, knows, charlie));
+
+            dataset.clear();
+            assertFalse(dataset.contains(null, null, knows, null));
+            dataset.add(graph2, charlie, knows, alice);
+            assertTrue(dataset.contains(null, charlie, knows, alice));
+            assertEquals(1, dataset.stream(null, null, knows, alice).count());
+        }
+    }
+
+    @Test
+    void testDirectEdits() throws Exception {
+        final RDFDataset rdfDataSet = new RDFDataset();
+        try (final JsonLdGraph graph = rdf.asGraph(rdfDataSet)) {
+            graph.add(alice, knows, bob);
+            assertTrue(graph.contains(alice, knows, bob));
+
+            // Appended behind the index's back
+            rdfDataSet.addQuad(EX + "bob", EX + "knows", EX + "charlie", null);
+            assertTrue(graph.contains(bob, knows, charlie));
+            assertEquals(1, graph.stream(null, knows, charlie).count());
+
+            // Removed behind the index's back
+            rdfDataSet.getQuads(JsonLdIndex.DEFAULT_GRAPH).remove(0);
+            assertFalse(graph.contains(alice, knows, bob));
+            assertTrue(graph.contains(bob, knows, charlie));
+
+            // Replaced list of the same size
+            final ArrayList<RDFDataset.Quad> quads = new ArrayList<>();
+            quads.add(new RDFDataset.Quad(EX + "charlie", EX + "knows", EX + "alice", null));
+            rdfDataSet.put(JsonLdIndex.DEFAULT_GRAPH, quads);
+            assertFalse(graph.contains(bob, knows, charlie));
+            assertTrue(graph.contains(charlie, knows, alice));
+
+            // Another view of the same dataset, with its own index
+            try (final JsonLdDataset dataset = rdf.asDataset(rdfDataSet)) {
+                assertTrue(dataset.contains(Optional.empty(), charlie, knows, alice));
+                graph.add(alice, knows, charlie);
+                assertTrue(dataset.contains(Optional.empty(), alice, knows, charlie));
+                dataset.remove(Optional.empty(), charlie, knows, alice);
+                assertFalse(graph.contains(charlie, knows, alice));
+            }
+        }
+    }
+
+    @Test
+    void testGraphAddRemoveClear() throws Exception {
+        try (final JsonLdGraph graph = rdf.createGraph()) {
+            graph.add(alice, knows, bob);
+            graph.add(alice, name, rdf.createLiteral("Alice"));
+            assertTrue(graph.contains(alice, knows, bob));
+
+            graph.add(bob, knows, charlie);
+            assertTrue(graph.contains(bob, knows, charlie));
+            assertEquals(2, graph.stream(null, knows, null).count());
+            // Adding again does not duplicate
+            graph.add(bob, knows, charlie);
+            assertEquals(3, graph.size());
+            assertEquals(1, graph.stream(bob, null, null).count());
+
+            graph.remove(alice, null, null);
+            assertFalse(graph.contains(alice, null, null));
+            assertEquals(1, graph.stream(null, knows, null).count());
+
+            graph.clear();
+            assertFalse(graph.contains(null, knows, null));
+            graph.add(charlie, knows, alice);
+            assertTrue(graph.contains(charlie, knows, alice));
+            assertEquals(1, graph.size());
+        }
+    }
+
+    @Test
+    void testGraphViewsShareIndex() throws Exception {
+        try (final JsonLdDataset dataset = rdf.createDataset()) {
+            dataset.add(graph1, alice, knows, bob);
+            assertTrue(dataset.contains(Optional.of(graph1), alice, knows, bob));
+            final JsonLdGraph graph = (JsonLdGraph) dataset.getGraph(graph1).get();
+            assertTrue(graph.contains(alice, knows, bob));
+
+            graph.add(bob, knows, charlie);
+            assertTrue(dataset.contains(Optional.of(graph1), bob, knows, charlie));
+            dataset.remove(Optional.of(graph1), alice, knows, bob);
+            assertFalse(graph.contains(alice, knows, bob));
+            assertEquals(1, graph.stream(null, knows, null).count());
+        }
+    }
+
+    @Test
+    void testKeyIgnoresLanguageTagCase() {
+        assertEquals(JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("Hello", "en-GB"))),
+                JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("Hello", "en-gb"))));
+        assertNotEquals(JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("Hello", "en"))),
+                JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("Hello"))));
+        assertNotEquals(JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("Hello", "en"))),
+                JsonLdIndex.key(rdf.asJsonLdNode(rdf.createLiteral("hello", "en"))));
+    }
+
+    @Test
+    void testLanguageTagCase() throws Exception {
+        try (final JsonLdGraph graph = rdf.createGraph()) {
+            graph.add(alice, name, rdf.createLiteral("Alice", "en-GB"));
+            graph.add(bob, name, rdf.createLiteral("Bob"));
+            assertTrue(graph.contains(alice, name, rdf.createLiteral("Alice", "en-gb")));
+            assertTrue(graph.contains(null, null, rdf.createLiteral("Alice", "EN-GB")));
+            assertEquals(1, graph.stream(null, name, rdf.createLiteral("Alice", "en-gb")).count());
+            assertFalse(graph.contains(null, null, rdf.createLiteral("alice", "en-GB")));
+            assertFalse(graph.contains(null, null, rdf.createLiteral("Alice")));
+
+            graph.add(alice, name, rdf.createLiteral("Alice", "EN-gb"));
+            assertEquals(2, graph.size());
+            graph.remove(null, null, rdf.createLiteral("Alice", "en-gb"));
+            assertFalse(graph.contains(alice, null, null));
+            assertTrue(graph.contains(bob, name, rdf.createLiteral("Bob")));
+        }
+    }
+
+    @Test
+    void testUnionGraph() throws Exception {
+        final RDFDataset rdfDataSet = new RDFDataset();
+        rdfDataSet.addQuad(EX + "alice", EX + "knows", EX + "bob", EX + "graph1");
+        rdfDataSet.addQuad(EX + "alice", EX + "knows", EX + "bob", EX + "graph2");
+        rdfDataSet.addQuad(EX + "bob", EX + "knows", EX + "charlie", EX + "graph2");
+        try (final JsonLdUnionGraph union = rdf.asUnionGraph(rdfDataSet)) {
+            assertTrue(union.contains(alice, knows, bob));
+            // Distinct triples, although in two graphs
+            assertEquals(1, union.stream(alice, null, null).count());
+
+            union.add(charlie, knows, alice);
+            assertTrue(union.contains(charlie, knows, alice));
+            assertEquals(3, union.stream(null, knows, null).count());
+
+            // Removed from all graphs
+            union.remove(alice, knows, bob);
+            assertFalse(union.contains(alice, knows, bob));
+            try (final JsonLdDataset dataset = rdf.asDataset(rdfDataSet)) {
+                assertFalse(dataset.contains(null, alice, knows, bob));
+                assertTrue(dataset.contains(Optional.of(graph2), bob, knows, charlie));
+                assertTrue(dataset.contains(Optional.empty(), charlie, knows, alice));
+            }
+        }
+    }
+}
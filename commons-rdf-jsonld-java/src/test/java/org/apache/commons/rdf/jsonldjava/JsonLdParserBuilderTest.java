@@ -18,20 +18,31 @@
 package org.apache.commons.rdf.jsonldjava;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.jsonldjava.experimental.JsonLdParser;
 import org.apache.commons.rdf.simple.Types;
 import org.junit.jupiter.api.Test;
@@ -95,6 +106,10 @@ class JsonLdParserBuilderTest {
         }
     }
 
+    private static InputStream json(final String json) {
+        return new ByteArrayInputStream(json.replace('\'', '"').getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     void testParseByUrl() throws Exception {
         final URL url = getClass().getResource(TEST_JSONLD);
@@ -105,4 +120,68 @@ class JsonLdParserBuilderTest {
             checkGraph(g);
         }
     }
+
+    @Test
+    void testParseStreamingGraph() throws Exception {
+        final String json = "{ '@context': { 'ex': 'http://example.com/' },"
+                + " '@graph': ["
+                + "  { '@id': 'ex:test', 'ex:pred1': 'Hello', 'ex:pred2': { '@id': '_:shared' } },"
+                + "  { '@id': '_:shared', 'ex:pred3': { 'ex:pred4': 'first' } },"
+                + "  { '@id': 'ex:other', 'ex:pred2': { '@id': '_:shared' }, 'ex:pred3': { 'ex:pred4': 'second' } }"
+                + " ] }";
+        try (final Graph g = factory.createGraph()) {
+            new JsonLdParser().streaming(true).base("http://example.com/").contentType(RDFSyntax.JSONLD)
+                    .source(json(json)).target(g).parse().get(10, TimeUnit.SECONDS);
+            assertEquals(7, g.size());
+            assertTrue(g.contains(test, pred1, null));
+            // Explicit blank node identifiers are shared across entries
+            final BlankNodeOrIRI shared = (BlankNodeOrIRI) g.stream(test, pred2, null).findFirst().get().getObject();
+            assertTrue(g.contains(other, pred2, shared));
+            // ..while anonymous blank nodes in different entries are not
+            final RDFTerm first = g.stream(shared, pred3, null).findFirst().get().getObject();
+            final RDFTerm second = g.stream(other, pred3, null).findFirst().get().getObject();
+            assertNotEquals(first, second);
+            assertEquals(1, g.stream((BlankNodeOrIRI) first, pred4, null).count());
+            assertEquals(1, g.stream((BlankNodeOrIRI) second, pred4, null).count());
+        }
+    }
+
+    @Test
+    void testParseStreamingGraphNotFirst() throws Exception {
+        final String json = "{ '@graph': [ { '@id': 'http://example.com/test', 'http://example.com/pred1': 'Hello' } ],"
+                + " '@id': 'http://example.com/graph' }";
+        final ExecutionException e = assertThrows(ExecutionException.class,
+                () -> new JsonLdParser().streaming(true).base("http://example.com/").source(json(json))
+                        .target(factory.createGraph()).parse()
+                        .get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @Test
+    void testParseStreamingLines() throws Exception {
+        final String json = "{ '@id': 'http://example.com/test', 'http://example.com/pred1': 'Hello' }\n"
+                + "{ '@id': 'http://example.com/graph', '@graph': { '@id': 'http://example.com/test', "
+                + "'http://example.com/pred2': { '@id': 'http://example.com/other' } } }\n"
+                + "[ { '@id': 'http://example.com/other', 'http://example.com/pred3': 1337 } ]\n";
+        try (final Dataset d = factory.createDataset()) {
+            new JsonLdParser().streaming(true).base("http://example.com/").source(json(json)).target(d).parse()
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(3, d.size());
+            assertTrue(d.contains(Optional.empty(), test, pred1, null));
+            assertTrue(d.contains(Optional.of(graph), test, pred2, other));
+            assertTrue(d.contains(Optional.empty(), other, pred3, null));
+        }
+    }
+
+    @Test
+    void testParseStreamingWholeDocument() throws Exception {
+        try (final Graph g = factory.createGraph()) {
+            try (InputStream is = getClass().getResourceAsStream(TEST_JSONLD)) {
+                assertNotNull(is, "Test resource not found: " + TEST_JSONLD);
+                new JsonLdParser().streaming(true).base("http://example.com/base/").contentType(RDFSyntax.JSONLD)
+                        .source(is).target(g).parse().get(10, TimeUnit.SECONDS);
+            }
+            checkGraph(g);
+        }
+    }
 }
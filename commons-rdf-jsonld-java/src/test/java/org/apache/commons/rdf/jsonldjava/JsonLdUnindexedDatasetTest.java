@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.apache.commons.rdf.api.AbstractDatasetTest;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test JsonLdRDF datasets without an index with AbstractDatasetTest
+ */
+class JsonLdUnindexedDatasetTest extends AbstractDatasetTest {
+
+    @Override
+    public RDF createFactory() {
+        return new JsonLdRDF(0, false);
+    }
+
+    @Test
+    void testNoIndex() throws Exception {
+        assertFalse(((JsonLdRDF) factory).isIndexed());
+        try (final Dataset dataset = factory.createDataset()) {
+            assertNull(((AbstractJsonLdGraphLike<?>) dataset).index);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+
+/**
+ * Service provider interface for evaluating a basic graph pattern with the
+ * native query engine of a {@link Graph} implementation.
+ * <p>
+ * A {@link QueryEngine} asks each evaluator, found with
+ * {@link java.util.ServiceLoader}, before it evaluates the pattern itself.
+ * Implementations are registered in
+ * {@code META-INF/services/org.apache.commons.rdf.query.PatternEvaluator}.
+ *
+ * @since 0.6.0
+ */
+public interface PatternEvaluator {
+
+    /**
+     * Evaluate a basic graph pattern over a graph, if the graph is supported.
+     * <p>
+     * The solutions must bind all variables of the patterns to terms that are
+     * equal to the terms of the graph's
+     * {@link Graph#stream(org.apache.commons.rdf.api.BlankNodeOrIRI, org.apache.commons.rdf.api.IRI, org.apache.commons.rdf.api.RDFTerm)},
+     * with one solution per combination of matching triples. The returned
+     * stream may hold resources, and must be closed by the caller.
+     *
+     * @param graph
+     *            Graph to query
+     * @param patterns
+     *            Triple patterns, which are all non-null
+     * @return The solutions, or {@link Optional#empty()} if the evaluator
+     *         does not support the graph or the patterns
+     */
+    Optional<Stream<Solution>> evaluate(Graph graph, List<TriplePattern> patterns);
+
+}
@@ -0,0 +1,447 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.TripleLike;
+
+/**
+ * Evaluates basic graph patterns, i.e. lists of {@link TriplePattern}s, over
+ * any {@link Graph} or {@link Dataset}.
+ * <p>
+ * The solutions are the bindings of the variables for which every pattern
+ * matches a triple, as in a SPARQL basic graph pattern. They are streamed
+ * lazily, so e.g. {@link Stream#findFirst()} only matches what is needed for
+ * the first solution. The steps are joined with a {@link Spliterator} rather
+ * than {@link Stream#flatMap(java.util.function.Function)}, which drains each
+ * inner stream before short-circuiting on Java 8.
+ * <p>
+ * The patterns are joined in order of selectivity: each step picks the
+ * pattern with the fewest expected matches, using
+ * {@link Graph#estimateCount(BlankNodeOrIRI, IRI, RDFTerm)}, preferring
+ * patterns that share a variable with the previous steps so that cross
+ * products come last. A step matches each solution so far with an index
+ * nested-loop join, i.e. a {@link Graph#stream(BlankNodeOrIRI, IRI, RDFTerm)}
+ * lookup with the variables already bound, or with a hash join if the
+ * pattern on its own has fewer matches than the expected number of
+ * solutions, which builds a hash table of the pattern's matches once.
+ * <p>
+ * Before evaluating a pattern over a graph, the {@link PatternEvaluator}s are
+ * asked to evaluate it with the native query engine of the graph's
+ * implementation.
+ *
+ * @since 0.6.0
+ */
+public final class QueryEngine {
+
+    /**
+     * Source of the matches of a triple pattern.
+     */
+    interface Source {
+
+        long estimate(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
+
+        Stream<? extends TripleLike> stream(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
+
+    }
+
+    /**
+     * The solutions of a {@link Step}, extending one solution of the previous
+     * steps at a time.
+     */
+    private static final class Join extends Spliterators.AbstractSpliterator<Solution> {
+
+        private final Spliterator<Solution> solutions;
+        private final Step step;
+
+        /**
+         * Extensions of the current solution of the previous steps, or
+         * {@code null}.
+         */
+        private Stream<Solution> extended;
+        private Spliterator<Solution> extensions;
+
+        Join(final Spliterator<Solution> solutions, final Step step) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.solutions = solutions;
+            this.step = step;
+        }
+
+        void close() {
+            if (extended != null) {
+                extended.close();
+                extended = null;
+                extensions = null;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Solution> action) {
+            while (extensions == null || !extensions.tryAdvance(action)) {
+                close();
+                if (!solutions.tryAdvance(solution -> extended = step.extend(solution))) {
+                    return false;
+                }
+                extensions = extended.spliterator();
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * A step of a query plan, which joins a triple pattern with the solutions
+     * of the previous steps.
+     */
+    static final class Step {
+
+        private final Source source;
+        private final TriplePattern pattern;
+
+        /**
+         * Variables of the pattern bound by previous steps.
+         */
+        private final List<Variable> joinVariables;
+        private final boolean hashJoin;
+
+        /**
+         * Hash table of bindings of the new variables by the terms of the join
+         * variables, built on first use by a hash join.
+         */
+        private Map<List<RDFTerm>, List<Map<Variable, RDFTerm>>> table;
+
+        Step(final Source source, final TriplePattern pattern, final List<Variable> joinVariables, final boolean hashJoin) {
+            this.source = source;
+            this.pattern = pattern;
+            this.joinVariables = joinVariables;
+            this.hashJoin = hashJoin;
+        }
+
+        /**
+         * Bind the variables of the pattern that are not already bound.
+         *
+         * @return The new bindings, or {@code null} if a repeated variable
+         *         would be bound to different terms
+         */
+        private Map<Variable, RDFTerm> bind(final TripleLike triple, final Solution solution) {
+            final Map<Variable, RDFTerm> bindings = new LinkedHashMap<>(4);
+            if (!bind(bindings, pattern.getSubject(), triple.getSubject(), solution)
+                    || !bind(bindings, pattern.getPredicate(), triple.getPredicate(), solution)
+                    || !bind(bindings, pattern.getObject(), triple.getObject(), solution)) {
+                return null;
+            }
+            return bindings;
+        }
+
+        private boolean bind(final Map<Variable, RDFTerm> bindings, final Object position, final RDFTerm term,
+                final Solution solution) {
+            if (!(position instanceof Variable) || solution.getVariables().contains(position)) {
+                // Already matched by the lookup
+                return true;
+            }
+            final RDFTerm previous = bindings.putIfAbsent((Variable) position, term);
+            return previous == null || previous.equals(term);
+        }
+
+        /**
+         * Join the pattern with a solution of the previous steps.
+         *
+         * @param solution
+         *            Solution binding the join variables
+         * @return The extended solutions
+         */
+        Stream<Solution> extend(final Solution solution) {
+            if (hashJoin) {
+                final List<RDFTerm> key = new ArrayList<>(joinVariables.size());
+                for (final Variable variable : joinVariables) {
+                    key.add(solution.get(variable).get());
+                }
+                return table().getOrDefault(key, Collections.emptyList()).stream().map(solution::bind);
+            }
+            final Object subject = resolve(pattern.getSubject(), solution);
+            final Object predicate = resolve(pattern.getPredicate(), solution);
+            final Object object = resolve(pattern.getObject(), solution);
+            if (subject != null && !(subject instanceof BlankNodeOrIRI) || predicate != null && !(predicate instanceof IRI)) {
+                // Bound to a term that can't be in this position
+                return Stream.empty();
+            }
+            return source.stream((BlankNodeOrIRI) subject, (IRI) predicate, (RDFTerm) object).map(t -> bind(t, solution))
+                    .filter(Objects::nonNull).map(solution::bind);
+        }
+
+        boolean isHashJoin() {
+            return hashJoin;
+        }
+
+        TriplePattern getPattern() {
+            return pattern;
+        }
+
+        private synchronized Map<List<RDFTerm>, List<Map<Variable, RDFTerm>>> table() {
+            if (table == null) {
+                final Map<List<RDFTerm>, List<Map<Variable, RDFTerm>>> built = new HashMap<>();
+                final Object subject = constant(pattern.getSubject());
+                final Object predicate = constant(pattern.getPredicate());
+                final Object object = constant(pattern.getObject());
+                try (Stream<? extends TripleLike> matches = source.stream((BlankNodeOrIRI) subject, (IRI) predicate,
+                        (RDFTerm) object)) {
+                    matches.forEach(t -> {
+                        final Map<Variable, RDFTerm> bindings = bind(t, Solution.EMPTY);
+                        if (bindings == null) {
+                            return;
+                        }
+                        final List<RDFTerm> key = new ArrayList<>(joinVariables.size());
+                        for (final Variable variable : joinVariables) {
+                            key.add(bindings.remove(variable));
+                        }
+                        built.computeIfAbsent(key, k -> new ArrayList<>()).add(bindings);
+                    });
+                }
+                table = built;
+            }
+            return table;
+        }
+
+        @Override
+        public String toString() {
+            return (hashJoin ? "hash join " : "index join ") + pattern;
+        }
+
+    }
+
+    /**
+     * Fraction of matches that are expected to remain when a variable of a
+     * pattern is bound by a previous step.
+     */
+    private static final double BOUND_VARIABLE_SELECTIVITY = 0.1;
+
+    /**
+     * Maximum number of matches of a pattern to keep in the hash table of a
+     * hash join.
+     */
+    private static final long MAX_HASH_JOIN_MATCHES = 1 << 16;
+
+    private static Object constant(final Object position) {
+        return position instanceof Variable ? null : position;
+    }
+
+    static Stream<Solution> evaluate(final Source source, final List<TriplePattern> patterns) {
+        Stream<Solution> solutions = Stream.of(Solution.EMPTY);
+        for (final Step step : plan(source, patterns)) {
+            solutions = join(solutions, step);
+        }
+        return solutions;
+    }
+
+    private static Stream<Solution> join(final Stream<Solution> solutions, final Step step) {
+        final Join join = new Join(solutions.spliterator(), step);
+        return StreamSupport.stream(join, false).onClose(join::close).onClose(solutions::close);
+    }
+
+    private static long estimate(final Source source, final TriplePattern pattern) {
+        return source.estimate((BlankNodeOrIRI) constant(pattern.getSubject()), (IRI) constant(pattern.getPredicate()),
+                (RDFTerm) constant(pattern.getObject()));
+    }
+
+    /**
+     * Order the patterns for evaluation.
+     *
+     * @param source
+     *            Source of matches
+     * @param patterns
+     *            Triple patterns
+     * @return The steps to evaluate the patterns
+     */
+    static List<Step> plan(final Source source, final List<TriplePattern> patterns) {
+        final Map<TriplePattern, Long> estimates = new HashMap<>();
+        for (final TriplePattern pattern : patterns) {
+            estimates.computeIfAbsent(Objects.requireNonNull(pattern, "pattern"), p -> estimate(source, p));
+        }
+        final List<TriplePattern> remaining = new ArrayList<>(patterns);
+        final Set<Variable> bound = new HashSet<>();
+        final List<Step> plan = new ArrayList<>(patterns.size());
+        double solutions = 1;
+        while (!remaining.isEmpty()) {
+            TriplePattern best = null;
+            boolean bestConnected = false;
+            double bestCost = Double.MAX_VALUE;
+            for (final TriplePattern pattern : remaining) {
+                final List<Variable> variables = pattern.getVariables();
+                final boolean connected = bound.isEmpty() || variables.isEmpty()
+                        || variables.stream().anyMatch(bound::contains);
+                final long boundVariables = variables.stream().filter(bound::contains).count();
+                final double cost = estimates.get(pattern) * Math.pow(BOUND_VARIABLE_SELECTIVITY, boundVariables);
+                if (best == null || connected && !bestConnected || connected == bestConnected && cost < bestCost) {
+                    best = pattern;
+                    bestConnected = connected;
+                    bestCost = cost;
+                }
+            }
+            final List<Variable> joinVariables = new ArrayList<>(best.getVariables());
+            joinVariables.retainAll(bound);
+            final long matches = estimates.get(best);
+            final boolean hashJoin = !joinVariables.isEmpty() && matches <= MAX_HASH_JOIN_MATCHES && matches < solutions;
+            plan.add(new Step(source, best, joinVariables, hashJoin));
+            solutions *= bestCost;
+            bound.addAll(best.getVariables());
+            remaining.remove(best);
+        }
+        return plan;
+    }
+
+    private static Object resolve(final Object position, final Solution solution) {
+        if (position instanceof Variable) {
+            return solution.get((Variable) position).orElse(null);
+        }
+        return position;
+    }
+
+    static Source source(final Dataset dataset, final Optional<BlankNodeOrIRI> graphName) {
+        return new Source() {
+            @Override
+            public long estimate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                return dataset.estimateCount(graphName, subject, predicate, object);
+            }
+
+            @Override
+            public Stream<? extends TripleLike> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                    final RDFTerm object) {
+                return dataset.stream(graphName, subject, predicate, object);
+            }
+        };
+    }
+
+    static Source source(final Graph graph) {
+        return new Source() {
+            @Override
+            public long estimate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                return graph.estimateCount(subject, predicate, object);
+            }
+
+            @Override
+            public Stream<? extends TripleLike> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                    final RDFTerm object) {
+                return graph.stream(subject, predicate, object);
+            }
+        };
+    }
+
+    private final List<PatternEvaluator> evaluators;
+
+    /**
+     * Constructs a query engine with the {@link PatternEvaluator}s found by
+     * {@link ServiceLoader}.
+     */
+    public QueryEngine() {
+        final List<PatternEvaluator> loaded = new ArrayList<>();
+        ServiceLoader.load(PatternEvaluator.class).forEach(loaded::add);
+        this.evaluators = Collections.unmodifiableList(loaded);
+    }
+
+    /**
+     * Constructs a query engine with the given {@link PatternEvaluator}s.
+     *
+     * @param evaluators
+     *            Evaluators to ask before evaluating a pattern, which may be
+     *            empty to always evaluate patterns with this engine
+     */
+    public QueryEngine(final List<? extends PatternEvaluator> evaluators) {
+        this.evaluators = Collections.unmodifiableList(new ArrayList<>(evaluators));
+    }
+
+    /**
+     * Evaluate a basic graph pattern over a dataset.
+     * <p>
+     * With a {@code null} graph name, the patterns match the quads of all
+     * graphs, and a triple that is in several graphs gives a solution for
+     * each of them.
+     * <p>
+     * The returned stream may hold resources of the dataset, and should be
+     * closed, e.g. with try-with-resources.
+     *
+     * @param dataset
+     *            Dataset to query
+     * @param graphName
+     *            The graph to match, wrapped as an {@link Optional}
+     *            ({@code null} for all graphs, {@link Optional#empty()} for
+     *            the default graph)
+     * @param patterns
+     *            Triple patterns
+     * @return A lazy stream of the solutions
+     */
+    public Stream<Solution> evaluate(final Dataset dataset, final Optional<BlankNodeOrIRI> graphName,
+            final List<TriplePattern> patterns) {
+        Objects.requireNonNull(dataset, "dataset");
+        return evaluate(source(dataset, graphName), patterns);
+    }
+
+    /**
+     * Evaluate a basic graph pattern over a graph.
+     * <p>
+     * The returned stream may hold resources of the graph, and should be
+     * closed, e.g. with try-with-resources.
+     *
+     * @param graph
+     *            Graph to query
+     * @param patterns
+     *            Triple patterns
+     * @return A lazy stream of the solutions
+     */
+    public Stream<Solution> evaluate(final Graph graph, final List<TriplePattern> patterns) {
+        Objects.requireNonNull(graph, "graph");
+        patterns.forEach(pattern -> Objects.requireNonNull(pattern, "pattern"));
+        for (final PatternEvaluator evaluator : evaluators) {
+            final Optional<Stream<Solution>> solutions = evaluator.evaluate(graph, patterns);
+            if (solutions.isPresent()) {
+                return solutions.get();
+            }
+        }
+        return evaluate(source(graph), patterns);
+    }
+
+    /**
+     * Gets the {@link PatternEvaluator}s of this engine.
+     *
+     * @return An unmodifiable list of evaluators
+     */
+    public List<PatternEvaluator> getEvaluators() {
+        return evaluators;
+    }
+
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A solution of a basic graph pattern, which binds each of its
+ * {@link Variable}s to an {@link RDFTerm}.
+ * <p>
+ * Solutions are immutable, and are equal if they have equal bindings.
+ *
+ * @since 0.6.0
+ */
+public final class Solution {
+
+    /**
+     * The solution without bindings, which is the only solution of an empty
+     * pattern.
+     */
+    public static final Solution EMPTY = new Solution(new LinkedHashMap<>());
+
+    private final Map<Variable, RDFTerm> bindings;
+
+    /**
+     * Constructs a new solution.
+     *
+     * @param bindings
+     *            Terms bound to each variable, which are copied
+     */
+    public Solution(final Map<Variable, ? extends RDFTerm> bindings) {
+        final LinkedHashMap<Variable, RDFTerm> copy = new LinkedHashMap<>();
+        bindings.forEach((variable, term) -> copy.put(Objects.requireNonNull(variable, "variable"),
+                Objects.requireNonNull(term, "term")));
+        this.bindings = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Constructs a solution that takes ownership of its bindings, to avoid
+     * copying them again.
+     */
+    private Solution(final LinkedHashMap<Variable, RDFTerm> bindings) {
+        this.bindings = Collections.unmodifiableMap(bindings);
+    }
+
+    /**
+     * Gets the bindings of the solution.
+     *
+     * @return An unmodifiable map from each variable to its term
+     */
+    public Map<Variable, RDFTerm> asMap() {
+        return bindings;
+    }
+
+    /**
+     * Extend the solution with more bindings.
+     *
+     * @param more
+     *            Bindings of other variables
+     * @return A new solution with the bindings of both
+     */
+    Solution bind(final Map<Variable, RDFTerm> more) {
+        if (more.isEmpty()) {
+            return this;
+        }
+        final LinkedHashMap<Variable, RDFTerm> all = new LinkedHashMap<>(bindings);
+        all.putAll(more);
+        return new Solution(all);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Solution)) {
+            return false;
+        }
+        return bindings.equals(((Solution) obj).bindings);
+    }
+
+    /**
+     * Gets the term bound to a variable.
+     *
+     * @param name
+     *            Name of the variable
+     * @return The term, or {@link Optional#empty()} if the variable is not
+     *         bound by this solution
+     */
+    public Optional<RDFTerm> get(final String name) {
+        return get(new Variable(name));
+    }
+
+    /**
+     * Gets the term bound to a variable.
+     *
+     * @param variable
+     *            The variable
+     * @return The term, or {@link Optional#empty()} if the variable is not
+     *         bound by this solution
+     */
+    public Optional<RDFTerm> get(final Variable variable) {
+        return Optional.ofNullable(bindings.get(variable));
+    }
+
+    /**
+     * Gets the variables bound by this solution.
+     *
+     * @return An unmodifiable set of variables
+     */
+    public Set<Variable> getVariables() {
+        return bindings.keySet();
+    }
+
+    @Override
+    public int hashCode() {
+        return bindings.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return bindings.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue().ntriplesString())
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+}
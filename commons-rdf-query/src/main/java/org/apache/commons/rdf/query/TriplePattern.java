@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A triple pattern, which is a triple where each position is either an
+ * {@link RDFTerm} or a {@link Variable}.
+ * <p>
+ * As with {@link org.apache.commons.rdf.api.Triple}, the subject must be a
+ * {@link BlankNodeOrIRI} and the predicate an {@link IRI}, unless they are
+ * variables.
+ *
+ * @since 0.6.0
+ */
+public final class TriplePattern {
+
+    private static Object check(final Object term, final Class<? extends RDFTerm> type, final String position) {
+        Objects.requireNonNull(term, position);
+        if (!(term instanceof Variable) && !type.isInstance(term)) {
+            throw new IllegalArgumentException(
+                    position + " must be a Variable or " + type.getSimpleName() + ": " + term);
+        }
+        return term;
+    }
+
+    private static String toString(final Object term) {
+        return term instanceof RDFTerm ? ((RDFTerm) term).ntriplesString() : term.toString();
+    }
+
+    private final Object subject;
+    private final Object predicate;
+    private final Object object;
+
+    /**
+     * Constructs a new triple pattern.
+     *
+     * @param subject
+     *            A {@link Variable} or {@link BlankNodeOrIRI}
+     * @param predicate
+     *            A {@link Variable} or {@link IRI}
+     * @param object
+     *            A {@link Variable} or {@link RDFTerm}
+     * @throws IllegalArgumentException
+     *             If a position is neither a variable nor a term of the
+     *             required kind
+     */
+    public TriplePattern(final Object subject, final Object predicate, final Object object) {
+        this.subject = check(subject, BlankNodeOrIRI.class, "subject");
+        this.predicate = check(predicate, IRI.class, "predicate");
+        this.object = check(object, RDFTerm.class, "object");
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TriplePattern)) {
+            return false;
+        }
+        final TriplePattern other = (TriplePattern) obj;
+        return subject.equals(other.subject) && predicate.equals(other.predicate) && object.equals(other.object);
+    }
+
+    /**
+     * Gets the object of the pattern.
+     *
+     * @return A {@link Variable} or {@link RDFTerm}
+     */
+    public Object getObject() {
+        return object;
+    }
+
+    /**
+     * Gets the predicate of the pattern.
+     *
+     * @return A {@link Variable} or {@link IRI}
+     */
+    public Object getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the subject of the pattern.
+     *
+     * @return A {@link Variable} or {@link BlankNodeOrIRI}
+     */
+    public Object getSubject() {
+        return subject;
+    }
+
+    /**
+     * Gets the distinct variables of the pattern, in order of position.
+     *
+     * @return An unmodifiable list of variables
+     */
+    public List<Variable> getVariables() {
+        final List<Variable> variables = new ArrayList<>(3);
+        for (final Object term : new Object[] { subject, predicate, object }) {
+            if (term instanceof Variable && !variables.contains(term)) {
+                variables.add((Variable) term);
+            }
+        }
+        return Collections.unmodifiableList(variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, predicate, object);
+    }
+
+    /**
+     * Returns the pattern in SPARQL syntax, e.g.
+     * {@code ?s <http://example.com/p> "o" .}
+     */
+    @Override
+    public String toString() {
+        return toString(subject) + " " + toString(predicate) + " " + toString(object) + " .";
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import java.util.Objects;
+
+/**
+ * A variable of a {@link TriplePattern}, which is bound to an
+ * {@link org.apache.commons.rdf.api.RDFTerm} in each {@link Solution}.
+ * <p>
+ * Variables are equal if they have the same name. A name consists of ASCII
+ * letters, digits and underscores, so that it is also a valid SPARQL variable
+ * name.
+ *
+ * @since 0.6.0
+ */
+public final class Variable {
+
+    private static boolean isValidName(final String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final String name;
+
+    /**
+     * Constructs a new variable.
+     *
+     * @param name
+     *            Name of the variable, without a leading {@code ?}
+     * @throws IllegalArgumentException
+     *             If the name is empty or has characters other than ASCII
+     *             letters, digits and underscores
+     */
+    public Variable(final String name) {
+        Objects.requireNonNull(name, "name");
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid variable name: " + name);
+        }
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Variable)) {
+            return false;
+        }
+        return name.equals(((Variable) obj).name);
+    }
+
+    /**
+     * Gets the name of the variable.
+     *
+     * @return The name, without a leading {@code ?}
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    /**
+     * Returns the variable in SPARQL syntax, e.g. {@code ?name}.
+     */
+    @Override
+    public String toString() {
+        return "?" + name;
+    }
+
+}
@@ -0,0 +1,32 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Basic graph pattern queries over any implementation of the Commons RDF API.
+ * <p>
+ * Create {@link org.apache.commons.rdf.query.TriplePattern}s of
+ * {@link org.apache.commons.rdf.query.Variable}s and terms, and evaluate them
+ * with {@link org.apache.commons.rdf.query.QueryEngine#evaluate} to get a
+ * stream of {@link org.apache.commons.rdf.query.Solution}s.
+ * </p>
+ * <p>
+ * Implementations with their own query engine can evaluate the patterns
+ * natively by providing a {@link org.apache.commons.rdf.query.PatternEvaluator}.
+ * </p>
+ */
+package org.apache.commons.rdf.query;
@@ -0,0 +1,268 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link QueryEngine} with the simple implementation.
+ */
+class QueryEngineTest {
+
+    private static final Variable X = new Variable("x");
+    private static final Variable Y = new Variable("y");
+    private static final Variable Z = new Variable("z");
+
+    private final RDF factory = new SimpleRDF();
+    private final QueryEngine engine = new QueryEngine(Collections.emptyList());
+
+    private Graph graph;
+    private IRI alice;
+    private IRI bob;
+    private IRI charlie;
+    private IRI knows;
+    private IRI name;
+    private IRI type;
+    private IRI person;
+
+    private Set<Solution> evaluate(final TriplePattern... patterns) {
+        try (Stream<Solution> solutions = engine.evaluate(graph, Arrays.asList(patterns))) {
+            return solutions.collect(Collectors.toSet());
+        }
+    }
+
+    private Solution solution(final Object... variablesAndTerms) {
+        final java.util.Map<Variable, RDFTerm> bindings = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < variablesAndTerms.length; i += 2) {
+            bindings.put((Variable) variablesAndTerms[i], (RDFTerm) variablesAndTerms[i + 1]);
+        }
+        return new Solution(bindings);
+    }
+
+    @BeforeEach
+    void setUp() {
+        graph = factory.createGraph();
+        alice = factory.createIRI("http://example.com/alice");
+        bob = factory.createIRI("http://example.com/bob");
+        charlie = factory.createIRI("http://example.com/charlie");
+        knows = factory.createIRI("http://xmlns.com/foaf/0.1/knows");
+        name = factory.createIRI("http://xmlns.com/foaf/0.1/name");
+        type = factory.createIRI("http://www.w3.org/1999/02/22-rdf-syntax-ns#type");
+        person = factory.createIRI("http://xmlns.com/foaf/0.1/Person");
+        graph.add(alice, knows, bob);
+        graph.add(bob, knows, charlie);
+        graph.add(charlie, knows, charlie);
+        graph.add(alice, name, factory.createLiteral("Alice"));
+        graph.add(bob, name, factory.createLiteral("Bob"));
+        for (final IRI p : Arrays.asList(alice, bob, charlie)) {
+            graph.add(p, type, person);
+        }
+    }
+
+    @Test
+    void testConstantsOnly() {
+        assertEquals(Collections.singleton(Solution.EMPTY), evaluate(new TriplePattern(alice, knows, bob)));
+        assertTrue(evaluate(new TriplePattern(bob, knows, alice)).isEmpty());
+    }
+
+    @Test
+    void testDataset() {
+        final Dataset dataset = factory.createDataset();
+        final IRI g1 = factory.createIRI("http://example.com/g1");
+        final IRI g2 = factory.createIRI("http://example.com/g2");
+        dataset.add(g1, alice, knows, bob);
+        dataset.add(g2, alice, knows, bob);
+        dataset.add(g2, bob, knows, charlie);
+        final List<TriplePattern> patterns = Arrays.asList(new TriplePattern(X, knows, Y),
+                new TriplePattern(Y, knows, Z));
+        try (Stream<Solution> solutions = engine.evaluate(dataset, Optional.of(g1), patterns)) {
+            assertEquals(0, solutions.count());
+        }
+        try (Stream<Solution> solutions = engine.evaluate(dataset, Optional.of(g2), patterns)) {
+            assertEquals(1, solutions.count());
+        }
+        try (Stream<Solution> solutions = engine.evaluate(dataset, null,
+                Collections.singletonList(new TriplePattern(alice, knows, Y)))) {
+            // One solution per graph
+            assertEquals(2, solutions.count());
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(Collections.singleton(Solution.EMPTY), evaluate());
+    }
+
+    @Test
+    void testEvaluator() {
+        final AtomicInteger calls = new AtomicInteger();
+        final PatternEvaluator declining = (g, patterns) -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        };
+        final PatternEvaluator native_ = (g, patterns) -> Optional.of(Stream.of(solution(X, alice)));
+        final List<TriplePattern> patterns = Collections.singletonList(new TriplePattern(X, knows, Y));
+        try (Stream<Solution> solutions = new QueryEngine(Arrays.asList(declining, native_)).evaluate(graph,
+                patterns)) {
+            assertEquals(Collections.singletonList(solution(X, alice)), solutions.collect(Collectors.toList()));
+        }
+        assertEquals(1, calls.get());
+        try (Stream<Solution> solutions = new QueryEngine(Collections.singletonList(declining)).evaluate(graph,
+                patterns)) {
+            assertEquals(3, solutions.count());
+        }
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testHashJoin() {
+        for (int i = 0; i < 50; i++) {
+            final IRI p = factory.createIRI("http://example.com/p" + i);
+            graph.add(p, knows, bob);
+            graph.add(p, type, person);
+        }
+        final Variable w = new Variable("w");
+        final TriplePattern friends = new TriplePattern(X, knows, Y);
+        final TriplePattern friendsOfFriends = new TriplePattern(Y, knows, w);
+        final TriplePattern people = new TriplePattern(X, type, person);
+        final List<QueryEngine.Step> plan = QueryEngine.plan(QueryEngine.source(graph),
+                Arrays.asList(friends, friendsOfFriends, people));
+        assertEquals(friends, plan.get(0).getPattern());
+        assertFalse(plan.get(0).isHashJoin());
+        assertEquals(friendsOfFriends, plan.get(1).getPattern());
+        assertFalse(plan.get(1).isHashJoin());
+        // More solutions so far than people, so look them up in a hash table
+        assertEquals(people, plan.get(2).getPattern());
+        assertTrue(plan.get(2).isHashJoin());
+
+        final Set<Solution> solutions = evaluate(friends, friendsOfFriends, people);
+        assertEquals(53, solutions.size());
+        assertTrue(solutions.contains(solution(X, alice, Y, bob, w, charlie)));
+        assertTrue(solutions.contains(solution(X, charlie, Y, charlie, w, charlie)));
+    }
+
+    @Test
+    void testJoin() {
+        final Literal bobName = factory.createLiteral("Bob");
+        assertEquals(Collections.singleton(solution(X, alice, Y, bob, Z, bobName)),
+                evaluate(new TriplePattern(X, knows, Y), new TriplePattern(Y, name, Z),
+                        new TriplePattern(X, name, factory.createLiteral("Alice"))));
+        assertEquals(new HashSet<>(Arrays.asList(solution(X, alice, Y, bob), solution(X, bob, Y, charlie),
+                solution(X, charlie, Y, charlie))),
+                evaluate(new TriplePattern(X, knows, Y), new TriplePattern(Y, type, person)));
+    }
+
+    @Test
+    void testLazy() {
+        final AtomicInteger streamed = new AtomicInteger();
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final QueryEngine.Source counting = new QueryEngine.Source() {
+            @Override
+            public long estimate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                return graph.estimateCount(subject, predicate, object);
+            }
+
+            @Override
+            public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                opened.incrementAndGet();
+                return graph.stream(subject, predicate, object).peek(t -> streamed.incrementAndGet())
+                        .onClose(closed::incrementAndGet);
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            final IRI p = factory.createIRI("http://example.com/p" + i);
+            graph.add(p, type, person);
+            for (int j = 0; j < 100; j++) {
+                graph.add(p, knows, factory.createIRI("http://example.com/p" + j));
+            }
+        }
+        try (Stream<Solution> solutions = QueryEngine.evaluate(counting,
+                Arrays.asList(new TriplePattern(X, type, person), new TriplePattern(X, knows, Y)))) {
+            assertTrue(solutions.findFirst().isPresent());
+        }
+        // Only the first solution of each step is matched, even on Java 8
+        assertTrue(streamed.get() < 100, "streamed " + streamed.get());
+        assertEquals(opened.get(), closed.get());
+    }
+
+    @Test
+    void testPlanPrefersConnected() {
+        for (int i = 0; i < 100; i++) {
+            graph.add(factory.createIRI("http://example.com/p" + i), type, person);
+        }
+        final TriplePattern alices = new TriplePattern(X, name, factory.createLiteral("Alice"));
+        // As selective, but unconnected to ?x
+        final TriplePattern bobs = new TriplePattern(Z, name, factory.createLiteral("Bob"));
+        final TriplePattern people = new TriplePattern(X, type, person);
+        final List<QueryEngine.Step> plan = QueryEngine.plan(QueryEngine.source(graph),
+                Arrays.asList(alices, bobs, people));
+        assertEquals(alices, plan.get(0).getPattern());
+        assertEquals(people, plan.get(1).getPattern());
+        assertEquals(bobs, plan.get(2).getPattern());
+        assertEquals(Collections.singleton(solution(X, alice, Z, bob)), evaluate(alices, bobs, people));
+    }
+
+    @Test
+    void testRepeatedVariable() {
+        assertEquals(Collections.singleton(solution(X, charlie)), evaluate(new TriplePattern(X, knows, X)));
+        assertEquals(Collections.singleton(solution(X, charlie, Y, charlie)),
+                evaluate(new TriplePattern(X, knows, Y), new TriplePattern(Y, knows, Y), new TriplePattern(X, knows, X)));
+    }
+
+    @Test
+    void testVariableInWrongPosition() {
+        // ?z is bound to a literal, which can't be a subject
+        assertTrue(evaluate(new TriplePattern(alice, name, Z), new TriplePattern(Z, knows, Y)).isEmpty());
+    }
+
+    @Test
+    void testTriplePattern() {
+        assertThrows(IllegalArgumentException.class, () -> new TriplePattern(factory.createLiteral("x"), knows, Y));
+        assertThrows(IllegalArgumentException.class, () -> new TriplePattern(X, "knows", Y));
+        assertThrows(IllegalArgumentException.class, () -> new Variable("not valid"));
+        assertEquals(Arrays.asList(X, Y), new TriplePattern(X, knows, Y).getVariables());
+        assertEquals(Collections.singletonList(X), new TriplePattern(X, knows, X).getVariables());
+    }
+
+}
@@ -20,6 +20,7 @@ package org.apache.commons.rdf.rdf4j;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -36,6 +37,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.rdf4j.impl.InternalRDF4JFactory;
+import org.apache.commons.rdf.simple.ConversionCache;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
@@ -118,9 +120,38 @@ public final class RDF4J implements RDF {
          * needed) and {@link Repository#shutDown()} on {@link Graph#close()} /
          * {@link Dataset#close()}.
          */
-        handleInitAndShutdown
+        handleInitAndShutdown,
+
+        /**
+         * The graph/dataset should buffer writes to a {@link Repository} and
+         * commit them in batches of {@link RDF4J#getWriteBatchSize()} within
+         * one transaction, rather than one transaction per write.
+         * <p>
+         * Buffered writes are committed by {@link RDF4JGraphLike#flush()},
+         * on {@link Graph#close()} / {@link Dataset#close()} and before any
+         * read from the same graph/dataset, so that reads see them. Other
+         * connections to the repository do not see buffered writes until
+         * they are committed.
+         * <p>
+         * As each read commits the pending writes, interleaving reads and
+         * writes commits a transaction per read and loses the benefit of
+         * batching. Reads that must see uncommitted writes are better done
+         * in a session, see {@link RDF4JGraph#openSession()}.
+         *
+         * @since 0.6.0
+         */
+        bufferWrites
     }
 
+    /**
+     * Default number of writes per transaction with
+     * {@link Option#bufferWrites}.
+     *
+     * @see #writeBatchSize(int)
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 10_000;
+
     /**
      * InternalRDF4JFactory is deliberately abstract
      */
@@ -167,6 +198,16 @@ public final class RDF4J implements RDF {
 
     private final ValueFactory valueFactory;
 
+    /**
+     * Converted foreign terms, or {@code null} if not caching.
+     */
+    private final ConversionCache<Value> conversions;
+
+    /**
+     * Number of writes per transaction with {@link Option#bufferWrites}.
+     */
+    private final int writeBatchSize;
+
     /**
      * Constructs an {@link RDF4J}.
      */
@@ -217,8 +258,43 @@ public final class RDF4J implements RDF {
      *            {@link BlankNode#uniqueReference()}
      */
     public RDF4J(final ValueFactory valueFactory, final UUID salt) {
+        this(valueFactory, salt, null, DEFAULT_WRITE_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs an {@link RDF4J} that caches converted terms.
+     * <p>
+     * {@link #asValue(RDFTerm)} keeps up to the given number of RDF4J
+     * {@link Value}s converted from {@link RDFTerm}s of other
+     * implementations, so that e.g. the predicates added to or looked up in a
+     * {@link Model}-based graph of this factory are only converted once.
+     *
+     * @param valueFactory
+     *            The RDF4J {@link ValueFactory} to use
+     * @param salt
+     *            An {@link UUID} salt to be used by any created
+     *            {@link BlankNode}s for the purpose of
+     *            {@link BlankNode#uniqueReference()}
+     * @param conversionCacheCapacity
+     *            Maximum number of cached conversions, or {@code 0} to not
+     *            cache conversions
+     * @throws IllegalArgumentException
+     *             If the capacity is negative
+     * @see #getConversionCache()
+     * @since 0.6.0
+     */
+    public RDF4J(final ValueFactory valueFactory, final UUID salt, final int conversionCacheCapacity) {
+        this(valueFactory, salt,
+                conversionCacheCapacity == 0 ? null : new ConversionCache<>(conversionCacheCapacity),
+                DEFAULT_WRITE_BATCH_SIZE);
+    }
+
+    private RDF4J(final ValueFactory valueFactory, final UUID salt, final ConversionCache<Value> conversions,
+            final int writeBatchSize) {
         this.valueFactory = valueFactory;
         this.salt = salt;
+        this.conversions = conversions;
+        this.writeBatchSize = writeBatchSize;
     }
 
     /**
@@ -240,7 +316,7 @@ public final class RDF4J implements RDF {
     public RDF4JDataset asDataset(final Repository repository, final Option... options) {
         final EnumSet<Option> opts = optionSet(options);
         return RDF4J.createRepositoryDatasetImpl(repository, opts.contains(Option.handleInitAndShutdown),
-                opts.contains(Option.includeInferred));
+                opts.contains(Option.includeInferred), writeBatchSize(opts));
     }
 
     /**
@@ -278,7 +354,7 @@ public final class RDF4J implements RDF {
     public RDF4JGraph asGraph(final Repository repository, final Option... options) {
         final EnumSet<Option> opts = optionSet(options);
         return RDF4J.createRepositoryGraphImpl(repository, opts.contains(Option.handleInitAndShutdown),
-                opts.contains(Option.includeInferred), new Resource[] { null }); // default
+                opts.contains(Option.includeInferred), writeBatchSize(opts), new Resource[] { null }); // default
                                                                                  // graph
     }
 
@@ -313,7 +389,8 @@ public final class RDF4J implements RDF {
         /** NOTE: asValue() deliberately CAN handle {@code null} */
         final Resource[] resources = contexts.stream().map(g -> (Resource) asValue(g)).toArray(Resource[]::new);
         return RDF4J.createRepositoryGraphImpl(Objects.requireNonNull(repository, "repository"),
-                opts.contains(Option.handleInitAndShutdown), opts.contains(Option.includeInferred), resources);
+                opts.contains(Option.handleInitAndShutdown), opts.contains(Option.includeInferred), writeBatchSize(opts),
+                resources);
     }
 
     /**
@@ -332,7 +409,7 @@ public final class RDF4J implements RDF {
     public RDF4JGraph asGraphUnion(final Repository repository, final Option... options) {
         final EnumSet<Option> opts = optionSet(options);
         return RDF4J.createRepositoryGraphImpl(repository, opts.contains(Option.handleInitAndShutdown),
-                opts.contains(Option.includeInferred)); // union graph
+                opts.contains(Option.includeInferred), writeBatchSize(opts)); // union graph
     }
 
     /**
@@ -548,6 +625,13 @@ public final class RDF4J implements RDF {
             // (This is crucial to avoid double-escaping in BlankNode)
             return ((RDF4JTerm) term).asValue();
         }
+        if (conversions != null) {
+            return conversions.get(term, this::toValue);
+        }
+        return toValue(term);
+    }
+
+    private Value toValue(final RDFTerm term) {
         if (term instanceof org.apache.commons.rdf.api.IRI) {
             final org.apache.commons.rdf.api.IRI iri = (org.apache.commons.rdf.api.IRI) term;
             return getValueFactory().createIRI(iri.getIRIString());
@@ -649,6 +733,20 @@ public final class RDF4J implements RDF {
         return asTriple(statement);
     }
 
+    /**
+     * Gets the cache of converted terms of {@link #asValue(RDFTerm)}, e.g. to
+     * check its {@link ConversionCache#getHitRate()}.
+     *
+     * @return The conversion cache, or {@link Optional#empty()} if this
+     *         factory was not created with
+     *         {@link RDF4J#RDF4J(ValueFactory, UUID, int)}
+     *         and a positive capacity
+     * @since 0.6.0
+     */
+    public Optional<ConversionCache<Value>> getConversionCache() {
+        return Optional.ofNullable(conversions);
+    }
+
     /**
      * Gets the value factory.
      *
@@ -658,6 +756,45 @@ public final class RDF4J implements RDF {
         return valueFactory;
     }
 
+    /**
+     * Gets the number of writes per transaction of the graphs and datasets
+     * adapted with {@link Option#bufferWrites}.
+     *
+     * @return The write batch size, by default
+     *         {@link #DEFAULT_WRITE_BATCH_SIZE}
+     * @see #writeBatchSize(int)
+     * @since 0.6.0
+     */
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    private int writeBatchSize(final EnumSet<Option> opts) {
+        return opts.contains(Option.bufferWrites) ? writeBatchSize : 0;
+    }
+
+    /**
+     * Gets a copy of this factory that adapts graphs and datasets with
+     * {@link Option#bufferWrites} to commit the given number of writes per
+     * transaction.
+     * <p>
+     * The copy shares the salt, value factory and conversion cache of this
+     * factory.
+     *
+     * @param writeBatchSize
+     *            Number of writes per transaction
+     * @return A copy of this factory with the write batch size
+     * @throws IllegalArgumentException
+     *             If the batch size is not positive
+     * @since 0.6.0
+     */
+    public RDF4J writeBatchSize(final int writeBatchSize) {
+        if (writeBatchSize <= 0) {
+            throw new IllegalArgumentException("writeBatchSize must be positive: " + writeBatchSize);
+        }
+        return new RDF4J(valueFactory, salt, conversions, writeBatchSize);
+    }
+
     private EnumSet<Option> optionSet(final Option... options) {
         final EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(Arrays.asList(options));
@@ -25,6 +25,7 @@ import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFTerm;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 
 /**
  * Marker interface for RDF4J implementations of Dataset.
@@ -100,6 +101,57 @@ public interface RDF4JDataset extends Dataset, RDF4JGraphLike<Quad> {
     ClosableIterable<Quad> iterate(Optional<BlankNodeOrIRI> graphName, BlankNodeOrIRI subject, IRI predicate,
             RDFTerm object);
 
+    /**
+     * Open a session on the repository of this dataset.
+     * <p>
+     * The returned dataset runs all its operations on a single
+     * {@link org.eclipse.rdf4j.repository.RepositoryConnection}, within a
+     * transaction begun with the given isolation level, until it is closed.
+     * Many calls then reuse one connection, and with an isolation level like
+     * {@link org.eclipse.rdf4j.common.transaction.IsolationLevels#SNAPSHOT}
+     * they read a consistent snapshot of the repository.
+     * <p>
+     * Writes to the session are committed by {@link #commit()}, and are not
+     * visible to other connections before that. Closing the session rolls
+     * back any uncommitted writes, so an exception in a try-with-resources
+     * block leaves the repository unchanged. Like a connection, the session
+     * must be closed and is not thread-safe. Streams and iterables from the
+     * session must be closed before the session.
+     * <p>
+     * Opening a session on a session view returns a view of the same
+     * session, which is not ended by closing the new view.
+     * <p>
+     * Graphs from {@link #getGraph()} and {@link #getGraph(BlankNodeOrIRI)}
+     * of the session share its connection.
+     *
+     * @param isolationLevel
+     *            Isolation level of the transaction, or {@code null} for the
+     *            default of the repository
+     * @return A dataset bound to the session
+     * @throws UnsupportedOperationException
+     *             If this dataset is not backed by a repository
+     * @throws IllegalStateException
+     *             If this is a session view with a different isolation level
+     * @since 0.6.0
+     */
+    default RDF4JDataset openSession(final IsolationLevel isolationLevel) {
+        throw new UnsupportedOperationException("Sessions need a Repository");
+    }
+
+    /**
+     * Open a session on the repository of this dataset, with the default
+     * isolation level of the repository.
+     *
+     * @return A dataset bound to the session
+     * @throws UnsupportedOperationException
+     *             If this dataset is not backed by a repository
+     * @see #openSession(IsolationLevel)
+     * @since 0.6.0
+     */
+    default RDF4JDataset openSession() {
+        return openSession(null);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
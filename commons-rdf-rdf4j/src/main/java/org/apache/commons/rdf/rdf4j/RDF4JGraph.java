@@ -26,6 +26,7 @@ import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.repository.Repository;
 
@@ -116,6 +117,54 @@ public interface RDF4JGraph extends Graph, RDF4JGraphLike<Triple> {
     @Override
     ClosableIterable<Triple> iterate(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
 
+    /**
+     * Open a session on the repository of this graph.
+     * <p>
+     * The returned graph runs all its operations on a single
+     * {@link org.eclipse.rdf4j.repository.RepositoryConnection}, within a
+     * transaction begun with the given isolation level, until it is closed.
+     * Many calls then reuse one connection, and with an isolation level like
+     * {@link org.eclipse.rdf4j.common.transaction.IsolationLevels#SNAPSHOT}
+     * they read a consistent snapshot of the repository.
+     * <p>
+     * Writes to the session are committed by {@link #commit()}, and are not
+     * visible to other connections before that. Closing the session rolls
+     * back any uncommitted writes, so an exception in a try-with-resources
+     * block leaves the repository unchanged. Like a connection, the session
+     * must be closed and is not thread-safe. Streams and iterables from the
+     * session must be closed before the session.
+     * <p>
+     * Opening a session on a session view returns a view of the same
+     * session, which is not ended by closing the new view.
+     *
+     * @param isolationLevel
+     *            Isolation level of the transaction, or {@code null} for the
+     *            default of the repository
+     * @return A graph bound to the session
+     * @throws UnsupportedOperationException
+     *             If this graph is not backed by a repository
+     * @throws IllegalStateException
+     *             If this is a session view with a different isolation level
+     * @since 0.6.0
+     */
+    default RDF4JGraph openSession(final IsolationLevel isolationLevel) {
+        throw new UnsupportedOperationException("Sessions need a Repository");
+    }
+
+    /**
+     * Open a session on the repository of this graph, with the default
+     * isolation level of the repository.
+     *
+     * @return A graph bound to the session
+     * @throws UnsupportedOperationException
+     *             If this graph is not backed by a repository
+     * @see #openSession(IsolationLevel)
+     * @since 0.6.0
+     */
+    default RDF4JGraph openSession() {
+        return openSession(null);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -66,4 +66,37 @@ public interface RDF4JGraphLike<T extends TripleLike> extends GraphLike<T>, Auto
      * @return The corresponding RDF4J Repository.
      */
     Optional<Repository> asRepository();
+
+    /**
+     * Commit the writes of a session, or any buffered writes.
+     * <p>
+     * A graph or dataset from {@code openSession()} keeps its writes in the
+     * transaction of the session until they are committed, and closing the
+     * session without committing rolls them back. After a commit the session
+     * continues in a new transaction. Views sharing a session, like its
+     * {@link RDF4JDataset#getGraph()}, commit the shared transaction.
+     * </p>
+     * <p>
+     * Outside a session this is the same as {@link #flush()}.
+     * </p>
+     *
+     * @since 0.6.0
+     */
+    default void commit() {
+        flush();
+    }
+
+    /**
+     * Commit any buffered writes to the underlying store.
+     * <p>
+     * Writes are only buffered by graphs and datasets adapted from a
+     * {@link Repository} with {@link RDF4J.Option#bufferWrites}; otherwise
+     * this does nothing.
+     * </p>
+     *
+     * @since 0.6.0
+     */
+    default void flush() {
+        // Nothing buffered by default
+    }
 }
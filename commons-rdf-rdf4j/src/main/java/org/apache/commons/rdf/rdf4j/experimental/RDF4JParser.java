@@ -35,6 +35,7 @@ import org.apache.commons.rdf.rdf4j.RDF4JBlankNodeOrIRI;
 import org.apache.commons.rdf.rdf4j.RDF4JDataset;
 import org.apache.commons.rdf.rdf4j.RDF4JGraph;
 import org.apache.commons.rdf.simple.experimental.AbstractRDFParser;
+import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.repository.util.RDFInserter;
@@ -45,6 +46,7 @@ import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.rio.helpers.RDFHandlerWrapper;
 
 /**
  * RDF4J-based parser.
@@ -99,6 +101,34 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         }
     }
 
+    /**
+     * Counts the statements added directly to a Model or Repository in the
+     * ParseResult.
+     */
+    private final class RecordingHandler extends RDFHandlerWrapper {
+
+        private RecordingHandler(final RDFHandler handler) {
+            super(handler);
+        }
+
+        @Override
+        public void handleStatement(final org.eclipse.rdf4j.model.Statement st) throws RDFHandlerException {
+            final long start = System.nanoTime();
+            super.handleStatement(st);
+            int blankNodes = 0;
+            if (st.getSubject() instanceof BNode) {
+                blankNodes++;
+            }
+            if (st.getObject() instanceof BNode) {
+                blankNodes++;
+            }
+            if (st.getContext() instanceof BNode) {
+                blankNodes++;
+            }
+            recordStatements(1, blankNodes, System.nanoTime() - start);
+        }
+    }
+
     private RDF4J rdf4jTermFactory;
     private ParserConfig parserConfig = new ParserConfig();
 
@@ -187,7 +217,11 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         final ParserConfig parserConfig = getParserConfig();
         // TODO: Should we need to set anything?
         final RDFLoader loader = new RDFLoader(parserConfig, rdf4jTermFactory.getValueFactory());
-        final RDFHandler rdfHandler = makeRDFHandler();
+        RDFHandler rdfHandler = makeRDFHandler();
+        if (!(rdfHandler instanceof AddToQuadConsumer)) {
+            // getTarget() is counted already
+            rdfHandler = new RecordingHandler(rdfHandler);
+        }
         if (getSourceFile().isPresent()) {
             // NOTE: While we could have used
             // loader.load(sourcePath.toFile()
@@ -203,9 +237,10 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
             // symlinks?
 
             final RDFFormat format = formatByMimeType.orElse(formatByFileName.orElse(null));
-            try (InputStream in = Files.newInputStream(getSourceFile().get())) {
+            try (InputStream in = recordBytes(Files.newInputStream(getSourceFile().get()))) {
                 loader.load(in, base, format, rdfHandler);
             }
+            return;
         } else if (getSourceIri().isPresent()) {
             try {
                 // TODO: Handle international IRIs properly
@@ -213,10 +248,11 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
                 final URL url = new URL(getSourceIri().get().getIRIString());
                 // TODO: This probably does not support https:// -> http://
                 // redirections
-                loader.load(url, base, formatByMimeType.orElse(null), makeRDFHandler());
+                loader.load(url, base, formatByMimeType.orElse(null), rdfHandler);
             } catch (final MalformedURLException ex) {
                 throw new IOException("Can't handle source URL: " + getSourceIri().get(), ex);
             }
+            return;
         }
         // must be getSourceInputStream then, this is guaranteed by
         // super.checkSource();
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j.experimental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.TripleLike;
+import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.apache.commons.rdf.simple.experimental.AbstractRDFWriter;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * RDF4J-based writer.
+ * <p>
+ * This can write any syntax that has an RDF4J Rio writer on the classpath. If
+ * no content type is set, the format is guessed from the file name of a file
+ * target, falling back to {@link RDFFormat#NQUADS}.
+ * <p>
+ * Experimental.
+ */
+public class RDF4JWriter extends AbstractRDFWriter<RDF4JWriter> {
+
+    /**
+     * Constructs a new instance.
+     */
+    public RDF4JWriter() {
+        // empty
+    }
+
+    @Override
+    protected void checkContentType() throws IllegalStateException {
+        if (getContentType().isPresent()
+                && !getContentType().flatMap(Rio::getWriterFormatForMIMEType).isPresent()) {
+            throw new IllegalStateException("Unsupported content type: " + getContentType().get());
+        }
+    }
+
+    private RDFFormat getFormat() {
+        final Optional<RDFFormat> formatByMimeType = getContentType().flatMap(Rio::getWriterFormatForMIMEType);
+        if (formatByMimeType.isPresent()) {
+            return formatByMimeType.get();
+        }
+        return getTargetFile().map(Path::getFileName).map(Path::toString).flatMap(Rio::getWriterFormatForFileName)
+                .orElse(RDFFormat.NQUADS);
+    }
+
+    private void write(final OutputStream out) throws IOException {
+        final RDF4J rdf4jTermFactory = new RDF4J();
+        final RDFFormat format = getFormat();
+        final boolean quads = format.supportsContexts();
+        final org.eclipse.rdf4j.rio.RDFWriter writer = Rio.createWriter(format, out);
+        writer.startRDF();
+        final Iterator<? extends TripleLike> statements = getSource().get().iterator();
+        while (statements.hasNext()) {
+            final TripleLike statement = statements.next();
+            if (quads || inDefaultGraph(statement)) {
+                writer.handleStatement(rdf4jTermFactory.asStatement(statement));
+            }
+        }
+        writer.endRDF();
+        out.flush();
+    }
+
+    @Override
+    protected void writeSynchronously() throws IOException {
+        if (getTargetFile().isPresent()) {
+            try (OutputStream out = Files.newOutputStream(getTargetFile().get())) {
+                write(out);
+            }
+        } else if (getTargetChannel().isPresent()) {
+            // Not closing the stream, as that would close the channel
+            write(Channels.newOutputStream(getTargetChannel().get()));
+        } else {
+            write(getTargetOutputStream().get());
+        }
+    }
+
+}
@@ -27,6 +27,8 @@
  * <ul>
  * <li>{@link org.apache.commons.rdf.rdf4j.experimental.RDF4JParser} - an RDF4J-backed implementations of
  * {@link org.apache.commons.rdf.experimental.RDFParser}.</li>
+ * <li>{@link org.apache.commons.rdf.rdf4j.experimental.RDF4JWriter} - an RDF4J-backed implementation of
+ * {@link org.apache.commons.rdf.experimental.RDFWriter}.</li>
  * </ul>
  */
 package org.apache.commons.rdf.rdf4j.experimental;
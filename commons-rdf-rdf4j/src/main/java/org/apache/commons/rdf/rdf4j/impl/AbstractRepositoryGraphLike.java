@@ -19,14 +19,21 @@ package org.apache.commons.rdf.rdf4j.impl;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.rdf4j.RDF4J;
 import org.apache.commons.rdf.rdf4j.RDF4JGraphLike;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 
 abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4JGraphLike<T> {
 
@@ -36,18 +43,85 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
     private final RDF4J rdf4jTermFactory;
     private final UUID salt;
 
+    /**
+     * Number of buffered writes per transaction, or {@code 0} to commit each
+     * write immediately.
+     */
+    private final int writeBatchSize;
+
+    /**
+     * Connection with the active transaction of buffered writes, or
+     * {@code null} if nothing is buffered.
+     */
+    private RepositoryConnection writeConnection;
+
+    private int pendingWrites;
+
+    /**
+     * Session whose connection is used for all operations, or {@code null}
+     * to use a new connection per operation.
+     */
+    private final RepositorySession session;
+
+    /**
+     * Whether {@link #close()} ends the {@link #session}, rather than it being
+     * shared with the view this was created from.
+     */
+    private final boolean endSessionOnClose;
+
     AbstractRepositoryGraphLike(final Repository repository, final UUID salt, final boolean handleInitAndShutdown,
             final boolean includeInferred) {
+        this(repository, salt, handleInitAndShutdown, includeInferred, 0);
+    }
+
+    AbstractRepositoryGraphLike(final Repository repository, final UUID salt, final boolean handleInitAndShutdown,
+            final boolean includeInferred, final int writeBatchSize) {
+        if (writeBatchSize < 0) {
+            throw new IllegalArgumentException("writeBatchSize must not be negative: " + writeBatchSize);
+        }
         this.repository = repository;
         this.salt = salt;
         this.includeInferred = includeInferred;
         this.handleInitAndShutdown = handleInitAndShutdown;
+        this.writeBatchSize = writeBatchSize;
+        this.session = null;
+        this.endSessionOnClose = false;
         if (handleInitAndShutdown && !repository.isInitialized()) {
             repository.init();
         }
         rdf4jTermFactory = new RDF4J(repository.getValueFactory(), salt);
     }
 
+    AbstractRepositoryGraphLike(final RepositorySession session, final boolean endSessionOnClose, final UUID salt,
+            final boolean includeInferred) {
+        this.repository = session.getRepository();
+        this.salt = salt;
+        this.includeInferred = includeInferred;
+        this.handleInitAndShutdown = false;
+        this.writeBatchSize = 0;
+        this.session = session;
+        this.endSessionOnClose = endSessionOnClose;
+        rdf4jTermFactory = new RDF4J(repository.getValueFactory(), salt);
+    }
+
+    /**
+     * Add all statements using a single connection and transaction.
+     */
+    @Override
+    public void addAll(final Iterable<? extends T> statements) {
+        update(statements, this::addStatement);
+    }
+
+    /**
+     * Add a statement using an open connection, without committing.
+     *
+     * @param conn
+     *            Connection with an active transaction
+     * @param statement
+     *            Statement to add
+     */
+    protected abstract void addStatement(RepositoryConnection conn, T statement);
+
     @Override
     public Optional<Model> asModel() {
         return Optional.empty();
@@ -60,8 +134,59 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
 
     protected abstract T asTripleLike(Statement s);
 
+    /**
+     * Count the statements matching a pattern, without converting them.
+     * <p>
+     * A pattern of wildcards is counted by the repository, unless inferred
+     * statements are included.
+     *
+     * @param subj
+     *            Subject, or {@code null} as a wildcard
+     * @param pred
+     *            Predicate, or {@code null} as a wildcard
+     * @param obj
+     *            Object, or {@code null} as a wildcard
+     * @param contexts
+     *            Contexts to count in, or none for all contexts
+     * @return Number of matching statements
+     */
+    protected long countStatements(final Resource subj, final IRI pred, final Value obj, final Resource... contexts) {
+        try (RepositoryConnection conn = getRepositoryConnection()) {
+            if (subj == null && pred == null && obj == null && !includeInferred) {
+                return conn.size(contexts);
+            }
+            try (RepositoryResult<Statement> statements = conn.getStatements(subj, pred, obj, includeInferred, contexts)) {
+                long count = 0;
+                while (statements.hasNext()) {
+                    statements.next();
+                    count++;
+                }
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Commit the session transaction, or else any buffered writes.
+     */
+    @Override
+    public void commit() {
+        if (session != null) {
+            session.commit();
+        } else {
+            flush();
+        }
+    }
+
     @Override
     public void close() throws Exception {
+        flush();
+        if (session != null) {
+            if (endSessionOnClose) {
+                session.close();
+            }
+            return;
+        }
         if (handleInitAndShutdown) {
             repository.shutDown();
         }
@@ -69,6 +194,24 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
         // down
     }
 
+    /**
+     * Commit any buffered writes.
+     */
+    @Override
+    public synchronized void flush() {
+        if (writeConnection == null) {
+            return;
+        }
+        try {
+            writeConnection.commit();
+        } finally {
+            // Closing the connection rolls back if the commit failed
+            writeConnection.close();
+            writeConnection = null;
+            pendingWrites = 0;
+        }
+    }
+
     protected boolean getHandleInitAndShutdown() {
         return handleInitAndShutdown;
     }
@@ -85,12 +228,145 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
         return repository;
     }
 
+    /**
+     * Gets a new connection to the repository, after committing any buffered
+     * writes so that they are visible to the connection.
+     * <p>
+     * Reads therefore end the current batch of buffered writes, whether or
+     * not they could match a pending write, as only the connection of the
+     * batch could see them before the commit.
+     * <p>
+     * In a session, this is the session connection instead, which closing
+     * leaves open.
+     *
+     * @return A new connection, which the caller must close
+     */
     protected RepositoryConnection getRepositoryConnection() {
+        if (session != null) {
+            return session.getConnection();
+        }
+        flush();
         return repository.getConnection();
     }
 
+    /**
+     * Gets the session to use for a session view of this graph or dataset.
+     * <p>
+     * If this is already a session view, the new view shares its session and
+     * should not end it on close.
+     *
+     * @param isolationLevel
+     *            Isolation level of a new session, or {@code null} for the
+     *            default of the repository, or for the level of the session
+     *            of this view
+     * @return The session of this view, or a new session
+     * @throws IllegalStateException
+     *             If this is a session view with a different isolation level
+     */
+    protected RepositorySession getSession(final IsolationLevel isolationLevel) {
+        if (session != null) {
+            if (isolationLevel != null && !isolationLevel.equals(session.getIsolationLevel())) {
+                throw new IllegalStateException("Can't open a session with isolation level " + isolationLevel
+                        + " within a session with isolation level " + session.getIsolationLevel());
+            }
+            return session;
+        }
+        // Make buffered writes visible to the session
+        flush();
+        return new RepositorySession(repository, isolationLevel);
+    }
+
+    /**
+     * Whether this is a session view, or a view sharing the session of
+     * another.
+     *
+     * @return {@code true} if operations use the connection of a session
+     */
+    protected boolean isSession() {
+        return session != null;
+    }
+
+    protected int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
     protected UUID getSalt() {
         return salt;
     }
 
+    /**
+     * Remove all statements using a single connection and transaction.
+     */
+    @Override
+    public void removeAll(final Iterable<? extends T> statements) {
+        update(statements, this::removeStatement);
+    }
+
+    /**
+     * Remove a statement using an open connection, without committing.
+     *
+     * @param conn
+     *            Connection with an active transaction
+     * @param statement
+     *            Statement to remove
+     */
+    protected abstract void removeStatement(RepositoryConnection conn, T statement);
+
+    private void update(final Iterable<? extends T> statements, final BiConsumer<RepositoryConnection, T> operation) {
+        if (writeBatchSize > 0 || session != null) {
+            for (final T statement : statements) {
+                write(conn -> operation.accept(conn, statement));
+            }
+            return;
+        }
+        try (RepositoryConnection conn = getRepositoryConnection()) {
+            conn.begin();
+            try {
+                for (final T statement : statements) {
+                    operation.accept(conn, statement);
+                }
+                conn.commit();
+            } catch (final RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Perform a write operation.
+     * <p>
+     * Without write buffering the operation is committed in its own
+     * transaction. Otherwise it joins the transaction of buffered writes,
+     * which is committed once {@link #getWriteBatchSize()} writes are pending,
+     * or by {@link #flush()}. In a session it joins the session transaction,
+     * which is committed when the session is closed.
+     *
+     * @param operation
+     *            Operation to perform with a connection
+     */
+    protected void write(final Consumer<RepositoryConnection> operation) {
+        if (session != null) {
+            operation.accept(session.getConnection());
+            return;
+        }
+        if (writeBatchSize == 0) {
+            try (RepositoryConnection conn = getRepositoryConnection()) {
+                operation.accept(conn);
+                conn.commit();
+            }
+            return;
+        }
+        synchronized (this) {
+            if (writeConnection == null) {
+                writeConnection = repository.getConnection();
+                writeConnection.begin();
+            }
+            operation.accept(writeConnection);
+            if (++pendingWrites >= writeBatchSize) {
+                flush();
+            }
+        }
+    }
+
 }
@@ -22,15 +22,25 @@ import java.util.UUID;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.rdf4j.RDF4JBlankNode;
+import org.apache.commons.rdf.simple.BlankNodeId;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.rio.turtle.TurtleUtil;
 
 final class BlankNodeImpl extends AbstractRDFTerm<BNode> implements RDF4JBlankNode {
 
+    private static final String REFERENCE_PREFIX = "urn:uuid:";
+
     private transient int hashCode = 0;
     private final long saltUUIDleast;
     private final long saltUUIDmost;
 
+    /**
+     * Identity of the salt and BNode id, computed on first comparison.
+     */
+    private transient BlankNodeId id;
+
+    private transient String uniqueReference;
+
     BlankNodeImpl(final BNode bNode, final UUID salt) {
         super(bNode);
         // Space-efficient storage of salt UUID
@@ -45,6 +55,10 @@ final class BlankNodeImpl extends AbstractRDFTerm<BNode> implements RDF4JBlankNo
         }
         // NOTE: Do NOT use Bnode.equals() as it has a more generous
         // equality based only on the value.getID();
+        if (obj instanceof BlankNodeImpl) {
+            // Same salt and id, without building the uniqueReference()
+            return id().equals(((BlankNodeImpl) obj).id());
+        }
         if (obj instanceof BlankNode) {
             final BlankNode blankNode = (BlankNode) obj;
             return uniqueReference().equals(blankNode.uniqueReference());
@@ -57,7 +71,19 @@ final class BlankNodeImpl extends AbstractRDFTerm<BNode> implements RDF4JBlankNo
         if (hashCode != 0) {
             return hashCode;
         }
-        return hashCode = uniqueReference().hashCode();
+        // uniqueReference().hashCode(), without building the string
+        int h = BlankNodeId.appendUuidHashCode(REFERENCE_PREFIX.hashCode(), saltUUIDmost, saltUUIDleast);
+        h = h * 31 + '#';
+        return hashCode = BlankNodeId.appendHashCode(h, value.getID());
+    }
+
+    private BlankNodeId id() {
+        BlankNodeId i = id;
+        if (i == null) {
+            i = BlankNodeId.of(saltUUIDmost, saltUUIDleast, value.getID());
+            id = i;
+        }
+        return i;
     }
 
     private boolean isValidBlankNodeLabel(final String id) {
@@ -91,7 +117,12 @@ final class BlankNodeImpl extends AbstractRDFTerm<BNode> implements RDF4JBlankNo
 
     @Override
     public String uniqueReference() {
-        final UUID uuid = new UUID(saltUUIDmost, saltUUIDleast);
-        return "urn:uuid:" + uuid + "#" + value.getID();
+        String ref = uniqueReference;
+        if (ref == null) {
+            final UUID uuid = new UUID(saltUUIDmost, saltUUIDleast);
+            ref = REFERENCE_PREFIX + uuid + "#" + value.getID();
+            uniqueReference = ref;
+        }
+        return ref;
     }
 }
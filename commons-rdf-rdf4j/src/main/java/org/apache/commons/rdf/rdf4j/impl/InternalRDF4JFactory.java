@@ -152,6 +152,35 @@ public abstract class InternalRDF4JFactory {
         return new RepositoryDatasetImpl(repository, UUID.randomUUID(), handleInitAndShutdown, includeInferred);
     }
 
+    /**
+     * Constructs a {@link RDF4JDataset} from a RDF4J {@link Repository} which
+     * buffers writes.
+     * <p>
+     * Writes are accumulated in a single transaction that is committed when
+     * {@code writeBatchSize} writes are pending, on
+     * {@link RDF4JDataset#flush()} and on {@link RDF4JDataset#close()}, and
+     * before any read from the dataset.
+     * </p>
+     *
+     * @param repository
+     *            RDF4J {@link Repository} to adapt
+     * @param handleInitAndShutdown
+     *            If {@code true}, the {@link RDF4JDataset} will initialize
+     *            the repository (if needed), and shut it down on
+     *            {@link RDF4JDataset#close()}.
+     * @param includeInferred
+     *            If true, any inferred quads are included in the dataset
+     * @param writeBatchSize
+     *            Number of writes per transaction, or {@code 0} to commit
+     *            each write immediately
+     * @return Adapted {@link RDF4JDataset}
+     */
+    public RDF4JDataset createRepositoryDatasetImpl(final Repository repository, final boolean handleInitAndShutdown,
+            final boolean includeInferred, final int writeBatchSize) {
+        return new RepositoryDatasetImpl(repository, UUID.randomUUID(), handleInitAndShutdown, includeInferred,
+                writeBatchSize);
+    }
+
     /**
      * Constructs a {@link RDF4JGraph} from a RDF4J {@link Model}.
      * <p>
@@ -179,6 +208,40 @@ public abstract class InternalRDF4JFactory {
                 contextMask);
     }
 
+    /**
+     * Constructs a {@link RDF4JGraph} from a RDF4J {@link Repository} which
+     * buffers writes.
+     * <p>
+     * Writes are accumulated in a single transaction that is committed when
+     * {@code writeBatchSize} writes are pending, on
+     * {@link RDF4JGraph#flush()} and on {@link RDF4JGraph#close()}, and
+     * before any read from the graph.
+     * </p>
+     *
+     * @param repository
+     *            RDF4J {@link Repository} to adapt
+     * @param handleInitAndShutdown
+     *            If {@code true}, the {@link RDF4JGraph} will initialize
+     *            the repository (if needed), and shut it down on
+     *            {@link RDF4JGraph#close()}.
+     * @param includeInferred
+     *            If true, any inferred quads are included in the dataset
+     * @param writeBatchSize
+     *            Number of writes per transaction, or {@code 0} to commit
+     *            each write immediately
+     * @param contextMask
+     *            Zero or more {@link Resource}s contexts. The array may contain
+     *            the value {@code null} for the default graph - however
+     *            care must be taken to not provide a null-array
+     *            {@code (Resource[]) null}.
+     * @return Adapted {@link RDF4JGraph}
+     */
+    public RDF4JGraph createRepositoryGraphImpl(final Repository repository, final boolean handleInitAndShutdown,
+            final boolean includeInferred, final int writeBatchSize, final Resource... contextMask) {
+        return new RepositoryGraphImpl(repository, UUID.randomUUID(), handleInitAndShutdown, includeInferred,
+                writeBatchSize, contextMask);
+    }
+
     /**
      * Constructs a {@link RDF4JTriple} from a RDF4J {@link Statement}.
      *
@@ -85,6 +85,20 @@ final class ModelGraphImpl implements RDF4JGraph {
         return model.contains(rdf4jTermFactory.asStatement(triple));
     }
 
+    /**
+     * Count the matches of the model's indexed filter.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate, final RDFTerm object) {
+        return model.filter((Resource) rdf4jTermFactory.asValue(subject),
+                (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate), rdf4jTermFactory.asValue(object)).size();
+    }
+
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate, final RDFTerm object) {
+        return count(subject, predicate, object);
+    }
+
     @Override
     public Set<RDF4JBlankNodeOrIRI> getContextMask() {
         // ModelGraph always do the unionGraph
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.query.PatternEvaluator;
+import org.apache.commons.rdf.query.Solution;
+import org.apache.commons.rdf.query.TriplePattern;
+import org.apache.commons.rdf.query.Variable;
+import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+
+/**
+ * Evaluates basic graph patterns over a repository graph with the SPARQL
+ * engine of the repository.
+ * <p>
+ * Only graphs of all the contexts of a repository are evaluated, as a SPARQL
+ * query over the default dataset of the repository; other graphs and patterns
+ * with blank node terms, which SPARQL would treat as variables, are left to
+ * the generic {@link org.apache.commons.rdf.query.QueryEngine}.
+ * <p>
+ * Registered with {@link java.util.ServiceLoader}, so that
+ * {@link org.apache.commons.rdf.query.QueryEngine} uses it for the graphs of
+ * {@link RDF4J}.
+ */
+public final class RDF4JPatternEvaluator implements PatternEvaluator {
+
+    private static Solution asSolution(final RDF4J factory, final BindingSet bindings) {
+        final Map<Variable, RDFTerm> terms = new LinkedHashMap<>();
+        for (final Binding binding : bindings) {
+            terms.put(new Variable(binding.getName()), factory.asRDFTerm(binding.getValue()));
+        }
+        return new Solution(terms);
+    }
+
+    private static boolean toSparql(final StringBuilder query, final Object position) {
+        if (position instanceof Variable) {
+            query.append(position);
+        } else if (position instanceof BlankNode) {
+            return false;
+        } else {
+            query.append(((RDFTerm) position).ntriplesString());
+        }
+        query.append(' ');
+        return true;
+    }
+
+    @Override
+    public Optional<Stream<Solution>> evaluate(final Graph graph, final List<TriplePattern> patterns) {
+        if (!(graph instanceof RepositoryGraphImpl) || !((RepositoryGraphImpl) graph).getContextMask().isEmpty()) {
+            return Optional.empty();
+        }
+        final RepositoryGraphImpl repositoryGraph = (RepositoryGraphImpl) graph;
+        final StringBuilder query = new StringBuilder("SELECT * WHERE { ");
+        for (final TriplePattern pattern : patterns) {
+            if (!toSparql(query, pattern.getSubject()) || !toSparql(query, pattern.getPredicate())
+                    || !toSparql(query, pattern.getObject())) {
+                return Optional.empty();
+            }
+            query.append(". ");
+        }
+        query.append('}');
+
+        // NOTE: As with stream(), the result and the connection are closed
+        // when the caller closes the returned stream
+        final RepositoryConnection conn = repositoryGraph.getRepositoryConnection();
+        Stream<Solution> solutions = null;
+        try {
+            final TupleQuery tupleQuery = conn.prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+            tupleQuery.setIncludeInferred(repositoryGraph.getIncludeInferred());
+            final TupleQueryResult result = tupleQuery.evaluate();
+            final RDF4J factory = repositoryGraph.getRdf4jTermFactory();
+            solutions = Iterations.stream(result).map(bindings -> asSolution(factory, bindings)).onClose(() -> {
+                try {
+                    result.close();
+                } finally {
+                    conn.close();
+                }
+            });
+        } finally {
+            if (solutions == null) {
+                conn.close();
+            }
+        }
+        return Optional.of(solutions);
+    }
+
+}
@@ -31,6 +31,7 @@ import org.apache.commons.rdf.rdf4j.ClosableIterable;
 import org.apache.commons.rdf.rdf4j.RDF4JDataset;
 import org.apache.commons.rdf.rdf4j.RDF4JQuad;
 import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
@@ -44,25 +45,34 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
         super(repository, salt, handleInitAndShutdown, includeInferred);
     }
 
+    RepositoryDatasetImpl(final Repository repository, final UUID salt, final boolean handleInitAndShutdown, final boolean includeInferred,
+            final int writeBatchSize) {
+        super(repository, salt, handleInitAndShutdown, includeInferred, writeBatchSize);
+    }
+
+    RepositoryDatasetImpl(final RepositorySession session, final boolean endSessionOnClose, final UUID salt,
+            final boolean includeInferred) {
+        super(session, endSessionOnClose, salt, includeInferred);
+    }
+
     @Override
     public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         final Resource context = (Resource) getRdf4jTermFactory().asValue(graphName);
         final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
         final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
         final Value obj = getRdf4jTermFactory().asValue(object);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.add(subj, pred, obj, context);
-            conn.commit();
-        }
+        write(conn -> conn.add(subj, pred, obj, context));
     }
 
     @Override
     public void add(final Quad tripleLike) {
         final Statement statement = getRdf4jTermFactory().asStatement(tripleLike);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.add(statement);
-            conn.commit();
-        }
+        write(conn -> conn.add(statement));
+    }
+
+    @Override
+    protected void addStatement(final RepositoryConnection conn, final Quad tripleLike) {
+        conn.add(getRdf4jTermFactory().asStatement(tripleLike));
     }
 
     private Resource[] asContexts(final Optional<BlankNodeOrIRI> graphName) {
@@ -85,10 +95,7 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
 
     @Override
     public void clear() {
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.clear();
-            conn.commit();
-        }
+        write(conn -> conn.clear());
     }
 
     @Override
@@ -110,21 +117,36 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
         }
     }
 
+    /**
+     * Count the matching statements in the repository, without converting
+     * them.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return countStatements(subj, pred, obj, asContexts(graphName));
+    }
+
+    @Override
+    public long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        return count(graphName, subject, predicate, object);
+    }
+
     @Override
     public Graph getGraph() {
         // default context only
-        // NOTE: We carry over the 'salt' as the graph's BlankNode should be
-        // equal to our BlankNodes
-        return new RepositoryGraphImpl(getRepository(), getSalt(), false, getIncludeInferred(), (Resource) null);
+        return graphView(null);
     }
 
     @Override
     public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
         // NOTE: May be null to indicate default context
         final Resource context = (Resource) getRdf4jTermFactory().asValue(graphName);
-        // NOTE: We carry over the 'salt' as the graph's BlankNode should be
-        // equal to our BlankNodes
-        return Optional.of(new RepositoryGraphImpl(getRepository(), getSalt(), false, getIncludeInferred(), context));
+        return Optional.of(graphView(context));
     }
 
     @Override
@@ -151,6 +173,26 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
                 contexts);
     }
 
+    /**
+     * Graph view of a single context, which shares our session if we have
+     * one.
+     */
+    private RepositoryGraphImpl graphView(final Resource context) {
+        // NOTE: We carry over the 'salt' as the graph's BlankNode should be
+        // equal to our BlankNodes
+        if (isSession()) {
+            return new RepositoryGraphImpl(getSession(null), false, getSalt(), getIncludeInferred(), context);
+        }
+        // The graph uses its own connections, so make our writes visible
+        flush();
+        return new RepositoryGraphImpl(getRepository(), getSalt(), false, getIncludeInferred(), context);
+    }
+
+    @Override
+    public RDF4JDataset openSession(final IsolationLevel isolationLevel) {
+        return new RepositoryDatasetImpl(getSession(isolationLevel), !isSession(), getSalt(), getIncludeInferred());
+    }
+
     @Override
     public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
@@ -158,31 +200,23 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
         final Value obj = getRdf4jTermFactory().asValue(object);
         final Resource[] contexts = asContexts(graphName);
 
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.remove(subj, pred, obj, contexts);
-            conn.commit();
-        }
+        write(conn -> conn.remove(subj, pred, obj, contexts));
     }
 
     @Override
     public void remove(final Quad tripleLike) {
         final Statement statement = getRdf4jTermFactory().asStatement(tripleLike);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.remove(statement);
-            conn.commit();
-        }
+        write(conn -> conn.remove(statement));
+    }
+
+    @Override
+    protected void removeStatement(final RepositoryConnection conn, final Quad tripleLike) {
+        conn.remove(getRdf4jTermFactory().asStatement(tripleLike));
     }
 
     @Override
     public long size() {
-        if (getIncludeInferred()) {
-            // We'll need to count them all
-            return stream().count();
-        }
-        // else: Ask directly
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            return conn.size();
-        }
+        return countStatements(null, null, null, asContexts(null));
     }
 
     @Override
@@ -34,6 +34,7 @@ import org.apache.commons.rdf.rdf4j.RDF4JBlankNodeOrIRI;
 import org.apache.commons.rdf.rdf4j.RDF4JGraph;
 import org.apache.commons.rdf.rdf4j.RDF4JTriple;
 import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
@@ -47,7 +48,18 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
 
     RepositoryGraphImpl(final Repository repository, final UUID salt, final boolean handleInitAndShutdown, final boolean includeInferred,
             final Resource... contextMask) {
-        super(repository, salt, handleInitAndShutdown, includeInferred);
+        this(repository, salt, handleInitAndShutdown, includeInferred, 0, contextMask);
+    }
+
+    RepositoryGraphImpl(final Repository repository, final UUID salt, final boolean handleInitAndShutdown, final boolean includeInferred,
+            final int writeBatchSize, final Resource... contextMask) {
+        super(repository, salt, handleInitAndShutdown, includeInferred, writeBatchSize);
+        this.contextMask = Objects.requireNonNull(contextMask, "contextMask");
+    }
+
+    RepositoryGraphImpl(final RepositorySession session, final boolean endSessionOnClose, final UUID salt,
+            final boolean includeInferred, final Resource... contextMask) {
+        super(session, endSessionOnClose, salt, includeInferred);
         this.contextMask = Objects.requireNonNull(contextMask, "contextMask");
     }
 
@@ -56,19 +68,18 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
         final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
         final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
         final Value obj = getRdf4jTermFactory().asValue(object);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.add(subj, pred, obj, contextMask);
-            conn.commit();
-        }
+        write(conn -> conn.add(subj, pred, obj, contextMask));
     }
 
     @Override
     public void add(final Triple tripleLike) {
         final Statement statement = getRdf4jTermFactory().asStatement(tripleLike);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.add(statement, contextMask);
-            conn.commit();
-        }
+        write(conn -> conn.add(statement, contextMask));
+    }
+
+    @Override
+    protected void addStatement(final RepositoryConnection conn, final Triple tripleLike) {
+        conn.add(getRdf4jTermFactory().asStatement(tripleLike), contextMask);
     }
 
     @Override
@@ -78,10 +89,7 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
 
     @Override
     public void clear() {
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.clear(contextMask);
-            conn.commit();
-        }
+        write(conn -> conn.clear(contextMask));
     }
 
     @Override
@@ -102,11 +110,29 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
         }
     }
 
+    /**
+     * Count the matching statements in the repository, without converting
+     * them.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return countStatements(subj, pred, obj, contextMask);
+    }
+
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return count(subject, predicate, object);
+    }
+
     @Override
     public Set<RDF4JBlankNodeOrIRI> getContextMask() {
         final Set<RDF4JBlankNodeOrIRI> mask = new HashSet<>();
         for (final Resource s : contextMask) {
-            mask.add(getRdf4jTermFactory().asRDFTerm(s));
+            // null: the default context
+            mask.add(s == null ? null : getRdf4jTermFactory().asRDFTerm(s));
         }
         return Collections.unmodifiableSet(mask);
     }
@@ -126,36 +152,34 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
                 obj, contextMask);
     }
 
+    @Override
+    public RDF4JGraph openSession(final IsolationLevel isolationLevel) {
+        return new RepositoryGraphImpl(getSession(isolationLevel), !isSession(), getSalt(), getIncludeInferred(),
+                contextMask);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
         final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
         final Value obj = getRdf4jTermFactory().asValue(object);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.remove(subj, pred, obj, contextMask);
-            conn.commit();
-        }
+        write(conn -> conn.remove(subj, pred, obj, contextMask));
     }
 
     @Override
     public void remove(final Triple tripleLike) {
         final Statement statement = getRdf4jTermFactory().asStatement(tripleLike);
-        try (RepositoryConnection conn = getRepositoryConnection()) {
-            conn.remove(statement, contextMask);
-            conn.commit();
-        }
+        write(conn -> conn.remove(statement, contextMask));
+    }
+
+    @Override
+    protected void removeStatement(final RepositoryConnection conn, final Triple tripleLike) {
+        conn.remove(getRdf4jTermFactory().asStatement(tripleLike), contextMask);
     }
 
     @Override
     public long size() {
-        if (!getIncludeInferred() && contextMask.length == 0) {
-            try (RepositoryConnection conn = getRepositoryConnection()) {
-                return conn.size();
-            }
-        }
-        try (Stream<RDF4JTriple> stream = stream()) {
-            return stream.count();
-        }
+        return countStatements(null, null, null, contextMask);
     }
 
     @Override
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j.impl;
+
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.base.RepositoryConnectionWrapper;
+
+/**
+ * A single {@link RepositoryConnection} with an active transaction, shared by
+ * the operations of session graphs and datasets.
+ * <p>
+ * Writes are only committed by {@link #commit()}; {@link #close()} rolls
+ * back the rest, e.g. when an exception ends a try-with-resources block.
+ * <p>
+ * {@link #getConnection()} hands out the connection wrapped so that closing
+ * it does not close the session, which lets the operations use the same
+ * try-with-resources blocks as with a new connection per operation.
+ */
+final class RepositorySession implements AutoCloseable {
+
+    private final Repository repository;
+
+    private final RepositoryConnection connection;
+
+    private final RepositoryConnection unclosable;
+
+    private final IsolationLevel isolationLevel;
+
+    /**
+     * Open a connection and begin a transaction.
+     *
+     * @param repository
+     *            Repository to connect to
+     * @param isolationLevel
+     *            Isolation level of the transaction, or {@code null} for the
+     *            default of the connection
+     */
+    RepositorySession(final Repository repository, final IsolationLevel isolationLevel) {
+        this.repository = repository;
+        this.isolationLevel = isolationLevel;
+        this.connection = repository.getConnection();
+        try {
+            begin();
+        } catch (final RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        this.unclosable = new RepositoryConnectionWrapper(repository, connection) {
+            @Override
+            public void close() {
+                // The session stays open until RepositorySession.close()
+            }
+        };
+    }
+
+    private void begin() {
+        if (isolationLevel == null) {
+            connection.begin();
+        } else {
+            connection.begin(isolationLevel);
+        }
+    }
+
+    /**
+     * Roll back any uncommitted writes and close the connection.
+     */
+    @Override
+    public void close() {
+        try {
+            if (connection.isActive()) {
+                connection.rollback();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Commit the transaction and begin a new one with the same isolation
+     * level.
+     */
+    void commit() {
+        connection.commit();
+        begin();
+    }
+
+    /**
+     * Gets the session connection.
+     *
+     * @return The connection, which is not closed by
+     *         {@link RepositoryConnection#close()}
+     */
+    RepositoryConnection getConnection() {
+        return unclosable;
+    }
+
+    /**
+     * Gets the isolation level the session was opened with.
+     *
+     * @return The isolation level, or {@code null} for the default of the
+     *         connection
+     */
+    IsolationLevel getIsolationLevel() {
+        return isolationLevel;
+    }
+
+    Repository getRepository() {
+        return repository;
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.IRI;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BufferedWritesTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private Repository repository;
+    private IRI alice;
+    private IRI knows;
+
+    private long committedSize() {
+        try (RepositoryConnection conn = repository.getConnection()) {
+            return conn.size();
+        }
+    }
+
+    @BeforeEach
+    void createRepository() {
+        repository = new SailRepository(new MemoryStore());
+        repository.init();
+        alice = rdf4j.createIRI("http://example.com/alice");
+        knows = rdf4j.createIRI("http://xmlns.com/foaf/0.1/knows");
+    }
+
+    @Test
+    void testBatchCommit() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository, RDF4J.Option.bufferWrites)) {
+            for (int i = 0; i < RDF4J.DEFAULT_WRITE_BATCH_SIZE + 1; i++) {
+                graph.add(alice, knows, rdf4j.createIRI("http://example.com/p" + i));
+            }
+            // A full batch is committed, the last write is still buffered
+            assertEquals(RDF4J.DEFAULT_WRITE_BATCH_SIZE, committedSize());
+        }
+        assertEquals(RDF4J.DEFAULT_WRITE_BATCH_SIZE + 1, committedSize());
+    }
+
+    @Test
+    void testBatchSize() throws Exception {
+        final RDF4J batched = rdf4j.writeBatchSize(2);
+        assertEquals(2, batched.getWriteBatchSize());
+        assertEquals(RDF4J.DEFAULT_WRITE_BATCH_SIZE, rdf4j.getWriteBatchSize());
+        assertThrows(IllegalArgumentException.class, () -> rdf4j.writeBatchSize(0));
+        try (RDF4JGraph graph = batched.asGraph(repository, RDF4J.Option.bufferWrites)) {
+            for (int i = 0; i < 5; i++) {
+                graph.add(alice, knows, rdf4j.createIRI("http://example.com/p" + i));
+            }
+            // Two full batches are committed, the last write is still buffered
+            assertEquals(4, committedSize());
+        }
+        assertEquals(5, committedSize());
+    }
+
+    @Test
+    void testBufferedDataset() throws Exception {
+        final IRI graph1 = rdf4j.createIRI("http://example.com/graph1");
+        try (RDF4JDataset dataset = rdf4j.asDataset(repository, RDF4J.Option.bufferWrites)) {
+            dataset.add(graph1, alice, knows, alice);
+            dataset.add(null, alice, knows, alice);
+            assertEquals(0, committedSize());
+            // Only the quad in the default graph
+            dataset.remove(Optional.empty(), alice, knows, alice);
+            dataset.flush();
+            assertEquals(1, committedSize());
+            assertTrue(dataset.contains(Optional.of(graph1), alice, knows, alice));
+        }
+    }
+
+    @Test
+    void testFlushOnClose() throws Exception {
+        final RDF4JGraph graph = rdf4j.asGraph(repository, RDF4J.Option.bufferWrites);
+        graph.add(alice, knows, alice);
+        assertEquals(0, committedSize());
+        graph.close();
+        assertEquals(1, committedSize());
+    }
+
+    @Test
+    void testReadSeesBufferedWrites() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository, RDF4J.Option.bufferWrites)) {
+            graph.add(alice, knows, alice);
+            // Not yet visible to other connections
+            assertEquals(0, committedSize());
+            assertTrue(graph.contains(alice, knows, alice));
+            assertEquals(1, graph.size());
+            assertEquals(1, committedSize());
+
+            graph.clear();
+            assertEquals(1, committedSize());
+            assertEquals(0, graph.size());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import org.apache.commons.rdf.api.AbstractConversionCacheTest;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.simple.ConversionCache;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the conversion cache of
+ * {@link RDF4J#RDF4J(org.eclipse.rdf4j.model.ValueFactory, UUID, int)}.
+ */
+class RDF4JConversionCacheTest extends AbstractConversionCacheTest {
+
+    private static ConversionCache<Value> cache(final RDF factory) {
+        return ((RDF4J) factory).getConversionCache().get();
+    }
+
+    private final SimpleRDF simple = new SimpleRDF();
+
+    @Override
+    protected Object convert(final RDF factory, final RDFTerm term) {
+        return ((RDF4J) factory).asValue(term);
+    }
+
+    @Override
+    protected RDF createFactory(final int capacity) {
+        return new RDF4J(SimpleValueFactory.getInstance(), UUID.randomUUID(), capacity);
+    }
+
+    @Override
+    protected OptionalInt getCacheCapacity(final RDF factory) {
+        return ((RDF4J) factory).getConversionCache().map(c -> OptionalInt.of(c.getCapacity()))
+                .orElse(OptionalInt.empty());
+    }
+
+    @Override
+    protected long getCacheHits(final RDF factory) {
+        return cache(factory).getHits();
+    }
+
+    @Override
+    protected long getCacheMisses(final RDF factory) {
+        return cache(factory).getMisses();
+    }
+
+    @Test
+    void testGraphUsesCache() throws Exception {
+        final RDF4J factory = new RDF4J(SimpleValueFactory.getInstance(), UUID.randomUUID(), 16);
+        final ConversionCache<Value> cache = factory.getConversionCache().get();
+        try (RDF4JGraph graph = factory.createGraph()) {
+            final IRI subject = factory.createIRI("http://example.com/s");
+            for (int i = 0; i < 10; i++) {
+                graph.add(subject, simple.createIRI("http://example.com/p"), factory.createLiteral(Integer.toString(i)));
+            }
+            assertTrue(graph.contains(subject, simple.createIRI("http://example.com/p"), null));
+            assertEquals(10, graph.size());
+        }
+        // Only the foreign predicate is converted, the first time
+        assertEquals(1, cache.getMisses());
+        assertEquals(10, cache.getHits());
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.rdf4j.experimental.RDF4JParser;
+import org.apache.commons.rdf.rdf4j.experimental.RDF4JWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RDF4JWriterTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private Dataset dataset;
+    private IRI alice;
+    private IRI name;
+    private IRI knows;
+    private IRI graph1;
+    private Literal aliceName;
+    private Path file;
+
+    @BeforeEach
+    void createDataset() throws IOException {
+        alice = rdf4j.createIRI("http://example.com/alice");
+        name = rdf4j.createIRI("http://xmlns.com/foaf/0.1/name");
+        knows = rdf4j.createIRI("http://xmlns.com/foaf/0.1/knows");
+        graph1 = rdf4j.createIRI("http://example.com/graph1");
+        aliceName = rdf4j.createLiteral("Alice", "en");
+        final BlankNode friend = rdf4j.createBlankNode();
+        dataset = rdf4j.createDataset();
+        dataset.add(null, alice, name, aliceName);
+        dataset.add(null, alice, knows, friend);
+        dataset.add(graph1, friend, name, rdf4j.createLiteral("Bob"));
+        file = Files.createTempFile("commonsrdf", ".trig");
+    }
+
+    @AfterEach
+    void deletePath() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private Dataset parse(final RDFSyntax syntax, final byte[] bytes) throws Exception {
+        final Dataset parsed = rdf4j.createDataset();
+        new RDF4JParser().contentType(syntax).source(new ByteArrayInputStream(bytes))
+                .base("http://example.com/").target(parsed).parse()
+                .get(5, TimeUnit.SECONDS);
+        return parsed;
+    }
+
+    private byte[] write(final RDFSyntax syntax) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new RDF4JWriter().contentType(syntax).source(dataset).target(out).write().get(5, TimeUnit.SECONDS);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testUnsupportedContentType() {
+        assertThrows(IllegalStateException.class, () -> new RDF4JWriter().contentType("text/x-unknown")
+                .source(dataset).target(new ByteArrayOutputStream()).write());
+    }
+
+    @Test
+    void testWriteNQuads() throws Exception {
+        final Dataset parsed = parse(RDFSyntax.NQUADS, write(RDFSyntax.NQUADS));
+        assertEquals(3, parsed.size());
+        assertTrue(parsed.contains(Optional.empty(), alice, name, aliceName));
+        assertTrue(parsed.contains(Optional.of(graph1), null, name, rdf4j.createLiteral("Bob")));
+        // The blank node is still shared across graphs
+        final BlankNode friend = (BlankNode) parsed.stream(Optional.empty(), alice, knows, null).findAny().get()
+                .getObject();
+        assertTrue(parsed.contains(Optional.of(graph1), friend, null, null));
+    }
+
+    @Test
+    void testWriteTriGFile() throws Exception {
+        // Guessed from the file extension
+        new RDF4JWriter().source(dataset).target(file).write().get(5, TimeUnit.SECONDS);
+        final Dataset parsed = rdf4j.createDataset();
+        new RDF4JParser().contentType(RDFSyntax.TRIG).source(file).target(parsed).parse().get(5, TimeUnit.SECONDS);
+        assertEquals(3, parsed.size());
+        assertTrue(parsed.contains(Optional.of(graph1), null, name, rdf4j.createLiteral("Bob")));
+    }
+
+    @Test
+    void testWriteTurtle() throws Exception {
+        final Dataset parsed = parse(RDFSyntax.TURTLE, write(RDFSyntax.TURTLE));
+        // Only the default graph, as Turtle has no named graphs
+        assertEquals(2, parsed.size());
+        assertTrue(parsed.contains(Optional.empty(), alice, name, aliceName));
+        assertTrue(parsed.contains(Optional.empty(), alice, knows, null));
+        assertFalse(parsed.contains(Optional.of(graph1), null, null, null));
+        try (Graph graph = parsed.getGraph()) {
+            assertEquals(2, graph.size());
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private Repository repository;
+    private IRI alice;
+    private IRI bob;
+    private IRI knows;
+
+    private long committedSize() {
+        try (RepositoryConnection conn = repository.getConnection()) {
+            return conn.size();
+        }
+    }
+
+    @BeforeEach
+    void createRepository() {
+        repository = new SailRepository(new MemoryStore());
+        repository.init();
+        alice = rdf4j.createIRI("http://example.com/alice");
+        bob = rdf4j.createIRI("http://example.com/bob");
+        knows = rdf4j.createIRI("http://xmlns.com/foaf/0.1/knows");
+    }
+
+    @Test
+    void testDatasetSessionGraphs() throws Exception {
+        final IRI graph1 = rdf4j.createIRI("http://example.com/graph1");
+        try (RDF4JDataset dataset = rdf4j.asDataset(repository)) {
+            try (RDF4JDataset session = dataset.openSession()) {
+                session.add(graph1, alice, knows, bob);
+                // Graphs of the session see its uncommitted writes
+                final Graph graph = session.getGraph(graph1).get();
+                assertTrue(graph.contains(alice, knows, bob));
+                graph.add(bob, knows, alice);
+                assertTrue(session.contains(Optional.of(graph1), bob, knows, alice));
+                // Closing the graph does not end the session
+                graph.close();
+                assertEquals(2, session.size());
+                assertEquals(0, committedSize());
+                session.commit();
+            }
+            assertEquals(2, dataset.size());
+        }
+    }
+
+    @Test
+    void testModelGraphHasNoSession() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(new LinkedHashModel())) {
+            assertThrows(UnsupportedOperationException.class, graph::openSession);
+        }
+    }
+
+    @Test
+    void testSessionCommit() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository)) {
+            try (RDF4JGraph session = graph.openSession(IsolationLevels.SNAPSHOT)) {
+                session.add(alice, knows, bob);
+                session.addAll(Collections.singletonList(rdf4j.createTriple(bob, knows, alice)));
+                assertTrue(session.contains(alice, knows, bob));
+                try (Stream<RDF4JTriple> stream = session.stream(null, knows, null)) {
+                    assertEquals(2, stream.count());
+                }
+                // ..but not yet visible outside the session
+                assertEquals(0, committedSize());
+                assertFalse(graph.contains(alice, knows, bob));
+                session.remove(bob, knows, alice);
+                assertEquals(1, session.size());
+                session.commit();
+                assertEquals(1, committedSize());
+                // The session continues in a new transaction
+                session.add(bob, knows, alice);
+                assertEquals(2, session.size());
+            }
+            // Not committed
+            assertEquals(1, committedSize());
+            assertTrue(graph.contains(alice, knows, bob));
+        }
+    }
+
+    @Test
+    void testSessionIsolationLevel() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository);
+                RDF4JGraph session = graph.openSession(IsolationLevels.SNAPSHOT)) {
+            // A view of the same session
+            try (RDF4JGraph nested = session.openSession()) {
+                nested.add(alice, knows, bob);
+            }
+            assertTrue(session.contains(alice, knows, bob));
+            assertThrows(IllegalStateException.class, () -> session.openSession(IsolationLevels.SERIALIZABLE));
+        }
+        assertEquals(0, committedSize());
+    }
+
+    @Test
+    void testSessionRollsBackOnException() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository)) {
+            assertThrows(IllegalStateException.class, () -> {
+                try (RDF4JGraph session = graph.openSession()) {
+                    session.add(alice, knows, bob);
+                    throw new IllegalStateException("Half-done");
+                }
+            });
+            assertEquals(0, committedSize());
+            assertFalse(graph.contains(alice, knows, bob));
+        }
+    }
+
+    @Test
+    void testSnapshotRead() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository)) {
+            graph.add(alice, knows, bob);
+            try (RDF4JGraph session = graph.openSession(IsolationLevels.SNAPSHOT)) {
+                assertEquals(1, session.size());
+                // A write committed by another connection during the session
+                graph.add(bob, knows, alice);
+                assertEquals(2, committedSize());
+                // ..is not in the snapshot of the session
+                assertEquals(1, session.size());
+                assertFalse(session.contains(bob, knows, alice));
+            }
+            assertEquals(2, graph.size());
+        }
+    }
+
+    @Test
+    void testSessionSeesBufferedWrites() throws Exception {
+        try (RDF4JGraph graph = rdf4j.asGraph(repository, RDF4J.Option.bufferWrites)) {
+            graph.add(alice, knows, bob);
+            try (RDF4JGraph session = graph.openSession()) {
+                assertTrue(session.contains(alice, knows, bob));
+            }
+        }
+    }
+
+}
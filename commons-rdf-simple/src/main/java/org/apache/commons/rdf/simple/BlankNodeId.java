@@ -0,0 +1,301 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.apache.commons.rdf.api.BlankNode;
+
+/**
+ * A compact 128-bit identity for {@link BlankNode} implementations.
+ * <p>
+ * The identity of a blank node with a given name in a scope identified by a
+ * salt {@link UUID} is a keyed 128-bit MurmurHash3 (x64) of the name, seeded
+ * with the salt. This replaces hashing a {@code "urn:uuid:" + salt + "#" +
+ * name} string with {@link UUID#nameUUIDFromBytes(byte[])}: no strings or
+ * byte arrays are built, and two identities are compared as two
+ * {@code long}s. The same salt and name always give the same identity, and
+ * different salts give unrelated identities, so the scoping of
+ * {@link org.apache.commons.rdf.api.RDF#createBlankNode(String)} is kept.
+ * MurmurHash3 is not a cryptographic hash; it is only intended to avoid
+ * accidental collisions.
+ * <p>
+ * As {@link BlankNode#hashCode()} must be the {@link String#hashCode()} of
+ * {@link BlankNode#uniqueReference()}, this class also computes the hash code
+ * of a reference built from UUID strings and names without building the
+ * string, with {@link #uuidStringHashCode(long, long)} and
+ * {@link #appendHashCode(int, String)}. Implementations can then materialize
+ * {@link BlankNode#uniqueReference()} only when it is asked for.
+ *
+ * @since 0.6.0
+ */
+public final class BlankNodeId {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /**
+     * Length of {@link UUID#toString()}.
+     */
+    private static final int UUID_STRING_LENGTH = 36;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Compute the {@link String#hashCode()} of a concatenation.
+     *
+     * @param hashCode
+     *            The {@link String#hashCode()} of the first string
+     * @param suffix
+     *            The string appended to it
+     * @return The {@link String#hashCode()} of the concatenated string
+     */
+    public static int appendHashCode(final int hashCode, final String suffix) {
+        return appendHashCode(hashCode, suffix.hashCode(), suffix.length());
+    }
+
+    private static int appendHashCode(final int hashCode, final int suffixHashCode, final int suffixLength) {
+        // String.hashCode() is a polynomial in 31, so shift the prefix by
+        // 31^suffixLength (modulo 2^32, like the hash code itself)
+        int power = 1;
+        int base = 31;
+        for (int n = suffixLength; n > 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                power *= base;
+            }
+            base *= base;
+        }
+        return hashCode * power + suffixHashCode;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Compute the identity of a blank node name within a salt.
+     *
+     * @param saltMostSigBits
+     *            {@link UUID#getMostSignificantBits()} of the salt
+     * @param saltLeastSigBits
+     *            {@link UUID#getLeastSignificantBits()} of the salt
+     * @param name
+     *            Blank node name within the salt
+     * @return The identity of the blank node
+     */
+    public static BlankNodeId of(final long saltMostSigBits, final long saltLeastSigBits, final String name) {
+        long h1 = saltMostSigBits;
+        long h2 = saltLeastSigBits;
+        final int length = name.length();
+        int i = 0;
+        // Blocks of 16 bytes, as 8 UTF-16 chars
+        for (; i + 8 <= length; i += 8) {
+            long k1 = pack(name, i, 4);
+            long k2 = pack(name, i + 4, 4);
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        final int tail = length - i;
+        if (tail > 4) {
+            long k2 = pack(name, i + 4, tail - 4);
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        if (tail > 0) {
+            long k1 = pack(name, i, Math.min(tail, 4));
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+        h1 ^= length * 2L;
+        h2 ^= length * 2L;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new BlankNodeId(h1, h2);
+    }
+
+    /**
+     * Compute the identity of a blank node name within a salt.
+     *
+     * @param salt
+     *            Salt identifying the scope of the name
+     * @param name
+     *            Blank node name within the salt
+     * @return The identity of the blank node
+     */
+    public static BlankNodeId of(final UUID salt, final String name) {
+        return of(salt.getMostSignificantBits(), salt.getLeastSignificantBits(),
+                Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * Pack up to 4 chars into a long, little-endian.
+     */
+    private static long pack(final String s, final int offset, final int count) {
+        long k = 0;
+        for (int j = count - 1; j >= 0; j--) {
+            k = k << 16 | s.charAt(offset + j);
+        }
+        return k;
+    }
+
+    private static int uuidHexHashCode(int hashCode, final long bits, final int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            hashCode = hashCode * 31 + HEX_DIGITS[(int) (bits >>> shift) & 0xf];
+        }
+        return hashCode;
+    }
+
+    /**
+     * Compute the {@link String#hashCode()} of {@link UUID#toString()}
+     * without building the string.
+     *
+     * @param mostSigBits
+     *            {@link UUID#getMostSignificantBits()}
+     * @param leastSigBits
+     *            {@link UUID#getLeastSignificantBits()}
+     * @return The hash code of the UUID string
+     */
+    public static int uuidStringHashCode(final long mostSigBits, final long leastSigBits) {
+        int h = uuidHexHashCode(0, mostSigBits >>> 32, 8);
+        h = h * 31 + '-';
+        h = uuidHexHashCode(h, mostSigBits >>> 16, 4);
+        h = h * 31 + '-';
+        h = uuidHexHashCode(h, mostSigBits, 4);
+        h = h * 31 + '-';
+        h = uuidHexHashCode(h, leastSigBits >>> 48, 4);
+        h = h * 31 + '-';
+        return uuidHexHashCode(h, leastSigBits, 12);
+    }
+
+    /**
+     * Compute the {@link String#hashCode()} of a string that starts with a
+     * {@link UUID#toString()}, without building the string.
+     *
+     * @param prefixHashCode
+     *            The {@link String#hashCode()} of the string before the UUID
+     * @param mostSigBits
+     *            {@link UUID#getMostSignificantBits()}
+     * @param leastSigBits
+     *            {@link UUID#getLeastSignificantBits()}
+     * @return The hash code of the string up to and including the UUID
+     */
+    public static int appendUuidHashCode(final int prefixHashCode, final long mostSigBits, final long leastSigBits) {
+        return appendHashCode(prefixHashCode, uuidStringHashCode(mostSigBits, leastSigBits), UUID_STRING_LENGTH);
+    }
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    /**
+     * Constructs an identity from its 128 bits.
+     *
+     * @param mostSigBits
+     *            The most significant 64 bits
+     * @param leastSigBits
+     *            The least significant 64 bits
+     */
+    public BlankNodeId(final long mostSigBits, final long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BlankNodeId)) {
+            return false;
+        }
+        final BlankNodeId other = (BlankNodeId) obj;
+        return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+    }
+
+    /**
+     * Gets the least significant 64 bits.
+     *
+     * @return The least significant 64 bits
+     */
+    public long getLeastSignificantBits() {
+        return leastSigBits;
+    }
+
+    /**
+     * Gets the most significant 64 bits.
+     *
+     * @return The most significant 64 bits
+     */
+    public long getMostSignificantBits() {
+        return mostSigBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mostSigBits ^ leastSigBits);
+    }
+
+    /**
+     * The identity as a {@link UUID} string.
+     * <p>
+     * This is not a name-based {@link UUID} (the version and variant bits are
+     * not set), but uses the same format.
+     *
+     * @return The identity as a UUID string
+     */
+    @Override
+    public String toString() {
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * The {@link String#hashCode()} of {@link #toString()}, without building
+     * the string.
+     *
+     * @return The hash code of the string representation
+     */
+    public int toStringHashCode() {
+        return uuidStringHashCode(mostSigBits, leastSigBits);
+    }
+
+}
@@ -17,7 +17,6 @@
  */
 package org.apache.commons.rdf.simple;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
@@ -27,13 +26,24 @@ import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
 
 /**
  * A simple implementation of BlankNode.
+ * <p>
+ * The identity is a {@link BlankNodeId} of the salt and name, and the
+ * {@link #uniqueReference()} is its UUID string, built on first use.
  */
 final class BlankNodeImpl implements BlankNode, SimpleRDFTerm {
 
     private static final UUID SALT = UUID.randomUUID();
     private static final AtomicLong COUNTER = new AtomicLong();
 
-    private final String uniqueReference;
+    private final BlankNodeId id;
+
+    /**
+     * The unique reference, or {@code null} until needed if it is
+     * {@code id.toString()}.
+     */
+    private String uniqueReference;
+
+    private int hashCode;
 
     public BlankNodeImpl() {
         this(SALT, Long.toString(COUNTER.incrementAndGet()));
@@ -43,28 +53,50 @@ final class BlankNodeImpl implements BlankNode, SimpleRDFTerm {
         if (Objects.requireNonNull(name, "name").isEmpty()) {
             throw new IllegalArgumentException("Invalid blank node id: " + name);
         }
-
-        // Build a semi-URN - to be hashed for a name-based UUID below
-        // Both the scope and the id are used to create the UUID, ensuring that
-        // a caller can reliably create the same bnode if necessary by sending
-        // in the same scope to RDF.createBlankNode(String)
-        final String uuidInput = "urn:uuid:" + uuidSalt + "#" + name;
-
-        // The above is not a good value for this.id, as the id
-        // needs to be further escaped for
-        // ntriplesString() (there are no restrictions on
-        // RDF.createBlankNode(String) ).
-
-        // Rather than implement ntriples escaping here, and knowing
-        // our uniqueReference() contain a UUID anyway, we simply
-        // create another name-based UUID, and use it within both
-        // uniqueReference() and within ntriplesString().
+        // Both the scope and the id are used to create the identity, ensuring
+        // that a caller can reliably create the same bnode if necessary by
+        // sending in the same scope to RDF.createBlankNode(String).
+        //
+        // The name is not a good value for uniqueReference(), as it
+        // needs to be further escaped for ntriplesString() (there are no
+        // restrictions on RDF.createBlankNode(String) ), so the UUID string
+        // of the identity is used for both instead.
         //
         // A side-effect from this is that the blank node identifier
         // is not preserved or shown in ntriplesString. In a way
         // this is a feature, not a bug. as the contract for RDF
         // has no such requirement.
-        this.uniqueReference = UUID.nameUUIDFromBytes(uuidInput.getBytes(StandardCharsets.UTF_8)).toString();
+        this.id = BlankNodeId.of(uuidSalt, name);
+    }
+
+    /**
+     * Constructs a blank node with an existing unique reference, e.g. one
+     * that was read back from a {@link TripleFile}.
+     *
+     * @param uniqueReference
+     *            The {@link #uniqueReference()} of a previously created
+     *            BlankNodeImpl
+     */
+    BlankNodeImpl(final String uniqueReference) {
+        this.uniqueReference = Objects.requireNonNull(uniqueReference, "uniqueReference");
+        this.id = asId(uniqueReference);
+    }
+
+    /**
+     * The identity for an existing unique reference, so that it equals the
+     * BlankNodeImpl it was taken from.
+     */
+    private static BlankNodeId asId(final String uniqueReference) {
+        try {
+            final UUID uuid = UUID.fromString(uniqueReference);
+            if (uuid.toString().equals(uniqueReference)) {
+                return new BlankNodeId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            }
+        } catch (final IllegalArgumentException e) {
+            // not one of ours
+        }
+        // A reference from another implementation, hash it
+        return BlankNodeId.of(0, 0, uniqueReference);
     }
 
     @Override
@@ -72,28 +104,27 @@ final class BlankNodeImpl implements BlankNode, SimpleRDFTerm {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
         // We don't support equality with other implementations
         if (!(obj instanceof BlankNodeImpl)) {
             return false;
         }
-        final BlankNodeImpl other = (BlankNodeImpl) obj;
-        if (!Objects.equals(uniqueReference, other.uniqueReference)) {
-            return false;
-        }
-        return true;
+        return id.equals(((BlankNodeImpl) obj).id);
     }
 
     @Override
     public int hashCode() {
-        return uniqueReference.hashCode();
+        int h = hashCode;
+        if (h == 0) {
+            // Same as uniqueReference().hashCode()
+            h = uniqueReference != null ? uniqueReference.hashCode() : id.toStringHashCode();
+            hashCode = h;
+        }
+        return h;
     }
 
     @Override
     public String ntriplesString() {
-        return "_:" + uniqueReference;
+        return "_:" + uniqueReference();
     }
 
     @Override
@@ -103,7 +134,12 @@ final class BlankNodeImpl implements BlankNode, SimpleRDFTerm {
 
     @Override
     public String uniqueReference() {
-        return uniqueReference;
+        String ref = uniqueReference;
+        if (ref == null) {
+            ref = id.toString();
+            uniqueReference = ref;
+        }
+        return ref;
     }
 
 }
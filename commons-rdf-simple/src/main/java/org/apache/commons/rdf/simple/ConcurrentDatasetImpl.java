@@ -0,0 +1,228 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A thread-safe, memory-based implementation of Dataset.
+ * <p>
+ * {@link Quad}s are partitioned by graph name, with one concurrent set (backed
+ * by a {@link ConcurrentHashMap}) per graph. Any number of threads can add,
+ * remove and stream quads without external locking. Streams are weakly
+ * consistent: they never throw
+ * {@link java.util.ConcurrentModificationException}, and may or may not
+ * reflect modifications made after they were created.
+ * <p>
+ * Partitions are never removed while the dataset is in use, as a concurrent
+ * add could otherwise be lost in a removed partition; an emptied graph is
+ * simply not listed by {@link #getGraphNames()}.
+ * <p>
+ * All Stream operations are performed using sequential and unordered
+ * directives. Streams of all quads are split by graph and within each graph
+ * for {@link #parallelStream()}.
+ *
+ * @see SimpleRDF.Option#concurrent
+ */
+final class ConcurrentDatasetImpl implements Dataset {
+
+    private static final int TO_STRING_MAX = 10;
+
+    /**
+     * Quads per graph name, with {@link Optional#empty()} for the default
+     * graph, as {@link ConcurrentHashMap} does not allow {@code null} keys.
+     */
+    private final ConcurrentMap<Optional<BlankNodeOrIRI>, Set<Quad>> graphs = new ConcurrentHashMap<>();
+    private final SimpleRDF factory;
+
+    ConcurrentDatasetImpl(final SimpleRDF simpleRDF) {
+        this.factory = simpleRDF;
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI newGraphName = (BlankNodeOrIRI) internallyMap(graphName);
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+        addInternal(factory.createQuad(newGraphName, newSubject, newPredicate, newObject));
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        add(quad.getGraphName().orElse(null), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    private void addInternal(final Quad quad) {
+        graphs.computeIfAbsent(quad.getGraphName(), k -> ConcurrentHashMap.newKeySet()).add(quad);
+    }
+
+    @Override
+    public void clear() {
+        // Clear each partition rather than the map, so that no concurrent add
+        // ends up in a detached set
+        graphs.values().forEach(Set::clear);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (graphName != null && subject != null && predicate != null && object != null) {
+            // Fully bound, a set lookup rather than a scan
+            return contains(factory.createQuad(graphName.orElse(null), subject, predicate, object));
+        }
+        return stream(graphName, subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        Objects.requireNonNull(quad, "quad");
+        return partition(quad.getGraphName()).contains(quad);
+    }
+
+    /**
+     * Count a whole graph from the size of its partition, otherwise by
+     * matching.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (graphName != null && subject == null && predicate == null && object == null) {
+            return partition(graphName).size();
+        }
+        return Dataset.super.count(graphName, subject, predicate, object);
+    }
+
+    @Override
+    public Graph getGraph() {
+        return getGraph(null).get();
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        return Optional.of(new DatasetGraphView(this, graphName));
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        return graphs.entrySet().stream().filter(e -> e.getKey().isPresent() && !e.getValue().isEmpty())
+                .map(e -> e.getKey().get());
+    }
+
+    private RDFTerm internallyMap(final RDFTerm object) {
+        return factory.internallyMap(object);
+    }
+
+    private Set<Quad> partition(final Optional<BlankNodeOrIRI> graphName) {
+        final Optional<BlankNodeOrIRI> key = graphName.map(g -> (BlankNodeOrIRI) internallyMap(g));
+        return graphs.getOrDefault(key, Collections.emptySet());
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (graphName != null && subject == null && predicate == null && object == null) {
+            partition(graphName).clear();
+            return;
+        }
+        for (final Quad t : stream(graphName, subject, predicate, object).collect(Collectors.toList())) {
+            remove(t);
+        }
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        Objects.requireNonNull(quad, "quad");
+        partition(quad.getGraphName()).remove(quad);
+    }
+
+    /**
+     * Number of quads in this dataset.
+     * <p>
+     * This sums the sizes of the graphs, so it is only a snapshot if the
+     * dataset is being modified concurrently.
+     */
+    @Override
+    public long size() {
+        return graphs.values().stream().mapToLong(Set::size).sum();
+    }
+
+    @Override
+    public Stream<Quad> stream() {
+        return StreamSupport.stream(new PartitionSpliterator<>(new ArrayList<>(graphs.values()), false), false);
+    }
+
+    @Override
+    public Stream<Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+
+        final Stream<Quad> quads;
+        if (graphName == null) {
+            quads = stream();
+        } else {
+            // Only scan the one graph
+            quads = partition(graphName).stream().unordered();
+        }
+        if (subject == null && predicate == null && object == null) {
+            return quads;
+        }
+        return quads.filter(t -> {
+            if (subject != null && !t.getSubject().equals(newSubject)) {
+                return false;
+            }
+            if (predicate != null && !t.getPredicate().equals(newPredicate)) {
+                return false;
+            }
+            if (object != null && !t.getObject().equals(newObject)) {
+                return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A bounded, thread-safe cache of conversions of {@link RDFTerm}s from
+ * another implementation, e.g. to the native nodes of an RDF framework.
+ * <p>
+ * Like the pool of {@link SimpleRDF.Option#interning}, the cache is a fixed
+ * number of slots, and each term can only be kept in the slot given by its
+ * {@link RDFTerm#hashCode()}. A term that is not found replaces whatever was
+ * in its slot, so the cache never grows beyond its capacity and recently
+ * converted terms are kept. Terms are looked up by identity first, then by
+ * {@link RDFTerm#equals(Object)}, so equal terms from different
+ * implementations share a conversion. Slots are read and written without
+ * locking.
+ * <p>
+ * The conversion must only depend on what makes terms equal, and the
+ * converted values must be immutable, as they are shared by all callers.
+ *
+ * @param <V>
+ *            Type of converted values
+ * @since 0.6.0
+ */
+public final class ConversionCache<V> {
+
+    private static final class Entry<V> {
+        private final RDFTerm term;
+        private final V value;
+
+        Entry(final RDFTerm term, final V value) {
+            this.term = term;
+            this.value = value;
+        }
+    }
+
+    private final SlotTable<Entry<V>> slots;
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param capacity
+     *            Maximum number of conversions, rounded up to a power of two
+     * @throws IllegalArgumentException
+     *             If the capacity is not positive or larger than
+     *             {@code 2^30}
+     */
+    public ConversionCache(final int capacity) {
+        this.slots = new SlotTable<>(capacity);
+    }
+
+    /**
+     * Gets a cached conversion of a term, or converts and caches it.
+     *
+     * @param term
+     *            Term to convert
+     * @param convert
+     *            Conversion of the term, called if it is not cached
+     * @return The cached or converted value
+     */
+    public V get(final RDFTerm term, final Function<RDFTerm, ? extends V> convert) {
+        return slots.get(term.hashCode(), cached -> cached.term == term || cached.term.equals(term),
+                () -> new Entry<>(term, convert.apply(term))).value;
+    }
+
+    /**
+     * Gets the maximum number of cached conversions.
+     *
+     * @return The capacity of the cache
+     */
+    public int getCapacity() {
+        return slots.capacity();
+    }
+
+    /**
+     * Gets the number of lookups that returned a cached conversion.
+     *
+     * @return Number of hits
+     */
+    public long getHits() {
+        return slots.hits();
+    }
+
+    /**
+     * Gets the fraction of lookups that returned a cached conversion.
+     *
+     * @return Hits divided by lookups, or {@code 0} if there were no lookups
+     */
+    public double getHitRate() {
+        final long h = slots.hits();
+        final long lookups = h + slots.misses();
+        return lookups == 0 ? 0 : (double) h / lookups;
+    }
+
+    /**
+     * Gets the number of lookups that had to convert the term.
+     *
+     * @return Number of misses
+     */
+    public long getMisses() {
+        return slots.misses();
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionCache [capacity=" + getCapacity() + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+
+}
@@ -108,6 +108,27 @@ public class DatasetGraphView implements Graph {
         return dataset.contains(unionOrNamedGraph(), triple.getSubject(), triple.getPredicate(), triple.getObject());
     }
 
+    /**
+     * Count with the dataset, except for the union graph, which must not
+     * count a triple more than once.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (unionGraph) {
+            return Graph.super.count(subject, predicate, object);
+        }
+        return dataset.count(unionOrNamedGraph(), subject, predicate, object);
+    }
+
+    /**
+     * Estimate with the dataset, which for the union graph counts a triple
+     * once for each graph that contains it.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return dataset.estimateCount(unionOrNamedGraph(), subject, predicate, object);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         dataset.remove(unionOrNamedGraph(), subject, predicate, object);
@@ -120,7 +141,10 @@ public class DatasetGraphView implements Graph {
 
     @Override
     public long size() {
-        return stream().count();
+        if (unionGraph) {
+            return stream().count();
+        }
+        return dataset.count(unionOrNamedGraph(), null, null, null);
     }
 
     @Override
@@ -17,39 +17,57 @@
  */
 package org.apache.commons.rdf.simple;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
-import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFTerm;
-import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
 
 /**
  * A simple, memory-based implementation of Dataset.
  * <p>
- * {@link Quad}s in the graph are kept in a {@link Set}.
+ * {@link Quad}s are partitioned by graph name, with one {@link Set} per
+ * graph, so that listing the graph names and operations on a single graph only
+ * visit that graph. With {@link SimpleRDF.Option#counting}, the number of
+ * quads per term is kept in {@link TermCounts} for
+ * {@link #count(Optional, BlankNodeOrIRI, IRI, RDFTerm)} and
+ * {@link #estimateCount(Optional, BlankNodeOrIRI, IRI, RDFTerm)}.
  * <p>
- * All Stream operations are performed using parallel and unordered directives.
+ * All Stream operations are performed using sequential and unordered
+ * directives. Streams of all quads are split by graph and within each graph,
+ * and report their size, for {@link #parallelStream()}.
  */
 final class DatasetImpl implements Dataset {
 
     private static final int TO_STRING_MAX = 10;
-    private final Set<Quad> quads = new HashSet<>();
+    /**
+     * Quads per graph name, with the {@code null} key for the default graph.
+     * Empty partitions are removed.
+     */
+    private final Map<BlankNodeOrIRI, Set<Quad>> graphs = new HashMap<>();
     private final SimpleRDF factory;
+    /**
+     * Counts of {@link SimpleRDF.Option#counting}, or {@code null}.
+     */
+    private final TermCounts counts;
+    private long size;
 
-    DatasetImpl(final SimpleRDF simpleRDF) {
+    DatasetImpl(final SimpleRDF simpleRDF, final boolean counting) {
         this.factory = simpleRDF;
+        this.counts = counting ? new TermCounts(false) : null;
     }
 
     @Override
@@ -59,7 +77,7 @@ final class DatasetImpl implements Dataset {
         final IRI newPredicate = (IRI) internallyMap(predicate);
         final RDFTerm newObject = internallyMap(object);
         final Quad result = factory.createQuad(newGraphName, newSubject, newPredicate, newObject);
-        quads.add(result);
+        addInternal(result);
     }
 
     @Override
@@ -72,17 +90,30 @@ final class DatasetImpl implements Dataset {
         // avoid creating a new Quad object if possible
         if (newGraph == quad.getGraphName().orElse(null) && newSubject == quad.getSubject()
                 && newPredicate == quad.getPredicate() && newObject == quad.getObject()) {
-            quads.add(quad);
+            addInternal(quad);
         } else {
             // Make a new Quad with our mapped instances
             final Quad result = factory.createQuad(newGraph, newSubject, newPredicate, newObject);
-            quads.add(result);
+            addInternal(result);
+        }
+    }
+
+    private void addInternal(final Quad quad) {
+        if (graphs.computeIfAbsent(quad.getGraphName().orElse(null), k -> new HashSet<>()).add(quad)) {
+            if (counts != null) {
+                counts.add(quad.getSubject(), quad.getPredicate(), quad.getObject());
+            }
+            size++;
         }
     }
 
     @Override
     public void clear() {
-        quads.clear();
+        graphs.clear();
+        if (counts != null) {
+            counts.clear();
+        }
+        size = 0;
     }
 
     @Override
@@ -96,7 +127,42 @@ final class DatasetImpl implements Dataset {
 
     @Override
     public boolean contains(final Quad quad) {
-        return quads.contains(Objects.requireNonNull(quad, "quad"));
+        Objects.requireNonNull(quad, "quad");
+        return partition(quad.getGraphName()).contains(quad);
+    }
+
+    /**
+     * Count from the partition sizes for a graph name, and from the
+     * {@link TermCounts}, if kept, for a single bound term in all graphs,
+     * otherwise by matching.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (graphName != null && subject != null && predicate != null && object != null) {
+            return contains(graphName, subject, predicate, object) ? 1 : 0;
+        }
+        if (subject == null && predicate == null && object == null) {
+            return graphName == null ? size() : partition(graphName).size();
+        }
+        if (counts != null && graphName == null && TermCounts.isExact(subject, predicate, object)) {
+            return counts.estimate(size(), internallyMap(subject), internallyMap(predicate), internallyMap(object));
+        }
+        return stream(graphName, subject, predicate, object).count();
+    }
+
+    @Override
+    public long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (graphName != null && subject != null && predicate != null && object != null) {
+            return contains(graphName, subject, predicate, object) ? 1 : 0;
+        }
+        if (counts == null) {
+            return count(graphName, subject, predicate, object);
+        }
+        // The partition of a graph is an exact count for its graph name
+        final long total = graphName == null ? size() : partition(graphName).size();
+        return counts.estimate(total, internallyMap(subject), internallyMap(predicate), internallyMap(object));
     }
 
     @Override
@@ -111,62 +177,63 @@ final class DatasetImpl implements Dataset {
 
     @Override
     public Stream<BlankNodeOrIRI> getGraphNames() {
-        // Not very efficient.
-        return stream().map(Quad::getGraphName).filter(Optional::isPresent).map(Optional::get).distinct();
+        // Partitions are never empty, so every key except the default graph is
+        // a graph name
+        return graphs.keySet().stream().filter(Objects::nonNull);
     }
 
-    private Stream<Quad> getQuads(final Predicate<Quad> filter) {
-        return stream().filter(filter);
-    }
-
-    private <T extends RDFTerm> RDFTerm internallyMap(final T object) {
-        if (object == null || object instanceof SimpleRDFTerm) {
-            return object;
-        }
-        if (object instanceof BlankNode && !(object instanceof BlankNodeImpl)) {
-            final BlankNode blankNode = (BlankNode) object;
-            // This guarantees that adding the same BlankNode multiple times to
-            // this graph will generate a local object that is mapped to an
-            // equivalent object, based on the code in the package private
-            // BlankNodeImpl class
-            return factory.createBlankNode(blankNode.uniqueReference());
-        }
-        if (object instanceof IRI && !(object instanceof IRIImpl)) {
-            final IRI iri = (IRI) object;
-            return factory.createIRI(iri.getIRIString());
-        }
-        if (!(object instanceof Literal) || object instanceof LiteralImpl) {
-            throw new IllegalArgumentException("Not a BlankNode, IRI or Literal: " + object);
-        }
-        final Literal literal = (Literal) object;
-        if (literal.getLanguageTag().isPresent()) {
-            return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
-        }
-        return factory.createLiteral(literal.getLexicalForm(), (IRI) internallyMap(literal.getDatatype()));
+    private RDFTerm internallyMap(final RDFTerm object) {
+        return factory.internallyMap(object);
     }
 
     @Override
     public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (graphName != null && subject == null && predicate == null && object == null) {
+            // Clearing a whole graph, drop the partition
+            final Set<Quad> removed = graphs.remove(internallyMap(graphName.orElse(null)));
+            if (removed != null) {
+                if (counts != null) {
+                    removed.forEach(q -> counts.remove(q.getSubject(), q.getPredicate(), q.getObject()));
+                }
+                size -= removed.size();
+            }
+            return;
+        }
         final Stream<Quad> toRemove = stream(graphName, subject, predicate, object);
         for (final Quad t : toRemove.collect(Collectors.toList())) {
-            // Avoid ConcurrentModificationException in ArrayList
+            // Avoid ConcurrentModificationException in HashSet
             remove(t);
         }
     }
 
     @Override
     public void remove(final Quad quad) {
-        quads.remove(Objects.requireNonNull(quad, "quad"));
+        Objects.requireNonNull(quad, "quad");
+        final BlankNodeOrIRI key = (BlankNodeOrIRI) internallyMap(quad.getGraphName().orElse(null));
+        final Set<Quad> quads = graphs.get(key);
+        if (quads != null && quads.remove(quad)) {
+            if (counts != null) {
+                counts.remove(quad.getSubject(), quad.getPredicate(), quad.getObject());
+            }
+            size--;
+            if (quads.isEmpty()) {
+                graphs.remove(key);
+            }
+        }
+    }
+
+    private Set<Quad> partition(final Optional<BlankNodeOrIRI> graphName) {
+        return graphs.getOrDefault(internallyMap(graphName.orElse(null)), Collections.emptySet());
     }
 
     @Override
     public long size() {
-        return quads.size();
+        return size;
     }
 
     @Override
     public Stream<Quad> stream() {
-        return quads.parallelStream().unordered();
+        return StreamSupport.stream(new PartitionSpliterator<>(new ArrayList<>(graphs.values()), true), false);
     }
 
     @Override
@@ -183,11 +250,18 @@ final class DatasetImpl implements Dataset {
         final IRI newPredicate = (IRI) internallyMap(predicate);
         final RDFTerm newObject = internallyMap(object);
 
-        return getQuads(t -> {
-            if (newGraphName != null && !t.getGraphName().equals(newGraphName)) {
-                // This would check Optional.empty() == Optional.empty()
-                return false;
-            }
+        final Stream<Quad> quads;
+        if (newGraphName == null) {
+            quads = stream();
+        } else {
+            // Only scan the one graph
+            quads = partition(newGraphName).stream().unordered();
+        }
+        if (subject == null && predicate == null && object == null) {
+            // Keep the stream unfiltered, so that count() is the set size
+            return quads;
+        }
+        return quads.filter(t -> {
             if (subject != null && !t.getSubject().equals(newSubject)) {
                 return false;
             }
@@ -0,0 +1,226 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A memory-based implementation of Dataset with dictionary-encoded terms.
+ * <p>
+ * Each distinct {@link RDFTerm} is stored once in a {@link TermDictionary},
+ * and the quads are rows of term identifiers in an {@link EncodedTable}, so
+ * no {@link Quad} object is kept per quad. Quads returned by {@link #stream()}
+ * are {@link EncodedQuad} views that decode their terms on access.
+ * <p>
+ * Terms are kept in the dictionary until {@link #clear()}, even if all quads
+ * using them have been removed.
+ * <p>
+ * All Stream operations are performed using sequential and unordered
+ * directives. Streams of all quads are split by row, and report their size,
+ * for {@link #parallelStream()}.
+ *
+ * @see SimpleRDF.Option#dictionary
+ */
+final class DictionaryDatasetImpl implements Dataset {
+
+    private static final int TO_STRING_MAX = 10;
+
+    private final TermDictionary dictionary = new TermDictionary();
+    private final EncodedTable table = new EncodedTable(EncodedTable.QUAD_WIDTH);
+    private final SimpleRDF factory;
+
+    DictionaryDatasetImpl(final SimpleRDF simpleRDF) {
+        this.factory = simpleRDF;
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        table.add(encode(subject), encode(predicate), encode(object), encode(graphName));
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        add(quad.getGraphName().orElse(null), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends Quad> statements) {
+        if (statements instanceof Collection) {
+            table.ensureCapacity(table.size() + ((Collection<?>) statements).size());
+        }
+        for (final Quad t : statements) {
+            add(t.getGraphName().orElse(null), t.getSubject(), t.getPredicate(), t.getObject());
+        }
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        dictionary.clear();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(graphName, subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        return contains(quad.getGraphName(), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    /**
+     * Count the matching rows, without decoding them.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        final long g = lookupGraphName(graphName);
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (g == TermDictionary.NOT_FOUND || s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND
+                || o == TermDictionary.NOT_FOUND) {
+            return 0;
+        }
+        return table.rows(s, p, o, g).count();
+    }
+
+    private Quad decode(final int row) {
+        return new EncodedQuad(dictionary, table.graphName(row), table.subject(row), table.predicate(row),
+                table.object(row));
+    }
+
+    private long encode(final RDFTerm term) {
+        return dictionary.encode(factory.internallyMap(term));
+    }
+
+    @Override
+    public Graph getGraph() {
+        return getGraph(null).get();
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        return Optional.of(new DatasetGraphView(this, graphName));
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        return table.rows(EncodedTable.ANY, EncodedTable.ANY, EncodedTable.ANY, EncodedTable.ANY)
+                .mapToLong(table::graphName).filter(g -> g != TermDictionary.DEFAULT_GRAPH).distinct()
+                .mapToObj(g -> (BlankNodeOrIRI) dictionary.decode(g));
+    }
+
+    /**
+     * Look up a pattern term.
+     *
+     * @return {@link EncodedTable#ANY} for a {@code null} wildcard, otherwise
+     *         the identifier of the term or {@link TermDictionary#NOT_FOUND}
+     */
+    private long lookup(final RDFTerm term) {
+        if (term == null) {
+            return EncodedTable.ANY;
+        }
+        return dictionary.lookup(factory.internallyMap(term));
+    }
+
+    private long lookupGraphName(final Optional<BlankNodeOrIRI> graphName) {
+        if (graphName == null) {
+            return EncodedTable.ANY;
+        }
+        // Optional.empty() is the default graph
+        return graphName.map(this::lookup).orElse(TermDictionary.DEFAULT_GRAPH);
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final long g = lookupGraphName(graphName);
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (g == TermDictionary.NOT_FOUND || s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND
+                || o == TermDictionary.NOT_FOUND) {
+            return;
+        }
+        // Collect first, as removing a row moves the last row into its place
+        final List<long[]> toRemove = table.rows(s, p, o, g)
+                .mapToObj(row -> new long[] { table.subject(row), table.predicate(row), table.object(row),
+                        table.graphName(row) })
+                .collect(Collectors.toList());
+        for (final long[] q : toRemove) {
+            table.remove(q[0], q[1], q[2], q[3]);
+        }
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        remove(quad.getGraphName(), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    @Override
+    public long size() {
+        return table.size();
+    }
+
+    @Override
+    public Stream<Quad> stream() {
+        return StreamSupport.stream(new RowSpliterator<>(0, table.size(), row -> decode((int) row)), false);
+    }
+
+    @Override
+    public Stream<Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        final long g = lookupGraphName(graphName);
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (g == TermDictionary.NOT_FOUND || s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND
+                || o == TermDictionary.NOT_FOUND) {
+            // A term that was never added can't match anything
+            return Stream.empty();
+        }
+        return table.rows(s, p, o, g).mapToObj(this::decode).unordered();
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A memory-based implementation of Graph with dictionary-encoded terms.
+ * <p>
+ * Each distinct {@link RDFTerm} is stored once in a {@link TermDictionary},
+ * and the triples are rows of term identifiers in an {@link EncodedTable}, so
+ * no {@link Triple} object is kept per triple. Triples returned by
+ * {@link #stream()} are {@link EncodedTriple} views that decode their terms on
+ * access.
+ * <p>
+ * Terms are kept in the dictionary until {@link #clear()}, even if all
+ * triples using them have been removed.
+ * <p>
+ * All Stream operations are performed using sequential and unordered
+ * directives. Streams of all triples are split by row, and report their size,
+ * for {@link #parallelStream()}.
+ *
+ * @see SimpleRDF.Option#dictionary
+ */
+final class DictionaryGraphImpl implements Graph {
+
+    private static final int TO_STRING_MAX = 10;
+
+    private final TermDictionary dictionary = new TermDictionary();
+    private final EncodedTable table = new EncodedTable(EncodedTable.TRIPLE_WIDTH);
+    private final SimpleRDF factory;
+
+    DictionaryGraphImpl(final SimpleRDF simpleRDF) {
+        this.factory = simpleRDF;
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        table.add(encode(subject), encode(predicate), encode(object), TermDictionary.DEFAULT_GRAPH);
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        add(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends Triple> statements) {
+        if (statements instanceof Collection) {
+            table.ensureCapacity(table.size() + ((Collection<?>) statements).size());
+        }
+        for (final Triple t : statements) {
+            add(t.getSubject(), t.getPredicate(), t.getObject());
+        }
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        dictionary.clear();
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        return contains(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    /**
+     * Count the matching rows, without decoding them.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND || o == TermDictionary.NOT_FOUND) {
+            return 0;
+        }
+        return table.rows(s, p, o, EncodedTable.ANY).count();
+    }
+
+    private EncodedTriple decode(final int row) {
+        return new EncodedTriple(dictionary, table.subject(row), table.predicate(row), table.object(row));
+    }
+
+    private long encode(final RDFTerm term) {
+        return dictionary.encode(factory.internallyMap(term));
+    }
+
+    /**
+     * Look up a pattern term.
+     *
+     * @return {@link EncodedTable#ANY} for a {@code null} wildcard, otherwise
+     *         the identifier of the term or {@link TermDictionary#NOT_FOUND}
+     */
+    private long lookup(final RDFTerm term) {
+        if (term == null) {
+            return EncodedTable.ANY;
+        }
+        return dictionary.lookup(factory.internallyMap(term));
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND || o == TermDictionary.NOT_FOUND) {
+            return;
+        }
+        // Collect first, as removing a row moves the last row into its place
+        final List<long[]> toRemove = table.rows(s, p, o, EncodedTable.ANY)
+                .mapToObj(row -> new long[] { table.subject(row), table.predicate(row), table.object(row) })
+                .collect(Collectors.toList());
+        for (final long[] t : toRemove) {
+            table.remove(t[0], t[1], t[2], TermDictionary.DEFAULT_GRAPH);
+        }
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        final long s = lookup(triple.getSubject());
+        final long p = lookup(triple.getPredicate());
+        final long o = lookup(triple.getObject());
+        if (s != TermDictionary.NOT_FOUND && p != TermDictionary.NOT_FOUND && o != TermDictionary.NOT_FOUND) {
+            table.remove(s, p, o, TermDictionary.DEFAULT_GRAPH);
+        }
+    }
+
+    @Override
+    public long size() {
+        return table.size();
+    }
+
+    @Override
+    public Stream<Triple> stream() {
+        return StreamSupport.stream(new RowSpliterator<>(0, table.size(), row -> decode((int) row)), false);
+    }
+
+    @Override
+    public Stream<Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final long s = lookup(subject);
+        final long p = lookup(predicate);
+        final long o = lookup(object);
+        if (s == TermDictionary.NOT_FOUND || p == TermDictionary.NOT_FOUND || o == TermDictionary.NOT_FOUND) {
+            // A term that was never added can't match anything
+            return Stream.empty();
+        }
+        return table.rows(s, p, o, EncodedTable.ANY).<Triple>mapToObj(this::decode).unordered();
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A Quad backed by {@link TermDictionary} identifiers.
+ * <p>
+ * The terms are decoded from the dictionary on access, so streaming a
+ * {@link DictionaryDatasetImpl} only allocates this small view per quad.
+ */
+final class EncodedQuad implements Quad {
+
+    private final TermDictionary dictionary;
+    private final long graphName;
+    private final long subject;
+    private final long predicate;
+    private final long object;
+
+    EncodedQuad(final TermDictionary dictionary, final long graphName, final long subject, final long predicate,
+            final long object) {
+        this.dictionary = dictionary;
+        this.graphName = graphName;
+        this.subject = subject;
+        this.predicate = predicate;
+        this.object = object;
+    }
+
+    @Override
+    public Triple asTriple() {
+        return new EncodedTriple(dictionary, subject, predicate, object);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof EncodedQuad && ((EncodedQuad) obj).dictionary == dictionary) {
+            final EncodedQuad other = (EncodedQuad) obj;
+            return graphName == other.graphName && subject == other.subject && predicate == other.predicate
+                    && object == other.object;
+        }
+        if (!(obj instanceof Quad)) {
+            return false;
+        }
+        final Quad other = (Quad) obj;
+        return getGraphName().equals(other.getGraphName()) && getSubject().equals(other.getSubject())
+                && getPredicate().equals(other.getPredicate()) && getObject().equals(other.getObject());
+    }
+
+    @Override
+    public Optional<BlankNodeOrIRI> getGraphName() {
+        return Optional.ofNullable((BlankNodeOrIRI) dictionary.decode(graphName));
+    }
+
+    @Override
+    public RDFTerm getObject() {
+        return dictionary.decode(object);
+    }
+
+    @Override
+    public IRI getPredicate() {
+        return (IRI) dictionary.decode(predicate);
+    }
+
+    @Override
+    public BlankNodeOrIRI getSubject() {
+        return (BlankNodeOrIRI) dictionary.decode(subject);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSubject(), getPredicate(), getObject(), dictionary.decode(graphName));
+    }
+
+    @Override
+    public String toString() {
+        return getSubject().ntriplesString() + " " + getPredicate().ntriplesString() + " "
+                + getObject().ntriplesString() + " " + getGraphName().map(g -> g.ntriplesString() + " ").orElse("")
+                + ".";
+    }
+
+}
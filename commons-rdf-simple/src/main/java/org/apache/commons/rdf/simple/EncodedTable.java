@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A set of dictionary-encoded triples or quads kept in a primitive
+ * {@code long[]} table.
+ * <p>
+ * Each row holds the {@link TermDictionary} identifiers of the subject,
+ * predicate and object, followed by the graph name if the table is
+ * constructed with {@link #QUAD_WIDTH}. Rows are unique, which is guaranteed
+ * by an open addressing hash table (linear probing) of row numbers. Removing
+ * a row moves the last row into its place, so the table never has gaps.
+ * <p>
+ * Patterns use {@link #ANY} as a wildcard.
+ */
+final class EncodedTable {
+
+    /**
+     * Wildcard for {@link #matches(int, long, long, long, long)}.
+     */
+    static final long ANY = -2;
+
+    /**
+     * Row width of a table of triples.
+     */
+    static final int TRIPLE_WIDTH = 3;
+
+    /**
+     * Row width of a table of quads.
+     */
+    static final int QUAD_WIDTH = 4;
+
+    private static final int INITIAL_ROWS = 64;
+
+    private static int hash(final long s, final long p, final long o, final long g) {
+        long h = s;
+        h = h * 0x9E3779B97F4A7C15L + p;
+        h = h * 0x9E3779B97F4A7C15L + o;
+        h = h * 0x9E3779B97F4A7C15L + g;
+        h ^= h >>> 29;
+        return (int) (h ^ h >>> 32);
+    }
+
+    private final int width;
+
+    private long[] rows;
+
+    /**
+     * Hash slots containing row number + 1, {@code 0} for an empty slot.
+     */
+    private int[] slots;
+
+    private int size;
+
+    EncodedTable(final int width) {
+        this.width = width;
+        this.rows = new long[INITIAL_ROWS * width];
+        this.slots = new int[INITIAL_ROWS * 2];
+    }
+
+    /**
+     * Add a row.
+     *
+     * @param s subject identifier
+     * @param p predicate identifier
+     * @param o object identifier
+     * @param g graph name identifier, ignored for a triple table
+     * @return {@code true} if the row was added, {@code false} if it was
+     *         already present
+     */
+    boolean add(final long s, final long p, final long o, final long g) {
+        final int slot = findSlot(s, p, o, g);
+        if (slots[slot] != 0) {
+            return false;
+        }
+        if ((size + 1) * width > rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        final int offset = size * width;
+        rows[offset] = s;
+        rows[offset + 1] = p;
+        rows[offset + 2] = o;
+        if (width == QUAD_WIDTH) {
+            rows[offset + 3] = g;
+        }
+        slots[slot] = ++size;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Grow the table so that it can hold a number of rows without resizing.
+     *
+     * @param capacity
+     *            Total number of rows
+     */
+    void ensureCapacity(final int capacity) {
+        if (capacity * width > rows.length) {
+            rows = Arrays.copyOf(rows, capacity * width);
+        }
+        if (capacity * 2 > slots.length) {
+            rehash(Integer.highestOneBit(capacity * 2 - 1) << 1);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    boolean contains(final long s, final long p, final long o, final long g) {
+        return slots[findSlot(s, p, o, g)] != 0;
+    }
+
+    private boolean equalsRow(final int row, final long s, final long p, final long o, final long g) {
+        final int offset = row * width;
+        return rows[offset] == s && rows[offset + 1] == p && rows[offset + 2] == o
+                && (width == TRIPLE_WIDTH || rows[offset + 3] == g);
+    }
+
+    private int findSlot(final long s, final long p, final long o, final long g) {
+        final int mask = slots.length - 1;
+        int i = hash(s, p, o, rowGraph(g)) & mask;
+        while (slots[i] != 0 && !equalsRow(slots[i] - 1, s, p, o, g)) {
+            i = i + 1 & mask;
+        }
+        return i;
+    }
+
+    private int homeSlot(final int row) {
+        return hash(subject(row), predicate(row), object(row), graphName(row)) & slots.length - 1;
+    }
+
+    /**
+     * Graph name of a row.
+     *
+     * @param row Row number
+     * @return Graph name identifier, always {@link TermDictionary#DEFAULT_GRAPH}
+     *         for a triple table
+     */
+    long graphName(final int row) {
+        return width == QUAD_WIDTH ? rows[row * width + 3] : TermDictionary.DEFAULT_GRAPH;
+    }
+
+    /**
+     * Check if a row matches a pattern.
+     *
+     * @param row Row number
+     * @param s subject identifier or {@link #ANY}
+     * @param p predicate identifier or {@link #ANY}
+     * @param o object identifier or {@link #ANY}
+     * @param g graph name identifier or {@link #ANY}
+     * @return {@code true} if all non-wildcard columns are equal
+     */
+    boolean matches(final int row, final long s, final long p, final long o, final long g) {
+        final int offset = row * width;
+        return (s == ANY || rows[offset] == s) && (p == ANY || rows[offset + 1] == p)
+                && (o == ANY || rows[offset + 2] == o) && (g == ANY || graphName(row) == g);
+    }
+
+    long object(final int row) {
+        return rows[row * width + 2];
+    }
+
+    long predicate(final int row) {
+        return rows[row * width + 1];
+    }
+
+    private void rehash(final int capacity) {
+        slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            int i = homeSlot(row);
+            while (slots[i] != 0) {
+                i = i + 1 & mask;
+            }
+            slots[i] = row + 1;
+        }
+    }
+
+    /**
+     * Remove a row.
+     *
+     * @param s subject identifier
+     * @param p predicate identifier
+     * @param o object identifier
+     * @param g graph name identifier, ignored for a triple table
+     * @return {@code true} if the row was removed, {@code false} if it was not
+     *         present
+     */
+    boolean remove(final long s, final long p, final long o, final long g) {
+        final int slot = findSlot(s, p, o, g);
+        if (slots[slot] == 0) {
+            return false;
+        }
+        final int row = slots[slot] - 1;
+        removeSlot(slot);
+        final int last = size - 1;
+        if (row != last) {
+            // Move the last row into the hole and repoint its slot
+            final int lastSlot = findSlot(subject(last), predicate(last), object(last), graphName(last));
+            System.arraycopy(rows, last * width, rows, row * width, width);
+            slots[lastSlot] = row + 1;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Empty a slot using backward shift deletion, so that no tombstones are
+     * needed for linear probing.
+     */
+    private void removeSlot(final int slot) {
+        final int mask = slots.length - 1;
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = i + 1 & mask;
+            if (slots[i] == 0) {
+                break;
+            }
+            final int home = homeSlot(slots[i] - 1);
+            // Keep the entry if its home slot is cyclically within (hole, i]
+            final boolean keep = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+            if (!keep) {
+                slots[hole] = slots[i];
+                hole = i;
+            }
+        }
+        slots[hole] = 0;
+    }
+
+    private long rowGraph(final long g) {
+        return width == QUAD_WIDTH ? g : TermDictionary.DEFAULT_GRAPH;
+    }
+
+    /**
+     * Row numbers matching a pattern.
+     *
+     * @param s subject identifier or {@link #ANY}
+     * @param p predicate identifier or {@link #ANY}
+     * @param o object identifier or {@link #ANY}
+     * @param g graph name identifier or {@link #ANY}
+     * @return A sequential stream of matching row numbers
+     */
+    IntStream rows(final long s, final long p, final long o, final long g) {
+        final IntStream all = IntStream.range(0, size);
+        if (s == ANY && p == ANY && o == ANY && g == ANY) {
+            return all;
+        }
+        if (s != ANY && p != ANY && o != ANY && (g != ANY || width == TRIPLE_WIDTH)) {
+            // Fully bound, use the hash slots
+            final int slot = findSlot(s, p, o, g);
+            return slots[slot] == 0 ? IntStream.empty() : IntStream.of(slots[slot] - 1);
+        }
+        return all.filter(row -> matches(row, s, p, o, g));
+    }
+
+    int size() {
+        return size;
+    }
+
+    long subject(final int row) {
+        return rows[row * width];
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Objects;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A Triple backed by {@link TermDictionary} identifiers.
+ * <p>
+ * The terms are decoded from the dictionary on access, so streaming a
+ * {@link DictionaryGraphImpl} only allocates this small view per triple.
+ */
+final class EncodedTriple implements Triple {
+
+    private final TermDictionary dictionary;
+    private final long subject;
+    private final long predicate;
+    private final long object;
+
+    EncodedTriple(final TermDictionary dictionary, final long subject, final long predicate, final long object) {
+        this.dictionary = dictionary;
+        this.subject = subject;
+        this.predicate = predicate;
+        this.object = object;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof EncodedTriple && ((EncodedTriple) obj).dictionary == dictionary) {
+            final EncodedTriple other = (EncodedTriple) obj;
+            return subject == other.subject && predicate == other.predicate && object == other.object;
+        }
+        if (!(obj instanceof Triple)) {
+            return false;
+        }
+        final Triple other = (Triple) obj;
+        return getSubject().equals(other.getSubject()) && getPredicate().equals(other.getPredicate())
+                && getObject().equals(other.getObject());
+    }
+
+    @Override
+    public RDFTerm getObject() {
+        return dictionary.decode(object);
+    }
+
+    @Override
+    public IRI getPredicate() {
+        return (IRI) dictionary.decode(predicate);
+    }
+
+    @Override
+    public BlankNodeOrIRI getSubject() {
+        return (BlankNodeOrIRI) dictionary.decode(subject);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSubject(), getPredicate(), getObject());
+    }
+
+    @Override
+    public String toString() {
+        return getSubject().ntriplesString() + " " + getPredicate().ntriplesString() + " "
+                + getObject().ntriplesString() + " .";
+    }
+
+}
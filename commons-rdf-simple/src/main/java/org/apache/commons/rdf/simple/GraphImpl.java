@@ -17,36 +17,46 @@
  */
 package org.apache.commons.rdf.simple;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
-import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
-import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
 
 /**
  * A simple, memory-based implementation of Graph.
  * <p>
- * {@link Triple}s in the graph are kept in a {@link Set}.
+ * {@link Triple}s in the graph are kept in a {@link Set}, which is a
+ * {@link HashSet} unless another set is given to the constructor (e.g. a
+ * concurrent set for {@link SimpleRDF.Option#concurrent}). With
+ * {@link SimpleRDF.Option#counting}, the number of triples per term is kept in
+ * {@link TermCounts} for {@link #count(BlankNodeOrIRI, IRI, RDFTerm)} and
+ * {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)}.
  * <p>
  * All Stream operations are performed using sequential and unordered directives.
  */
 final class GraphImpl implements Graph {
 
     private static final int TO_STRING_MAX = 10;
-    private final Set<Triple> triples = new HashSet<>();
+    private Set<Triple> triples;
     private final SimpleRDF factory;
+    /**
+     * Counts of {@link SimpleRDF.Option#counting}, or {@code null}.
+     */
+    private final TermCounts counts;
 
-    GraphImpl(final SimpleRDF simpleRDF) {
+    GraphImpl(final SimpleRDF simpleRDF, final Set<Triple> triples, final boolean counting) {
         this.factory = simpleRDF;
+        this.triples = triples;
+        // Any other set is concurrent
+        this.counts = counting ? new TermCounts(!(triples instanceof HashSet)) : null;
     }
 
     @Override
@@ -55,21 +65,51 @@ final class GraphImpl implements Graph {
         final IRI newPredicate = (IRI) internallyMap(predicate);
         final RDFTerm newObject = internallyMap(object);
         final Triple result = factory.createTriple(newSubject, newPredicate, newObject);
-        triples.add(result);
+        addInternal(result);
     }
 
     @Override
     public void add(final Triple triple) {
-        triples.add(internallyMap(triple));
+        addInternal(internallyMap(triple));
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends Triple> statements) {
+        if (statements instanceof Collection && triples instanceof HashSet) {
+            final int added = ((Collection<?>) statements).size();
+            if (added > triples.size()) {
+                // The set would have to grow at least once while adding, so
+                // rehash once to the final capacity instead
+                final Set<Triple> presized = new HashSet<>((int) ((triples.size() + added) / 0.75f) + 1);
+                presized.addAll(triples);
+                triples = presized;
+            }
+        }
+        for (final Triple triple : statements) {
+            addInternal(internallyMap(triple));
+        }
+    }
+
+    private void addInternal(final Triple triple) {
+        if (triples.add(triple) && counts != null) {
+            counts.add(triple.getSubject(), triple.getPredicate(), triple.getObject());
+        }
     }
 
     @Override
     public void clear() {
         triples.clear();
+        if (counts != null) {
+            counts.clear();
+        }
     }
 
     @Override
     public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            // Fully bound, a set lookup rather than a scan
+            return contains(factory.createTriple(subject, predicate, object));
+        }
         return stream(subject, predicate, object).findFirst().isPresent();
     }
 
@@ -78,38 +118,41 @@ final class GraphImpl implements Graph {
         return triples.contains(internallyMap(triple));
     }
 
-    private Stream<Triple> getTriples(final Predicate<Triple> filter) {
-        return stream().filter(filter);
-    }
-
-    private <T extends RDFTerm> RDFTerm internallyMap(final T object) {
-        if (object == null || object instanceof SimpleRDFTerm) {
-            // No need to re-map our own objects.
-            // We support null as internallyMap() is also used by the filters,
-            // and the
-            // factory constructors later do null checks
-            return object;
+    /**
+     * Count from the {@link TermCounts} for a single bound term, if kept,
+     * otherwise by matching.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
         }
-        if (object instanceof BlankNode) {
-            final BlankNode blankNode = (BlankNode) object;
-            // This guarantees that adding the same BlankNode multiple times to
-            // this graph will generate a local object that is mapped to an
-            // equivalent object, based on the code in the package private
-            // BlankNodeImpl class
-            return factory.createBlankNode(blankNode.uniqueReference());
+        if (subject == null && predicate == null && object == null) {
+            return size();
         }
-        if (object instanceof IRI) {
-            final IRI iri = (IRI) object;
-            return factory.createIRI(iri.getIRIString());
+        if (counts != null && TermCounts.isExact(subject, predicate, object)) {
+            return counts.estimate(size(), internallyMap(subject), internallyMap(predicate), internallyMap(object));
         }
-        if (!(object instanceof Literal)) {
-            throw new IllegalArgumentException("RDFTerm was neither a BlankNode, IRI nor Literal: " + object);
+        return stream(subject, predicate, object).count();
+    }
+
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
         }
-        final Literal literal = (Literal) object;
-        if (literal.getLanguageTag().isPresent()) {
-            return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
+        if (counts == null) {
+            return count(subject, predicate, object);
         }
-        return factory.createLiteral(literal.getLexicalForm(), (IRI) internallyMap(literal.getDatatype()));
+        return counts.estimate(size(), internallyMap(subject), internallyMap(predicate), internallyMap(object));
+    }
+
+    private Stream<Triple> getTriples(final Predicate<Triple> filter) {
+        return stream().filter(filter);
+    }
+
+    private RDFTerm internallyMap(final RDFTerm object) {
+        return factory.internallyMap(object);
     }
 
     private Triple internallyMap(final Triple triple) {
@@ -136,7 +179,10 @@ final class GraphImpl implements Graph {
 
     @Override
     public void remove(final Triple triple) {
-        triples.remove(internallyMap(triple));
+        final Triple t = internallyMap(triple);
+        if (triples.remove(t) && counts != null) {
+            counts.remove(t.getSubject(), t.getPredicate(), t.getObject());
+        }
     }
 
     @Override
@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A memory-based implementation of Graph with permuted indexes.
+ * <p>
+ * Each {@link Triple} is kept in three nested indexes: subject-predicate
+ * (SPO), predicate-object (POS) and object-subject (OSP). Any triple pattern
+ * with one or two bound terms is answered by at most two map lookups in the
+ * index that has the bound terms as its leading keys, and a fully bound
+ * pattern is a single set membership test. The same {@link Triple} instance
+ * is shared by all three indexes.
+ * <p>
+ * All Stream operations are performed using sequential and unordered
+ * directives. Streams of all triples are split by subject and predicate, and
+ * report their size, for {@link #parallelStream()}.
+ *
+ * @see SimpleRDF.Option#indexed
+ */
+final class IndexedGraphImpl implements Graph {
+
+    private static final int TO_STRING_MAX = 10;
+
+    private final Map<BlankNodeOrIRI, Map<IRI, Set<Triple>>> spo = new HashMap<>();
+    private final Map<IRI, Map<RDFTerm, Set<Triple>>> pos = new HashMap<>();
+    private final Map<RDFTerm, Map<BlankNodeOrIRI, Set<Triple>>> osp = new HashMap<>();
+    private final SimpleRDF factory;
+    private long size;
+
+    IndexedGraphImpl(final SimpleRDF simpleRDF) {
+        this.factory = simpleRDF;
+    }
+
+    private static <K1, K2> boolean addTo(final Map<K1, Map<K2, Set<Triple>>> index, final K1 first, final K2 second,
+            final Triple triple) {
+        return index.computeIfAbsent(first, k -> new HashMap<>()).computeIfAbsent(second, k -> new HashSet<>())
+                .add(triple);
+    }
+
+    private static <K1, K2> long count(final Map<K1, Map<K2, Set<Triple>>> index, final K1 first) {
+        final Map<K2, Set<Triple>> inner = index.get(first);
+        if (inner == null) {
+            return 0;
+        }
+        long count = 0;
+        for (final Set<Triple> triples : inner.values()) {
+            count += triples.size();
+        }
+        return count;
+    }
+
+    private static <K1, K2> Set<Triple> lookup(final Map<K1, Map<K2, Set<Triple>>> index, final K1 first,
+            final K2 second) {
+        final Map<K2, Set<Triple>> inner = index.get(first);
+        if (inner == null) {
+            return Collections.emptySet();
+        }
+        return inner.getOrDefault(second, Collections.emptySet());
+    }
+
+    private static <K1, K2> Stream<Triple> lookup(final Map<K1, Map<K2, Set<Triple>>> index, final K1 first) {
+        final Map<K2, Set<Triple>> inner = index.get(first);
+        if (inner == null) {
+            return Stream.empty();
+        }
+        return inner.values().stream().flatMap(Collection::stream);
+    }
+
+    private static <K1, K2> void removeFrom(final Map<K1, Map<K2, Set<Triple>>> index, final K1 first,
+            final K2 second, final Triple triple) {
+        final Map<K2, Set<Triple>> inner = index.get(first);
+        if (inner == null) {
+            return;
+        }
+        final Set<Triple> triples = inner.get(second);
+        if (triples == null || !triples.remove(triple)) {
+            return;
+        }
+        // Prune empty branches so the indexes don't keep terms alive
+        if (triples.isEmpty()) {
+            inner.remove(second);
+            if (inner.isEmpty()) {
+                index.remove(first);
+            }
+        }
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+        addInternal(factory.createTriple(newSubject, newPredicate, newObject));
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        addInternal(internallyMap(triple));
+    }
+
+    private void addInternal(final Triple triple) {
+        if (addTo(spo, triple.getSubject(), triple.getPredicate(), triple)) {
+            addTo(pos, triple.getPredicate(), triple.getObject(), triple);
+            addTo(osp, triple.getObject(), triple.getSubject(), triple);
+            size++;
+        }
+    }
+
+    @Override
+    public void clear() {
+        spo.clear();
+        pos.clear();
+        osp.clear();
+        size = 0;
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        final Triple t = internallyMap(triple);
+        return lookup(spo, t.getSubject(), t.getPredicate()).contains(t);
+    }
+
+    /**
+     * Count the matching triples from the index sizes.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI s = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI p = (IRI) internallyMap(predicate);
+        final RDFTerm o = internallyMap(object);
+        if (s != null && p != null && o != null) {
+            return lookup(spo, s, p).contains(factory.createTriple(s, p, o)) ? 1 : 0;
+        }
+        if (s != null && p != null) {
+            return lookup(spo, s, p).size();
+        }
+        if (p != null && o != null) {
+            return lookup(pos, p, o).size();
+        }
+        if (o != null && s != null) {
+            return lookup(osp, o, s).size();
+        }
+        if (s != null) {
+            return count(spo, s);
+        }
+        if (p != null) {
+            return count(pos, p);
+        }
+        if (o != null) {
+            return count(osp, o);
+        }
+        return size;
+    }
+
+    /**
+     * Count the matching triples from the index sizes, which is exact.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return count(subject, predicate, object);
+    }
+
+    private RDFTerm internallyMap(final RDFTerm object) {
+        return factory.internallyMap(object);
+    }
+
+    private Triple internallyMap(final Triple triple) {
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(triple.getSubject());
+        final IRI newPredicate = (IRI) internallyMap(triple.getPredicate());
+        final RDFTerm newObject = internallyMap(triple.getObject());
+        // Check if any of the object references changed during the mapping, to
+        // avoid creating a new Triple object if possible
+        if (newSubject == triple.getSubject() && newPredicate == triple.getPredicate()
+                && newObject == triple.getObject()) {
+            return triple;
+        }
+        return factory.createTriple(newSubject, newPredicate, newObject);
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final List<Triple> toRemove = stream(subject, predicate, object).collect(Collectors.toList());
+        // Avoid ConcurrentModificationException in the indexes
+        toRemove.forEach(this::removeInternal);
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        removeInternal(internallyMap(triple));
+    }
+
+    private void removeInternal(final Triple triple) {
+        if (!lookup(spo, triple.getSubject(), triple.getPredicate()).contains(triple)) {
+            return;
+        }
+        removeFrom(spo, triple.getSubject(), triple.getPredicate(), triple);
+        removeFrom(pos, triple.getPredicate(), triple.getObject(), triple);
+        removeFrom(osp, triple.getObject(), triple.getSubject(), triple);
+        size--;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Stream<Triple> stream() {
+        // The subject-predicate sets are only collected once the stream is used
+        return StreamSupport.stream(() -> {
+            final List<Set<Triple>> partitions = new ArrayList<>();
+            spo.values().forEach(m -> partitions.addAll(m.values()));
+            return new PartitionSpliterator<>(partitions, true);
+        }, Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED, false);
+    }
+
+    @Override
+    public Stream<Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI s = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI p = (IRI) internallyMap(predicate);
+        final RDFTerm o = internallyMap(object);
+
+        final Stream<Triple> matches;
+        if (s != null && p != null && o != null) {
+            final Triple pattern = factory.createTriple(s, p, o);
+            // The pattern is equal to the stored triple, if any
+            matches = lookup(spo, s, p).contains(pattern) ? Stream.of(pattern) : Stream.empty();
+        } else if (s != null && p != null) {
+            matches = lookup(spo, s, p).stream();
+        } else if (p != null && o != null) {
+            matches = lookup(pos, p, o).stream();
+        } else if (o != null && s != null) {
+            matches = lookup(osp, o, s).stream();
+        } else if (s != null) {
+            matches = lookup(spo, s);
+        } else if (p != null) {
+            matches = lookup(pos, p);
+        } else if (o != null) {
+            matches = lookup(osp, o);
+        } else {
+            matches = stream();
+        }
+        return matches.unordered();
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
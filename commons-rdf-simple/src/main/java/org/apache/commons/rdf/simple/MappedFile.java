@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only memory mapping of a whole file.
+ * <p>
+ * A single {@link MappedByteBuffer} is limited to 2 GiB, so the file is
+ * mapped in chunks and addressed with {@code long} positions. Values that
+ * span two chunks are assembled byte by byte. All reads are absolute, so a
+ * MappedFile can be shared by several readers.
+ * <p>
+ * The data lives in the operating system page cache rather than on the Java
+ * heap, and the mapping stays valid until it is garbage collected, even if
+ * the file is replaced.
+ */
+final class MappedFile {
+
+    private static final int CHUNK_BITS = 30;
+
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Map a file.
+     *
+     * @param path
+     *            File to map
+     * @return The mapped file
+     * @throws IOException
+     *             If the file can't be opened or mapped
+     */
+    static MappedFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+            for (int i = 0; i < chunks.length; i++) {
+                final long position = (long) i << CHUNK_BITS;
+                chunks[i] = channel.map(MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+            }
+            return new MappedFile(chunks, size);
+        }
+    }
+
+    private final MappedByteBuffer[] chunks;
+
+    private final long size;
+
+    private MappedFile(final MappedByteBuffer[] chunks, final long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    byte get(final long position) {
+        return chunks[(int) (position >>> CHUNK_BITS)].get((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * Copy bytes from the file.
+     *
+     * @param position
+     *            Position of the first byte
+     * @param dst
+     *            Destination, filled completely
+     */
+    void get(final long position, final byte[] dst) {
+        int done = 0;
+        while (done < dst.length) {
+            final long p = position + done;
+            final MappedByteBuffer chunk = chunks[(int) (p >>> CHUNK_BITS)];
+            final int offset = (int) (p & CHUNK_MASK);
+            final int length = Math.min(dst.length - done, chunk.limit() - offset);
+            // Absolute bulk get is Java 13+, so go through a duplicate
+            final ByteBuffer view = chunk.duplicate();
+            view.position(offset);
+            view.get(dst, done, length);
+            done += length;
+        }
+    }
+
+    int getInt(final long position) {
+        final MappedByteBuffer chunk = chunks[(int) (position >>> CHUNK_BITS)];
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset + Integer.BYTES <= chunk.limit()) {
+            return chunk.getInt(offset);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << 8 | get(position + i) & 0xff;
+        }
+        return value;
+    }
+
+    long getLong(final long position) {
+        final MappedByteBuffer chunk = chunks[(int) (position >>> CHUNK_BITS)];
+        final int offset = (int) (position & CHUNK_MASK);
+        if (offset + Long.BYTES <= chunk.limit()) {
+            return chunk.getLong(offset);
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = value << 8 | get(position + i) & 0xff;
+        }
+        return value;
+    }
+
+    long size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A Graph persisted in a {@link TripleFile}.
+ * <p>
+ * The triples of the file are memory-mapped, so opening the graph does not
+ * read them onto the heap. Triples added or removed since the graph was opened
+ * are kept in memory, and are written to the file by {@link #close()}, which
+ * replaces the file and maps it again. The graph remains usable after
+ * {@link #close()}.
+ * <p>
+ * Blank nodes keep their {@link org.apache.commons.rdf.api.BlankNode#uniqueReference()}
+ * when written and read back.
+ * <p>
+ * This class is not thread-safe. All Stream operations are performed using
+ * sequential and unordered directives.
+ *
+ * @see SimpleRDF#createGraph(Path)
+ */
+final class MappedGraphImpl implements Graph {
+
+    private static final int TO_STRING_MAX = 10;
+
+    private final SimpleRDF factory;
+
+    private final Path path;
+
+    /**
+     * The triples in the file, {@code null} if there is no file yet or if the
+     * graph has been cleared.
+     */
+    private TripleFile file;
+
+    /**
+     * Triples added since the file was written, never in {@link #file}.
+     */
+    private final Set<Triple> added = new HashSet<>();
+
+    /**
+     * Triples of {@link #file} removed since it was written.
+     */
+    private final Set<Triple> removed = new HashSet<>();
+
+    private boolean modified;
+
+    MappedGraphImpl(final SimpleRDF simpleRDF, final Path path) throws IOException {
+        this.factory = simpleRDF;
+        this.path = path;
+        // An empty file, e.g. from Files.createTempFile(), is an empty graph
+        if (Files.exists(path) && Files.size(path) > 0) {
+            this.file = TripleFile.open(path, factory);
+        }
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        addInternal(factory.createTriple((BlankNodeOrIRI) internallyMap(subject), (IRI) internallyMap(predicate),
+                internallyMap(object)));
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        add(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    private void addInternal(final Triple triple) {
+        if (inFile(triple)) {
+            modified |= removed.remove(triple);
+        } else {
+            modified |= added.add(triple);
+        }
+    }
+
+    @Override
+    public void clear() {
+        file = null;
+        added.clear();
+        removed.clear();
+        modified = true;
+    }
+
+    /**
+     * Write any changes to the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!modified) {
+            return;
+        }
+        if (file == null && added.isEmpty()) {
+            Files.deleteIfExists(path);
+        } else {
+            TripleFile.write(path, stream().iterator());
+        }
+        file = Files.exists(path) ? TripleFile.open(path, factory) : null;
+        added.clear();
+        removed.clear();
+        modified = false;
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        return contains(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    /**
+     * Count the matches in the file from the size of their range, without
+     * decoding them, and adjust for the pending changes.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+        final Predicate<Triple> matches = matching(newSubject, newPredicate, newObject);
+        // The stream of a range knows its size, so counting does not decode
+        final long stored = file == null ? 0 : file.stream(newSubject, newPredicate, newObject).count();
+        return stored - removed.stream().filter(matches).count() + added.stream().filter(matches).count();
+    }
+
+    private boolean inFile(final Triple triple) {
+        return file != null && file.contains(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    private RDFTerm internallyMap(final RDFTerm object) {
+        return factory.internallyMap(object);
+    }
+
+    /**
+     * Match a pattern of internally mapped terms, with {@code null} as a
+     * wildcard.
+     */
+    private static Predicate<Triple> matching(final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        return t -> {
+            if (subject != null && !t.getSubject().equals(subject)) {
+                return false;
+            }
+            if (predicate != null && !t.getPredicate().equals(predicate)) {
+                return false;
+            }
+            if (object != null && !t.getObject().equals(object)) {
+                return false;
+            }
+            return true;
+        };
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        for (final Triple t : stream(subject, predicate, object).collect(Collectors.toList())) {
+            remove(t);
+        }
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        final Triple t = factory.createTriple((BlankNodeOrIRI) internallyMap(triple.getSubject()),
+                (IRI) internallyMap(triple.getPredicate()), internallyMap(triple.getObject()));
+        if (added.remove(t)) {
+            modified = true;
+        } else if (inFile(t)) {
+            modified |= removed.add(t);
+        }
+    }
+
+    @Override
+    public long size() {
+        return (file == null ? 0 : file.size()) - removed.size() + added.size();
+    }
+
+    @Override
+    public Stream<Triple> stream() {
+        return stream(null, null, null);
+    }
+
+    @Override
+    public Stream<Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+
+        Stream<Triple> stored = file == null ? Stream.empty() : file.stream(newSubject, newPredicate, newObject);
+        if (!removed.isEmpty()) {
+            stored = stored.filter(t -> !removed.contains(t));
+        }
+        final Stream<Triple> pending = added.stream().filter(matching(newSubject, newPredicate, newObject));
+        return Stream.concat(stored, pending).unordered();
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
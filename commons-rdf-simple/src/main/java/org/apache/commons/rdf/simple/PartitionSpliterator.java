@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the elements of disjoint partitions, e.g. the
+ * quads of each graph of a dataset.
+ * <p>
+ * It splits between partitions first, balancing the number of elements
+ * rather than the number of partitions, and then splits the
+ * {@link Collection#spliterator()} of the last partition, so that a large
+ * partition is split as well as a small one.
+ * <p>
+ * The partitions must be disjoint and without {@code null} elements. If they
+ * are not modified while the spliterator is used, it can report
+ * {@link #SIZED}.
+ *
+ * @param <T>
+ *            Type of the elements
+ */
+final class PartitionSpliterator<T> implements Spliterator<T> {
+
+    private final List<? extends Collection<? extends T>> partitions;
+
+    /**
+     * Number of elements before each partition, with the total number of
+     * elements at the end.
+     */
+    private final long[] offsets;
+    private final int characteristics;
+
+    /**
+     * Next partition to traverse.
+     */
+    private int index;
+
+    /**
+     * Partition after the last one to traverse.
+     */
+    private int fence;
+
+    /**
+     * Spliterator of the partition being traversed, or {@code null}.
+     */
+    private Spliterator<? extends T> current;
+
+    /**
+     * Constructs a spliterator over partitions.
+     *
+     * @param partitions
+     *            Disjoint partitions, which should not be modified by the
+     *            caller while the spliterator is used
+     * @param sized
+     *            {@code true} if the partitions are not modified while the
+     *            spliterator is used, so that it is {@link #SIZED}, or
+     *            {@code false} if they are concurrent collections
+     */
+    PartitionSpliterator(final List<? extends Collection<? extends T>> partitions, final boolean sized) {
+        this(partitions, offsets(partitions), DISTINCT | NONNULL | (sized ? SIZED : CONCURRENT), 0,
+                partitions.size());
+    }
+
+    private PartitionSpliterator(final List<? extends Collection<? extends T>> partitions, final long[] offsets,
+            final int characteristics, final int index, final int fence) {
+        this.partitions = partitions;
+        this.offsets = offsets;
+        this.characteristics = characteristics;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    private static long[] offsets(final List<? extends Collection<?>> partitions) {
+        final long[] offsets = new long[partitions.size() + 1];
+        for (int i = 0; i < partitions.size(); i++) {
+            offsets[i + 1] = offsets[i] + partitions.get(i).size();
+        }
+        return offsets;
+    }
+
+    @Override
+    public int characteristics() {
+        if (current == null || current.hasCharacteristics(SIZED)) {
+            return characteristics;
+        }
+        // Split within a partition, which may not be exact
+        return characteristics & ~SIZED;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (current == null ? 0 : current.estimateSize()) + offsets[fence] - offsets[index];
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        if (current != null) {
+            current.forEachRemaining(action);
+            current = null;
+        }
+        while (index < fence) {
+            partitions.get(index++).forEach(action);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (current == null || !current.tryAdvance(action)) {
+            if (index == fence) {
+                current = null;
+                return false;
+            }
+            current = partitions.get(index++).spliterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (current == null && fence - index > 1) {
+            // Split where half of the elements are on each side
+            final long half = (offsets[index] + offsets[fence]) >>> 1;
+            int mid = Arrays.binarySearch(offsets, index, fence, half);
+            if (mid < 0) {
+                mid = -mid - 1;
+                if (mid > index && offsets[mid] - half > half - offsets[mid - 1]) {
+                    // The previous boundary is closer to the middle
+                    mid--;
+                }
+            }
+            mid = Math.max(index + 1, Math.min(fence - 1, mid));
+            final Spliterator<T> prefix = new PartitionSpliterator<>(partitions, offsets, characteristics, index, mid);
+            index = mid;
+            return prefix;
+        }
+        if (current != null && index < fence) {
+            // Hand over the partitions after the current one
+            final Spliterator<T> rest = new PartitionSpliterator<>(partitions, offsets, characteristics, index, fence);
+            fence = index;
+            return rest;
+        }
+        if (current == null && index < fence) {
+            current = partitions.get(index++).spliterator();
+        }
+        @SuppressWarnings("unchecked")
+        final Spliterator<T> split = current == null ? null : (Spliterator<T>) current.trySplit();
+        return split;
+    }
+
+}
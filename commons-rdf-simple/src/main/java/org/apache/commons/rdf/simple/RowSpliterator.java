@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * A {@link Spliterator} over a range of row numbers of a table, e.g. an
+ * {@link EncodedTable}, decoding each row to an element.
+ * <p>
+ * The range is split in halves, so that the spliterator is {@link #SIZED}
+ * and {@link #SUBSIZED}. The rows must be distinct and decode to
+ * non-{@code null} elements.
+ *
+ * @param <T>
+ *            Type of the elements
+ */
+final class RowSpliterator<T> implements Spliterator<T> {
+
+    private final LongFunction<? extends T> decoder;
+    private long origin;
+    private final long fence;
+
+    /**
+     * Constructs a spliterator over rows.
+     *
+     * @param origin
+     *            First row (inclusive)
+     * @param fence
+     *            Last row (exclusive)
+     * @param decoder
+     *            Function that decodes a row number
+     */
+    RowSpliterator(final long origin, final long fence, final LongFunction<? extends T> decoder) {
+        this.origin = origin;
+        this.fence = fence;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | DISTINCT | NONNULL;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        final long end = fence;
+        for (long row = origin; row < end; row++) {
+            action.accept(decoder.apply(row));
+        }
+        origin = end;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (origin >= fence) {
+            return false;
+        }
+        action.accept(decoder.apply(origin++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final long mid = origin + fence >>> 1;
+        if (mid <= origin) {
+            return null;
+        }
+        final Spliterator<T> prefix = new RowSpliterator<>(origin, mid, decoder);
+        origin = mid;
+        return prefix;
+    }
+
+}
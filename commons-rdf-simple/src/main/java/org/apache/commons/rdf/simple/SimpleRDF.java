@@ -17,7 +17,14 @@
  */
 package org.apache.commons.rdf.simple;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
@@ -38,9 +45,161 @@ import org.apache.commons.rdf.api.Triple;
  * Implementations that are not thread-safe or efficient, but which may be
  * useful for testing and prototyping purposes.
  * </p>
+ * <p>
+ * Alternative storage for {@link #createGraph()} and {@link #createDataset()}
+ * can be selected by passing {@link Option}s to {@link #SimpleRDF(Option...)},
+ * e.g. {@link Option#indexed} for pattern lookups that avoid scanning every
+ * triple, {@link Option#dictionary} for a smaller memory footprint or
+ * {@link Option#concurrent} for use from multiple threads.
+ * </p>
  */
 public class SimpleRDF implements RDF {
 
+    /**
+     * Options for the {@link Graph} and {@link Dataset} instances created by
+     * {@link SimpleRDF}.
+     *
+     * @since 0.6.0
+     */
+    public enum Option {
+
+        /**
+         * {@link #createGraph()} should return a graph that keeps
+         * subject-predicate-object, predicate-object-subject and
+         * object-subject-predicate indexes, so that
+         * {@link Graph#stream(BlankNodeOrIRI, IRI, RDFTerm)},
+         * {@link Graph#contains(BlankNodeOrIRI, IRI, RDFTerm)} and
+         * {@link Graph#remove(BlankNodeOrIRI, IRI, RDFTerm)} only visit the
+         * matching triples.
+         * <p>
+         * This roughly triples the memory used per triple compared to the
+         * default graph.
+         *
+         * @since 0.6.0
+         */
+        indexed,
+
+        /**
+         * {@link #createGraph()} and {@link #createDataset()} should return
+         * instances that encode each distinct {@link RDFTerm} once as a
+         * {@code long} identifier, and keep the triples or quads as rows of
+         * identifiers in a primitive array rather than as {@link Triple} or
+         * {@link Quad} objects.
+         * <p>
+         * This uses a fraction of the memory of the default graph and
+         * dataset, at the cost of decoding terms when they are streamed.
+         * Pattern lookups scan the rows, but compare identifiers rather than
+         * terms.
+         * <p>
+         * This option can't be combined with {@link #indexed} or
+         * {@link #concurrent}.
+         *
+         * @since 0.6.0
+         */
+        dictionary,
+
+        /**
+         * {@link #createGraph()} and {@link #createDataset()} should return
+         * thread-safe instances backed by {@link ConcurrentHashMap},
+         * so that any number of threads can add, remove, look up and stream
+         * triples or quads without external locking.
+         * <p>
+         * Streams are weakly consistent: they never throw
+         * {@link java.util.ConcurrentModificationException}, and may or may
+         * not reflect modifications made after they were created.
+         * <p>
+         * This option can't be combined with {@link #indexed} or
+         * {@link #dictionary}.
+         *
+         * @since 0.6.0
+         */
+        concurrent,
+
+        /**
+         * {@link #createIRI(String)} and the {@code createLiteral} methods
+         * should return canonical instances from a bounded, thread-safe pool
+         * of recently created terms, rather than a new instance per call.
+         * <p>
+         * Literals are only pooled if their lexical form has at most
+         * {@value SimpleRDF#MAX_INTERNED_LITERAL_LENGTH} characters. The pool
+         * holds {@value SimpleRDF#DEFAULT_INTERN_CAPACITY} terms unless a
+         * capacity is given to {@link SimpleRDF#SimpleRDF(int, Option...)},
+         * and its effectiveness can be checked with
+         * {@link SimpleRDF#getInternHits()} and
+         * {@link SimpleRDF#getInternMisses()}.
+         * <p>
+         * This option can be combined with any other option.
+         *
+         * @since 0.6.0
+         */
+        interning,
+
+        /**
+         * The created graphs and datasets should keep a bounded cache of
+         * the terms from other {@link RDF} implementations they have
+         * converted, so that e.g. a predicate that is added, looked up or
+         * used in a pattern many times is only converted once.
+         * <p>
+         * The cache holds {@value SimpleRDF#DEFAULT_CONVERSION_CACHE_CAPACITY}
+         * terms and is shared by all graphs and datasets of this factory.
+         * Its effectiveness can be checked with
+         * {@link SimpleRDF#getConversionCache()}.
+         * <p>
+         * This option can be combined with any other option.
+         *
+         * @since 0.6.0
+         */
+        caching,
+
+        /**
+         * The created graphs and datasets should keep the number of triples
+         * or quads per term, updated on each add and remove, so that
+         * {@link Graph#count(BlankNodeOrIRI, IRI, RDFTerm)} and
+         * {@link Graph#estimateCount(BlankNodeOrIRI, IRI, RDFTerm)} of a
+         * pattern with a single bound term don't have to match every triple.
+         * <p>
+         * This costs a map update per term on every add and remove, so only
+         * use it if patterns are counted or estimated, e.g. by a query
+         * engine. Without it, counts and estimates match the pattern.
+         * <p>
+         * Only the default and {@link #concurrent} graphs and the default
+         * dataset keep counts; {@link #indexed} graphs always count from
+         * their indexes. This option can be combined with any other option.
+         *
+         * @since 0.6.0
+         */
+        counting
+    }
+
+    /**
+     * Default number of terms kept by {@link Option#caching}.
+     *
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_CONVERSION_CACHE_CAPACITY = 1 << 12;
+
+    /**
+     * Default number of terms kept by {@link Option#interning}.
+     *
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_INTERN_CAPACITY = 1 << 16;
+
+    /**
+     * Maximum length of the lexical form of literals kept by
+     * {@link Option#interning}.
+     *
+     * @since 0.6.0
+     */
+    public static final int MAX_INTERNED_LITERAL_LENGTH = 64;
+
+    /**
+     * Options that select the storage of the created graphs and datasets, of
+     * which at most one can be used.
+     */
+    private static final EnumSet<Option> STORAGE_OPTIONS = EnumSet.of(Option.indexed, Option.dictionary,
+            Option.concurrent);
+
     /**
      * Marker interface to say that this RDFTerm is part of the Simple
      * implementation. Used by {@link GraphImpl} to avoid double remapping.
@@ -56,11 +215,75 @@ public class SimpleRDF implements RDF {
      */
     private final UUID SALT = UUID.randomUUID();
 
+    private final EnumSet<Option> options;
+
+    /**
+     * Canonical terms for {@link Option#interning}, or {@code null}.
+     */
+    private final TermPool pool;
+
+    /**
+     * Converted foreign terms for {@link Option#caching}, or {@code null}.
+     */
+    private final ConversionCache<RDFTerm> conversions;
+
     /**
      * Constructs a new instance.
      */
     public SimpleRDF() {
-        // empty
+        this.options = EnumSet.noneOf(Option.class);
+        this.pool = null;
+        this.conversions = null;
+    }
+
+    /**
+     * Constructs a new instance with {@link Option#interning} and the given
+     * options.
+     *
+     * @param internCapacity
+     *            Maximum number of terms kept for {@link Option#interning}
+     * @param options
+     *            Options for the created graphs and datasets
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive, or the options can't be
+     *             combined
+     * @since 0.6.0
+     */
+    public SimpleRDF(final int internCapacity, final Option... options) {
+        this.options = checkOptions(options);
+        this.options.add(Option.interning);
+        this.pool = new TermPool(internCapacity);
+        this.conversions = newConversionCache(this.options);
+    }
+
+    /**
+     * Constructs a new instance with the given options.
+     *
+     * @param options
+     *            Options for the created graphs and datasets
+     * @throws IllegalArgumentException
+     *             if the options can't be combined
+     * @since 0.6.0
+     */
+    public SimpleRDF(final Option... options) {
+        this.options = checkOptions(options);
+        this.pool = this.options.contains(Option.interning) ? new TermPool(DEFAULT_INTERN_CAPACITY) : null;
+        this.conversions = newConversionCache(this.options);
+    }
+
+    private static ConversionCache<RDFTerm> newConversionCache(final EnumSet<Option> options) {
+        return options.contains(Option.caching) ? new ConversionCache<>(DEFAULT_CONVERSION_CACHE_CAPACITY) : null;
+    }
+
+    private static EnumSet<Option> checkOptions(final Option... options) {
+        final EnumSet<Option> result = EnumSet.noneOf(Option.class);
+        result.addAll(Arrays.asList(options));
+        final EnumSet<Option> storage = EnumSet.copyOf(STORAGE_OPTIONS);
+        storage.retainAll(result);
+        if (storage.size() > 1) {
+            throw new IllegalArgumentException("Options " + storage + " can't be combined");
+        }
+        return result;
     }
 
     @Override
@@ -75,44 +298,194 @@ public class SimpleRDF implements RDF {
 
     @Override
     public Dataset createDataset() throws UnsupportedOperationException {
-        return new DatasetImpl(this);
+        if (options.contains(Option.dictionary)) {
+            return new DictionaryDatasetImpl(this);
+        }
+        if (options.contains(Option.concurrent)) {
+            return new ConcurrentDatasetImpl(this);
+        }
+        return new DatasetImpl(this, options.contains(Option.counting));
     }
 
     @Override
     public Graph createGraph() {
+        if (options.contains(Option.indexed)) {
+            return new IndexedGraphImpl(this);
+        }
+        if (options.contains(Option.dictionary)) {
+            return new DictionaryGraphImpl(this);
+        }
+        if (options.contains(Option.concurrent)) {
+            return new GraphImpl(this, ConcurrentHashMap.newKeySet(), options.contains(Option.counting));
+        }
         // Creates a GraphImpl object using this object as the factory for
         // delegating all object creation to
-        return new GraphImpl(this);
+        return new GraphImpl(this, new HashSet<>(), options.contains(Option.counting));
+    }
+
+    /**
+     * Create a graph persisted in a file.
+     * <p>
+     * The file holds the encoded terms and sorted triple tables, and is
+     * memory-mapped rather than read onto the heap, so reopening even a large
+     * graph is near-instant. Changes are kept in memory until
+     * {@link Graph#close()}, which writes the file.
+     * <p>
+     * The returned graph is not thread-safe, and ignores any {@link Option}s.
+     *
+     * @param path
+     *            File of the graph, which is created on {@link Graph#close()}
+     *            if it does not exist
+     * @return A graph with the triples of the file
+     * @throws IOException
+     *             If the file exists but can't be mapped, or is not a file
+     *             written by this method
+     * @since 0.6.0
+     */
+    public Graph createGraph(final Path path) throws IOException {
+        return new MappedGraphImpl(this, path);
     }
 
     @Override
     public IRI createIRI(final String iri) {
-        final IRI result = new IRIImpl(iri);
-        // Reuse any IRI objects already created in Types
-        return Types.get(result).orElse(result);
+        if (pool != null) {
+            return pool.intern(iri.hashCode(),
+                    t -> t instanceof IRI && ((IRI) t).getIRIString().equals(iri), () -> newIRI(iri));
+        }
+        return newIRI(iri);
     }
 
     @Override
     public Literal createLiteral(final String literal) {
+        if (pool != null && literal.length() <= MAX_INTERNED_LITERAL_LENGTH) {
+            return pool.intern(literal.hashCode() * 31 + Types.XSD_STRING.hashCode(),
+                    t -> isLiteral(t, literal, Types.XSD_STRING), () -> new LiteralImpl(literal));
+        }
         return new LiteralImpl(literal);
     }
 
     @Override
     public Literal createLiteral(final String literal, final IRI dataType) {
+        if (pool != null && literal.length() <= MAX_INTERNED_LITERAL_LENGTH) {
+            return pool.intern(literal.hashCode() * 31 + dataType.hashCode(),
+                    t -> isLiteral(t, literal, dataType), () -> new LiteralImpl(literal, dataType));
+        }
         return new LiteralImpl(literal, dataType);
     }
 
     @Override
     public Literal createLiteral(final String literal, final String language) {
+        if (pool != null && literal.length() <= MAX_INTERNED_LITERAL_LENGTH) {
+            // Language tags are case insensitive, so only hash the lexical form
+            return pool.intern(literal.hashCode() * 31 + Types.RDF_LANGSTRING.hashCode(), t -> t instanceof Literal
+                    && ((Literal) t).getLexicalForm().equals(literal)
+                    && ((Literal) t).getLanguageTag().map(language::equalsIgnoreCase).orElse(false),
+                    () -> new LiteralImpl(literal, language));
+        }
         return new LiteralImpl(literal, language);
     }
 
+    private static boolean isLiteral(final RDFTerm term, final String lexicalForm, final IRI dataType) {
+        if (!(term instanceof Literal)) {
+            return false;
+        }
+        final Literal literal = (Literal) term;
+        return literal.getLexicalForm().equals(lexicalForm) && !literal.getLanguageTag().isPresent()
+                && literal.getDatatype().equals(dataType);
+    }
+
+    private static IRI newIRI(final String iri) {
+        final IRI result = new IRIImpl(iri);
+        // Reuse any IRI objects already created in Types
+        return Types.get(result).orElse(result);
+    }
+
+    /**
+     * Gets the cache of converted foreign terms of {@link Option#caching},
+     * e.g. to check its {@link ConversionCache#getHitRate()}.
+     *
+     * @return The conversion cache, or {@link Optional#empty()} without
+     *         {@link Option#caching}
+     * @since 0.6.0
+     */
+    public Optional<ConversionCache<RDFTerm>> getConversionCache() {
+        return Optional.ofNullable(conversions);
+    }
+
+    /**
+     * Number of {@link Option#interning} lookups that returned a pooled term.
+     *
+     * @return Number of hits, or {@code 0} without {@link Option#interning}
+     * @since 0.6.0
+     */
+    public long getInternHits() {
+        return pool == null ? 0 : pool.hits();
+    }
+
+    /**
+     * Number of {@link Option#interning} lookups that created a new term.
+     *
+     * @return Number of misses, or {@code 0} without {@link Option#interning}
+     * @since 0.6.0
+     */
+    public long getInternMisses() {
+        return pool == null ? 0 : pool.misses();
+    }
+
     @Override
     public Quad createQuad(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object)
             throws IllegalArgumentException {
         return new QuadImpl(graphName, subject, predicate, object);
     }
 
+    /**
+     * Map a (possibly foreign) RDFTerm to the equivalent term of this factory.
+     * <p>
+     * This is used by the graph and dataset implementations so that
+     * {@link Object#equals(Object)} and {@link Object#hashCode()} can be
+     * relied upon for terms from any implementation.
+     *
+     * @param term
+     *            The term to map, may be {@code null} (e.g. a wildcard)
+     * @return An equivalent {@link SimpleRDFTerm}, or {@code null} if the term
+     *         was {@code null}
+     */
+    RDFTerm internallyMap(final RDFTerm term) {
+        if (term == null || term instanceof SimpleRDFTerm) {
+            // No need to re-map our own objects.
+            // We support null as internallyMap() is also used by the filters,
+            // and the factory constructors later do null checks
+            return term;
+        }
+        if (conversions != null) {
+            return conversions.get(term, this::convert);
+        }
+        return convert(term);
+    }
+
+    private RDFTerm convert(final RDFTerm term) {
+        if (term instanceof BlankNode) {
+            final BlankNode blankNode = (BlankNode) term;
+            // This guarantees that adding the same BlankNode multiple times to
+            // this graph will generate a local object that is mapped to an
+            // equivalent object, based on the code in the package private
+            // BlankNodeImpl class
+            return createBlankNode(blankNode.uniqueReference());
+        }
+        if (term instanceof IRI) {
+            final IRI iri = (IRI) term;
+            return createIRI(iri.getIRIString());
+        }
+        if (!(term instanceof Literal)) {
+            throw new IllegalArgumentException("RDFTerm was neither a BlankNode, IRI nor Literal: " + term);
+        }
+        final Literal literal = (Literal) term;
+        if (literal.getLanguageTag().isPresent()) {
+            return createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
+        }
+        return createLiteral(literal.getLexicalForm(), (IRI) internallyMap(literal.getDatatype()));
+    }
+
     @Override
     public Triple createTriple(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         return new TripleImpl(subject, predicate, object);
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, thread-safe table of recently used entries, the storage of
+ * {@link TermPool} and {@link ConversionCache}.
+ * <p>
+ * The table is a fixed number of slots, and each entry can only be kept in
+ * the slot given by its hash. An entry that is not found replaces whatever
+ * was in its slot, so the table never grows beyond its capacity and recent
+ * entries are kept. Slots are read and written without locking; two threads
+ * looking up the same entry at the same time may both miss, in which case
+ * one of the entries ends up in the table.
+ *
+ * @param <E>
+ *            Type of entries
+ */
+final class SlotTable<E> {
+
+    /**
+     * Spread the higher bits of a hash to the lower bits used as slot
+     * index, as String hashes of IRIs with a common prefix tend to differ
+     * mostly in the lower bits.
+     *
+     * @param hash
+     *            Hash to mix
+     * @return The mixed hash
+     */
+    static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new table.
+     *
+     * @param capacity
+     *            Maximum number of entries, rounded up to a power of two
+     * @throws IllegalArgumentException
+     *             If the capacity is not positive or larger than
+     *             {@code 2^30}
+     */
+    SlotTable(final int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Find an entry, or create it and put it in its slot.
+     *
+     * @param hash
+     *            Hash of the entry, computed without creating it
+     * @param matches
+     *            Test for whether the entry in the slot is the wanted entry
+     * @param create
+     *            Creates the entry if it is not found
+     * @return The found or created entry
+     */
+    E get(final int hash, final Predicate<? super E> matches, final Supplier<? extends E> create) {
+        final int slot = mix(hash) & mask;
+        final E found = slots.get(slot);
+        if (found != null && matches.test(found)) {
+            hits.increment();
+            return found;
+        }
+        misses.increment();
+        final E entry = create.get();
+        slots.lazySet(slot, entry);
+        return entry;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * Number of triples or quads per term and position, maintained on each
+ * successful add and remove to estimate the number of matches of a pattern.
+ * <p>
+ * Each distinct term has one entry with the number of statements that have it
+ * as subject, predicate and object. The estimate of a pattern is the smallest
+ * count of its bound terms, which is exact for a single bound term and an
+ * upper bound otherwise.
+ * <p>
+ * Callers are responsible for mapping terms with
+ * {@link SimpleRDF#internallyMap(RDFTerm)} first, so that equal terms from
+ * different implementations share their counts.
+ */
+final class TermCounts {
+
+    private static final int SUBJECT = 0;
+    private static final int PREDICATE = 1;
+    private static final int OBJECT = 2;
+
+    private final Map<RDFTerm, long[]> counts;
+
+    /**
+     * Constructs new counts.
+     *
+     * @param concurrent
+     *            {@code true} if statements may be added or removed
+     *            concurrently
+     */
+    TermCounts(final boolean concurrent) {
+        this.counts = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Count an added statement.
+     *
+     * @param subject Subject of the statement
+     * @param predicate Predicate of the statement
+     * @param object Object of the statement
+     */
+    void add(final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        update(subject, SUBJECT, 1);
+        update(predicate, PREDICATE, 1);
+        update(object, OBJECT, 1);
+    }
+
+    void clear() {
+        counts.clear();
+    }
+
+    private long count(final RDFTerm term, final int position) {
+        final long[] termCounts = counts.get(term);
+        return termCounts == null ? 0 : termCounts[position];
+    }
+
+    /**
+     * Check if {@link #estimate(long, RDFTerm, RDFTerm, RDFTerm)} is exact for
+     * a pattern, which it is if at most one term is bound.
+     *
+     * @param subject
+     *            Subject, or {@code null} as a wildcard
+     * @param predicate
+     *            Predicate, or {@code null} as a wildcard
+     * @param object
+     *            Object, or {@code null} as a wildcard
+     * @return {@code true} if the estimate is an exact count
+     */
+    static boolean isExact(final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        return (subject == null ? 0 : 1) + (predicate == null ? 0 : 1) + (object == null ? 0 : 1) <= 1;
+    }
+
+    /**
+     * Estimate the number of statements matching a pattern.
+     *
+     * @param size
+     *            Number of statements, returned for a pattern of wildcards
+     * @param subject
+     *            Subject, or {@code null} as a wildcard
+     * @param predicate
+     *            Predicate, or {@code null} as a wildcard
+     * @param object
+     *            Object, or {@code null} as a wildcard
+     * @return The smallest count of the bound terms, or {@code size}
+     */
+    long estimate(final long size, final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        long estimate = size;
+        if (subject != null) {
+            estimate = Math.min(estimate, count(subject, SUBJECT));
+        }
+        if (predicate != null) {
+            estimate = Math.min(estimate, count(predicate, PREDICATE));
+        }
+        if (object != null) {
+            estimate = Math.min(estimate, count(object, OBJECT));
+        }
+        return estimate;
+    }
+
+    /**
+     * Count a removed statement.
+     *
+     * @param subject Subject of the statement
+     * @param predicate Predicate of the statement
+     * @param object Object of the statement
+     */
+    void remove(final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        update(subject, SUBJECT, -1);
+        update(predicate, PREDICATE, -1);
+        update(object, OBJECT, -1);
+    }
+
+    private void update(final RDFTerm term, final int position, final int delta) {
+        counts.compute(term, (k, termCounts) -> {
+            final long[] updated = termCounts == null ? new long[3] : termCounts;
+            updated[position] += delta;
+            // Drop the entry of a term that is no longer used
+            return updated[SUBJECT] == 0 && updated[PREDICATE] == 0 && updated[OBJECT] == 0 ? null : updated;
+        });
+    }
+
+}
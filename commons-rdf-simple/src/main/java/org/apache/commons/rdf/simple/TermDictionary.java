@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Arrays;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A dictionary that encodes each distinct {@link RDFTerm} once as a
+ * {@code long} identifier.
+ * <p>
+ * Identifiers are assigned in increasing order starting from {@code 1};
+ * {@link #DEFAULT_GRAPH} ({@code 0}) is reserved for the default graph and
+ * {@link #NOT_FOUND} for terms that have not been encoded. Terms are never
+ * removed from the dictionary until {@link #clear()}.
+ * <p>
+ * The terms are kept in an array indexed by identifier, and an open
+ * addressing hash table of identifiers (linear probing) finds the identifier
+ * of a term without allocating a map entry or boxed {@code Long} per term.
+ * <p>
+ * Callers are responsible for mapping terms with
+ * {@link SimpleRDF#internallyMap(RDFTerm)} first, so that equal terms from
+ * different implementations get the same identifier.
+ */
+final class TermDictionary {
+
+    /**
+     * Identifier used for the default graph.
+     */
+    static final long DEFAULT_GRAPH = 0;
+
+    /**
+     * Returned by {@link #lookup(RDFTerm)} for terms that are not in the
+     * dictionary.
+     */
+    static final long NOT_FOUND = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private RDFTerm[] terms = new RDFTerm[INITIAL_CAPACITY];
+
+    /**
+     * Hash slots containing term identifiers, {@code 0} for an empty slot.
+     */
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Next identifier to assign, which is also the number of used entries in
+     * {@link #terms} (including the reserved {@link #DEFAULT_GRAPH} entry).
+     */
+    private int next = 1;
+
+    void clear() {
+        Arrays.fill(terms, null);
+        Arrays.fill(slots, 0);
+        next = 1;
+    }
+
+    /**
+     * Decode an identifier previously returned by {@link #encode(RDFTerm)}.
+     *
+     * @param id
+     *            Term identifier
+     * @return The term, or {@code null} for {@link #DEFAULT_GRAPH}
+     */
+    RDFTerm decode(final long id) {
+        return terms[(int) id];
+    }
+
+    /**
+     * Encode a term, assigning a new identifier if needed.
+     *
+     * @param term
+     *            Term to encode, or {@code null} for the default graph
+     * @return The identifier of the term
+     */
+    long encode(final RDFTerm term) {
+        if (term == null) {
+            return DEFAULT_GRAPH;
+        }
+        final int slot = findSlot(term);
+        if (slots[slot] != 0) {
+            return slots[slot];
+        }
+        if (next == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct terms in dictionary");
+        }
+        final int id = next++;
+        if (id == terms.length) {
+            terms = Arrays.copyOf(terms, terms.length * 2);
+        }
+        terms[id] = term;
+        slots[slot] = id;
+        if (next * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    private int findSlot(final RDFTerm term) {
+        final int mask = slots.length - 1;
+        int i = SlotTable.mix(term.hashCode()) & mask;
+        while (slots[i] != 0 && !terms[slots[i]].equals(term)) {
+            i = i + 1 & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Look up the identifier of a term without adding it.
+     *
+     * @param term
+     *            Term to look up, or {@code null} for the default graph
+     * @return The identifier of the term, or {@link #NOT_FOUND}
+     */
+    long lookup(final RDFTerm term) {
+        if (term == null) {
+            return DEFAULT_GRAPH;
+        }
+        final int id = slots[findSlot(term)];
+        return id == 0 ? NOT_FOUND : id;
+    }
+
+    private void rehash(final int capacity) {
+        slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int id = 1; id < next; id++) {
+            int i = SlotTable.mix(terms[id].hashCode()) & mask;
+            while (slots[i] != 0) {
+                i = i + 1 & mask;
+            }
+            slots[i] = id;
+        }
+    }
+
+    /**
+     * Number of encoded terms.
+     *
+     * @return Number of terms in the dictionary
+     */
+    int size() {
+        return next - 1;
+    }
+
+}
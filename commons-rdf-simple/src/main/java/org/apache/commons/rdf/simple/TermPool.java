@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A bounded, thread-safe pool of canonical terms, kept in a {@link SlotTable}
+ * by the hash of the term. Two threads creating the same term at the same
+ * time may both miss, in which case one of the instances ends up in the
+ * pool.
+ *
+ * @see SimpleRDF.Option#interning
+ */
+final class TermPool {
+
+    private final SlotTable<RDFTerm> slots;
+
+    /**
+     * Constructs a new pool.
+     *
+     * @param capacity
+     *            Maximum number of terms, rounded up to a power of two
+     */
+    TermPool(final int capacity) {
+        this.slots = new SlotTable<>(capacity);
+    }
+
+    int capacity() {
+        return slots.capacity();
+    }
+
+    long hits() {
+        return slots.hits();
+    }
+
+    /**
+     * Find a pooled term, or create and pool it.
+     *
+     * @param <T>
+     *            Type of term
+     * @param hash
+     *            Hash of the term, computed without creating it
+     * @param matches
+     *            Test for whether a pooled term is the wanted term
+     * @param create
+     *            Creates the term if it is not pooled
+     * @return The pooled or created term
+     */
+    @SuppressWarnings("unchecked")
+    <T extends RDFTerm> T intern(final int hash, final Predicate<RDFTerm> matches, final Supplier<T> create) {
+        return (T) slots.get(hash, matches, create);
+    }
+
+    long misses() {
+        return slots.misses();
+    }
+
+}
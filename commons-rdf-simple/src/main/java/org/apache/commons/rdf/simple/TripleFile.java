@@ -0,0 +1,557 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A file of encoded terms and sorted triple tables, read through a
+ * {@link MappedFile}.
+ * <p>
+ * The file (all numbers big-endian) consists of:
+ * <ol>
+ * <li>A header of {@value #HEADER_SIZE} bytes: magic number, version, number
+ * of terms <em>n</em>, number of triples <em>m</em>, and the positions of the
+ * sections below.</li>
+ * <li>The term records. Term identifiers are {@code 1..n}, and each record is
+ * a kind byte followed by the UTF-8 IRI, blank node unique reference, or
+ * literal lexical form (length prefixed) and language tag or datatype.</li>
+ * <li><em>n + 1</em> {@code long} positions of the term records, so that
+ * record <em>id</em> ends where record <em>id + 1</em> starts.</li>
+ * <li><em>n</em> {@code int} term identifiers, sorted by record bytes, for
+ * finding the identifier of a term by binary search.</li>
+ * <li>Three tables of <em>m</em> rows of three {@code int} identifiers: the
+ * triples as subject-predicate-object, predicate-object-subject and
+ * object-subject-predicate, each sorted. Any triple pattern is a binary
+ * searched range of the table that has the bound terms as leading
+ * columns.</li>
+ * </ol>
+ */
+final class TripleFile {
+
+    /**
+     * A sorted table of triples with its columns in a particular order.
+     */
+    enum Table {
+        SPO(0, 1, 2), POS(2, 0, 1), OSP(1, 2, 0);
+
+        /**
+         * Column of the subject, predicate and object in this table.
+         */
+        private final int s;
+        private final int p;
+        private final int o;
+
+        Table(final int s, final int p, final int o) {
+            this.s = s;
+            this.p = p;
+            this.o = o;
+        }
+    }
+
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC = 0x43524446;
+
+    private static final int VERSION = 1;
+
+    private static final int ROW_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * Most triples that {@link #write(Path, Iterator)} can hold in an
+     * {@code int[]} of rows, allowing for the array header.
+     */
+    private static final long MAX_TRIPLES = (Integer.MAX_VALUE - 8) / 3;
+
+    private static final byte IRI_KIND = 'I';
+
+    private static final byte BLANK_NODE_KIND = 'B';
+
+    private static final byte LITERAL_KIND = 'L';
+
+    private static final byte LANGUAGE_TAG = '@';
+
+    private static final byte DATATYPE = '^';
+
+    private static int compare(final byte[] a, final byte[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int c = Integer.compare(a[i] & 0xff, b[i] & 0xff);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * Encode a term as a record.
+     * <p>
+     * Equal terms have equal records, so the term should already be mapped
+     * with {@link SimpleRDF#internallyMap(RDFTerm)}.
+     */
+    static byte[] encode(final RDFTerm term) {
+        if (term instanceof IRI) {
+            return record(IRI_KIND, ((IRI) term).getIRIString());
+        }
+        if (term instanceof BlankNode) {
+            return record(BLANK_NODE_KIND, ((BlankNode) term).uniqueReference());
+        }
+        final Literal literal = (Literal) term;
+        final byte[] lexical = literal.getLexicalForm().getBytes(StandardCharsets.UTF_8);
+        final byte[] suffix = literal.getLanguageTag()
+                .map(lang -> record(LANGUAGE_TAG, lang.toLowerCase(Locale.ROOT)))
+                .orElseGet(() -> record(DATATYPE, literal.getDatatype().getIRIString()));
+        final byte[] record = new byte[1 + Integer.BYTES + lexical.length + suffix.length];
+        record[0] = LITERAL_KIND;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            record[1 + i] = (byte) (lexical.length >>> 8 * (Integer.BYTES - 1 - i));
+        }
+        System.arraycopy(lexical, 0, record, 1 + Integer.BYTES, lexical.length);
+        System.arraycopy(suffix, 0, record, 1 + Integer.BYTES + lexical.length, suffix.length);
+        return record;
+    }
+
+    private static int getInt(final byte[] bytes, final int offset) {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << 8 | bytes[offset + i] & 0xff;
+        }
+        return value;
+    }
+
+    /**
+     * Open a file previously written with {@link #write(Path, Iterator)}.
+     *
+     * @param path
+     *            File to open
+     * @param factory
+     *            Factory for decoded terms
+     * @return The opened file
+     * @throws IOException
+     *             If the file can't be read or is not a triple file
+     */
+    static TripleFile open(final Path path, final SimpleRDF factory) throws IOException {
+        final MappedFile file = MappedFile.open(path);
+        if (file.size() < HEADER_SIZE || file.getInt(0) != MAGIC) {
+            throw new IOException("Not a triple file: " + path);
+        }
+        if (file.getInt(4) != VERSION) {
+            throw new IOException("Unsupported triple file version " + file.getInt(4) + ": " + path);
+        }
+        return new TripleFile(file, factory);
+    }
+
+    private static byte[] record(final byte kind, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final byte[] record = new byte[bytes.length + 1];
+        record[0] = kind;
+        System.arraycopy(bytes, 0, record, 1, bytes.length);
+        return record;
+    }
+
+    /**
+     * Sort integers with a comparator, without boxing them.
+     * <p>
+     * This is a merge sort, so it is stable and takes <em>O(n log n)</em>
+     * comparisons whatever the order of the input.
+     */
+    static void sort(final int[] values, final IntBinaryOperator comparator) {
+        sort(values.clone(), values, 0, values.length, comparator);
+    }
+
+    /**
+     * Sort {@code dest[from, to)} using {@code src}, which holds the same
+     * values in that range.
+     */
+    private static void sort(final int[] src, final int[] dest, final int from, final int to,
+            final IntBinaryOperator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                final int value = dest[i];
+                int j = i;
+                for (; j > from && comparator.applyAsInt(dest[j - 1], value) > 0; j--) {
+                    dest[j] = dest[j - 1];
+                }
+                dest[j] = value;
+            }
+            return;
+        }
+        final int mid = from + to >>> 1;
+        sort(dest, src, from, mid, comparator);
+        sort(dest, src, mid, to, comparator);
+        if (comparator.applyAsInt(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dest, from, to - from);
+            return;
+        }
+        for (int i = from, j = mid, k = from; k < to; k++) {
+            if (j >= to || i < mid && comparator.applyAsInt(src[i], src[j]) <= 0) {
+                dest[k] = src[i++];
+            } else {
+                dest[k] = src[j++];
+            }
+        }
+    }
+
+    /**
+     * Sort row numbers by the columns of a table.
+     */
+    private static void sort(final int[] rows, final int[] order, final Table table) {
+        // Row column (subject, predicate, object) of each table column
+        final int[] columns = new int[3];
+        columns[table.s] = 0;
+        columns[table.p] = 1;
+        columns[table.o] = 2;
+        sort(order, (a, b) -> {
+            for (final int column : columns) {
+                final int c = Integer.compare(rows[a * 3 + column], rows[b * 3 + column]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Write triples to a file.
+     * <p>
+     * The file is written next to the target and then moved into place, so
+     * an existing file is replaced only if writing succeeded.
+     *
+     * @param path
+     *            Target file
+     * @param triples
+     *            Distinct triples with terms already mapped with
+     *            {@link SimpleRDF#internallyMap(RDFTerm)}
+     * @throws IOException
+     *             If the file can't be written, or there are more triples
+     *             than it can hold
+     */
+    static void write(final Path path, final Iterator<? extends Triple> triples) throws IOException {
+        final TermDictionary dictionary = new TermDictionary();
+        int[] rows = new int[3 * 1024];
+        long m = 0;
+        while (triples.hasNext()) {
+            final Triple t = triples.next();
+            if (m == MAX_TRIPLES) {
+                throw new IOException("Too many triples for a triple file, at most " + MAX_TRIPLES);
+            }
+            final int row = (int) (3 * m);
+            if (row + 3 > rows.length) {
+                rows = Arrays.copyOf(rows, (int) Math.min(3 * MAX_TRIPLES, 2L * rows.length));
+            }
+            rows[row] = (int) dictionary.encode(t.getSubject());
+            rows[row + 1] = (int) dictionary.encode(t.getPredicate());
+            rows[row + 2] = (int) dictionary.encode(t.getObject());
+            m++;
+        }
+        final int n = dictionary.size();
+        final byte[][] records = new byte[n + 1][];
+        long recordsSize = 0;
+        for (int id = 1; id <= n; id++) {
+            records[id] = encode(dictionary.decode(id));
+            recordsSize += records[id].length;
+        }
+        final int[] sortedIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = i + 1;
+        }
+        sort(sortedIds, (a, b) -> compare(records[a], records[b]));
+
+        // Keep the long offsets 8-byte aligned
+        final long offsetsPosition = HEADER_SIZE + (recordsSize + 7 & ~7L);
+        final long sortedPosition = offsetsPosition + (long) (n + 1) * Long.BYTES;
+        final long tablesPosition = sortedPosition + (long) n * Integer.BYTES;
+        final long tableSize = (long) m * ROW_SIZE;
+
+        final Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(n);
+                out.writeLong(m);
+                out.writeLong(offsetsPosition);
+                out.writeLong(sortedPosition);
+                out.writeLong(tablesPosition);
+                out.write(new byte[HEADER_SIZE - out.size()]);
+                for (int id = 1; id <= n; id++) {
+                    out.write(records[id]);
+                }
+                out.write(new byte[(int) (offsetsPosition - HEADER_SIZE - recordsSize)]);
+                long position = HEADER_SIZE;
+                for (int id = 1; id <= n; id++) {
+                    out.writeLong(position);
+                    position += records[id].length;
+                }
+                out.writeLong(position);
+                for (final int id : sortedIds) {
+                    out.writeInt(id);
+                }
+                final int[] order = new int[(int) m];
+                for (final Table table : Table.values()) {
+                    for (int i = 0; i < order.length; i++) {
+                        order[i] = i;
+                    }
+                    sort(rows, order, table);
+                    final int[] row = new int[3];
+                    for (final int r : order) {
+                        row[table.s] = rows[r * 3];
+                        row[table.p] = rows[r * 3 + 1];
+                        row[table.o] = rows[r * 3 + 2];
+                        out.writeInt(row[0]);
+                        out.writeInt(row[1]);
+                        out.writeInt(row[2]);
+                    }
+                }
+            }
+            if (Files.size(tmp) != tablesPosition + 3 * tableSize) {
+                throw new IOException("Unexpected size of " + tmp);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private final MappedFile file;
+
+    private final SimpleRDF factory;
+
+    private final int terms;
+
+    private final long triples;
+
+    private final long offsetsPosition;
+
+    private final long sortedPosition;
+
+    private final long tablesPosition;
+
+    private TripleFile(final MappedFile file, final SimpleRDF factory) {
+        this.file = file;
+        this.factory = factory;
+        this.terms = (int) file.getLong(8);
+        this.triples = file.getLong(16);
+        this.offsetsPosition = file.getLong(24);
+        this.sortedPosition = file.getLong(32);
+        this.tablesPosition = file.getLong(40);
+    }
+
+    /**
+     * Find the rows of a table whose leading columns are equal to a key.
+     *
+     * @return start (inclusive) and end (exclusive) row
+     */
+    private long[] range(final Table table, final int... key) {
+        long low = 0;
+        long high = triples;
+        while (low < high) {
+            final long mid = low + high >>> 1;
+            if (compareRow(table, mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        final long start = low;
+        high = triples;
+        while (low < high) {
+            final long mid = low + high >>> 1;
+            if (compareRow(table, mid, key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return new long[] { start, low };
+    }
+
+    private int compareRow(final Table table, final long row, final int[] key) {
+        for (int column = 0; column < key.length; column++) {
+            final int c = Integer.compare(id(table, row, column), key[column]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Check if the file contains a triple.
+     *
+     * @param subject
+     *            Subject, already internally mapped
+     * @param predicate
+     *            Predicate, already internally mapped
+     * @param object
+     *            Object, already internally mapped
+     * @return {@code true} if the triple is in the file
+     */
+    boolean contains(final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        final int s = lookup(subject);
+        final int p = lookup(predicate);
+        final int o = lookup(object);
+        if (s == 0 || p == 0 || o == 0) {
+            return false;
+        }
+        final long[] range = range(Table.SPO, s, p, o);
+        return range[0] < range[1];
+    }
+
+    private RDFTerm decode(final int id) {
+        final long start = file.getLong(offsetsPosition + (long) (id - 1) * Long.BYTES);
+        final long end = file.getLong(offsetsPosition + (long) id * Long.BYTES);
+        final byte[] record = new byte[(int) (end - start)];
+        file.get(start, record);
+        switch (record[0]) {
+        case IRI_KIND:
+            return factory.createIRI(new String(record, 1, record.length - 1, StandardCharsets.UTF_8));
+        case BLANK_NODE_KIND:
+            return new BlankNodeImpl(new String(record, 1, record.length - 1, StandardCharsets.UTF_8));
+        case LITERAL_KIND:
+            final int lexicalLength = getInt(record, 1);
+            final String lexical = new String(record, 1 + Integer.BYTES, lexicalLength, StandardCharsets.UTF_8);
+            final int suffix = 1 + Integer.BYTES + lexicalLength;
+            final String value = new String(record, suffix + 1, record.length - suffix - 1, StandardCharsets.UTF_8);
+            if (record[suffix] == LANGUAGE_TAG) {
+                return factory.createLiteral(lexical, value);
+            }
+            return factory.createLiteral(lexical, factory.createIRI(value));
+        default:
+            throw new IllegalStateException("Unknown term kind " + record[0] + " for term " + id);
+        }
+    }
+
+    private Triple decodeRow(final Table table, final long row) {
+        return factory.createTriple((BlankNodeOrIRI) decode(id(table, row, table.s)),
+                (IRI) decode(id(table, row, table.p)), decode(id(table, row, table.o)));
+    }
+
+    private int id(final Table table, final long row, final int column) {
+        return file.getInt(tablesPosition + table.ordinal() * triples * ROW_SIZE + row * ROW_SIZE
+                + column * Integer.BYTES);
+    }
+
+    /**
+     * Find the identifier of a term by binary search of the sorted records.
+     *
+     * @return the identifier, or {@code 0} if the term is not in the file
+     */
+    private int lookup(final RDFTerm term) {
+        final byte[] key = encode(term);
+        int low = 0;
+        int high = terms - 1;
+        while (low <= high) {
+            final int mid = low + high >>> 1;
+            final int id = file.getInt(sortedPosition + (long) mid * Integer.BYTES);
+            final long start = file.getLong(offsetsPosition + (long) (id - 1) * Long.BYTES);
+            final long end = file.getLong(offsetsPosition + (long) id * Long.BYTES);
+            final byte[] record = new byte[(int) (end - start)];
+            file.get(start, record);
+            final int c = compare(record, key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    long size() {
+        return triples;
+    }
+
+    /**
+     * Stream the triples matching a pattern.
+     *
+     * @param subject
+     *            Subject, already internally mapped, or {@code null}
+     * @param predicate
+     *            Predicate, already internally mapped, or {@code null}
+     * @param object
+     *            Object, already internally mapped, or {@code null}
+     * @return A sequential stream of matching triples, which knows its size
+     */
+    Stream<Triple> stream(final RDFTerm subject, final RDFTerm predicate, final RDFTerm object) {
+        final int s = subject == null ? -1 : lookup(subject);
+        final int p = predicate == null ? -1 : lookup(predicate);
+        final int o = object == null ? -1 : lookup(object);
+        if (s == 0 || p == 0 || o == 0) {
+            // A term that is not in the file can't match anything
+            return Stream.empty();
+        }
+        final Table table;
+        final long[] range;
+        if (s > 0 && p > 0 && o > 0) {
+            table = Table.SPO;
+            range = range(table, s, p, o);
+        } else if (s > 0 && p > 0) {
+            table = Table.SPO;
+            range = range(table, s, p);
+        } else if (p > 0 && o > 0) {
+            table = Table.POS;
+            range = range(table, p, o);
+        } else if (o > 0 && s > 0) {
+            table = Table.OSP;
+            range = range(table, o, s);
+        } else if (s > 0) {
+            table = Table.SPO;
+            range = range(table, s);
+        } else if (p > 0) {
+            table = Table.POS;
+            range = range(table, p);
+        } else if (o > 0) {
+            table = Table.OSP;
+            range = range(table, o);
+        } else {
+            table = Table.SPO;
+            range = new long[] { 0, triples };
+        }
+        return StreamSupport.stream(new RowSpliterator<>(range[0], range[1], row -> decodeRow(table, row)), false);
+    }
+
+}
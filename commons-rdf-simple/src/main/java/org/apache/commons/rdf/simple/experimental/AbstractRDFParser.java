@@ -17,23 +17,37 @@
  */
 package org.apache.commons.rdf.simple.experimental;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
+import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.QuadLike;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.TripleLike;
+import org.apache.commons.rdf.experimental.QuadPublisher;
 import org.apache.commons.rdf.experimental.RDFParser;
 import org.apache.commons.rdf.simple.SimpleRDF;
 
@@ -54,9 +68,24 @@ import org.apache.commons.rdf.simple.SimpleRDF;
  * By default, parsing is done by the abstract method
  * {@link #parseSynchronusly()} - which is executed in a cloned snapshot - hence
  * multiple {@link #parse()} calls are thread-safe. The default {@link #parse()}
- * uses a thread pool in {@link #threadGroup} - but implementations can override
- * {@link #parse()} (e.g. because it has its own threading model or use
- * asynchronous remote execution).
+ * runs on the {@link #executor(Executor)} of the parser, or else the
+ * {@link #getDefaultExecutor()}, which unless changed is a thread pool in
+ * {@link #threadGroup} - but implementations can override {@link #parse()}
+ * (e.g. because it has its own threading model or use asynchronous remote
+ * execution).
+ * </p>
+ * <p>
+ * Cancelling the {@link Future} returned by {@link #parse()} stops the parse
+ * at the next quad delivered to {@link #getTarget()}, and interrupts the
+ * parsing thread if requested.
+ * </p>
+ * <p>
+ * The {@link Future} completes with a {@link ParseResult} with the statistics
+ * of the parse. Statements delivered to {@link #getTarget()} and bytes read
+ * from {@link #getSourceInputStream()} are counted automatically; subclasses
+ * that deliver statements or read a source in another way should record
+ * them with {@link #recorded(Consumer)}, {@link #recordStatements(long, long, long)}
+ * and {@link #recordBytes(InputStream)}.
  * </p>
  * @param <T> The AbstractRDFParser subclass.
  */
@@ -68,9 +97,129 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
     public static final ThreadGroup threadGroup = new ThreadGroup("Commons RDF parsers");
     private static final ExecutorService threadpool = Executors.newCachedThreadPool(r -> new Thread(threadGroup, r));
 
+    private static volatile Executor defaultExecutor = threadpool;
+
+    /**
+     * Statistics of a parse, shared by the threads of a parse.
+     */
+    private static final class Counters {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder blankNodes = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder targetNanos = new LongAdder();
+        private volatile boolean bytesCounted;
+
+        ParseResult result(final long parseNanos) {
+            return new ParseResultImpl(statements.sum(), blankNodes.sum(), bytesCounted ? bytes.sum() : -1,
+                    parseNanos, targetNanos.sum());
+        }
+    }
+
+    /**
+     * Counts the bytes read into {@link Counters#bytes}.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final Counters counters;
+
+        CountingInputStream(final InputStream in, final Counters counters) {
+            super(in);
+            this.counters = counters;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                counters.bytes.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                counters.bytes.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            counters.bytes.add(skipped);
+            return skipped;
+        }
+    }
+
+    private static int blankNodes(final TripleLike statement) {
+        int count = 0;
+        if (statement.getSubject() instanceof BlankNode) {
+            count++;
+        }
+        if (statement.getObject() instanceof BlankNode) {
+            count++;
+        }
+        if (statement instanceof QuadLike && ((QuadLike<?>) statement).getGraphName()
+                .filter(BlankNode.class::isInstance).isPresent()) {
+            count++;
+        }
+        return count;
+    }
+
     // Basically only used for creating IRIs
     private static final RDF internalRdfTermFactory = new SimpleRDF();
 
+    /**
+     * Gets the executor used by {@link #parse()} when no
+     * {@link #executor(Executor)} is set.
+     *
+     * @return The default executor
+     * @see #setDefaultExecutor(Executor)
+     */
+    public static Executor getDefaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     * <p>
+     * Virtual threads require Java 21 or later; this method uses reflection
+     * so that Commons RDF still runs on older versions.
+     * </p>
+     *
+     * @return A new executor of virtual threads, or {@link Optional#empty()}
+     *         if the JVM does not support virtual threads
+     */
+    public static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sets the executor used by {@link #parse()} of all parsers that have no
+     * {@link #executor(Executor)} set.
+     * <p>
+     * To limit the number of concurrent parses, wrap the executor in a
+     * {@link BoundedExecutor}.
+     * </p>
+     *
+     * @param executor
+     *            The executor to use, or {@code null} for the built-in thread
+     *            pool in {@link #threadGroup}
+     */
+    public static void setDefaultExecutor(final Executor executor) {
+        defaultExecutor = executor == null ? threadpool : executor;
+    }
+
+    private Executor executor;
+
+    private Counters counters = new Counters();
+
     /**
      * Constructs a new instance for subclasses.
      */
@@ -142,6 +291,15 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
     private Dataset targetDataset;
     private Graph targetGraph;
 
+    private Consumer<List<Quad>> targetBatch;
+    private int targetBatchSize;
+    private Duration targetBatchDelay;
+
+    /**
+     * Batcher of the current parse, if {@link #targetBatch} is set.
+     */
+    private QuadBatcher batcher;
+
     /**
      * Returns this.
      * @return {@code this} instance.
@@ -242,7 +400,7 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
      * </p>
      */
     protected void checkTarget() {
-        if (target == null) {
+        if (target == null && targetBatch == null) {
             throw new IllegalStateException("target has not been set");
         }
         if (getTargetGraph().isPresent() && getTargetDataset().isPresent()) {
@@ -278,6 +436,20 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
         return c.asT();
     }
 
+    /**
+     * Specify the executor to run {@link #parse()} on.
+     *
+     * @param executor
+     *            The executor to use, or {@code null} for the
+     *            {@link #getDefaultExecutor()}
+     * @return A clone of this parser using the executor
+     */
+    public T executor(final Executor executor) {
+        final AbstractRDFParser<T> c = clone();
+        c.executor = executor;
+        return c.asT();
+    }
+
     /**
      * Create a new {@link RDF} for a parse session.
      * <p>
@@ -296,6 +468,16 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
         return new SimpleRDF();
     }
 
+    /**
+     * Gets the executor set with {@link #executor(Executor)}, if any.
+     *
+     * @return The executor, or {@link Optional#empty()} if the
+     *         {@link #getDefaultExecutor()} is used
+     */
+    public Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
     /**
      * Gets the set base {@link IRI}, if present.
      *
@@ -404,6 +586,46 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
         return target;
     }
 
+    /**
+     * Gets the target batch consumer as set by
+     * {@link #targetBatch(int, Duration, Consumer)}.
+     * <p>
+     * Subclasses do not need to handle this target: during
+     * {@link #parseSynchronusly()}, {@link #getTarget()} adds each quad
+     * directly to the current batch.
+     * </p>
+     *
+     * @return The target consumer of batches, or {@link Optional#empty()} if
+     *         another kind of target has been set.
+     * @since 0.6.0
+     */
+    public Optional<Consumer<List<Quad>>> getTargetBatch() {
+        return Optional.ofNullable(targetBatch);
+    }
+
+    /**
+     * Gets the maximum delay of a batch as set by
+     * {@link #targetBatch(int, Duration, Consumer)}.
+     *
+     * @return The maximum delay, or {@link Optional#empty()} if batches are
+     *         only delivered when full or no batch target has been set.
+     * @since 0.6.0
+     */
+    public Optional<Duration> getTargetBatchDelay() {
+        return Optional.ofNullable(targetBatchDelay);
+    }
+
+    /**
+     * Gets the batch size as set by
+     * {@link #targetBatch(int, Duration, Consumer)}.
+     *
+     * @return The batch size, or {@code 0} if no batch target has been set.
+     * @since 0.6.0
+     */
+    public int getTargetBatchSize() {
+        return targetBatchSize;
+    }
+
     /**
      * Gets the target dataset as set by {@link #target(Dataset)}.
      * <p>
@@ -446,10 +668,108 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
 
     @Override
     public Future<ParseResult> parse() throws IOException, IllegalStateException {
+        return parse(null);
+    }
+
+    /**
+     * Parse on the executor, as for {@link #parse()}.
+     *
+     * @param parsed
+     *            Completed by the parse task when it is done, or {@code null}
+     * @return A Future that completes when the parse is done
+     * @throws IOException
+     *             If an error occurred while starting to read the source
+     * @throws IllegalStateException
+     *             If the builder is in an invalid state
+     */
+    private Future<ParseResult> parse(final CompletableFuture<ParseResult> parsed)
+            throws IOException, IllegalStateException {
         final AbstractRDFParser<T> c = prepareForParsing();
-        return threadpool.submit(() -> {
-            c.parseSynchronusly();
-            return null;
+        c.counters = new Counters();
+        if (c.sourceInputStream != null) {
+            c.sourceInputStream = c.recordBytes(c.sourceInputStream);
+        }
+        final FutureTask<ParseResult> task = new FutureTask<ParseResult>(() -> {
+            final long start = System.nanoTime();
+            if (c.batcher == null) {
+                c.parseSynchronusly();
+            } else {
+                try {
+                    c.parseSynchronusly();
+                    c.batcher.flush();
+                } finally {
+                    c.batcher.close();
+                }
+            }
+            return c.counters.result(System.nanoTime() - start);
+        }) {
+            @Override
+            protected void done() {
+                if (parsed == null) {
+                    return;
+                }
+                try {
+                    parsed.complete(get());
+                } catch (final ExecutionException e) {
+                    parsed.completeExceptionally(e.getCause());
+                } catch (final CancellationException | InterruptedException e) {
+                    parsed.completeExceptionally(e);
+                }
+            }
+        };
+        if (c.targetBatch != null) {
+            // Quads go straight into the batch, the batches are counted
+            final Consumer<List<Quad>> batches = c.targetBatch;
+            c.batcher = new QuadBatcher(c.targetBatchSize, c.targetBatchDelay, batch -> {
+                if (task.isCancelled()) {
+                    throw new CancellationException("Parsing was cancelled");
+                }
+                long blankNodes = 0;
+                for (final Quad quad : batch) {
+                    blankNodes += blankNodes(quad);
+                }
+                final int statements = batch.size();
+                final long batchStart = System.nanoTime();
+                batches.accept(batch);
+                c.recordStatements(statements, blankNodes, System.nanoTime() - batchStart);
+            });
+            c.target = c.batcher;
+        } else {
+            c.batcher = null;
+            final Consumer<Quad> target = c.recorded(c.target);
+            c.target = quad -> {
+                if (task.isCancelled()) {
+                    throw new CancellationException("Parsing was cancelled");
+                }
+                target.accept(quad);
+            };
+        }
+        c.getExecutor().orElseGet(AbstractRDFParser::getDefaultExecutor).execute(task);
+        return task;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each subscription runs its parse on the {@link #executor(Executor)} of
+     * this parser, or else the {@link #getDefaultExecutor()}, which signals
+     * the subscriber when it is done. With an executor that runs tasks on
+     * the calling thread, the parse runs within the first
+     * {@link QuadPublisher.Subscription#request(long)}, so the subscriber
+     * must request further quads from its
+     * {@link QuadPublisher.Subscriber#onNext(Quad)}.
+     */
+    @Override
+    public QuadPublisher publisher() {
+        return QuadPublisher.ofParse(target -> {
+            final CompletableFuture<ParseResult> parsed = new CompletableFuture<>();
+            try {
+                final AbstractRDFParser<T> c = target(target);
+                c.parse(parsed);
+            } catch (final IOException | RuntimeException e) {
+                parsed.completeExceptionally(e);
+            }
+            return parsed;
         });
     }
 
@@ -514,6 +834,78 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
         return c.asT();
     }
 
+    /**
+     * Count the bytes read from a source stream in the {@link ParseResult}.
+     * <p>
+     * Subclasses that open a source file or IRI themselves should read it
+     * through this method. {@link #getSourceInputStream()} is already
+     * counted.
+     * </p>
+     *
+     * @param in
+     *            Stream to count the bytes of
+     * @return A stream reading from {@code in}
+     */
+    protected InputStream recordBytes(final InputStream in) {
+        counters.bytesCounted = true;
+        return new CountingInputStream(in, counters);
+    }
+
+    /**
+     * Count bytes of the source in the {@link ParseResult}, if they are not
+     * read through {@link #recordBytes(InputStream)}.
+     *
+     * @param bytes
+     *            Number of bytes read
+     */
+    protected void recordBytes(final long bytes) {
+        counters.bytesCounted = true;
+        counters.bytes.add(bytes);
+    }
+
+    /**
+     * Count the statements delivered to a consumer, and the time spent in
+     * it, in the {@link ParseResult}.
+     * <p>
+     * {@link #getTarget()} is already counted; subclasses should use this
+     * method for statements delivered another way, e.g. directly to
+     * {@link #getTargetGraph()}.
+     * </p>
+     *
+     * @param <S>
+     *            Type of statements
+     * @param consumer
+     *            Consumer to count
+     * @return A consumer delivering to {@code consumer}
+     */
+    protected <S extends TripleLike> Consumer<S> recorded(final Consumer<S> consumer) {
+        final Counters c = counters;
+        return statement -> {
+            final long start = System.nanoTime();
+            consumer.accept(statement);
+            c.targetNanos.add(System.nanoTime() - start);
+            c.statements.increment();
+            c.blankNodes.add(blankNodes(statement));
+        };
+    }
+
+    /**
+     * Count statements in the {@link ParseResult} that were delivered without
+     * {@link #recorded(Consumer)}, e.g. by a native parser.
+     *
+     * @param statements
+     *            Number of statements delivered
+     * @param blankNodes
+     *            Number of blank node terms in the statements
+     * @param targetNanos
+     *            Nanoseconds spent delivering the statements
+     */
+    protected void recordStatements(final long statements, final long blankNodes, final long targetNanos) {
+        counters.statements.add(statements);
+        counters.blankNodes.add(blankNodes);
+        counters.targetNanos.add(targetNanos);
+    }
+
     @Override
     public T rdfTermFactory(final RDF rdfTermFactory) {
         final AbstractRDFParser<T> c = clone();
@@ -548,6 +940,9 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
     protected void resetTarget() {
         targetDataset = null;
         targetGraph = null;
+        targetBatch = null;
+        targetBatchSize = 0;
+        targetBatchDelay = null;
     }
 
     @Override
@@ -592,6 +987,29 @@ public abstract class AbstractRDFParser<T extends AbstractRDFParser<T>> implemen
         return c.asT();
     }
 
+    @Override
+    public T targetBatch(final int batchSize, final Duration maxDelay, final Consumer<List<Quad>> consumer)
+            throws IllegalArgumentException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxDelay != null && (maxDelay.isZero() || maxDelay.isNegative())) {
+            throw new IllegalArgumentException("maxDelay must be positive: " + maxDelay);
+        }
+        final AbstractRDFParser<T> c = clone();
+        c.resetTarget();
+        c.target = null;
+        c.targetBatch = consumer;
+        c.targetBatchSize = batchSize;
+        c.targetBatchDelay = maxDelay;
+        return c.asT();
+    }
+
+    @Override
+    public T targetBatch(final int batchSize, final Consumer<List<Quad>> consumer) throws IllegalArgumentException {
+        return targetBatch(batchSize, null, consumer);
+    }
+
     @Override
     public T target(final Dataset dataset) {
         @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.QuadLike;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.TripleLike;
+import org.apache.commons.rdf.experimental.RDFWriter;
+
+/**
+ * Abstract RDFWriter
+ * <p>
+ * This class and its subclasses are {@link Cloneable}, immutable and
+ * (therefore) thread-safe - each call to option methods like
+ * {@link #contentType(String)} or {@link #target(Path)} will return a cloned,
+ * mutated copy. Note however that a {@link #source(Stream)} can only be
+ * consumed once.
+ * </p>
+ * <p>
+ * By default, writing is done by the abstract method
+ * {@link #writeSynchronously()} - which is executed in a cloned snapshot, on
+ * the {@link AbstractRDFParser#getDefaultExecutor()}. The source stream is
+ * closed afterwards. Cancelling the {@link Future} returned by
+ * {@link #write()} stops writing at the next statement.
+ * </p>
+ * @param <T> The AbstractRDFWriter subclass.
+ */
+public abstract class AbstractRDFWriter<T extends AbstractRDFWriter<T>> implements RDFWriter, Cloneable {
+
+    /**
+     * Check if a statement is in the default graph.
+     *
+     * @param statement
+     *            A triple or quad
+     * @return {@code true} if the statement is not a {@link QuadLike} with a
+     *         graph name
+     */
+    protected static boolean inDefaultGraph(final TripleLike statement) {
+        return !(statement instanceof QuadLike) || !((QuadLike<?>) statement).getGraphName().isPresent();
+    }
+
+    private RDFSyntax contentTypeSyntax;
+
+    private String contentType;
+
+    private Stream<? extends TripleLike> source;
+
+    private OutputStream targetOutputStream;
+
+    private WritableByteChannel targetChannel;
+
+    private Path targetFile;
+
+    /**
+     * Constructs a new instance for subclasses.
+     */
+    public AbstractRDFWriter() {
+        // empty
+    }
+
+    /**
+     * Returns this.
+     * @return {@code this} instance.
+     */
+    @SuppressWarnings("unchecked")
+    protected T asT() {
+        return (T) this;
+    }
+
+    /**
+     * Subclasses can override this method to check compatibility with the
+     * contentType setting.
+     *
+     * @throws IllegalStateException
+     *             if the {@link #getContentType()} or
+     *             {@link #getContentTypeSyntax()} is not compatible or invalid
+     */
+    protected void checkContentType() throws IllegalStateException {
+    }
+
+    /**
+     * Check that a source is present.
+     */
+    protected void checkSource() {
+        if (source == null) {
+            throw new IllegalStateException("No source has been set");
+        }
+    }
+
+    /**
+     * Check that one target is present and, for a file, that its directory
+     * exists.
+     *
+     * @throws IOException
+     *             If the target file can't be created
+     */
+    protected void checkTarget() throws IOException {
+        if (targetOutputStream == null && targetChannel == null && targetFile == null) {
+            throw new IllegalStateException("No target has been set");
+        }
+        if (targetFile != null) {
+            final Path dir = targetFile.toAbsolutePath().getParent();
+            if (dir != null && !Files.isDirectory(dir)) {
+                throw new IOException("Not a directory: " + dir);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T clone() {
+        try {
+            return (T) super.clone();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public T contentType(final RDFSyntax rdfSyntax) throws IllegalArgumentException {
+        final AbstractRDFWriter<T> c = clone();
+        c.contentTypeSyntax = rdfSyntax;
+        c.contentType = c.getContentTypeSyntax().map(RDFSyntax::mediaType).orElse(null);
+        return c.asT();
+    }
+
+    @Override
+    public T contentType(final String contentType) throws IllegalArgumentException {
+        final AbstractRDFWriter<T> c = clone();
+        c.contentType = contentType;
+        c.contentTypeSyntax = c.getContentType().flatMap(RDFSyntax::byMediaType).orElse(null);
+        return c.asT();
+    }
+
+    /**
+     * Gets the set content-type String, if any.
+     *
+     * @return The set content-type string, or {@link Optional#empty()}.
+     */
+    public final Optional<String> getContentType() {
+        return Optional.ofNullable(contentType);
+    }
+
+    /**
+     * Gets the set content-type {@link RDFSyntax}, if any.
+     * <p>
+     * If this is {@link Optional#isPresent()}, then {@link #getContentType()}
+     * contains the value of {@link RDFSyntax#mediaType}.
+     *
+     * @return The {@link RDFSyntax} of the content type, or
+     *         {@link Optional#empty()} if it is not known.
+     */
+    public Optional<RDFSyntax> getContentTypeSyntax() {
+        return Optional.ofNullable(contentTypeSyntax);
+    }
+
+    /**
+     * Gets the content type {@link RDFSyntax}, or else the syntax guessed from
+     * the extension of {@link #getTargetFile()}.
+     *
+     * @return The {@link RDFSyntax} to write, or {@link Optional#empty()} if
+     *         it is not known.
+     */
+    protected Optional<RDFSyntax> getSyntax() {
+        if (contentTypeSyntax != null) {
+            return getContentTypeSyntax();
+        }
+        return getTargetFile().flatMap(AbstractRDFParser::guessRDFSyntax);
+    }
+
+    /**
+     * Gets the source statements.
+     *
+     * @return The source stream, or {@link Optional#empty()} if it has not
+     *         been set.
+     */
+    public Optional<Stream<? extends TripleLike>> getSource() {
+        return Optional.ofNullable(source);
+    }
+
+    /**
+     * Gets the target channel, if set.
+     *
+     * @return The target channel, or {@link Optional#empty()}.
+     */
+    public Optional<WritableByteChannel> getTargetChannel() {
+        return Optional.ofNullable(targetChannel);
+    }
+
+    /**
+     * Gets the target file, if set.
+     *
+     * @return The target file, or {@link Optional#empty()}.
+     */
+    public Optional<Path> getTargetFile() {
+        return Optional.ofNullable(targetFile);
+    }
+
+    /**
+     * Gets the target output stream, if set.
+     *
+     * @return The target output stream, or {@link Optional#empty()}.
+     */
+    public Optional<OutputStream> getTargetOutputStream() {
+        return Optional.ofNullable(targetOutputStream);
+    }
+
+    /**
+     * Check the writer state and make a clone for writing.
+     *
+     * @return A checked clone of this RDFWriter
+     * @throws IOException
+     *             If the target is not accessible
+     * @throws IllegalStateException
+     *             If the writer was not in a compatible setting
+     */
+    protected T prepareForWriting() throws IOException, IllegalStateException {
+        checkSource();
+        checkTarget();
+        checkContentType();
+        return clone();
+    }
+
+    /**
+     * Reset all target* fields to null.
+     */
+    protected void resetTarget() {
+        targetOutputStream = null;
+        targetChannel = null;
+        targetFile = null;
+    }
+
+    @Override
+    public T source(final Stream<? extends TripleLike> statements) {
+        final AbstractRDFWriter<T> c = clone();
+        c.source = statements;
+        return c.asT();
+    }
+
+    @Override
+    public T target(final OutputStream outputStream) {
+        final AbstractRDFWriter<T> c = clone();
+        c.resetTarget();
+        c.targetOutputStream = outputStream;
+        return c.asT();
+    }
+
+    @Override
+    public T target(final Path file) {
+        final AbstractRDFWriter<T> c = clone();
+        c.resetTarget();
+        c.targetFile = file;
+        return c.asT();
+    }
+
+    @Override
+    public T target(final WritableByteChannel channel) {
+        final AbstractRDFWriter<T> c = clone();
+        c.resetTarget();
+        c.targetChannel = channel;
+        return c.asT();
+    }
+
+    @Override
+    public Future<WriteResult> write() throws IOException, IllegalStateException {
+        final AbstractRDFWriter<T> c = prepareForWriting();
+        final Stream<? extends TripleLike> source = c.source;
+        final FutureTask<WriteResult> task = new FutureTask<>(() -> {
+            try (Stream<? extends TripleLike> statements = source) {
+                c.writeSynchronously();
+            }
+            return null;
+        });
+        c.source = source.peek(statement -> {
+            if (task.isCancelled()) {
+                throw new CancellationException("Writing was cancelled");
+            }
+        });
+        AbstractRDFParser.getDefaultExecutor().execute(task);
+        return task;
+    }
+
+    /**
+     * Write {@link #getSource()} to the target.
+     * <p>
+     * One of {@link #getTargetOutputStream()}, {@link #getTargetChannel()}
+     * or {@link #getTargetFile()} is present, as checked by
+     * {@link #checkTarget()}. Only a target file should be closed afterwards.
+     * </p>
+     *
+     * @throws IOException
+     *             If the target could not be written
+     */
+    protected abstract void writeSynchronously() throws IOException;
+
+}
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link Executor} that runs at most a fixed number of tasks at a time on
+ * another executor, queueing the others.
+ * <p>
+ * This can be set with {@link AbstractRDFParser#executor(Executor)} or
+ * {@link AbstractRDFParser#setDefaultExecutor(Executor)} to cap the number of
+ * concurrent parses, e.g. on top of an executor of virtual threads from
+ * {@link AbstractRDFParser#newVirtualThreadExecutor()}. The queue is
+ * unbounded; its size and the time tasks spent waiting in it are available
+ * as metrics.
+ * <p>
+ * If the other executor rejects a task, {@link #execute(Runnable)} throws the
+ * {@link RejectedExecutionException} for the task it was given. A queued task
+ * of another caller is instead cancelled if it is a {@link Future}, e.g. the
+ * task of {@link AbstractRDFParser#parse()}, so that waiting for it does not
+ * hang, or else run on the thread that found it rejected.
+ * <p>
+ * Experimental.
+ */
+public final class BoundedExecutor implements Executor {
+
+    /**
+     * A task waiting for its turn.
+     */
+    private static final class Queued {
+        private final Runnable task;
+        private final long enqueued = System.nanoTime();
+
+        Queued(final Runnable task) {
+            this.task = task;
+        }
+    }
+
+    private final Executor delegate;
+    private final int limit;
+    private final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param delegate
+     *            Executor to run the tasks on
+     * @param limit
+     *            Maximum number of tasks running at a time
+     * @throws IllegalArgumentException
+     *             If limit is not positive
+     */
+    public BoundedExecutor(final Executor delegate, final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.limit = limit;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        queue.add(new Queued(Objects.requireNonNull(command, "command")));
+        queued.incrementAndGet();
+        submitted.increment();
+        schedule(command);
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return Number of running tasks
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of tasks that have finished running, normally or not.
+     *
+     * @return Number of completed tasks
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the maximum number of tasks running at a time.
+     *
+     * @return The concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a turn to run.
+     *
+     * @return Number of queued tasks
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the number of tasks passed to {@link #execute(Runnable)}.
+     *
+     * @return Number of submitted tasks
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Gets the total time that started tasks have spent in the queue.
+     *
+     * @return Total queueing time
+     */
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(waitNanos.sum());
+    }
+
+    private void run(final Runnable task) {
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            completed.increment();
+            schedule(null);
+        }
+    }
+
+    /**
+     * Start queued tasks while below the limit.
+     *
+     * @param own
+     *            Task of the calling {@link #execute(Runnable)}, or
+     *            {@code null} if called after running a task
+     * @throws RejectedExecutionException
+     *             If the delegate rejects {@code own}
+     */
+    private void schedule(final Runnable own) {
+        while (true) {
+            final int running = active.get();
+            if (running >= limit || queue.isEmpty()) {
+                return;
+            }
+            if (!active.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            final Queued next = queue.poll();
+            if (next == null) {
+                // Taken by another thread
+                active.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            waitNanos.add(System.nanoTime() - next.enqueued);
+            try {
+                delegate.execute(() -> run(next.task));
+            } catch (final RejectedExecutionException e) {
+                if (next.task == own) {
+                    active.decrementAndGet();
+                    completed.increment();
+                    throw e;
+                }
+                // The caller that queued this task won't see the exception
+                try {
+                    if (next.task instanceof Future) {
+                        ((Future<?>) next.task).cancel(false);
+                    } else {
+                        next.task.run();
+                    }
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedExecutor [limit=" + limit + ", active=" + getActiveCount() + ", queued=" + getQueuedCount()
+                + ", completed=" + getCompletedCount() + "]";
+    }
+
+}
@@ -0,0 +1,337 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+
+/**
+ * A dependency-free parser for N-Triples and N-Quads.
+ * <p>
+ * The source is read as bytes and tokenized without first decoding each line
+ * into a {@link String}, and the parsed statements are created with
+ * {@link #rdfTermFactory(org.apache.commons.rdf.api.RDF)}, so this parser
+ * can produce terms of any Commons RDF implementation.
+ * <p>
+ * If no content type is set, the syntax is guessed from the file extension of
+ * a file source, falling back to {@link RDFSyntax#NQUADS} which also accepts
+ * N-Triples. A base IRI is never required, as both syntaxes only contain
+ * absolute IRIs.
+ * <p>
+ * A file source can be parsed in parallel with {@link #parallelism(int)}: the
+ * file is split into line-aligned chunks which are memory-mapped and parsed
+ * on a {@link ForkJoinPool}. All chunks create their terms with the same
+ * {@link RDF} instance, so a blank node label denotes the same blank node in
+ * every chunk; the factory's {@link RDF#createBlankNode(String)} must
+ * therefore be thread-safe, as it is for all Commons RDF implementations.
+ * <p>
+ * Experimental.
+ */
+public class NQuadsParser extends AbstractRDFParser<NQuadsParser> {
+
+    /**
+     * An InputStream over a (memory-mapped) buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /**
+     * Number of quads a worker collects before passing them to a target that
+     * is not thread-safe.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Number of chunks per worker thread, so that workers finishing early can
+     * take over the remaining chunks.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    private static final long MAX_CHUNK_SIZE = 256L << 20;
+
+    private static boolean isSupported(final RDFSyntax syntax) {
+        return syntax == RDFSyntax.NQUADS || syntax == RDFSyntax.NTRIPLES;
+    }
+
+    /**
+     * Find the start of the line after a position.
+     *
+     * @return The position after the next {@code \n}, or the file size
+     */
+    private static long nextLineStart(final FileChannel channel, final long position, final long size)
+            throws IOException {
+        final ByteBuffer probe = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < size) {
+            probe.clear();
+            final int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private int parallelism = 1;
+
+    private boolean concurrentTarget;
+
+    /**
+     * Constructs a new instance.
+     */
+    public NQuadsParser() {
+        // empty
+    }
+
+    @Override
+    protected void checkBaseRequired() throws IllegalStateException {
+        // N-Triples and N-Quads only have absolute IRIs
+    }
+
+    @Override
+    protected void checkContentType() throws IllegalStateException {
+        if (getContentType().isPresent() && !getContentTypeSyntax().filter(NQuadsParser::isSupported).isPresent()) {
+            throw new IllegalStateException("Unsupported content type: " + getContentType().get());
+        }
+    }
+
+    /**
+     * Specify if the target is thread-safe.
+     * <p>
+     * When parsing in parallel, a thread-safe target (e.g. a graph created
+     * with {@code SimpleRDF.Option.concurrent}) receives quads directly from
+     * all worker threads. Otherwise each worker collects quads in batches
+     * that are passed to the target one batch at a time, so that only one
+     * {@link Consumer#accept(Object)} is delivered at a time.
+     *
+     * @param concurrentTarget
+     *            {@code true} if the target can be called concurrently
+     * @return An {@link NQuadsParser} with the setting applied
+     */
+    public NQuadsParser concurrentTarget(final boolean concurrentTarget) {
+        final NQuadsParser c = clone();
+        c.concurrentTarget = concurrentTarget;
+        return c;
+    }
+
+    /**
+     * Gets the number of threads used to parse a file source.
+     *
+     * @return The parallelism, {@code 1} for sequential parsing
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private RDFSyntax getSyntax() {
+        final Optional<RDFSyntax> syntax = getContentTypeSyntax();
+        if (syntax.isPresent()) {
+            return syntax.get();
+        }
+        return getSourceFile().flatMap(AbstractRDFParser::guessRDFSyntax).filter(NQuadsParser::isSupported)
+                .orElse(RDFSyntax.NQUADS);
+    }
+
+    /**
+     * Gets if the target is thread-safe.
+     *
+     * @return {@code true} if the target is called concurrently when parsing
+     *         in parallel
+     * @see #concurrentTarget(boolean)
+     */
+    public boolean isConcurrentTarget() {
+        return concurrentTarget;
+    }
+
+    /**
+     * Specify the number of threads used to parse a {@link #source(Path)}.
+     * <p>
+     * Other sources are always parsed sequentially.
+     *
+     * @param parallelism
+     *            Number of threads, {@code 1} to parse sequentially
+     * @return An {@link NQuadsParser} with the setting applied
+     * @throws IllegalArgumentException
+     *             If parallelism is not positive
+     */
+    public NQuadsParser parallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        final NQuadsParser c = clone();
+        c.parallelism = parallelism;
+        return c;
+    }
+
+    private void parseChunk(final FileChannel channel, final long start, final long end, final boolean quads,
+            final Object targetLock) throws IOException, RDFParseException {
+        final RDF factory = getRdfTermFactory().get();
+        final InputStream in = new ByteBufferInputStream(
+                channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+        if (concurrentTarget) {
+            new NQuadsReader(this, in, factory, getTarget(), quads, start).read();
+            recordBytes(end - start);
+            return;
+        }
+        final List<Quad> batch = new ArrayList<>(BATCH_SIZE);
+        final Consumer<List<Quad>> deliver = b -> {
+            synchronized (targetLock) {
+                b.forEach(getTarget());
+            }
+            b.clear();
+        };
+        new NQuadsReader(this, in, factory, quad -> {
+            batch.add(quad);
+            if (batch.size() == BATCH_SIZE) {
+                deliver.accept(batch);
+            }
+        }, quads, start).read();
+        deliver.accept(batch);
+        recordBytes(end - start);
+    }
+
+    private void parseInParallel(final Path file, final boolean quads) throws IOException, RDFParseException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long chunkSize = Math.max(MIN_CHUNK_SIZE,
+                    Math.min(MAX_CHUNK_SIZE, size / ((long) parallelism * CHUNKS_PER_WORKER) + 1));
+            final Object targetLock = new Object();
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final List<Future<Void>> chunks = new ArrayList<>();
+                long start = 0;
+                while (start < size) {
+                    final long chunkStart = start;
+                    final long chunkEnd = nextLineStart(channel, Math.min(size, start + chunkSize), size);
+                    if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                        throw new IOException("Line too long at byte " + chunkStart);
+                    }
+                    chunks.add(pool.submit(() -> {
+                        parseChunk(channel, chunkStart, chunkEnd, quads, targetLock);
+                        return null;
+                    }));
+                    start = chunkEnd;
+                }
+                for (final Future<Void> chunk : chunks) {
+                    chunk.get();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while parsing " + file);
+            } catch (final ExecutionException e) {
+                // ForkJoinTask wraps checked exceptions of a Callable
+                for (Throwable t = e.getCause(); t != null; t = t.getCause()) {
+                    if (t instanceof RDFParseException) {
+                        throw (RDFParseException) t;
+                    }
+                    if (t instanceof IOException) {
+                        throw (IOException) t;
+                    }
+                }
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    protected void parseSynchronusly() throws IOException, RDFParseException {
+        final boolean quads = getSyntax() == RDFSyntax.NQUADS;
+        if (getSourceInputStream().isPresent()) {
+            // Not ours to close
+            read(getSourceInputStream().get(), quads);
+        } else if (getSourceFile().isPresent()) {
+            if (parallelism > 1) {
+                parseInParallel(getSourceFile().get(), quads);
+                return;
+            }
+            try (InputStream in = recordBytes(Files.newInputStream(getSourceFile().get()))) {
+                read(in, quads);
+            }
+        } else {
+            try (InputStream in = recordBytes(URI.create(getSourceIri().get().getIRIString()).toURL().openStream())) {
+                read(in, quads);
+            }
+        }
+    }
+
+    private void read(final InputStream in, final boolean quads) throws IOException, RDFParseException {
+        new NQuadsReader(this, in, getRdfTermFactory().get(), getTarget(), quads).read();
+    }
+
+}
@@ -0,0 +1,498 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.experimental.RDFParser;
+
+/**
+ * Reads N-Triples or N-Quads from a byte stream.
+ * <p>
+ * Lines are located in a byte buffer and tokenized in place, so the only
+ * {@link String}s created are the values of the terms, decoded straight from
+ * UTF-8. A subject, predicate, datatype or graph name that repeats the one
+ * of the previous statement is reused without decoding it again, which is
+ * common as N-Triples is usually grouped by subject.
+ */
+final class NQuadsReader {
+
+    /**
+     * The last term seen in a position, with the bytes it was parsed from.
+     */
+    private static final class LastTerm {
+
+        private byte[] bytes = new byte[0];
+        private RDFTerm term;
+
+        RDFTerm get(final byte[] buffer, final int start, final int end) {
+            if (term == null || bytes.length != end - start) {
+                return null;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] != buffer[start + i]) {
+                    return null;
+                }
+            }
+            return term;
+        }
+
+        void set(final byte[] buffer, final int start, final int end, final RDFTerm term) {
+            this.bytes = Arrays.copyOfRange(buffer, start, end);
+            this.term = term;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private final RDFParser parser;
+    private final InputStream in;
+    private final RDF factory;
+    private final Consumer<Quad> target;
+    private final boolean allowGraphNames;
+
+    /**
+     * Byte offset of the input in the file, or {@code -1} if the input is
+     * the whole source.
+     */
+    private final long chunkStart;
+
+    private final LastTerm lastSubject = new LastTerm();
+    private final LastTerm lastPredicate = new LastTerm();
+    private final LastTerm lastDatatype = new LastTerm();
+    private final LastTerm lastGraphName = new LastTerm();
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Number of bytes read into {@link #buffer}.
+     */
+    private int limit;
+
+    /**
+     * Start of the next line in {@link #buffer}.
+     */
+    private int next;
+
+    private int lineEnd;
+
+    /**
+     * Current position within the line.
+     */
+    private int pos;
+
+    private long lineNumber;
+    private boolean afterCarriageReturn;
+    private boolean endOfInput;
+
+    /**
+     * Set by {@link #scanIri()} if the IRI contains escapes.
+     */
+    private boolean escaped;
+
+    /**
+     * Create a reader.
+     *
+     * @param parser
+     *            Parser to report in {@link RDFParseException}s
+     * @param in
+     *            Stream to read, which is not closed
+     * @param factory
+     *            Factory to create terms and quads with
+     * @param target
+     *            Consumer of the parsed quads
+     * @param allowGraphNames
+     *            {@code true} for N-Quads, {@code false} for N-Triples
+     */
+    NQuadsReader(final RDFParser parser, final InputStream in, final RDF factory, final Consumer<Quad> target,
+            final boolean allowGraphNames) {
+        this(parser, in, factory, target, allowGraphNames, -1);
+    }
+
+    /**
+     * Create a reader for a chunk of a file.
+     *
+     * @param parser
+     *            Parser to report in {@link RDFParseException}s
+     * @param in
+     *            Stream to read, which is not closed
+     * @param factory
+     *            Factory to create terms and quads with
+     * @param target
+     *            Consumer of the parsed quads
+     * @param allowGraphNames
+     *            {@code true} for N-Quads, {@code false} for N-Triples
+     * @param chunkStart
+     *            Byte offset of the chunk in the file, reported in errors as
+     *            line numbers are relative to the chunk
+     */
+    NQuadsReader(final RDFParser parser, final InputStream in, final RDF factory, final Consumer<Quad> target,
+            final boolean allowGraphNames, final long chunkStart) {
+        this.parser = parser;
+        this.in = in;
+        this.factory = factory;
+        this.target = target;
+        this.allowGraphNames = allowGraphNames;
+        this.chunkStart = chunkStart;
+    }
+
+    private BlankNode blankNode(final LastTerm last) throws RDFParseException {
+        final int start = pos;
+        if (pos + 1 >= lineEnd || buffer[pos + 1] != ':') {
+            throw error("Expected '_:'");
+        }
+        pos += 2;
+        final int labelStart = pos;
+        while (pos < lineEnd && !isWhitespace(buffer[pos]) && buffer[pos] != '<' && buffer[pos] != '"'
+                && buffer[pos] != '#') {
+            pos++;
+        }
+        // A label can't end with '.', which is then the end of the statement
+        while (pos > labelStart && buffer[pos - 1] == '.') {
+            pos--;
+        }
+        if (pos == labelStart) {
+            throw error("Empty blank node label");
+        }
+        if (last != null) {
+            final RDFTerm cached = last.get(buffer, start, pos);
+            if (cached != null) {
+                return (BlankNode) cached;
+            }
+        }
+        final BlankNode blankNode = factory.createBlankNode(decode(labelStart, pos));
+        if (last != null) {
+            last.set(buffer, start, pos, blankNode);
+        }
+        return blankNode;
+    }
+
+    private BlankNodeOrIRI blankNodeOrIRI(final LastTerm last) throws RDFParseException {
+        if (pos < lineEnd && buffer[pos] == '<') {
+            return iri(last);
+        }
+        if (pos < lineEnd && buffer[pos] == '_') {
+            return blankNode(last);
+        }
+        throw error("Expected IRI or blank node");
+    }
+
+    private String decode(final int start, final int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private RDFParseException error(final String message) {
+        if (chunkStart >= 0) {
+            return new RDFParseException(parser,
+                    "Line " + lineNumber + " of chunk at byte " + chunkStart + ": " + message);
+        }
+        return new RDFParseException(parser, "Line " + lineNumber + ": " + message);
+    }
+
+    private int hex(final int start, final int digits) throws RDFParseException {
+        if (start + digits > lineEnd) {
+            throw error("Incomplete unicode escape");
+        }
+        int codePoint = 0;
+        for (int i = start; i < start + digits; i++) {
+            final int digit = Character.digit(buffer[i], 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            codePoint = codePoint << 4 | digit;
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("Invalid unicode escape");
+        }
+        return codePoint;
+    }
+
+    private IRI iri(final LastTerm last) throws RDFParseException {
+        final int start = pos;
+        final int end = scanIri();
+        pos = end + 1;
+        if (last != null) {
+            final RDFTerm cached = last.get(buffer, start, pos);
+            if (cached != null) {
+                return (IRI) cached;
+            }
+        }
+        final String iri = escaped ? unescape(start + 1, end, true) : decode(start + 1, end);
+        final IRI result;
+        try {
+            result = factory.createIRI(iri);
+        } catch (final IllegalArgumentException e) {
+            throw error("Invalid IRI <" + iri + ">: " + e.getMessage());
+        }
+        if (last != null) {
+            last.set(buffer, start, pos, result);
+        }
+        return result;
+    }
+
+    private Literal literal() throws RDFParseException {
+        final int start = ++pos;
+        boolean hasEscapes = false;
+        while (true) {
+            if (pos >= lineEnd) {
+                throw error("Unterminated literal");
+            }
+            final byte b = buffer[pos];
+            if (b == '"') {
+                break;
+            }
+            if (b == '\\') {
+                hasEscapes = true;
+                pos += 2;
+            } else {
+                pos++;
+            }
+        }
+        final int end = pos++;
+        final String lexicalForm = hasEscapes ? unescape(start, end, false) : decode(start, end);
+        if (pos < lineEnd && buffer[pos] == '@') {
+            final int tagStart = ++pos;
+            while (pos < lineEnd && (Character.isLetterOrDigit(buffer[pos]) || buffer[pos] == '-')) {
+                pos++;
+            }
+            if (pos == tagStart) {
+                throw error("Empty language tag");
+            }
+            return factory.createLiteral(lexicalForm, new String(buffer, tagStart, pos - tagStart,
+                    StandardCharsets.US_ASCII));
+        }
+        if (pos + 1 < lineEnd && buffer[pos] == '^' && buffer[pos + 1] == '^') {
+            pos += 2;
+            if (pos >= lineEnd || buffer[pos] != '<') {
+                throw error("Expected datatype IRI");
+            }
+            return factory.createLiteral(lexicalForm, iri(lastDatatype));
+        }
+        return factory.createLiteral(lexicalForm);
+    }
+
+    /**
+     * Find the next line in the buffer, reading more input if needed.
+     *
+     * @return {@code false} at the end of the input
+     */
+    private boolean nextLine() throws IOException {
+        int scan = next;
+        while (true) {
+            for (; scan < limit; scan++) {
+                final byte b = buffer[scan];
+                if (b == '\n' || b == '\r') {
+                    // Don't count the \n of \r\n as another line
+                    if (b == '\r' || !afterCarriageReturn || scan != next) {
+                        lineNumber++;
+                    }
+                    afterCarriageReturn = b == '\r';
+                    pos = next;
+                    lineEnd = scan;
+                    next = scan + 1;
+                    return true;
+                }
+            }
+            if (endOfInput) {
+                if (next < limit) {
+                    lineNumber++;
+                    pos = next;
+                    lineEnd = limit;
+                    next = limit;
+                    return true;
+                }
+                return false;
+            }
+            // Keep the partial line at the start of the buffer, and read more
+            final int partial = limit - next;
+            if (next > 0) {
+                System.arraycopy(buffer, next, buffer, 0, partial);
+            } else if (partial == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            next = 0;
+            limit = partial;
+            scan = partial;
+            final int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private RDFTerm object() throws RDFParseException {
+        if (pos < lineEnd && buffer[pos] == '"') {
+            return literal();
+        }
+        return blankNodeOrIRI(null);
+    }
+
+    private void parseLine() throws RDFParseException {
+        skipWhitespace();
+        if (pos == lineEnd || buffer[pos] == '#') {
+            return;
+        }
+        final BlankNodeOrIRI subject = blankNodeOrIRI(lastSubject);
+        skipWhitespace();
+        if (pos >= lineEnd || buffer[pos] != '<') {
+            throw error("Expected predicate IRI");
+        }
+        final IRI predicate = iri(lastPredicate);
+        skipWhitespace();
+        final RDFTerm object = object();
+        skipWhitespace();
+        BlankNodeOrIRI graphName = null;
+        if (pos < lineEnd && buffer[pos] != '.') {
+            if (!allowGraphNames) {
+                throw error("Expected '.'");
+            }
+            graphName = blankNodeOrIRI(lastGraphName);
+            skipWhitespace();
+        }
+        if (pos >= lineEnd || buffer[pos] != '.') {
+            throw error("Expected '.'");
+        }
+        pos++;
+        skipWhitespace();
+        if (pos < lineEnd && buffer[pos] != '#') {
+            throw error("Unexpected content after '.'");
+        }
+        target.accept(factory.createQuad(graphName, subject, predicate, object));
+    }
+
+    /**
+     * Read all statements and send them to the target.
+     *
+     * @throws IOException
+     *             If the input could not be read
+     * @throws RDFParseException
+     *             If the input is not valid N-Triples or N-Quads
+     */
+    void read() throws IOException, RDFParseException {
+        while (nextLine()) {
+            parseLine();
+        }
+    }
+
+    /**
+     * Check the IRI starting at {@link #pos}.
+     *
+     * @return The position of the closing {@code >}
+     */
+    private int scanIri() throws RDFParseException {
+        escaped = false;
+        int i = pos + 1;
+        while (true) {
+            if (i >= lineEnd) {
+                throw error("Unterminated IRI");
+            }
+            final byte b = buffer[i];
+            if (b == '>') {
+                return i;
+            }
+            if (b == '\\') {
+                escaped = true;
+            } else if ((b & 0xFF) <= 0x20 || b == '<' || b == '"' || b == '{' || b == '}' || b == '|' || b == '^'
+                    || b == '`') {
+                throw error("Illegal character in IRI");
+            }
+            i++;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < lineEnd && isWhitespace(buffer[pos])) {
+            pos++;
+        }
+    }
+
+    private String unescape(final int start, final int end, final boolean iri) throws RDFParseException {
+        final StringBuilder sb = new StringBuilder(end - start);
+        int run = start;
+        int i = start;
+        while (i < end) {
+            if (buffer[i] != '\\') {
+                i++;
+                continue;
+            }
+            sb.append(decode(run, i));
+            if (i + 1 >= end) {
+                throw error("Incomplete escape");
+            }
+            final byte escape = buffer[i + 1];
+            i += 2;
+            if (escape == 'u') {
+                sb.appendCodePoint(hex(i, 4));
+                i += 4;
+            } else if (escape == 'U') {
+                sb.appendCodePoint(hex(i, 8));
+                i += 8;
+            } else if (iri) {
+                throw error("Invalid escape in IRI");
+            } else {
+                switch (escape) {
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case '"':
+                case '\'':
+                case '\\':
+                    sb.append((char) escape);
+                    break;
+                default:
+                    throw error("Invalid escape \\" + (char) escape);
+                }
+            }
+            run = i;
+        }
+        if (i > end) {
+            throw error("Incomplete escape");
+        }
+        return sb.append(decode(run, end)).toString();
+    }
+
+}
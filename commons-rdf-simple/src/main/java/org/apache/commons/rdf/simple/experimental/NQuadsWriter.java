@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.QuadLike;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.TripleLike;
+import org.apache.commons.rdf.simple.Types;
+
+/**
+ * A dependency-free writer for N-Triples and N-Quads.
+ * <p>
+ * Terms are escaped and encoded as UTF-8 in a single pass into a reusable
+ * buffer, which is written to the target channel whenever it is full, so no
+ * intermediate {@link String} is created per term or statement. The output
+ * is the same as joining {@link RDFTerm#ntriplesString()} of each term.
+ * <p>
+ * If no content type is set, the syntax is guessed from the file extension of
+ * a file target, falling back to {@link RDFSyntax#NQUADS}.
+ * <p>
+ * Experimental.
+ */
+public class NQuadsWriter extends AbstractRDFWriter<NQuadsWriter> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Longest UTF-8 encoding of a single code point.
+     */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private static boolean isSupported(final RDFSyntax syntax) {
+        return syntax == RDFSyntax.NQUADS || syntax == RDFSyntax.NTRIPLES;
+    }
+
+    /**
+     * Buffer and channel of a single write, as this writer is immutable.
+     */
+    private static final class Output {
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final WritableByteChannel channel;
+
+        Output(final WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ascii(final String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                ensure(1);
+                buffer.put((byte) s.charAt(i));
+            }
+        }
+
+        private void blankNode(final BlankNode blankNode) throws IOException {
+            // The label of a blank node is only exposed by ntriplesString()
+            utf8(blankNode.ntriplesString(), false);
+        }
+
+        private void ensure(final int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void iri(final IRI iri) throws IOException {
+            ensure(1);
+            buffer.put((byte) '<');
+            utf8(iri.getIRIString(), false);
+            ensure(1);
+            buffer.put((byte) '>');
+        }
+
+        private void literal(final Literal literal) throws IOException {
+            ensure(1);
+            buffer.put((byte) '"');
+            utf8(literal.getLexicalForm(), true);
+            ensure(1);
+            buffer.put((byte) '"');
+            if (literal.getLanguageTag().isPresent()) {
+                ensure(1);
+                buffer.put((byte) '@');
+                utf8(literal.getLanguageTag().get(), false);
+            } else if (!Types.XSD_STRING.equals(literal.getDatatype())) {
+                ascii("^^");
+                iri(literal.getDatatype());
+            }
+        }
+
+        void statement(final TripleLike statement, final boolean quads) throws IOException {
+            term(statement.getSubject());
+            ensure(1);
+            buffer.put((byte) ' ');
+            term(statement.getPredicate());
+            ensure(1);
+            buffer.put((byte) ' ');
+            term(statement.getObject());
+            if (quads && statement instanceof QuadLike) {
+                final RDFTerm graphName = ((QuadLike<?>) statement).getGraphName().orElse(null);
+                if (graphName != null) {
+                    ensure(1);
+                    buffer.put((byte) ' ');
+                    term(graphName);
+                }
+            }
+            ascii(" .\n");
+        }
+
+        private void term(final RDFTerm term) throws IOException {
+            if (term instanceof IRI) {
+                iri((IRI) term);
+            } else if (term instanceof BlankNode) {
+                blankNode((BlankNode) term);
+            } else if (term instanceof Literal) {
+                literal((Literal) term);
+            } else {
+                utf8(term.ntriplesString(), false);
+            }
+        }
+
+        /**
+         * Encode a string as UTF-8, optionally escaping it as the content
+         * of a literal.
+         */
+        private void utf8(final String s, final boolean escape) throws IOException {
+            final int length = s.length();
+            for (int i = 0; i < length; i++) {
+                ensure(MAX_CHAR_BYTES);
+                final char c = s.charAt(i);
+                if (c < 0x80) {
+                    if (escape) {
+                        switch (c) {
+                        case '\\':
+                        case '"':
+                            buffer.put((byte) '\\').put((byte) c);
+                            continue;
+                        case '\n':
+                            buffer.put((byte) '\\').put((byte) 'n');
+                            continue;
+                        case '\r':
+                            buffer.put((byte) '\\').put((byte) 'r');
+                            continue;
+                        default:
+                            break;
+                        }
+                    }
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    final int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                            .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, replaced like String.getBytes() does
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F))
+                            .put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a new instance.
+     */
+    public NQuadsWriter() {
+        // empty
+    }
+
+    @Override
+    protected void checkContentType() throws IllegalStateException {
+        if (getContentType().isPresent() && !getContentTypeSyntax().filter(NQuadsWriter::isSupported).isPresent()) {
+            throw new IllegalStateException("Unsupported content type: " + getContentType().get());
+        }
+    }
+
+    private void write(final WritableByteChannel channel) throws IOException {
+        final boolean quads = getSyntax().filter(NQuadsWriter::isSupported).orElse(RDFSyntax.NQUADS)
+                == RDFSyntax.NQUADS;
+        final Output output = new Output(channel);
+        final Iterator<? extends TripleLike> statements = getSource().get().iterator();
+        while (statements.hasNext()) {
+            final TripleLike statement = statements.next();
+            if (quads || inDefaultGraph(statement)) {
+                output.statement(statement, quads);
+            }
+        }
+        output.flush();
+    }
+
+    @Override
+    protected void writeSynchronously() throws IOException {
+        if (getTargetFile().isPresent()) {
+            try (FileChannel channel = FileChannel.open(getTargetFile().get(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(channel);
+            }
+        } else if (getTargetChannel().isPresent()) {
+            write(getTargetChannel().get());
+        } else {
+            final OutputStream out = getTargetOutputStream().get();
+            // Not closing the channel, as that would close the stream
+            write(Channels.newChannel(out));
+            out.flush();
+        }
+    }
+
+}
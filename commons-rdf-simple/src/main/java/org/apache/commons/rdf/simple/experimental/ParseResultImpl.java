@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.apache.commons.rdf.experimental.RDFParser.ParseResult;
+
+/**
+ * The statistics of a completed parse.
+ */
+final class ParseResultImpl implements ParseResult {
+
+    private final long statements;
+    private final long blankNodes;
+
+    /**
+     * Bytes read, or {@code -1} if not known.
+     */
+    private final long bytes;
+    private final long parseNanos;
+    private final long targetNanos;
+
+    ParseResultImpl(final long statements, final long blankNodes, final long bytes, final long parseNanos,
+            final long targetNanos) {
+        this.statements = statements;
+        this.blankNodes = blankNodes;
+        this.bytes = bytes;
+        this.parseNanos = parseNanos;
+        this.targetNanos = targetNanos;
+    }
+
+    @Override
+    public OptionalLong getBlankNodeCount() {
+        return OptionalLong.of(blankNodes);
+    }
+
+    @Override
+    public OptionalLong getByteCount() {
+        return bytes < 0 ? OptionalLong.empty() : OptionalLong.of(bytes);
+    }
+
+    @Override
+    public Optional<Duration> getParseTime() {
+        return Optional.of(Duration.ofNanos(parseNanos));
+    }
+
+    @Override
+    public OptionalLong getStatementCount() {
+        return OptionalLong.of(statements);
+    }
+
+    @Override
+    public Optional<Duration> getTargetTime() {
+        return Optional.of(Duration.ofNanos(targetNanos));
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult [statements=" + statements + ", blankNodes=" + blankNodes + ", bytes="
+                + (bytes < 0 ? "unknown" : Long.toString(bytes)) + ", parseTime=" + getParseTime().get()
+                + ", targetTime=" + getTargetTime().get() + "]";
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * Collects quads into batches for
+ * {@link AbstractRDFParser#targetBatch(int, Duration, Consumer)}.
+ * <p>
+ * A batch is delivered when it is full, by {@link #flush()}, or by a shared
+ * timer thread once its first quad has waited for the maximum delay. All
+ * deliveries happen while holding the lock of the batcher, so the consumer
+ * receives one batch at a time. Exceptions thrown by the consumer for a
+ * delayed batch are rethrown by the next {@link #accept(Quad)} or
+ * {@link #flush()}.
+ */
+final class QuadBatcher implements Consumer<Quad> {
+
+    private static ScheduledThreadPoolExecutor timer;
+
+    private static synchronized ScheduledThreadPoolExecutor timer() {
+        if (timer == null) {
+            timer = new ScheduledThreadPoolExecutor(1, r -> {
+                final Thread thread = new Thread(r, "commons-rdf-batch-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+        }
+        return timer;
+    }
+
+    private final int batchSize;
+
+    /**
+     * Maximum delay in nanoseconds, or {@code 0} for no delayed batches.
+     */
+    private final long maxDelayNanos;
+    private final Consumer<List<Quad>> consumer;
+
+    private List<Quad> batch;
+    private ScheduledFuture<?> delayed;
+    private RuntimeException failure;
+
+    QuadBatcher(final int batchSize, final Duration maxDelay, final Consumer<List<Quad>> consumer) {
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay == null ? 0 : maxDelay.toNanos();
+        this.consumer = consumer;
+    }
+
+    @Override
+    public synchronized void accept(final Quad quad) {
+        checkFailure();
+        if (batch == null) {
+            batch = new ArrayList<>(batchSize);
+            if (maxDelayNanos > 0) {
+                final List<Quad> started = batch;
+                delayed = timer().schedule(() -> deliverDelayed(started), maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        batch.add(quad);
+        if (batch.size() >= batchSize) {
+            deliver();
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Discard any pending batch and stop its timer.
+     */
+    synchronized void close() {
+        cancelDelayed();
+        batch = null;
+    }
+
+    private void cancelDelayed() {
+        if (delayed != null) {
+            delayed.cancel(false);
+            delayed = null;
+        }
+    }
+
+    private void deliver() {
+        cancelDelayed();
+        final List<Quad> full = batch;
+        batch = null;
+        consumer.accept(full);
+    }
+
+    private synchronized void deliverDelayed(final List<Quad> started) {
+        // The batch may have been delivered while we waited for the lock
+        if (batch != started || failure != null) {
+            return;
+        }
+        try {
+            deliver();
+        } catch (final RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Deliver the pending batch, if any.
+     */
+    synchronized void flush() {
+        checkFailure();
+        if (batch != null) {
+            deliver();
+        }
+    }
+
+}
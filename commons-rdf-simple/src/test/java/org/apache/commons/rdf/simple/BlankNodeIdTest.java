@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BlankNodeIdTest {
+
+    private static final UUID SALT = UUID.fromString("35019b59-18b3-4e74-8707-ec55f62a37d6");
+
+    @Test
+    void appendHashCode() {
+        final UUID uuid = UUID.randomUUID();
+        final int prefix = "urn:uuid:".hashCode();
+        final int h = BlankNodeId.appendUuidHashCode(prefix, uuid.getMostSignificantBits(),
+                uuid.getLeastSignificantBits()) * 31 + '#';
+        assertEquals(("urn:uuid:" + uuid + "#b1").hashCode(), BlankNodeId.appendHashCode(h, "b1"));
+        assertEquals("abc".hashCode(), BlankNodeId.appendHashCode("abc".hashCode(), ""));
+    }
+
+    @Test
+    void knownValue() {
+        // MurmurHash3_x64_128 of "abcd" as UTF-16LE bytes, seed 0
+        final BlankNodeId id = BlankNodeId.of(0, 0, "abcd");
+        assertEquals(0x548cfc581a584f48L, id.getMostSignificantBits());
+        assertEquals(0x076f42dc4bbe30dfL, id.getLeastSignificantBits());
+    }
+
+    @Test
+    void sameSaltAndName() {
+        assertEquals(BlankNodeId.of(SALT, "b1"), BlankNodeId.of(SALT, "b1"));
+        assertEquals(BlankNodeId.of(SALT, "b1").hashCode(), BlankNodeId.of(SALT, "b1").hashCode());
+        assertNotEquals(BlankNodeId.of(SALT, "b1"), BlankNodeId.of(SALT, "b2"));
+        assertNotEquals(BlankNodeId.of(SALT, "b1"), BlankNodeId.of(UUID.randomUUID(), "b1"));
+        // Names differing only beyond the first block
+        assertNotEquals(BlankNodeId.of(SALT, "0123456789abcdef0"), BlankNodeId.of(SALT, "0123456789abcdef1"));
+    }
+
+    @Test
+    void toStringHashCode() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final BlankNodeId id = new BlankNodeId(random.nextLong(), random.nextLong());
+            assertEquals(id.toString().hashCode(), id.toStringHashCode());
+            assertEquals(id.toString(), new BlankNodeImpl(id.toString()).uniqueReference());
+        }
+    }
+
+}
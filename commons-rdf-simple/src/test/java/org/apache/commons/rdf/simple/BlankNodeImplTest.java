@@ -17,10 +17,14 @@
  */
 package org.apache.commons.rdf.simple;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
 import java.util.UUID;
 
 import org.apache.commons.rdf.api.AbstractBlankNodeTest;
 import org.apache.commons.rdf.api.BlankNode;
+import org.junit.jupiter.api.Test;
 
 /**
  * Concrete implementation of BlankNodeImpl test.
@@ -40,4 +44,18 @@ class BlankNodeImplTest extends AbstractBlankNodeTest {
         return new BlankNodeImpl(SALT, identifier);
     }
 
+    @Test
+    void testFromUniqueReference() {
+        final BlankNode blankNode = getBlankNode("b1");
+        final BlankNode copy = new BlankNodeImpl(blankNode.uniqueReference());
+        assertEquals(blankNode, copy);
+        assertEquals(blankNode.hashCode(), copy.hashCode());
+        // A reference from another implementation is kept as is
+        final BlankNode foreign = new BlankNodeImpl("urn:example:b1");
+        assertEquals("urn:example:b1", foreign.uniqueReference());
+        assertEquals("urn:example:b1".hashCode(), foreign.hashCode());
+        assertEquals(foreign, new BlankNodeImpl("urn:example:b1"));
+        assertNotEquals(foreign, blankNode);
+    }
+
 }
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ConversionCache} and {@link SimpleRDF.Option#caching}.
+ */
+class ConversionCacheTest {
+
+    /**
+     * An IRI from another implementation.
+     */
+    private static final class ForeignIRI implements IRI {
+        private final String iri;
+
+        ForeignIRI(final String iri) {
+            this.iri = iri;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IRI && ((IRI) obj).getIRIString().equals(iri);
+        }
+
+        @Override
+        public String getIRIString() {
+            return iri;
+        }
+
+        @Override
+        public int hashCode() {
+            return iri.hashCode();
+        }
+
+        @Override
+        public String ntriplesString() {
+            return "<" + iri + ">";
+        }
+    }
+
+    private final SimpleRDF rdf = new SimpleRDF();
+
+    @Test
+    void testCacheIsBounded() {
+        final ConversionCache<String> cache = new ConversionCache<>(4);
+        assertEquals(4, cache.getCapacity());
+        final AtomicInteger conversions = new AtomicInteger();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 100; i++) {
+                cache.get(rdf.createIRI("http://example.com/" + i), term -> {
+                    conversions.incrementAndGet();
+                    return term.ntriplesString();
+                });
+            }
+        }
+        // At most 4 of the IRIs can still be cached for the second round
+        assertTrue(conversions.get() >= 196);
+        assertEquals(200, cache.getHits() + cache.getMisses());
+        assertEquals(conversions.get(), cache.getMisses());
+    }
+
+    @Test
+    void testCapacityIsRoundedUp() {
+        assertEquals(8, new ConversionCache<>(5).getCapacity());
+        assertEquals(1, new ConversionCache<>(1).getCapacity());
+    }
+
+    @Test
+    void testEqualTermsShareConversion() {
+        final ConversionCache<String> cache = new ConversionCache<>(16);
+        final String value = cache.get(new ForeignIRI("http://example.com/p"), RDFTerm::ntriplesString);
+        assertSame(value, cache.get(new ForeignIRI("http://example.com/p"), term -> "converted again"));
+        assertSame(value, cache.get(rdf.createIRI("http://example.com/p"), term -> "converted again"));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache<>((1 << 30) + 1));
+    }
+
+    @Test
+    void testNoLookups() {
+        final ConversionCache<String> cache = new ConversionCache<>(16);
+        assertEquals(0.0, cache.getHitRate());
+        assertEquals("ConversionCache [capacity=16, hits=0, misses=0]", cache.toString());
+    }
+
+    @Test
+    void testSimpleRDFCaching() {
+        assertFalse(rdf.getConversionCache().isPresent());
+
+        final SimpleRDF caching = new SimpleRDF(SimpleRDF.Option.caching);
+        final ConversionCache<RDFTerm> cache = caching.getConversionCache().get();
+        assertEquals(SimpleRDF.DEFAULT_CONVERSION_CACHE_CAPACITY, cache.getCapacity());
+
+        final Graph graph = caching.createGraph();
+        final BlankNodeOrIRI subject = caching.createIRI("http://example.com/s");
+        final IRI predicate = new ForeignIRI("http://example.com/p");
+        for (int i = 0; i < 10; i++) {
+            graph.add(subject, predicate, caching.createLiteral(Integer.toString(i)));
+        }
+        assertTrue(graph.contains(subject, new ForeignIRI("http://example.com/p"), null));
+        assertEquals(10, graph.size());
+        // Only the foreign predicate is converted, the first time
+        assertEquals(1, cache.getMisses());
+        assertEquals(10, cache.getHits());
+        assertTrue(graph.stream().allMatch(t -> t.getPredicate() instanceof IRIImpl));
+    }
+
+}
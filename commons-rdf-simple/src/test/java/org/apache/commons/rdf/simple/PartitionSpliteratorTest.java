@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link PartitionSpliterator}.
+ */
+class PartitionSpliteratorTest {
+
+    private static Set<Integer> range(final int from, final int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Split recursively and traverse each part, alternating between
+     * tryAdvance and forEachRemaining.
+     */
+    private static void splitAll(final Spliterator<Integer> spliterator, final List<Integer> seen) {
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            splitAll(prefix, seen);
+            splitAll(spliterator, seen);
+        } else if (seen.size() % 2 == 0) {
+            while (spliterator.tryAdvance(seen::add)) {
+                // continue
+            }
+        } else {
+            spliterator.forEachRemaining(seen::add);
+        }
+    }
+
+    @Test
+    void testBalancedSplit() {
+        final List<Set<Integer>> partitions = Arrays.asList(range(0, 10), range(10, 20), range(20, 1000),
+                range(1000, 1010));
+        final Spliterator<Integer> spliterator = new PartitionSpliterator<>(partitions, true);
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        // Split near the middle element, which is in the large partition
+        assertEquals(1010, prefix.estimateSize() + spliterator.estimateSize());
+        assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(20, prefix.estimateSize());
+    }
+
+    @Test
+    void testCharacteristics() {
+        final List<Set<Integer>> partitions = Collections.singletonList(range(0, 10));
+        final Spliterator<Integer> sized = new PartitionSpliterator<>(partitions, true);
+        assertTrue(sized.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT | Spliterator.NONNULL));
+        assertEquals(10, sized.estimateSize());
+        assertEquals(10, sized.getExactSizeIfKnown());
+        final Spliterator<Integer> concurrent = new PartitionSpliterator<>(partitions, false);
+        assertFalse(concurrent.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(concurrent.hasCharacteristics(Spliterator.CONCURRENT));
+    }
+
+    @Test
+    void testEmpty() {
+        final Spliterator<Integer> spliterator = new PartitionSpliterator<>(Collections.<Set<Integer>>emptyList(), true);
+        assertEquals(0, spliterator.estimateSize());
+        assertFalse(spliterator.tryAdvance(i -> {
+            throw new AssertionError();
+        }));
+        assertEquals(null, spliterator.trySplit());
+    }
+
+    @Test
+    void testParallelStream() {
+        final List<Set<Integer>> partitions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            partitions.add(range(i * 100, i * 100 + i * 10));
+        }
+        final long expected = partitions.stream().mapToLong(Set::size).sum();
+        assertEquals(expected,
+                StreamSupport.stream(new PartitionSpliterator<>(partitions, true), true).distinct().count());
+        assertEquals(expected, StreamSupport.stream(new PartitionSpliterator<>(partitions, true), false).count());
+    }
+
+    @Test
+    void testSplitSinglePartition() {
+        final Spliterator<Integer> spliterator = new PartitionSpliterator<>(
+                Collections.singletonList(range(0, 10000)), true);
+        // A single large partition is split too
+        assertNotNull(spliterator.trySplit());
+    }
+
+    @Test
+    void testSplitTraversesAll() {
+        final List<Set<Integer>> partitions = Arrays.asList(range(0, 3), range(3, 4), range(4, 500), range(500, 510));
+        final List<Integer> seen = new ArrayList<>();
+        final Spliterator<Integer> spliterator = new PartitionSpliterator<>(partitions, true);
+        // Traverse some of the first partition before splitting
+        assertTrue(spliterator.tryAdvance(seen::add));
+        splitAll(spliterator, seen);
+        assertEquals(510, seen.size());
+        assertEquals(range(0, 510), new HashSet<>(seen));
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF concurrent graphs with AbstractGraphTest
+ */
+class SimpleConcurrentGraphTest extends AbstractGraphTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.concurrent);
+    }
+
+    @Test
+    void testConcurrentAddAndStream() throws Exception {
+        final int threads = 4;
+        final int triples = 10000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        try (Graph g = factory.createGraph()) {
+            final IRI p = factory.createIRI("http://example.com/p");
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final IRI s = factory.createIRI("http://example.com/s" + t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < triples; i++) {
+                        g.add(s, p, factory.createLiteral(Integer.toString(i)));
+                    }
+                }));
+                // Readers must not see ConcurrentModificationException
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        g.stream(null, p, null).count();
+                    }
+                }));
+            }
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+            assertEquals((long) threads * triples, g.size());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testStorageOptionsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimpleRDF(SimpleRDF.Option.concurrent, SimpleRDF.Option.indexed));
+    }
+
+}
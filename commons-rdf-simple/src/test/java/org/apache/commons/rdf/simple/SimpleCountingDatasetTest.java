@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.AbstractDatasetTest;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF datasets with term counts with AbstractDatasetTest
+ */
+class SimpleCountingDatasetTest extends AbstractDatasetTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.counting);
+    }
+
+    @Test
+    void testCountsFollowChanges() throws Exception {
+        try (Dataset ds = factory.createDataset()) {
+            final IRI g1 = factory.createIRI("http://example.com/g1");
+            final IRI g2 = factory.createIRI("http://example.com/g2");
+            final IRI s = factory.createIRI("http://example.com/s");
+            final IRI p = factory.createIRI("http://example.com/p");
+            for (int i = 0; i < 10; i++) {
+                ds.add(i % 2 == 0 ? g1 : g2, s, p, factory.createLiteral(Integer.toString(i)));
+            }
+            assertEquals(10, ds.count(null, s, null, null));
+            assertEquals(5, ds.count(Optional.of(g1), s, null, null));
+            assertEquals(5, ds.estimateCount(Optional.of(g2), null, p, null));
+            assertEquals(10, ds.estimateCount(null, null, p, null));
+
+            ds.remove(Optional.of(g1), null, null, null);
+            assertEquals(5, ds.count(null, null, p, null));
+            assertEquals(0, ds.estimateCount(null, null, null, factory.createLiteral("0")));
+
+            ds.clear();
+            assertEquals(0, ds.count(null, s, null, null));
+            assertEquals(0, ds.estimateCount(null, null, p, null));
+        }
+    }
+
+}
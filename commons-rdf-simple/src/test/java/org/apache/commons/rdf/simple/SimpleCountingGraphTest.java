@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF graphs with term counts with AbstractGraphTest
+ */
+class SimpleCountingGraphTest extends AbstractGraphTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.counting);
+    }
+
+    @Test
+    void testCountsFollowChanges() throws Exception {
+        try (Graph g = factory.createGraph()) {
+            final IRI s = factory.createIRI("http://example.com/s");
+            final IRI p = factory.createIRI("http://example.com/p");
+            for (int i = 0; i < 10; i++) {
+                g.add(s, p, factory.createLiteral(Integer.toString(i)));
+                // Adding again is not counted
+                g.add(s, p, factory.createLiteral(Integer.toString(i)));
+            }
+            assertEquals(10, g.count(s, null, null));
+            assertEquals(10, g.estimateCount(null, p, null));
+            assertEquals(1, g.estimateCount(null, null, factory.createLiteral("3")));
+
+            g.remove(s, p, factory.createLiteral("3"));
+            assertEquals(9, g.count(null, p, null));
+            assertEquals(0, g.estimateCount(null, null, factory.createLiteral("3")));
+
+            g.clear();
+            assertEquals(0, g.count(s, null, null));
+            assertEquals(0, g.estimateCount(null, p, null));
+        }
+    }
+
+}
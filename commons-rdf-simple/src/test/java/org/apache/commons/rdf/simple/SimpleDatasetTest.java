@@ -17,11 +17,17 @@
  */
 package org.apache.commons.rdf.simple;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.util.stream.Collectors;
 
 import org.apache.commons.rdf.api.AbstractDatasetTest;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.Test;
 
@@ -46,4 +52,31 @@ class SimpleDatasetTest extends AbstractDatasetTest {
 
     }
 
+    @Test
+    void testNamedGraphPartitions() throws Exception {
+        try (Dataset ds = factory.createDataset()) {
+            final IRI g1 = factory.createIRI("http://example.com/g1");
+            final IRI g2 = factory.createIRI("http://example.com/g2");
+            final IRI s = factory.createIRI("http://example.com/s");
+            final IRI p = factory.createIRI("http://example.com/p");
+            ds.add(g1, s, p, factory.createLiteral("1"));
+            ds.add(g1, s, p, factory.createLiteral("2"));
+            ds.add(g2, s, p, factory.createLiteral("1"));
+            ds.add(null, s, p, factory.createLiteral("1"));
+            assertEquals(4, ds.size());
+            assertEquals(2, ds.getGraphNames().count());
+
+            final Graph graph1 = ds.getGraph(g1).get();
+            assertEquals(2, graph1.size());
+            graph1.clear();
+            assertEquals(0, graph1.size());
+            assertEquals(2, ds.size());
+            assertEquals(g2, ds.getGraphNames().collect(Collectors.toList()).get(0));
+
+            ds.remove(factory.createQuad(g2, s, p, factory.createLiteral("1")));
+            assertFalse(ds.getGraphNames().findAny().isPresent());
+            assertEquals(1, ds.getGraph().size());
+        }
+    }
+
 }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF dictionary-encoded graphs with AbstractGraphTest
+ */
+class SimpleDictionaryGraphTest extends AbstractGraphTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.dictionary);
+    }
+
+    @Test
+    void testDictionaryGraphCreated() {
+        assertTrue(graph instanceof DictionaryGraphImpl);
+    }
+
+    @Test
+    void testIndexedAndDictionaryRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimpleRDF(SimpleRDF.Option.indexed, SimpleRDF.Option.dictionary));
+    }
+
+    @Test
+    void testRemoveManyKeepsRows() throws Exception {
+        try (Graph g = factory.createGraph()) {
+            final IRI s = factory.createIRI("http://example.com/s");
+            final IRI p = factory.createIRI("http://example.com/p");
+            for (int i = 0; i < 1000; i++) {
+                g.add(s, p, factory.createLiteral(Integer.toString(i)));
+            }
+            assertEquals(1000, g.size());
+            for (int i = 0; i < 1000; i += 2) {
+                g.remove(factory.createTriple(s, p, factory.createLiteral(Integer.toString(i))));
+            }
+            assertEquals(500, g.size());
+            for (int i = 0; i < 1000; i++) {
+                final Literal o = factory.createLiteral(Integer.toString(i));
+                assertEquals(i % 2 == 1, g.contains(s, p, o), o.toString());
+            }
+            g.remove(s, null, null);
+            assertEquals(0, g.size());
+            assertFalse(g.contains(s, null, null));
+        }
+    }
+
+}
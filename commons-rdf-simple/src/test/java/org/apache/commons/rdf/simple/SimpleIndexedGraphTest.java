@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF indexed graphs with AbstractGraphTest
+ */
+class SimpleIndexedGraphTest extends AbstractGraphTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.indexed);
+    }
+
+    @Test
+    void testIndexedGraphCreated() {
+        assertTrue(graph instanceof IndexedGraphImpl);
+    }
+
+    @Test
+    void testRemovePrunesIndexes() throws Exception {
+        try (Graph g = factory.createGraph()) {
+            final IRI s = factory.createIRI("http://example.com/s");
+            final IRI p = factory.createIRI("http://example.com/p");
+            final IRI o = factory.createIRI("http://example.com/o");
+            g.add(s, p, o);
+            g.add(s, p, s);
+            assertEquals(2, g.size());
+            g.remove(s, p, o);
+            assertEquals(1, g.size());
+            assertFalse(g.contains(null, null, o));
+            assertTrue(g.contains(s, p, null));
+            g.remove(null, p, null);
+            assertEquals(0, g.size());
+            assertFalse(g.contains(s, null, null));
+        }
+    }
+
+}
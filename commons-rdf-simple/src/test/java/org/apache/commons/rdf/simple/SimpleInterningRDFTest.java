@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rdf.api.AbstractRDFTest;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF with interning of terms
+ */
+class SimpleInterningRDFTest extends AbstractRDFTest {
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(SimpleRDF.Option.interning);
+    }
+
+    @Test
+    void testCanonicalInstances() {
+        final SimpleRDF rdf = new SimpleRDF(SimpleRDF.Option.interning);
+        final IRI iri = rdf.createIRI("http://example.com/p");
+        assertSame(iri, rdf.createIRI("http://example.com/p"));
+        assertSame(rdf.createLiteral("1", iri), rdf.createLiteral("1", rdf.createIRI("http://example.com/p")));
+        assertSame(rdf.createLiteral("Hello", "en"), rdf.createLiteral("Hello", "EN"));
+        assertSame(rdf.createLiteral("Hello"), rdf.createLiteral("Hello"));
+        assertEquals(5, rdf.getInternHits());
+        assertEquals(4, rdf.getInternMisses());
+        assertNotSame(rdf.createLiteral("Hello"), rdf.createLiteral("Hello", "en"));
+
+        final String longLiteral = new String(new char[SimpleRDF.MAX_INTERNED_LITERAL_LENGTH + 1]).replace('\0', 'x');
+        assertNotSame(rdf.createLiteral(longLiteral), rdf.createLiteral(longLiteral));
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SimpleRDF(0));
+    }
+
+    @Test
+    void testPoolIsBounded() {
+        final SimpleRDF rdf = new SimpleRDF(4);
+        for (int i = 0; i < 100; i++) {
+            rdf.createIRI("http://example.com/" + i);
+        }
+        assertEquals(0, rdf.getInternHits());
+        assertEquals(100, rdf.getInternMisses());
+        // At most 4 of the IRIs can still be pooled
+        int pooled = 0;
+        for (int i = 0; i < 100; i++) {
+            final long hits = rdf.getInternHits();
+            rdf.createIRI("http://example.com/" + i);
+            pooled += rdf.getInternHits() - hits;
+        }
+        assertTrue(pooled <= 4);
+    }
+
+}
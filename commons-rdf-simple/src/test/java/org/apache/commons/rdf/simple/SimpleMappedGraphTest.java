@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test SimpleRDF memory-mapped graphs with AbstractGraphTest
+ */
+class SimpleMappedGraphTest extends AbstractGraphTest {
+
+    /**
+     * SimpleRDF that creates a new mapped graph file for every
+     * {@link #createGraph()}.
+     */
+    private final class MappedRDF extends SimpleRDF {
+
+        @Override
+        public Graph createGraph() {
+            try {
+                return createGraph(tempDir.resolve("graph" + graphs.incrementAndGet()));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @TempDir
+    public Path tempDir;
+
+    private final AtomicInteger graphs = new AtomicInteger();
+
+    @Override
+    public RDF createFactory() {
+        return new MappedRDF();
+    }
+
+    @Test
+    void testCloseAndReopen() throws Exception {
+        final Path file = tempDir.resolve("reopen");
+        final SimpleRDF rdf = new SimpleRDF();
+        final IRI s = rdf.createIRI("http://example.com/s");
+        final IRI p = rdf.createIRI("http://example.com/p");
+        final BlankNode b = rdf.createBlankNode("b1");
+        final Literal lang = rdf.createLiteral("Hello", "EN-GB");
+        final Literal typed = rdf.createLiteral("1", Types.XSD_INTEGER);
+        try (Graph g = rdf.createGraph(file)) {
+            g.add(s, p, b);
+            g.add(b, p, lang);
+            g.add(b, p, typed);
+        }
+        assertTrue(Files.exists(file));
+
+        try (Graph g = new SimpleRDF().createGraph(file)) {
+            assertEquals(3, g.size());
+            assertTrue(g.contains(s, p, b));
+            assertTrue(g.contains(b, p, rdf.createLiteral("Hello", "en-gb")));
+            assertTrue(g.contains(null, null, typed));
+            assertEquals(2, g.stream(b, null, null).count());
+            g.remove(b, null, null);
+            g.add(s, p, s);
+        }
+
+        try (Graph g = new SimpleRDF().createGraph(file)) {
+            assertEquals(2, g.size());
+            assertFalse(g.contains(b, null, null));
+            assertTrue(g.contains(s, p, s));
+        }
+    }
+
+    @Test
+    void testNotATripleFile() throws Exception {
+        final Path file = tempDir.resolve("notATripleFile");
+        Files.write(file, "Not a triple file".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> new SimpleRDF().createGraph(file));
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that concurrent writers to the concurrent graph see their own
+ * triples and don't lose any.
+ * <p>
+ * Each thread adds its own triples, checks that each added triple is
+ * contained and streams the triples of its subject. The throughput is
+ * measured by {@code ConcurrentGraphBenchmark} in the commons-rdf-benchmarks
+ * module.
+ */
+public class TestConcurrentGraphWriters {
+
+    private static final int TRIPLES = 5000;
+
+    private static final int THREADS = 4;
+
+    private static final int STREAM_EVERY = 1000;
+
+    private final RDF factory = new SimpleRDF(SimpleRDF.Option.concurrent);
+
+    @Test
+    void testConcurrentWriters() throws Exception {
+        final Graph graph = factory.createGraph();
+        final IRI predicate = factory.createIRI("http://example.com/p");
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final IRI subject = factory.createIRI("http://example.com/s" + t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TRIPLES; i++) {
+                        final RDFTerm object = factory.createLiteral("Example " + i);
+                        graph.add(subject, predicate, object);
+                        assertTrue(graph.contains(subject, predicate, object));
+                        if (i % STREAM_EVERY == 0) {
+                            assertEquals(i + 1, graph.stream(subject, null, null).count());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertEquals((long) THREADS * TRIPLES, graph.size());
+        for (int t = 0; t < THREADS; t++) {
+            assertEquals(TRIPLES, graph.count(factory.createIRI("http://example.com/s" + t), null, null));
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.function.ToLongFunction;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compare pattern lookups of the default and the indexed graph.
+ * <p>
+ * Both graphs are loaded with the same triples, and each pattern is checked
+ * to give the same number of matches. The lookup times are measured by
+ * {@code IndexedGraphLookupBenchmark} in the commons-rdf-benchmarks module.
+ */
+public class TestIndexedGraphLookup {
+
+    private static final long TRIPLES = 20000;
+
+    private static final int SUBJECTS = 1000;
+
+    private static final int PREDICATES = 20;
+
+    private static RDF factory;
+
+    private static Graph graph;
+
+    private static Graph indexedGraph;
+
+    @BeforeAll
+    public static void createGraphs() {
+        factory = new SimpleRDF();
+        graph = factory.createGraph();
+        indexedGraph = new SimpleRDF(SimpleRDF.Option.indexed).createGraph();
+        for (long i = 0; i < TRIPLES; i++) {
+            final IRI subject = subject(i % SUBJECTS);
+            final IRI predicate = predicate(i % PREDICATES);
+            final RDFTerm object = factory.createLiteral("Example " + i / SUBJECTS);
+            graph.add(subject, predicate, object);
+            indexedGraph.add(subject, predicate, object);
+        }
+    }
+
+    private static IRI predicate(final long i) {
+        return factory.createIRI("http://example.com/p" + i);
+    }
+
+    private static IRI subject(final long i) {
+        return factory.createIRI("http://example.com/s" + i);
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        graph.clear();
+        graph = null;
+        indexedGraph.clear();
+        indexedGraph = null;
+    }
+
+    private void compare(final String pattern, final ToLongFunction<Graph> lookup) {
+        final long expected = lookup.applyAsLong(graph);
+        assertEquals(expected, lookup.applyAsLong(indexedGraph), pattern);
+    }
+
+    @Test
+    void testContains() {
+        final IRI s = subject(7);
+        final IRI p = predicate(7);
+        final RDFTerm o = factory.createLiteral("Example 0");
+        compare("s p o", g -> g.contains(s, p, o) ? 1 : 0);
+        compare("? p ?", g -> g.contains(null, predicate(PREDICATES + 1), null) ? 1 : 0);
+    }
+
+    @Test
+    void testStreamObject() {
+        final RDFTerm o = factory.createLiteral("Example 3");
+        compare("? ? o", g -> g.stream(null, null, o).count());
+    }
+
+    @Test
+    void testStreamPredicate() {
+        final IRI p = predicate(3);
+        compare("? p ?", g -> g.stream(null, p, null).count());
+    }
+
+    @Test
+    void testStreamPredicateObject() {
+        final IRI p = predicate(3);
+        final RDFTerm o = factory.createLiteral("Example 3");
+        compare("? p o", g -> g.stream(null, p, o).count());
+    }
+
+    @Test
+    void testStreamSubject() {
+        final IRI s = subject(42);
+        compare("s ? ?", g -> g.stream(s, null, null).count());
+    }
+
+    @Test
+    void testStreamSubjectObject() {
+        final IRI s = subject(42);
+        final RDFTerm o = factory.createLiteral("Example 3");
+        compare("s ? o", g -> g.stream(s, null, o).count());
+    }
+
+    @Test
+    void testStreamSubjectPredicate() {
+        final IRI s = subject(42);
+        final IRI p = predicate(2);
+        compare("s p ?", g -> g.stream(s, p, null).count());
+    }
+
+}
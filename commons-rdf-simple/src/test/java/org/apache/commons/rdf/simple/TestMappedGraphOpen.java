@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that reopening a memory-mapped graph gives the same triples as
+ * reloading them from an N-Triples file.
+ * <p>
+ * Reloading reads the lines written by this test, which all have the shape
+ * {@code <s> <p> "o" .}, and adds them to a new in-memory graph. The open and
+ * reload times are measured by {@code MappedGraphOpenBenchmark} in the
+ * commons-rdf-benchmarks module.
+ */
+public class TestMappedGraphOpen {
+
+    private static final long TRIPLES = 20000;
+
+    private static final int SUBJECTS = 1000;
+
+    private static Path mappedFile;
+
+    private static Path ntriplesFile;
+
+    @BeforeAll
+    public static void writeFiles() throws Exception {
+        mappedFile = Files.createTempFile("graph", ".crdf");
+        ntriplesFile = Files.createTempFile("graph", ".nt");
+        final SimpleRDF factory = new SimpleRDF();
+        try (Graph graph = factory.createGraph(mappedFile)) {
+            for (long i = 0; i < TRIPLES; i++) {
+                graph.add(factory.createIRI("http://example.com/s" + i % SUBJECTS),
+                        factory.createIRI("http://example.com/p" + i % 10),
+                        factory.createLiteral("Example " + i));
+            }
+            Files.write(ntriplesFile, () -> graph.stream().<CharSequence>map(TestWritingGraph::tripleAsString).iterator(),
+                    StandardCharsets.UTF_8);
+        }
+    }
+
+    @AfterAll
+    public static void deleteFiles() throws Exception {
+        Files.deleteIfExists(mappedFile);
+        Files.deleteIfExists(ntriplesFile);
+    }
+
+    private static String unwrap(final String term) {
+        return term.substring(1, term.length() - 1);
+    }
+
+    @Test
+    void testReopen() throws Exception {
+        final SimpleRDF factory = new SimpleRDF();
+        final IRI subject = factory.createIRI("http://example.com/s42");
+
+        final Graph mapped = factory.createGraph(mappedFile);
+        final long mappedMatches = mapped.stream(subject, null, null).count();
+
+        final Graph reloaded = factory.createGraph();
+        try (BufferedReader reader = Files.newBufferedReader(ntriplesFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int p = line.indexOf(' ');
+                final int o = line.indexOf(' ', p + 1);
+                reloaded.add(factory.createIRI(unwrap(line.substring(0, p))),
+                        factory.createIRI(unwrap(line.substring(p + 1, o))),
+                        factory.createLiteral(unwrap(line.substring(o + 1, line.length() - 2))));
+            }
+        }
+        final long reloadedMatches = reloaded.stream(subject, null, null).count();
+
+        assertEquals(TRIPLES, mapped.size());
+        assertEquals(TRIPLES, reloaded.size());
+        assertEquals(TRIPLES / SUBJECTS, mappedMatches);
+        assertEquals(reloadedMatches, mappedMatches);
+        assertTrue(reloaded.stream().allMatch(mapped::contains));
+        mapped.close();
+    }
+
+}
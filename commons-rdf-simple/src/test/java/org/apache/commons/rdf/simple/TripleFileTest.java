@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TripleFileTest {
+
+    @Test
+    void testSort() {
+        final Random random = new Random(42);
+        for (final int length : new int[] { 0, 1, 15, 16, 17, 1000, 100000 }) {
+            final int[] values = random.ints(length, 0, length / 2 + 1).toArray();
+            final int[] expected = values.clone();
+            Arrays.sort(expected);
+            TripleFile.sort(values, Integer::compare);
+            assertArrayEquals(expected, values);
+        }
+    }
+
+    @Test
+    void testSortIsStable() {
+        // Sort by the tens only, the units give the original order
+        final int[] values = { 31, 10, 32, 20, 11, 33, 21, 12, 34, 22, 13, 35, 23, 14, 36, 24, 15, 37 };
+        TripleFile.sort(values, (a, b) -> Integer.compare(a / 10, b / 10));
+        assertArrayEquals(new int[] { 10, 11, 12, 13, 14, 15, 20, 21, 22, 23, 24, 31, 32, 33, 34, 35, 36, 37 }, values);
+    }
+
+}
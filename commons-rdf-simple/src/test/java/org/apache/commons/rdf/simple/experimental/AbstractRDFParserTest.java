@@ -30,11 +30,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.api.RDFSyntax;
 import org.apache.commons.rdf.api.RDFTerm;
@@ -115,6 +122,59 @@ class AbstractRDFParserTest {
                 .map(RDFTerm::ntriplesString).findAny().orElse(null);
     }
 
+    @Test
+    void testCancel() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final AtomicInteger quads = new AtomicInteger();
+        final RDFParser parser = dummyParser.executor(r -> new Thread(() -> {
+            r.run();
+            finished.countDown();
+        }).start()).source(testNt).contentType(RDFSyntax.NTRIPLES).target((final Quad q) -> {
+            quads.incrementAndGet();
+            started.countDown();
+            try {
+                cancelled.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final Future<?> future = parser.parse();
+        started.await(5, TimeUnit.SECONDS);
+        assertTrue(future.cancel(false));
+        cancelled.countDown();
+        assertThrows(CancellationException.class, future::get);
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        // The parser produces more quads, but stopped after the first
+        assertEquals(1, quads.get());
+    }
+
+    @Test
+    void testExecutor() throws Exception {
+        final AtomicInteger executed = new AtomicInteger();
+        try (final Graph g = factory.createGraph()) {
+            dummyParser.executor(r -> {
+                executed.incrementAndGet();
+                r.run();
+            }).source(testNt).target(g).parse().get(5, TimeUnit.SECONDS);
+            checkGraph(g);
+        }
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void testVirtualThreadExecutor() throws Exception {
+        final Optional<ExecutorService> executor = AbstractRDFParser.newVirtualThreadExecutor();
+        assumeTrue(executor.isPresent(), "Virtual threads not supported");
+        try (final Graph g = factory.createGraph()) {
+            dummyParser.executor(executor.get()).source(testNt).target(g).parse().get(5, TimeUnit.SECONDS);
+            checkGraph(g);
+        } finally {
+            executor.get().shutdown();
+        }
+    }
+
     @Test
     void testGuessRDFSyntax() throws Exception {
         assertEquals(RDFSyntax.NTRIPLES, AbstractRDFParser.guessRDFSyntax(testNt).get());
@@ -205,6 +265,19 @@ class AbstractRDFParserTest {
         assertTrue(exception.getMessage().contains("base iri required for inputstream source"));
     }
 
+    @Test
+    void testParseInputStreamResult() throws Exception {
+        final InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        try (final Graph g = factory.createGraph()) {
+            final RDFParser.ParseResult result = dummyParser.source(inputStream).contentType(RDFSyntax.NQUADS)
+                    .target(g).parse().get(5, TimeUnit.SECONDS);
+            assertEquals(g.size(), result.getStatementCount().getAsLong());
+            // the bnode source
+            assertEquals(1, result.getBlankNodeCount().getAsLong());
+            assertEquals(0, result.getByteCount().getAsLong());
+        }
+    }
+
     @Test
     void testParseInputStreamWithBase() throws Exception {
         final InputStream inputStream = new ByteArrayInputStream(new byte[0]);
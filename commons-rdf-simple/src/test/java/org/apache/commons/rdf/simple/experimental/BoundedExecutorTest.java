@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.experimental.RDFParser.ParseResult;
+import org.junit.jupiter.api.Test;
+
+class BoundedExecutorTest {
+
+    @Test
+    void limitsConcurrency() throws Exception {
+        final ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            final BoundedExecutor executor = new BoundedExecutor(pool, 2);
+            final CountDownLatch started = new CountDownLatch(2);
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(10);
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            assertEquals(10, executor.getSubmittedCount());
+            assertEquals(2, executor.getActiveCount());
+            assertEquals(8, executor.getQueuedCount());
+            // Let both permitted tasks start before releasing them
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(2, maxRunning.get());
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, executor.getActiveCount());
+            assertEquals(0, executor.getQueuedCount());
+            assertEquals(10, executor.getCompletedCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void limitMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedExecutor(Runnable::run, 0));
+    }
+
+    @Test
+    void delegateShutDown() throws Exception {
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            final BoundedExecutor executor = new BoundedExecutor(pool, 1);
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Queued behind the running task
+            final Future<ParseResult> parsed = new NQuadsParser().executor(executor)
+                    .source(new ByteArrayInputStream(
+                            "<http://example.com/s> <http://example.com/p> <http://example.com/o> ."
+                                    .getBytes(StandardCharsets.UTF_8)))
+                    .target(q -> {
+                    }).parse();
+            assertEquals(1, executor.getQueuedCount());
+
+            pool.shutdown();
+            // The parse is rejected on the pool thread, when the running task
+            // finishes, and must not be left waiting
+            release.countDown();
+            assertThrows(CancellationException.class, () -> parsed.get(5, TimeUnit.SECONDS));
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, executor.getActiveCount());
+            assertEquals(0, executor.getQueuedCount());
+            assertEquals(2, executor.getCompletedCount());
+
+            // The caller of execute() sees its own task rejected
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            }));
+            assertEquals(0, executor.getActiveCount());
+            assertEquals(0, executor.getQueuedCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void parse() throws Exception {
+        final BoundedExecutor executor = new BoundedExecutor(Runnable::run, 1);
+        final AtomicInteger quads = new AtomicInteger();
+        new NQuadsParser().executor(executor)
+                .source(new ByteArrayInputStream("<http://example.com/s> <http://example.com/p> <http://example.com/o> ."
+                        .getBytes(StandardCharsets.UTF_8)))
+                .target(q -> quads.incrementAndGet()).parse().get(5, TimeUnit.SECONDS);
+        assertEquals(1, quads.get());
+        assertEquals(1, executor.getCompletedCount());
+    }
+
+}
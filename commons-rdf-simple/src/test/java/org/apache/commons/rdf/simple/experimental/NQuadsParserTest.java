@@ -0,0 +1,394 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.experimental.QuadPublisher;
+import org.apache.commons.rdf.experimental.RDFParser.ParseResult;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.Types;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NQuadsParserTest {
+
+    private final RDF factory = new SimpleRDF();
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Write a file of several parallel chunks.
+     */
+    private Path largeFile(final String lastLine) throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            sb.append("_:b").append(i % 100).append(" <http://example.com/p> \"value ").append(i)
+                    .append("\" <http://example.com/g").append(i % 3).append("> .\n");
+        }
+        sb.append(lastLine);
+        final Path file = tempDir.resolve("large.nq");
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Subscriber that records its signals and leaves the requests to the test.
+     */
+    private static class RecordingSubscriber implements QuadPublisher.Subscriber {
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private final CompletableFuture<QuadPublisher.Subscription> subscription = new CompletableFuture<>();
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onNext(final Quad quad) {
+            signals.add(quad);
+        }
+
+        @Override
+        public void onSubscribe(final QuadPublisher.Subscription s) {
+            subscription.complete(s);
+        }
+
+        Object next() throws InterruptedException {
+            return signals.poll(5, TimeUnit.SECONDS);
+        }
+
+        void request(final long n) throws Exception {
+            subscription.get().request(n);
+        }
+    }
+
+    private static String lines(final int count) {
+        return String.join("", Collections.nCopies(count,
+                "<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n"));
+    }
+
+    private List<Quad> parse(final RDFSyntax syntax, final String document) throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        NQuadsParser parser = new NQuadsParser().rdfTermFactory(factory)
+                .source(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))).target(quads::add);
+        if (syntax != null) {
+            parser = parser.contentType(syntax);
+        }
+        parser.parse().get();
+        return quads;
+    }
+
+    private RDFParseException parseError(final RDFSyntax syntax, final String document) {
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> parse(syntax, document));
+        return assertInstanceOf(RDFParseException.class, e.getCause());
+    }
+
+    @Test
+    void blankNodes() throws Exception {
+        final List<Quad> quads = parse(RDFSyntax.NTRIPLES,
+                "_:b1 <http://example.com/p> _:b2 .\n_:b1 <http://example.com/p> _:b1.\n");
+        assertEquals(2, quads.size());
+        assertInstanceOf(BlankNode.class, quads.get(0).getSubject());
+        assertEquals(quads.get(0).getSubject(), quads.get(1).getSubject());
+        assertEquals(quads.get(1).getSubject(), quads.get(1).getObject());
+        assertFalse(quads.get(0).getSubject().equals(quads.get(0).getObject()));
+    }
+
+    @Test
+    void commentsAndBlankLines() throws Exception {
+        final List<Quad> quads = parse(RDFSyntax.NTRIPLES, "# header\n\n   \r\n"
+                + "<http://example.com/s> <http://example.com/p> <http://example.com/o> . # trailing\r\n");
+        assertEquals(1, quads.size());
+    }
+
+    @Test
+    void escapes() throws Exception {
+        final List<Quad> quads = parse(RDFSyntax.NTRIPLES,
+                "<http://example.com/\\u0073> <http://example.com/p> \"a\\tb\\\"c\\\\d\\u00E9\\U0001F600\" .");
+        assertEquals(factory.createIRI("http://example.com/s"), quads.get(0).getSubject());
+        assertEquals("a\tb\"c\\dé😀", ((Literal) quads.get(0).getObject()).getLexicalForm());
+    }
+
+    @Test
+    void file() throws Exception {
+        final Path file = tempDir.resolve("test.nt");
+        Files.write(file, "<http://example.com/s> <http://example.com/p> \"été\" .\n"
+                .getBytes(StandardCharsets.UTF_8));
+        final List<Quad> quads = new ArrayList<>();
+        new NQuadsParser().source(file).target(quads::add).parse().get();
+        assertEquals(1, quads.size());
+        assertEquals("été", ((Literal) quads.get(0).getObject()).getLexicalForm());
+    }
+
+    @Test
+    void graphNameNotAllowedInNTriples() {
+        final RDFParseException e = parseError(RDFSyntax.NTRIPLES,
+                "<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n"
+                        + "<http://example.com/s> <http://example.com/p> <http://example.com/o> <http://example.com/g> .\n");
+        assertTrue(e.getMessage().startsWith("Line 2:"), e.getMessage());
+    }
+
+    @Test
+    void literals() throws Exception {
+        final List<Quad> quads = parse(RDFSyntax.NTRIPLES, "<http://example.com/s> <http://example.com/p> \"plain\" .\n"
+                + "<http://example.com/s> <http://example.com/p> \"chat\"@fr-BE .\n"
+                + "<http://example.com/s> <http://example.com/p> \"1\"^^<http://www.w3.org/2001/XMLSchema#int> .\n");
+        final Literal plain = (Literal) quads.get(0).getObject();
+        assertEquals(Types.XSD_STRING, plain.getDatatype());
+        final Literal lang = (Literal) quads.get(1).getObject();
+        assertEquals("fr-be", lang.getLanguageTag().get().toLowerCase());
+        final Literal typed = (Literal) quads.get(2).getObject();
+        assertEquals(Types.XSD_INT, typed.getDatatype());
+        assertEquals("1", typed.getLexicalForm());
+    }
+
+    @Test
+    void parallel() throws Exception {
+        final Path file = largeFile("");
+        final Dataset dataset = factory.createDataset();
+        final ParseResult result = new NQuadsParser().rdfTermFactory(factory).parallelism(4).source(file)
+                .target(dataset).parse().get();
+        assertEquals(50_000, dataset.size());
+        assertEquals(50_000, result.getStatementCount().getAsLong());
+        assertEquals(Files.size(file), result.getByteCount().getAsLong());
+        // Blank nodes with the same label are the same across chunks
+        final Set<BlankNodeOrIRI> subjects = dataset.stream().map(Quad::getSubject).collect(Collectors.toSet());
+        assertEquals(100, subjects.size());
+    }
+
+    @Test
+    void parallelError() throws Exception {
+        final Path file = largeFile("<http://example.com/s> <http://example.com/p> .\n");
+        final ExecutionException e = assertThrows(ExecutionException.class,
+                () -> new NQuadsParser().parallelism(4).source(file).target(q -> {
+                    // ignore
+                }).parse().get());
+        final RDFParseException cause = assertInstanceOf(RDFParseException.class, e.getCause());
+        assertTrue(cause.getMessage().contains(" of chunk at byte "), cause.getMessage());
+    }
+
+    @Test
+    void parallelismMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new NQuadsParser().parallelism(0));
+    }
+
+    @Test
+    void parseResult() throws Exception {
+        final Path file = tempDir.resolve("result.nq");
+        Files.write(file, ("<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n"
+                + "_:b <http://example.com/p> _:c _:g .\n").getBytes(StandardCharsets.UTF_8));
+        final ParseResult result = new NQuadsParser().source(file).target(q -> {
+            // ignore
+        }).parse().get();
+        assertEquals(2, result.getStatementCount().getAsLong());
+        assertEquals(3, result.getBlankNodeCount().getAsLong());
+        assertEquals(Files.size(file), result.getByteCount().getAsLong());
+        assertTrue(result.getParseTime().isPresent());
+        assertTrue(result.getTargetTime().get().compareTo(result.getParseTime().get()) <= 0);
+    }
+
+    @Test
+    void publisher() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new NQuadsParser().source(new ByteArrayInputStream(lines(3).getBytes(StandardCharsets.UTF_8))).publisher()
+                .subscribe(subscriber);
+        subscriber.request(2);
+        assertInstanceOf(Quad.class, subscriber.next());
+        assertInstanceOf(Quad.class, subscriber.next());
+        // No more without demand
+        assertNull(subscriber.signals.poll(100, TimeUnit.MILLISECONDS));
+        subscriber.request(Long.MAX_VALUE);
+        assertInstanceOf(Quad.class, subscriber.next());
+        assertEquals("complete", subscriber.next());
+    }
+
+    @Test
+    void publisherExecutor() throws Exception {
+        final ExecutorService pool = Executors.newSingleThreadExecutor(r -> new Thread(r, "parse pool"));
+        try {
+            final BoundedExecutor executor = new BoundedExecutor(pool, 1);
+            final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            final RecordingSubscriber subscriber = new RecordingSubscriber() {
+                @Override
+                public void onComplete() {
+                    threads.add(Thread.currentThread().getName());
+                    super.onComplete();
+                }
+
+                @Override
+                public void onNext(final Quad quad) {
+                    threads.add(Thread.currentThread().getName());
+                    super.onNext(quad);
+                }
+            };
+            new NQuadsParser().executor(executor)
+                    .source(new ByteArrayInputStream(lines(2).getBytes(StandardCharsets.UTF_8))).publisher()
+                    .subscribe(subscriber);
+            subscriber.request(Long.MAX_VALUE);
+            assertInstanceOf(Quad.class, subscriber.next());
+            assertInstanceOf(Quad.class, subscriber.next());
+            assertEquals("complete", subscriber.next());
+            // Parsed and signalled by the task on the executor
+            assertEquals(Arrays.asList("parse pool", "parse pool", "parse pool"), threads);
+            assertEquals(1, executor.getSubmittedCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void publisherCancel() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new NQuadsParser().source(new ByteArrayInputStream(lines(3).getBytes(StandardCharsets.UTF_8))).publisher()
+                .subscribe(subscriber);
+        subscriber.request(1);
+        assertInstanceOf(Quad.class, subscriber.next());
+        subscriber.subscription.get().cancel();
+        subscriber.request(1);
+        assertNull(subscriber.signals.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void publisherError() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new NQuadsParser().source(new ByteArrayInputStream((lines(1) + "<http://example.com/s> .\n")
+                .getBytes(StandardCharsets.UTF_8))).publisher().subscribe(subscriber);
+        subscriber.request(10);
+        assertInstanceOf(Quad.class, subscriber.next());
+        assertInstanceOf(RDFParseException.class, subscriber.next());
+
+        final RecordingSubscriber invalid = new RecordingSubscriber();
+        new NQuadsParser().source(new ByteArrayInputStream(new byte[0])).publisher().subscribe(invalid);
+        invalid.request(0);
+        assertInstanceOf(IllegalArgumentException.class, invalid.next());
+    }
+
+    @Test
+    void quads() throws Exception {
+        final List<Quad> quads = parse(null, "<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n"
+                + "<http://example.com/s> <http://example.com/p> <http://example.com/o> <http://example.com/g> .\n"
+                + "<http://example.com/s> <http://example.com/p> <http://example.com/o> _:g .\n");
+        assertEquals(3, quads.size());
+        assertFalse(quads.get(0).getGraphName().isPresent());
+        assertEquals(factory.createIRI("http://example.com/g"), quads.get(1).getGraphName().get());
+        assertInstanceOf(BlankNode.class, quads.get(2).getGraphName().get());
+        final IRI predicate = quads.get(0).getPredicate();
+        assertEquals("http://example.com/p", predicate.getIRIString());
+    }
+
+    @Test
+    void syntaxErrors() {
+        assertTrue(parseError(null, "<http://example.com/s> <http://example.com/p> \"unterminated .")
+                .getMessage().startsWith("Line 1:"));
+        assertTrue(parseError(null, "\n<http://example.com/s> <http://example.com/p> <http://example.com/o>")
+                .getMessage().startsWith("Line 2:"));
+        assertTrue(parseError(null, "<http://example.com/s p> <http://example.com/p> <http://example.com/o> .")
+                .getMessage().startsWith("Line 1:"));
+        assertTrue(parseError(null, "\"literal\" <http://example.com/p> <http://example.com/o> .")
+                .getMessage().startsWith("Line 1:"));
+    }
+
+    @Test
+    void targetBatch() throws Exception {
+        final String line = "<http://example.com/s> <http://example.com/p> _:o .\n";
+        final List<List<Quad>> batches = new ArrayList<>();
+        final ParseResult result = new NQuadsParser()
+                .source(new ByteArrayInputStream(String.join("", Collections.nCopies(5, line))
+                        .getBytes(StandardCharsets.UTF_8)))
+                .targetBatch(2, batches::add).parse().get();
+        assertEquals(Arrays.asList(2, 2, 1), batches.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(5, result.getStatementCount().getAsLong());
+        assertEquals(5, result.getBlankNodeCount().getAsLong());
+    }
+
+    @Test
+    void targetBatchDelay() throws Exception {
+        final String line = "<http://example.com/s> <http://example.com/p> <http://example.com/o> .\n";
+        final PipedOutputStream out = new PipedOutputStream();
+        final BlockingQueue<List<Quad>> batches = new LinkedBlockingQueue<>();
+        final Future<? extends ParseResult> future = new NQuadsParser().source(new PipedInputStream(out))
+                .targetBatch(100, Duration.ofMillis(10), batches::add).parse();
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        // Delivered by the delay, while the source is still open
+        assertEquals(1, batches.poll(5, TimeUnit.SECONDS).size());
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.close();
+        future.get(5, TimeUnit.SECONDS);
+        assertEquals(2, batches.poll(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void targetBatchMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new NQuadsParser().targetBatch(0, batch -> {
+            // ignore
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new NQuadsParser().targetBatch(1, Duration.ZERO, batch -> {
+            // ignore
+        }));
+    }
+
+    @Test
+    void unsupportedContentType() {
+        assertThrows(IllegalStateException.class, () -> parse(RDFSyntax.TURTLE, ""));
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.Types;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NQuadsWriterTest {
+
+    private final RDF factory = new SimpleRDF();
+
+    private Dataset dataset;
+
+    @TempDir
+    Path tempDir;
+
+    private String expected(final boolean quads) {
+        return dataset.stream().filter(q -> quads || !q.getGraphName().isPresent())
+                .map(q -> q.getSubject().ntriplesString() + " " + q.getPredicate().ntriplesString() + " "
+                        + q.getObject().ntriplesString()
+                        + (quads ? q.getGraphName().map(g -> " " + g.ntriplesString()).orElse("") : "") + " .\n")
+                .collect(Collectors.joining());
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataset = factory.createDataset();
+        final IRI subject = factory.createIRI("http://example.com/sé");
+        final IRI predicate = factory.createIRI("http://example.com/p");
+        dataset.add(null, subject, predicate, factory.createLiteral("a\"b\\c\nd\re\tfé😀"));
+        dataset.add(null, subject, predicate, factory.createLiteral("1", Types.XSD_INT));
+        dataset.add(factory.createIRI("http://example.com/g"), factory.createBlankNode("b"), predicate,
+                factory.createLiteral("chat", "fr"));
+        // More than one buffer
+        for (int i = 0; i < 5000; i++) {
+            dataset.add(null, subject, predicate, factory.createLiteral("été " + i));
+        }
+    }
+
+    @Test
+    void channel() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NQuadsWriter().source(dataset).target(Channels.newChannel(out)).write().get();
+        assertEquals(expected(true), out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void fileGuessesSyntax() throws Exception {
+        final Path file = tempDir.resolve("test.nt");
+        new NQuadsWriter().source(dataset).target(file).write().get();
+        assertEquals(expected(false), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nquads() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NQuadsWriter().source(dataset).target(out).write().get();
+        assertEquals(expected(true), out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void ntriples() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NQuadsWriter().contentType(RDFSyntax.NTRIPLES).source(dataset).target(out).write().get();
+        assertEquals(expected(false), out.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NQuadsWriter().source(dataset).target(out).write().get();
+        final Dataset parsed = factory.createDataset();
+        new NQuadsParser().rdfTermFactory(factory).source(new ByteArrayInputStream(out.toByteArray()))
+                .target(parsed).parse().get();
+        assertEquals(dataset.size(), parsed.size());
+        // Blank nodes are not equal across parses, so only check the others
+        dataset.stream().filter(q -> q.getSubject() instanceof IRI)
+                .forEach(q -> assertTrue(parsed.contains(q), q.toString()));
+    }
+
+    @Test
+    void unsupportedContentType() {
+        assertThrows(IllegalStateException.class,
+                () -> new NQuadsWriter().contentType(RDFSyntax.TURTLE).source(dataset)
+                        .target(new ByteArrayOutputStream()).write());
+    }
+
+    @Test
+    void withoutSourceOrTarget() {
+        assertThrows(IllegalStateException.class, () -> new NQuadsWriter().target(new ByteArrayOutputStream()).write());
+        assertThrows(IllegalStateException.class, () -> new NQuadsWriter().source(dataset).write());
+    }
+
+}